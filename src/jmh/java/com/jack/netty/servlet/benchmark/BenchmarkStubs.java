@@ -0,0 +1,115 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkBenchmarkStubs.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 上午11:48:02
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 基准测试用的桩对象
+ *
+ * 通过动态代理实现接口：按方法名返回预设值，其余方法返回类型默认值（0、false、null）。
+ * 每次调用多一次代理分派，约十几纳秒，测得的 ns/op 中包含这部分开销。
+ *
+ * @Class Name BenchmarkStubs
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+final class BenchmarkStubs {
+
+	private BenchmarkStubs() {
+		super();
+	}
+
+	static <T> T stub(Class<T> type, final Map<String, Object> answers) {
+		final Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				final String name = method.getName();
+				if (answers.containsKey(name)) {
+					return answers.get(name);
+				}
+				if ("hashCode".equals(name)) {
+					return System.identityHashCode(proxy);
+				} else if ("equals".equals(name)) {
+					return proxy == args[0];
+				} else if ("toString".equals(name)) {
+					return "stub " + method.getDeclaringClass().getSimpleName();
+				}
+				return defaultValue(method.getReturnType());
+			}
+		});
+		return type.cast(proxy);
+	}
+
+	static ServletContext servletContext() {
+		final Map<String, Object> answers = new HashMap<String, Object>();
+		answers.put("getServerInfo", "Apache Tomcat/8.0.36");
+		answers.put("getMajorVersion", 3);
+		answers.put("getMinorVersion", 1);
+		answers.put("getContextPath", "/shop");
+		return stub(ServletContext.class, answers);
+	}
+
+	static HttpServletRequest request(String uri, String method) {
+		final Map<String, Object> answers = new HashMap<String, Object>();
+		answers.put("getRequestURI", uri);
+		answers.put("getContextPath", "/shop");
+		answers.put("getMethod", method);
+		answers.put("isAsyncStarted", Boolean.FALSE);
+		return stub(HttpServletRequest.class, answers);
+	}
+
+	static HttpServletResponse response(int status) {
+		final Map<String, Object> answers = new HashMap<String, Object>();
+		answers.put("getStatus", status);
+		return stub(HttpServletResponse.class, answers);
+	}
+
+	static FilterChain emptyChain() {
+		return new FilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+				// 业务处理为空，只测监控本身的开销
+			}
+		};
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (!type.isPrimitive() || type == void.class) {
+			return null;
+		} else if (type == boolean.class) {
+			return Boolean.FALSE;
+		} else if (type == long.class) {
+			return 0L;
+		} else if (type == double.class) {
+			return 0d;
+		} else if (type == float.class) {
+			return 0f;
+		} else if (type == char.class) {
+			return (char) 0;
+		} else if (type == byte.class) {
+			return (byte) 0;
+		} else if (type == short.class) {
+			return (short) 0;
+		}
+		return 0;
+	}
+}
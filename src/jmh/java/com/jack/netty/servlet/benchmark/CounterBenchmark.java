@@ -0,0 +1,67 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkCounterBenchmark.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午12:04:47
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.jack.netty.servlet.dto.Counter;
+
+/**
+ * Counter.addRequest 单线程开销，分别测试有无 requestTransformPattern
+ *
+ * 请求名中带有订单号，不做聚合时每个订单号都是一个新的 CounterRequest，
+ * 因此请求名在固定的 256 个之间轮换。
+ *
+ * @Class Name CounterBenchmark
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CounterBenchmark {
+
+	private static final int NAMES = 256;
+
+	@Param({ "false", "true" })
+	public boolean transform;
+
+	private Counter counter;
+
+	private String[] requestNames;
+
+	private int index;
+
+	@Setup
+	public void setup() {
+		counter = new Counter(Counter.HTTP_COUNTER_NAME, "dbweb.png");
+		if (transform) {
+			counter.setRequestTransformPattern(Pattern.compile("\\d+"));
+		}
+		requestNames = new String[NAMES];
+		for (int i = 0; i < NAMES; i++) {
+			requestNames[i] = "/api/order/" + (100000 + i * 7919) + " GET";
+		}
+	}
+
+	@Benchmark
+	public void addRequest() {
+		final String requestName = requestNames[index++ & (NAMES - 1)];
+		counter.addRequest(requestName, 12, 3, false, 512);
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkCounterCheckpointBenchmark.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:58:40
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.jack.netty.servlet.dto.Counter;
+import com.jack.netty.servlet.dto.CounterCheckpoint;
+
+/**
+ * 10000 个请求的 Counter 持久化：CounterCheckpoint 的列式格式与原先 ObjectOutputStream + GZIP 序列化的写入、读取，
+ * 均写入内存，不含磁盘 I/O；setup 中打印两种格式的大小
+ *
+ * @Class Name CounterCheckpointBenchmark
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CounterCheckpointBenchmark {
+
+	@Param({ "none", "deflate", "lz4" })
+	public String compression;
+
+	@Param({ "10000" })
+	public int requests;
+
+	private Counter counter;
+
+	private byte[] checkpoint;
+
+	private byte[] serialized;
+
+	@Setup
+	public void setup() throws IOException {
+		counter = new Counter(Counter.SQL_COUNTER_NAME, "db.png");
+		counter.setMaxRequestsCount(requests + 1);
+		for (int i = 0; i < requests; i++) {
+			final String sql = "select id, name, price from product_" + i + " where id = ?";
+			for (int j = 0; j < 10; j++) {
+				counter.addRequest(sql, j * 37 % 500, j, j == 9, j * 100);
+			}
+		}
+		CounterCheckpoint.setCompression(compression);
+		checkpoint = checkpointWrite().toByteArray();
+		serialized = serializationWrite().toByteArray();
+		System.out.println();
+		System.out.println("checkpoint (" + compression + "): " + checkpoint.length + " bytes, serialization (gzip): " + serialized.length + " bytes");
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream checkpointWrite() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+		CounterCheckpoint.write(counter, out);
+		return out;
+	}
+
+	@Benchmark
+	public Counter checkpointRead() throws IOException {
+		return CounterCheckpoint.read(counter, new ByteArrayInputStream(checkpoint));
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream serializationWrite() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+		final ObjectOutputStream output = new ObjectOutputStream(new GZIPOutputStream(out));
+		try {
+			output.writeObject(counter.clone());
+		} finally {
+			output.close();
+		}
+		return out;
+	}
+
+	@Benchmark
+	public Object serializationRead() throws IOException, ClassNotFoundException {
+		final ObjectInputStream input = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(serialized)));
+		try {
+			return input.readObject();
+		} finally {
+			input.close();
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkCounterContentionBenchmark.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 上午11:20:36
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.jack.netty.servlet.dto.Counter;
+import com.jack.netty.servlet.dto.CounterRequest;
+
+/**
+ * 同一个热点请求在多线程下的 CounterRequest.addHit 吞吐量
+ *
+ * mode=lockFree 为当前 Counter.addRequest 的写法，直接调用无锁的 addHit；
+ * mode=synchronized 与原先的写法相同，在 synchronized (request) 中调用 addHit，作为对比基线。
+ * 两者都不包含 Counter 中查找请求的开销，差别只在于是否对请求加锁。
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="CounterContentionBenchmark"
+ *
+ * @Class Name CounterContentionBenchmark
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CounterContentionBenchmark {
+
+	private static final String HOT_REQUEST = "/api/cart GET";
+
+	@Param({ "lockFree", "synchronized" })
+	public String mode;
+
+	private CounterRequest request;
+
+	private boolean locked;
+
+	@Setup
+	public void setup() {
+		request = new CounterRequest(HOT_REQUEST, Counter.HTTP_COUNTER_NAME);
+		locked = "synchronized".equals(mode);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void threads1() {
+		addHit();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void threads8() {
+		addHit();
+	}
+
+	@Benchmark
+	@Threads(32)
+	public void threads32() {
+		addHit();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public void threads64() {
+		addHit();
+	}
+
+	private void addHit() {
+		if (locked) {
+			synchronized (request) {
+				request.addHit(12, 3, false, null, 512);
+			}
+		} else {
+			request.addHit(12, 3, false, null, 512);
+		}
+	}
+}
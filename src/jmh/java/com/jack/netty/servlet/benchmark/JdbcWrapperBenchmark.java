@@ -0,0 +1,128 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkJdbcWrapperBenchmark.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午12:12:09
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.jack.netty.servlet.handler.wrapper.JdbcWrapper;
+
+/**
+ * 经过 JdbcWrapper 包装执行 SQL 的开销
+ *
+ * raw 直接调用桩 Statement，proxied 经过 java.lang.reflect.Proxy 代理（system.setting.jdbc.wrapper=proxy，即 JdbcWrapper.doExecute），
+ * delegating 经过 DelegatingStatement 等委托包装（默认方式）。Prepared 系列为 PreparedStatement 设置参数、执行查询并读取 ResultSet，
+ * 每个 setXxx、next 在 Proxy 方式下都经过一次反射调用。
+ *
+ * @Class Name JdbcWrapperBenchmark
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JdbcWrapperBenchmark {
+
+	private static final String SQL = "select id, name, price from product where id = ?";
+
+	private Statement rawStatement;
+
+	private Statement proxiedStatement;
+
+	private Statement delegatingStatement;
+
+	private PreparedStatement rawPreparedStatement;
+
+	private PreparedStatement proxiedPreparedStatement;
+
+	private PreparedStatement delegatingPreparedStatement;
+
+	private Connection proxiedConnection;
+
+	private Connection delegatingConnection;
+
+	@Setup
+	public void setup() throws SQLException {
+		final ResultSet resultSet = BenchmarkStubs.stub(ResultSet.class, Collections.<String, Object> emptyMap());
+		final Map<String, Object> statementAnswers = new HashMap<String, Object>();
+		statementAnswers.put("executeQuery", resultSet);
+		rawStatement = BenchmarkStubs.stub(Statement.class, statementAnswers);
+		rawPreparedStatement = BenchmarkStubs.stub(PreparedStatement.class, statementAnswers);
+
+		final Map<String, Object> connectionAnswers = new HashMap<String, Object>();
+		connectionAnswers.put("createStatement", rawStatement);
+		connectionAnswers.put("prepareStatement", rawPreparedStatement);
+		final Connection connection = BenchmarkStubs.stub(Connection.class, connectionAnswers);
+		proxiedConnection = JdbcWrapper.SINGLETON.createConnectionProxy(connection, false);
+		proxiedStatement = proxiedConnection.createStatement();
+		proxiedPreparedStatement = proxiedConnection.prepareStatement(SQL);
+		delegatingConnection = JdbcWrapper.SINGLETON.createConnectionProxy(connection, true);
+		delegatingStatement = delegatingConnection.createStatement();
+		delegatingPreparedStatement = delegatingConnection.prepareStatement(SQL);
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		proxiedConnection.close();
+		delegatingConnection.close();
+	}
+
+	@Benchmark
+	public ResultSet raw() throws SQLException {
+		return rawStatement.executeQuery(SQL);
+	}
+
+	@Benchmark
+	public ResultSet proxied() throws SQLException {
+		return proxiedStatement.executeQuery(SQL);
+	}
+
+	@Benchmark
+	public ResultSet delegating() throws SQLException {
+		return delegatingStatement.executeQuery(SQL);
+	}
+
+	@Benchmark
+	public boolean rawPrepared() throws SQLException {
+		return query(rawPreparedStatement);
+	}
+
+	@Benchmark
+	public boolean proxiedPrepared() throws SQLException {
+		return query(proxiedPreparedStatement);
+	}
+
+	@Benchmark
+	public boolean delegatingPrepared() throws SQLException {
+		return query(delegatingPreparedStatement);
+	}
+
+	private static boolean query(PreparedStatement statement) throws SQLException {
+		statement.setLong(1, 42L);
+		final ResultSet resultSet = statement.executeQuery();
+		final boolean found = resultSet.next();
+		resultSet.close();
+		return found;
+	}
+}
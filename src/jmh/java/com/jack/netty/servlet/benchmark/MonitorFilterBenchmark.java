@@ -0,0 +1,82 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkMonitorFilterBenchmark.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 上午11:55:21
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.jack.netty.servlet.conf.SystemPropertyConfig;
+import com.jack.netty.servlet.handler.wrapper.RequestWrapper;
+import com.jack.netty.servlet.filter.Monitor;
+
+/**
+ * 过滤器与请求记录的单次开销
+ *
+ * baseline 直接调用空的 FilterChain，doFilter 经过 Monitor（非调试模式），
+ * doExecute 只测 RequestWrapper 的请求记录部分。
+ *
+ * @Class Name MonitorFilterBenchmark
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MonitorFilterBenchmark {
+
+	private Monitor monitor;
+
+	private HttpServletRequest request;
+
+	private HttpServletResponse response;
+
+	private FilterChain chain;
+
+	@Setup
+	public void setup() throws Exception {
+		// 不走 Monitor.init：init 会连接 ZK/Kafka 并启动上报线程，initServletContext 读取的配置单独加载
+		SystemPropertyConfig.init();
+		RequestWrapper.SINGLETON.initServletContext(BenchmarkStubs.servletContext());
+		monitor = new Monitor();
+		final Field isDebug = Monitor.class.getDeclaredField("isDebug");
+		isDebug.setAccessible(true);
+		isDebug.setBoolean(monitor, false);
+		request = BenchmarkStubs.request("/shop/api/cart", "GET");
+		response = BenchmarkStubs.response(HttpServletResponse.SC_OK);
+		chain = BenchmarkStubs.emptyChain();
+	}
+
+	@Benchmark
+	public void baseline() throws IOException, ServletException {
+		chain.doFilter(request, response);
+	}
+
+	@Benchmark
+	public void doFilter() throws IOException, ServletException {
+		monitor.doFilter(request, response, chain);
+	}
+
+	@Benchmark
+	public void doExecute() {
+		RequestWrapper.SINGLETON.doExecute(request, response, 0, System.currentTimeMillis());
+	}
+}
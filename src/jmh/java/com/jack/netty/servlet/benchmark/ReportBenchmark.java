@@ -0,0 +1,80 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkReportBenchmark.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午12:21:33
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.jack.netty.servlet.conf.Parameter;
+import com.jack.netty.servlet.conf.Parameters;
+import com.jack.netty.servlet.dto.Counter;
+import com.jack.netty.servlet.dto.SQLInfo;
+import com.jack.netty.servlet.util.JacksonMapperUtil;
+import com.jack.netty.servlet.util.PayloadFormat;
+
+/**
+ * 周期性上报及持久化的开销：Counter 写文件（CounterStorage.writeToFile）与 SQLInfo 的 JSON、Smile 编码
+ *
+ * @Class Name ReportBenchmark
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportBenchmark {
+
+	@Param({ "100", "1000" })
+	public int requests;
+
+	private Counter counter;
+
+	private SQLInfo sqlInfo;
+
+	@Setup
+	public void setup() throws IOException {
+		final File directory = new File(System.getProperty("java.io.tmpdir"), "orion-monitor-benchmark");
+		System.setProperty(Parameters.PARAMETER_SYSTEM_PREFIX + Parameter.STORAGE_DIRECTORY.getCode(), directory.getAbsolutePath());
+
+		counter = new Counter(Counter.SQL_COUNTER_NAME, "db.png");
+		counter.setApplication("benchmark");
+		for (int i = 0; i < requests; i++) {
+			final String sql = "select id, name, price from product_" + i + " where id = ?";
+			for (int j = 0; j < 10; j++) {
+				counter.addRequest(sql, j * 3, -1, j == 9, -1);
+			}
+		}
+		sqlInfo = new SQLInfo("benchmark", "benchmark", "127.0.0.1", "MySQL 5.6", "jdbc:mysql://localhost/shop", "2026-10-18 12:00:00", 3, 5, 100000L, 12, 0, 0,
+			counter.getRequests());
+	}
+
+	@Benchmark
+	public void writeToFile() throws IOException {
+		counter.writeToFile();
+	}
+
+	@Benchmark
+	public String sqlInfoToJson() throws IOException {
+		return JacksonMapperUtil.objectToJson(sqlInfo);
+	}
+
+	@Benchmark
+	public byte[] sqlInfoToSmile() throws IOException {
+		return PayloadFormat.SMILE.encode(sqlInfo);
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.benchmarkTimeSeriesStoreBenchmark.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:56:02
+ * TODO
+ */
+package com.jack.netty.servlet.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.jack.netty.servlet.dto.TimeSeriesStore;
+
+/**
+ * TimeSeriesStore.update 单个点的开销（1 分钟、15 分钟、1 小时、1 天四个分辨率，默认行数），
+ * 时间每次前进 1 秒，所有序列轮换写入，包括每分钟进入新行时清零计数的开销
+ *
+ * @Class Name TimeSeriesStoreBenchmark
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeSeriesStoreBenchmark {
+
+	@Param({ "256", "1024" })
+	public int series;
+
+	private File directory;
+
+	private TimeSeriesStore store;
+
+	private String[] names;
+
+	private long time;
+
+	private int index;
+
+	@Setup
+	public void setup() throws IOException {
+		directory = new File(System.getProperty("java.io.tmpdir"), "orion-timeseries-benchmark-" + series);
+		store = new TimeSeriesStore(directory, series, new int[] { 60, 900, 3600, 86400 }, new int[] { 1440, 672, 720, 90 });
+		names = new String[series];
+		for (int i = 0; i < series; i++) {
+			names[i] = "http" + Integer.toHexString(i * 7919) + ".hits";
+		}
+		time = System.currentTimeMillis();
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.out.println();
+		System.out.println(store.getMetrics());
+		store.close();
+	}
+
+	@Benchmark
+	public boolean update() {
+		final int i = index;
+		index = i + 1 == series ? 0 : i + 1;
+		if (i == 0) {
+			time += 1000;
+		}
+		return store.update(time, names[i], TimeSeriesStore.Kind.COUNTER, time);
+	}
+}
@@ -9,7 +9,9 @@ package com.jack.netty.servlet;
 
 import javax.servlet.ServletContext;
 
+import com.jack.netty.servlet.conf.Constant;
 import com.jack.netty.servlet.conf.EnvPropertyConfig;
+import com.jack.netty.servlet.conf.Parameters;
 import com.jack.netty.servlet.handler.AppMonitor;
 import com.jack.netty.servlet.infc.Health;
 import org.apache.zookeeper.KeeperException;
@@ -19,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.jack.netty.servlet.conf.SystemPropertyConfig;
+import com.jack.netty.servlet.handler.factory.CollectionScheduler;
 import com.jack.netty.servlet.handler.factory.ZKConnectManager;
 
 /**
@@ -34,34 +37,26 @@ public class MonitorChecker implements Health {
 
 	private String appName;
 
-	private ZooKeeper zk;
+	// 采集线程读取，重连后由 ZKConnectManager 替换
+	private volatile ZooKeeper zk;
 
 	private Long sessionId;
 
 	private byte[] sessionPassword;
 
-	private String appServerPath;
+	private volatile String appServerPath;
 
-	private Thread m;
+	private volatile CollectionScheduler scheduler;
 
-	private Boolean isMonitorStop = false;
+	private volatile Boolean isMonitorStop = false;
 
 	private Boolean isDebug;
 
 
-	private static String ZK_MONITOR_HEARLTH_THREAD_NAME = "netty-wfj-server-monitor-hearth-thread";
-	
 	private AppMonitor appMonitor;
 	
 	
 	
-	/**
-	 * @Return the Thread m
-	 */
-	public Thread getM() {
-		return m;
-	}
-
 	/**
 	 * @Return the AppMonitor appMonitor
 	 */
@@ -188,39 +183,111 @@ public class MonitorChecker implements Health {
 	/**
 	 * 实例JVM及系统监控状况服务
 	 * 
+	 * JVM 信息（同时更新 ZK 节点）、SQL、HTTP、Quartz 任务、CPU 热点五个采集任务各自按固定频率执行，
+	 * 间隔默认均为 splitTime，可分别通过 system.setting.collect.*.interval 配置
+	 * 
 	 * @Methods Name hearthCheck
 	 * @Create In 2015年8月26日 By Jack
 	 * @param splitTime
 	 *            毫秒millis
 	 */
-	private void hearthCheck(final Long splitTime) {
-		isMonitorStop = new Boolean(false);
-
-		this.m = new Thread(new Runnable() {
+	private synchronized void hearthCheck(final Long splitTime) {
+		// 重连后再次启动时先停止上一次的采集
+		stopCollection();
+		isMonitorStop = false;
+
+		final long jitter = Long.parseLong(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COLLECT_JITTER, "5000"));
+		final CollectionScheduler cs = new CollectionScheduler(jitter);
+		// 1.构建系统实时状态并存储
+		cs.schedule("app", collectInterval(Constant.SYSTEM_SEETING_COLLECT_APP_INTERVAL, splitTime), new Runnable() {
+			@Override
+			public void run() {
+				appMonitor.buildAppInfo(zk, appServerPath);
+			}
+		});
+		// 2.构造 SQL 及其他计数信息并发送
+		cs.schedule("sql", collectInterval(Constant.SYSTEM_SEETING_COLLECT_SQL_INTERVAL, splitTime), new Runnable() {
+			@Override
 			public void run() {
-				try {
-					while (!isMonitorStop) {
-						// 1.构建系统实时状态并存储
-						appMonitor.buildAppInfo(zk, appServerPath);
-						// 2.构造 SQL 及其他计数信息并发送
-						appMonitor.buildSQLCountsInfo();
-						appMonitor.buildRequestCountInfo(); 
-						// 3.进入休眠，等待下一次执行，默认5分钟执行一次
-						Thread.sleep(splitTime);
-					}
-					log.debug("Health Monitor Service is Stop!");
-				} catch (InterruptedException e) {
-					// TODO Auto-generated catch block
-					log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001012"));
-					log.error("Details: " + e.getMessage());
-					Thread.currentThread().interrupt();
+				appMonitor.buildSQLCountsInfo();
+			}
+		});
+		cs.schedule("http", collectInterval(Constant.SYSTEM_SEETING_COLLECT_HTTP_INTERVAL, splitTime), new Runnable() {
+			@Override
+			public void run() {
+				appMonitor.buildRequestCountInfo();
+			}
+		});
+		cs.schedule("job", collectInterval(Constant.SYSTEM_SEETING_COLLECT_JOB_INTERVAL, splitTime), new Runnable() {
+			@Override
+			public void run() {
+				appMonitor.buildJobCountInfo();
+			}
+		});
+		cs.schedule("profiler", collectInterval(Constant.SYSTEM_SEETING_COLLECT_PROFILER_INTERVAL, splitTime), new Runnable() {
+			@Override
+			public void run() {
+				appMonitor.buildProfilerInfo();
+			}
+		});
+		// 3.定期保存计数器检查点，重新部署后从检查点恢复
+		final long checkpointInterval = collectInterval(Constant.SYSTEM_SEETING_COUNTER_CHECKPOINT_INTERVAL,
+			Long.valueOf(Constant.SYSTEM_SEETING_COUNTER_CHECKPOINT_INTERVAL_VALUE));
+		if (checkpointInterval > 0) {
+			cs.schedule("checkpoint", checkpointInterval, new Runnable() {
+				@Override
+				public void run() {
+					appMonitor.checkpointCounters();
 				}
+			});
+		}
+		// 4.按 resolution-seconds 写入时间序列历史
+		if (Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_TIMESERIES_MAX_SERIES,
+			Constant.SYSTEM_SEETING_TIMESERIES_MAX_SERIES_VALUE)) > 0) {
+			cs.schedule("history", Parameters.getResolutionSeconds() * 1000L, new Runnable() {
+				@Override
+				public void run() {
+					appMonitor.recordHistory();
+				}
+			});
+		}
+		try {
+			cs.start();
+			this.scheduler = cs;
+		} catch (RuntimeException e) {
+			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001012"));
+			log.error("Details: " + e.getMessage());
+		}
+	}
+
+	private static long collectInterval(String key, Long splitTime) {
+		return Long.parseLong(SystemPropertyConfig.getContextProperty(key, String.valueOf(splitTime)));
+	}
+
+	/**
+	 * 停止采集任务，等待正在执行的采集结束
+	 * @Methods Name stopCollection
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	private synchronized void stopCollection() {
+		isMonitorStop = true;
+		if (scheduler != null) {
+			final long timeout = Long.parseLong(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COLLECT_SHUTDOWN_TIMEOUT, "5000"));
+			if (!scheduler.shutdown(timeout)) {
+				log.warn("Collection tasks did not finish in " + timeout + " ms: " + scheduler.getMetrics());
+			} else {
+				log.debug("Health Monitor Service is Stop! " + scheduler.getMetrics());
 			}
-		}, MonitorChecker.ZK_MONITOR_HEARLTH_THREAD_NAME);
-		m.start();
+			scheduler = null;
+		}
 	}
 
-	
+	/**
+	 * @Return the CollectionScheduler scheduler, 未启动或已停止时为 null
+	 */
+	public CollectionScheduler getCollectionScheduler() {
+		return scheduler;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -292,10 +359,9 @@ public class MonitorChecker implements Health {
 			return;
 
 		// 1.停止实例信息获取模块
-		if (this.m != null) {
-			this.isMonitorStop = true;
-		}else{
-			this.isMonitorStop = false;
+		stopCollection();
+		if (appMonitor != null) {
+			appMonitor.releaseJobCountInfo();
 		}
 		// 2.停止zk 链接监控线程
 		ZKConnectManager.shutdownZK(zk, status);
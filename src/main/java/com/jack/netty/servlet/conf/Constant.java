@@ -84,6 +84,96 @@ public class Constant {
 
 	public static final String SYSTEM_SEETING_KAFKA_RECEIVER = "system.setting.kafka.sql.topic";
 
+	public static final String SYSTEM_SEETING_KAFKA_LINGER_MS = "system.setting.kafka.linger.ms";
+
+	public static final String SYSTEM_SEETING_KAFKA_COMPRESSION_TYPE = "system.setting.kafka.compression.type";
+
+	public static final String SYSTEM_SEETING_KAFKA_BUFFER_MEMORY = "system.setting.kafka.buffer.memory";
+
+	public static final String SYSTEM_SEETING_KAFKA_METADATA_FETCH_TIMEOUT = "system.setting.kafka.metadata.fetch.timeout.ms";
+
+	public static final String SYSTEM_SEETING_KAFKA_QUEUE_CAPACITY = "system.setting.kafka.queue.capacity";
+
+	public static final String SYSTEM_SEETING_KAFKA_QUEUE_OVERFLOW = "system.setting.kafka.queue.overflow";
+
+	public static final String SYSTEM_SEETING_KAFKA_QUEUE_OVERFLOW_DROP_NEWEST = "drop-newest";
+
+	public static final String SYSTEM_SEETING_KAFKA_QUEUE_OVERFLOW_DROP_OLDEST = "drop-oldest";
+
+	public static final String SYSTEM_SEETING_KAFKA_SPOOL_MAX_SIZE = "system.setting.kafka.spool.max.size";
+
+	public static final String SYSTEM_SEETING_KAFKA_SPOOL_SEGMENT_SIZE = "system.setting.kafka.spool.segment.size";
+
+	public static final String SYSTEM_SEETING_REPORT_MODE = "system.setting.report.mode";
+
+	public static final String SYSTEM_SEETING_REPORT_MODE_DELTA = "delta";
+
+	public static final String SYSTEM_SEETING_REPORT_FORMAT = "system.setting.report.format";
+
+	public static final String SYSTEM_SEETING_REPORT_KEYFRAME_INTERVAL = "system.setting.report.keyframe.interval";
+
+	public static final String SYSTEM_SEETING_COLLECT_APP_INTERVAL = "system.setting.collect.app.interval";
+
+	public static final String SYSTEM_SEETING_COLLECT_SQL_INTERVAL = "system.setting.collect.sql.interval";
+
+	public static final String SYSTEM_SEETING_COLLECT_HTTP_INTERVAL = "system.setting.collect.http.interval";
+
+	public static final String SYSTEM_SEETING_COLLECT_JOB_INTERVAL = "system.setting.collect.job.interval";
+
+	public static final String SYSTEM_SEETING_COLLECT_JITTER = "system.setting.collect.jitter";
+
+	public static final String SYSTEM_SEETING_COLLECT_SHUTDOWN_TIMEOUT = "system.setting.collect.shutdown.timeout";
+
+	public static final String SYSTEM_SEETING_COLLECT_SLOW_TTL = "system.setting.collect.slow.ttl";
+
+	public static final String SYSTEM_SEETING_COLLECT_THREAD_STACK_DEPTH = "system.setting.collect.thread.stack.depth";
+
+	public static final String SYSTEM_SEETING_COLLECT_THREAD_TOP = "system.setting.collect.thread.top";
+
+	public static final String SYSTEM_SEETING_COLLECT_THREAD_DEADLOCK_INTERVAL = "system.setting.collect.thread.deadlock.interval";
+
+	public static final String SYSTEM_SEETING_COLLECT_PROFILER_INTERVAL = "system.setting.collect.profiler.interval";
+
+	public static final String SYSTEM_SEETING_COUNTER_CHECKPOINT_INTERVAL = "system.setting.counter.checkpoint.interval";
+
+	public static final String SYSTEM_SEETING_COUNTER_CHECKPOINT_INTERVAL_VALUE = "300000";
+
+	public static final String SYSTEM_SEETING_COUNTER_CHECKPOINT_COMPRESSION = "system.setting.counter.checkpoint.compression";
+
+	public static final String SYSTEM_SEETING_TIMESERIES_MAX_SERIES = "system.setting.timeseries.max.series";
+
+	public static final String SYSTEM_SEETING_TIMESERIES_MAX_SERIES_VALUE = "256";
+
+	public static final String SYSTEM_SEETING_TIMESERIES_ROWS = "system.setting.timeseries.rows";
+
+	public static final String SYSTEM_SEETING_TIMESERIES_ROWS_VALUE = "1440,672,720,90";
+
+	public static final String SYSTEM_SEETING_TIMESERIES_TOP_REQUESTS = "system.setting.timeseries.top.requests";
+
+	public static final String SYSTEM_SEETING_SLA_ROLLOVER = "system.setting.sla.rollover";
+
+	public static final String SYSTEM_SEETING_SLA_ROLLOVER_NONE = "none";
+
+	public static final String SYSTEM_SEETING_PROFILER_STACK_DEPTH = "system.setting.profiler.stack.depth";
+
+	public static final String SYSTEM_SEETING_PROFILER_REPORT_ROWS = "system.setting.profiler.report.rows";
+
+	public static final String SYSTEM_SEETING_JDBC_WRAPPER = "system.setting.jdbc.wrapper";
+
+	public static final String SYSTEM_SEETING_SQL_NORMALIZE = "system.setting.sql.normalize";
+
+	public static final String SYSTEM_SEETING_SQL_NORMALIZE_CACHE = "system.setting.sql.normalize.cache";
+
+	public static final String SYSTEM_SEETING_HTTP_ROUTE_TEMPLATE = "system.setting.http.route.template";
+
+	public static final String SYSTEM_SEETING_HTTP_ROUTE_TEMPLATE_CACHE = "system.setting.http.route.template.cache";
+
+	public static final String SYSTEM_SEETING_HTTP_ROUTE_ATTRIBUTES = "system.setting.http.route.attributes";
+
+	public static final String SYSTEM_SEETING_ZK_NODE_MODE = "system.setting.zk.node.mode";
+
+	public static final String SYSTEM_SEETING_ZK_NODE_MODE_LEAN = "lean";
+
 	public static final String SYSTEM_SEETING_SERVER_DEFALUT_NAME = "env.setting.server.system.name";
 
 	public static final String SYSTEM_SEETING_SERVER_DEFALUT_VERSION = "env.setting.server.system.version";
@@ -7,6 +7,7 @@
  */
 package com.jack.netty.servlet.dto;
 
+import java.util.List;
 
 /**
  * @Class Name ApplicationInfo
@@ -41,6 +42,20 @@ public class ApplicationInfo {
 
 	private Long sumErrDealReqTime;
 
+	private Long totalInboundReqCounts;
+
+	private Long totalOutboundReqCounts;
+
+	private Long totalDealReqCounts;
+
+	private Long totalDealReqTime;
+
+	private Long totalErrDealReqCounts;
+
+	private Long totalErrDealReqTime;
+
+	private List<SLAWindow> slaWindows;
+
 	private String serverName;
 
 	private String serverVersion;
@@ -213,6 +228,104 @@ public class ApplicationInfo {
 		this.sumErrDealReqTime = sumErrDealReqTime;
 	}
 
+	/**
+	 * @Return the Long totalInboundReqCounts, 启动以来，不随 sumInboundReqCounts 翻转
+	 */
+	public Long getTotalInboundReqCounts() {
+		return totalInboundReqCounts;
+	}
+
+	/**
+	 * @Param Long totalInboundReqCounts to set
+	 */
+	public void setTotalInboundReqCounts(Long totalInboundReqCounts) {
+		this.totalInboundReqCounts = totalInboundReqCounts;
+	}
+
+	/**
+	 * @Return the Long totalOutboundReqCounts, 启动以来
+	 */
+	public Long getTotalOutboundReqCounts() {
+		return totalOutboundReqCounts;
+	}
+
+	/**
+	 * @Param Long totalOutboundReqCounts to set
+	 */
+	public void setTotalOutboundReqCounts(Long totalOutboundReqCounts) {
+		this.totalOutboundReqCounts = totalOutboundReqCounts;
+	}
+
+	/**
+	 * @Return the Long totalDealReqCounts, 启动以来
+	 */
+	public Long getTotalDealReqCounts() {
+		return totalDealReqCounts;
+	}
+
+	/**
+	 * @Param Long totalDealReqCounts to set
+	 */
+	public void setTotalDealReqCounts(Long totalDealReqCounts) {
+		this.totalDealReqCounts = totalDealReqCounts;
+	}
+
+	/**
+	 * @Return the Long totalDealReqTime, 启动以来，毫秒
+	 */
+	public Long getTotalDealReqTime() {
+		return totalDealReqTime;
+	}
+
+	/**
+	 * @Param Long totalDealReqTime to set
+	 */
+	public void setTotalDealReqTime(Long totalDealReqTime) {
+		this.totalDealReqTime = totalDealReqTime;
+	}
+
+	/**
+	 * @Return the Long totalErrDealReqCounts, 启动以来
+	 */
+	public Long getTotalErrDealReqCounts() {
+		return totalErrDealReqCounts;
+	}
+
+	/**
+	 * @Param Long totalErrDealReqCounts to set
+	 */
+	public void setTotalErrDealReqCounts(Long totalErrDealReqCounts) {
+		this.totalErrDealReqCounts = totalErrDealReqCounts;
+	}
+
+	/**
+	 * @Return the Long totalErrDealReqTime, 启动以来，毫秒
+	 */
+	public Long getTotalErrDealReqTime() {
+		return totalErrDealReqTime;
+	}
+
+	/**
+	 * @Param Long totalErrDealReqTime to set
+	 */
+	public void setTotalErrDealReqTime(Long totalErrDealReqTime) {
+		this.totalErrDealReqTime = totalErrDealReqTime;
+	}
+
+	/**
+	 * @Return the List<SLAWindow> slaWindows, 最近 1、5、15 分钟的滑动窗口
+	 */
+	public List<SLAWindow> getSlaWindows() {
+		return slaWindows;
+	}
+
+	/**
+	 * @Param List<SLAWindow> slaWindows to set
+	 */
+	public void setSlaWindows(List<SLAWindow> slaWindows) {
+		this.slaWindows = slaWindows;
+	}
+
 	/**
 	 * @Return the String updateTime
 	 */
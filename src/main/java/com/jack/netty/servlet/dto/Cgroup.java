@@ -0,0 +1,290 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoCgroup.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午3:58:20
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.io.File;
+
+/**
+ * 当前进程所在的 cgroup（v1 或 v2），用于读取容器的资源限制及使用情况
+ *
+ * v2 时 root 下有 cgroup.controllers，各控制器的文件在同一目录；v1 时每个控制器一个挂载目录（cpu、memory、pids 等）。
+ * 进程所在路径取自 /proc/self/cgroup，容器内通常为 "/"；对应目录不存在时（未启用 cgroup 命名空间、只挂载了自身的 cgroup）
+ * 使用控制器的挂载目录。root 可以指向测试用的目录树。
+ *
+ * 读取的文件保持打开（见 ProcFile），解析不使用正则表达式，一次采集只有几次 read 系统调用。
+ *
+ * @Class Name Cgroup
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public final class Cgroup {
+
+	/**
+	 * 未找到 cgroup（非 Linux 或未挂载）
+	 */
+	public static final int NONE = 0;
+
+	public static final int V1 = 1;
+
+	public static final int V2 = 2;
+
+	// v1 中不限制内存时 memory.limit_in_bytes 为接近 Long.MAX_VALUE 的值（按页对齐）
+	private static final long V1_UNLIMITED = Long.MAX_VALUE / 2;
+
+	private static final String[] V1_CPU_MOUNTS = { "cpu", "cpu,cpuacct", "cpuacct,cpu" };
+
+	private static final String[] V1_MEMORY_MOUNTS = { "memory" };
+
+	private static final String[] V1_PIDS_MOUNTS = { "pids" };
+
+	private final int version;
+
+	private final ProcFile cpuMax;
+
+	private final ProcFile cpuQuota;
+
+	private final ProcFile cpuPeriod;
+
+	private final ProcFile cpuStat;
+
+	private final ProcFile memoryLimit;
+
+	private final ProcFile memoryUsage;
+
+	private final ProcFile memoryStat;
+
+	private final ProcFile pidsCurrent;
+
+	private final ProcFile pidsMax;
+
+	/**
+	 * @param root cgroup 挂载根目录，一般为 /sys/fs/cgroup
+	 * @param selfCgroup 进程的 cgroup 描述文件，一般为 /proc/self/cgroup
+	 */
+	public Cgroup(File root, File selfCgroup) {
+		super();
+		final String membership = ProcFile.readOnce(selfCgroup);
+		final File cpu;
+		final File memory;
+		final File pids;
+		if (new File(root, "cgroup.controllers").isFile()) {
+			version = V2;
+			cpu = resolve(root, membershipPath(membership, null));
+			memory = cpu;
+			pids = cpu;
+		} else {
+			cpu = v1Directory(root, V1_CPU_MOUNTS, membership, "cpu");
+			memory = v1Directory(root, V1_MEMORY_MOUNTS, membership, "memory");
+			pids = v1Directory(root, V1_PIDS_MOUNTS, membership, "pids");
+			version = cpu == null && memory == null && pids == null ? NONE : V1;
+		}
+		if (version == V2) {
+			cpuMax = new ProcFile(cpu, "cpu.max");
+			cpuQuota = null;
+			cpuPeriod = null;
+			memoryLimit = new ProcFile(memory, "memory.max");
+			memoryUsage = new ProcFile(memory, "memory.current");
+		} else {
+			cpuMax = null;
+			cpuQuota = new ProcFile(cpu, "cpu.cfs_quota_us");
+			cpuPeriod = new ProcFile(cpu, "cpu.cfs_period_us");
+			memoryLimit = new ProcFile(memory, "memory.limit_in_bytes");
+			memoryUsage = new ProcFile(memory, "memory.usage_in_bytes");
+		}
+		cpuStat = new ProcFile(cpu, "cpu.stat");
+		memoryStat = new ProcFile(memory, "memory.stat");
+		pidsCurrent = new ProcFile(pids, "pids.current");
+		pidsMax = new ProcFile(pids, "pids.max");
+	}
+
+	/**
+	 * @return 本机当前进程的 cgroup
+	 */
+	public static Cgroup detect() {
+		return new Cgroup(new File("/sys/fs/cgroup"), new File("/proc/self/cgroup"));
+	}
+
+	/**
+	 * @Return the int version, NONE、V1 或 V2
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * CPU 配额，换算为核数（quota / period）
+	 * @Methods Name getCpuLimit
+	 * @Create In 2026年10月18日 By Jack
+	 * @return 核数，未限制或无法读取时为 -1
+	 */
+	public synchronized double getCpuLimit() {
+		if (version == V2) {
+			// cpu.max: "$MAX $PERIOD"，不限制时 $MAX 为 max
+			if (!cpuMax.refresh()) {
+				return -1;
+			}
+			final int space = ProcFile.indexOf(cpuMax, ' ', 0);
+			if (space <= 0) {
+				return -1;
+			}
+			return ratio(ProcFile.parseLong(cpuMax, 0, space), ProcFile.parseLong(cpuMax, space + 1, cpuMax.length()));
+		} else if (version == V1) {
+			return ratio(cpuQuota.readLong(), cpuPeriod.readLong());
+		}
+		return -1;
+	}
+
+	private static double ratio(long quota, long period) {
+		if (quota <= 0 || period <= 0) {
+			return -1;
+		}
+		return (double) quota / period;
+	}
+
+	/**
+	 * 读取 CPU 限流统计（cpu.stat）
+	 * @Methods Name readCpuStat
+	 * @Create In 2026年10月18日 By Jack
+	 * @param stat 长度为3，依次写入 nr_periods、nr_throttled 及被限流的总时间（纳秒）
+	 * @return 是否读取成功
+	 */
+	public synchronized boolean readCpuStat(long[] stat) {
+		if (version == NONE || !cpuStat.refresh()) {
+			return false;
+		}
+		final long periods = ProcFile.keyedValue(cpuStat, "nr_periods");
+		final long throttled = ProcFile.keyedValue(cpuStat, "nr_throttled");
+		// v1 为 throttled_time（纳秒），v2 为 throttled_usec（微秒）
+		final long throttledTime = version == V2 ? ProcFile.keyedValue(cpuStat, "throttled_usec") * 1000 : ProcFile.keyedValue(cpuStat, "throttled_time");
+		if (periods < 0 || throttled < 0) {
+			return false;
+		}
+		stat[0] = periods;
+		stat[1] = throttled;
+		stat[2] = Math.max(throttledTime, 0);
+		return true;
+	}
+
+	/**
+	 * @return 内存限制（字节），未限制或无法读取时为 -1
+	 */
+	public synchronized long getMemoryLimit() {
+		final long limit = memoryLimit.readLong();
+		return limit >= V1_UNLIMITED ? -1 : limit;
+	}
+
+	/**
+	 * @return 已使用内存（字节，包括页缓存），无法读取时为 -1
+	 */
+	public synchronized long getMemoryUsage() {
+		return memoryUsage.readLong();
+	}
+
+	/**
+	 * 读取 memory.stat
+	 * @Methods Name readMemoryStat
+	 * @Create In 2026年10月18日 By Jack
+	 * @param stat 长度为3，依次写入页缓存、匿名内存（RSS）及非活跃页缓存的字节数，不存在的项为 -1
+	 * @return 是否读取成功
+	 */
+	public synchronized boolean readMemoryStat(long[] stat) {
+		if (version == NONE || !memoryStat.refresh()) {
+			return false;
+		}
+		if (version == V2) {
+			stat[0] = ProcFile.keyedValue(memoryStat, "file");
+			stat[1] = ProcFile.keyedValue(memoryStat, "anon");
+			stat[2] = ProcFile.keyedValue(memoryStat, "inactive_file");
+		} else {
+			// total_* 包含子 cgroup
+			stat[0] = keyedValue(memoryStat, "total_cache", "cache");
+			stat[1] = keyedValue(memoryStat, "total_rss", "rss");
+			stat[2] = keyedValue(memoryStat, "total_inactive_file", "inactive_file");
+		}
+		return true;
+	}
+
+	private static long keyedValue(CharSequence content, String key, String fallbackKey) {
+		final long value = ProcFile.keyedValue(content, key);
+		return value >= 0 ? value : ProcFile.keyedValue(content, fallbackKey);
+	}
+
+	/**
+	 * @return cgroup 中的进程及线程数，无法读取时为 -1
+	 */
+	public synchronized long getPidsCurrent() {
+		return pidsCurrent.readLong();
+	}
+
+	/**
+	 * @return 进程及线程数限制，未限制（max）或无法读取时为 -1
+	 */
+	public synchronized long getPidsLimit() {
+		return pidsMax.readLong();
+	}
+
+	private static File v1Directory(File root, String[] mounts, String membership, String controller) {
+		for (final String name : mounts) {
+			final File mount = new File(root, name);
+			if (mount.isDirectory()) {
+				return resolve(mount, membershipPath(membership, controller));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * /proc/self/cgroup 中指定控制器（v1）或统一层级（v2，controller 为 null）的路径
+	 */
+	private static String membershipPath(String membership, String controller) {
+		if (membership == null) {
+			return "/";
+		}
+		int from = 0;
+		while (from < membership.length()) {
+			int end = membership.indexOf('\n', from);
+			if (end < 0) {
+				end = membership.length();
+			}
+			// hierarchy-ID:controller-list:cgroup-path
+			final int first = membership.indexOf(':', from);
+			final int second = first < 0 || first >= end ? -1 : membership.indexOf(':', first + 1);
+			if (second >= 0 && second < end) {
+				final boolean match = controller == null ? second == first + 1 : containsController(membership, first + 1, second, controller);
+				if (match) {
+					return membership.substring(second + 1, end).trim();
+				}
+			}
+			from = end + 1;
+		}
+		return "/";
+	}
+
+	private static boolean containsController(String line, int begin, int end, String controller) {
+		int from = begin;
+		while (from < end) {
+			int comma = line.indexOf(',', from);
+			if (comma < 0 || comma > end) {
+				comma = end;
+			}
+			if (comma - from == controller.length() && line.startsWith(controller, from)) {
+				return true;
+			}
+			from = comma + 1;
+		}
+		return false;
+	}
+
+	private static File resolve(File mount, String path) {
+		if (path == null || path.isEmpty() || "/".equals(path)) {
+			return mount;
+		}
+		final File directory = new File(mount, path);
+		return directory.isDirectory() ? directory : mount;
+	}
+}
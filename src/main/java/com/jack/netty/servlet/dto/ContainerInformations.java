@@ -0,0 +1,165 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoContainerInformations.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午5:02:31
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.io.Serializable;
+
+/**
+ * 容器（cgroup）的资源限制及使用情况
+ *
+ * MemoryInformations 中的物理内存、交换区等为宿主机的数值，在 Docker/K8s 中应以这里的限制为准。
+ * 字节数均为原始值，无法读取或未限制时为 -1。
+ *
+ * @Class Name ContainerInformations
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class ContainerInformations implements Serializable {
+
+	private static final long serialVersionUID = 4127615934078512231L;
+
+	private final int cgroupVersion;
+
+	private final long memoryLimit;
+
+	private final long memoryUsage;
+
+	private final long memoryWorkingSet;
+
+	private final long memoryCache;
+
+	private final long memoryRss;
+
+	private final double cpuLimit;
+
+	private final long cpuPeriods;
+
+	private final long cpuThrottledPeriods;
+
+	private final long cpuThrottledTimeMillis;
+
+	private final long pidsCurrent;
+
+	private final long pidsLimit;
+
+	/**
+	 * @param cgroup 进程所在的 cgroup
+	 */
+	public ContainerInformations(Cgroup cgroup) {
+		super();
+		cgroupVersion = cgroup.getVersion();
+		memoryLimit = cgroup.getMemoryLimit();
+		memoryUsage = cgroup.getMemoryUsage();
+		final long[] memoryStat = { -1, -1, -1 };
+		cgroup.readMemoryStat(memoryStat);
+		memoryCache = memoryStat[0];
+		memoryRss = memoryStat[1];
+		// 与 kubelet 相同：工作集 = 已使用 - 非活跃页缓存，超过限制时触发 OOM
+		memoryWorkingSet = memoryUsage < 0 ? -1 : memoryUsage - Math.max(Math.min(memoryStat[2], memoryUsage), 0);
+		cpuLimit = cgroup.getCpuLimit();
+		final long[] cpuStat = { -1, -1, -1 };
+		final boolean cpuStatAvailable = cgroup.readCpuStat(cpuStat);
+		cpuPeriods = cpuStat[0];
+		cpuThrottledPeriods = cpuStat[1];
+		cpuThrottledTimeMillis = cpuStatAvailable ? cpuStat[2] / 1000000 : -1;
+		pidsCurrent = cgroup.getPidsCurrent();
+		pidsLimit = cgroup.getPidsLimit();
+	}
+
+	/**
+	 * @Return the int cgroupVersion, 0 表示不在 cgroup 中（非 Linux）
+	 */
+	public int getCgroupVersion() {
+		return cgroupVersion;
+	}
+
+	/**
+	 * @Return the long memoryLimit
+	 */
+	public long getMemoryLimit() {
+		return memoryLimit;
+	}
+
+	/**
+	 * @Return the long memoryUsage, 包括页缓存
+	 */
+	public long getMemoryUsage() {
+		return memoryUsage;
+	}
+
+	/**
+	 * @Return the long memoryWorkingSet, 不包括非活跃页缓存
+	 */
+	public long getMemoryWorkingSet() {
+		return memoryWorkingSet;
+	}
+
+	/**
+	 * @Return the long memoryCache
+	 */
+	public long getMemoryCache() {
+		return memoryCache;
+	}
+
+	/**
+	 * @Return the long memoryRss
+	 */
+	public long getMemoryRss() {
+		return memoryRss;
+	}
+
+	/**
+	 * @Return the double cpuLimit, 核数
+	 */
+	public double getCpuLimit() {
+		return cpuLimit;
+	}
+
+	/**
+	 * @Return the long cpuPeriods, 累计调度周期数
+	 */
+	public long getCpuPeriods() {
+		return cpuPeriods;
+	}
+
+	/**
+	 * @Return the long cpuThrottledPeriods, 累计被限流的调度周期数
+	 */
+	public long getCpuThrottledPeriods() {
+		return cpuThrottledPeriods;
+	}
+
+	/**
+	 * @Return the long cpuThrottledTimeMillis, 累计被限流的时间
+	 */
+	public long getCpuThrottledTimeMillis() {
+		return cpuThrottledTimeMillis;
+	}
+
+	/**
+	 * @Return the long pidsCurrent
+	 */
+	public long getPidsCurrent() {
+		return pidsCurrent;
+	}
+
+	/**
+	 * @Return the long pidsLimit
+	 */
+	public long getPidsLimit() {
+		return pidsLimit;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[cgroupVersion=" + cgroupVersion + ", memoryLimit=" + memoryLimit + ", memoryUsage=" + memoryUsage
+			+ ", memoryWorkingSet=" + memoryWorkingSet + ", cpuLimit=" + cpuLimit + ", cpuThrottledPeriods=" + cpuThrottledPeriods + ", pidsCurrent="
+			+ pidsCurrent + ']';
+	}
+}
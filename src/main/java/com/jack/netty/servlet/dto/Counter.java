@@ -97,6 +97,10 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 	 * celui des logs.
 	 */
 	public static final int MAX_REQUESTS_COUNT = 10000;
+	/**
+	 * 请求表满后未准入的请求（及被淘汰的请求）合并到的请求名，见 RequestAdmission
+	 */
+	public static final String OTHER_REQUEST_NAME = "[other]";
 	private static final String TRANSFORM_REPLACEMENT = "\\" + TRANSFORM_REPLACEMENT_CHAR;
 	private static final long serialVersionUID = 6759729262180992976L;
 	private String application;
@@ -121,6 +125,10 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 	
 	private final transient ThreadLocal<CounterRequestContext> contextThreadLocal;
 	private transient Pattern requestTransformPattern;
+	// SQL 计数器默认去掉 SQL 中的字面量后聚合，见 SqlNormalizer
+	private transient SqlNormalizer sqlNormalizer;
+	// 请求表第一次满时创建
+	private transient volatile RequestAdmission requestAdmission;
 
 	/**
 	 * Comparateur pour ordonner les requêtes par sommes des durées.
@@ -262,6 +270,9 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		} else {
 			this.errors = null;
 		}
+		if (SQL_COUNTER_NAME.equals(name)) {
+			this.sqlNormalizer = new SqlNormalizer(SqlNormalizer.DEFAULT_CACHE_SIZE);
+		}
 	}
 
 	/**
@@ -410,6 +421,25 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		this.requestTransformPattern = requestTransformPattern;
 	}
 
+	/**
+	 * 返回聚合前归一化 SQL 的 SqlNormalizer（可能为 null，非 SQL 计数器时为 null）
+	 * 
+	 * @return SqlNormalizer
+	 */
+	public SqlNormalizer getSqlNormalizer() {
+		return sqlNormalizer;
+	}
+
+	/**
+	 * 设置聚合前归一化 SQL 的 SqlNormalizer，null 表示不归一化
+	 * 
+	 * @param sqlNormalizer
+	 *            SqlNormalizer
+	 */
+	public void setSqlNormalizer(SqlNormalizer sqlNormalizer) {
+		this.sqlNormalizer = sqlNormalizer;
+	}
+
 	/**
 	 * Retourne le nombre maximum de requêtes dans ce counter (entier positif).
 	 * 
@@ -506,27 +536,20 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 
 		final CounterRequestContext context = contextThreadLocal.get();
 		final CounterRequest request = getCounterRequestInternal(aggregateRequestName);
-		synchronized (request) {
-			// on synchronise par l'objet request pour éviter de mélanger des
-			// ajouts de hits
-			// concurrents entre plusieurs threads pour le même type de requête.
-			// Rq : on pourrait remplacer ce bloc synchronized par un
-			// synchronized
-			// sur les méthodes addHit et addChildHits dans la classe
-			// CounterRequest.
-			request.addHit(duration, cpuTime, systemError, systemErrorStackTrace, responseSize);
-
-			if (context != null) {
-				// on ajoute dans la requête parente toutes les requêtes filles
-				// du contexte
-				if (context.getParentCounter() == this) {
-					request.addChildHits(context);
-					;
-				}
-				request.addChildRequests(context.getChildRequestsExecutionsByRequestId());
+		// addHit, addChildHits et addChildRequests sont sans verrou
+		// (accumulateurs répartis par thread dans CounterRequest) :
+		// pas de synchronized sur request, qui était un point de contention
+		// quand beaucoup de threads exécutent la même requête
+		request.addHit(duration, cpuTime, systemError, systemErrorStackTrace, responseSize);
+
+		if (context != null) {
+			// on ajoute dans la requête parente toutes les requêtes filles
+			// du contexte
+			if (context.getParentCounter() == this) {
+				request.addChildHits(context);
 			}
+			request.addChildRequests(context.getChildRequestsExecutionsByRequestId());
 		}
-		// perf: on fait le reste hors du synchronized sur request
 		if (context != null) {
 			if (context.getParentCounter() == this) {
 				final CounterRequestContext parentContext = context.getParentContext();
@@ -560,12 +583,31 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		}
 	}
 
+	/**
+	 * 记录 SQL 的批量大小及行数（见 CounterRequest.addRows），请求不存在时（已清除）忽略
+	 * 
+	 * @param requestName
+	 *            与 addRequest 相同的请求名
+	 * @param batchSize
+	 *            executeBatch 中的语句数
+	 * @param rowsAffected
+	 *            影响行数
+	 * @param rowsFetched
+	 *            读取行数
+	 */
+	public void addRows(String requestName, int batchSize, long rowsAffected, long rowsFetched) {
+		final CounterRequest request = requests.get(getAggregateRequestName(requestName));
+		if (request != null) {
+			request.addRows(batchSize, rowsAffected, rowsFetched);
+		}
+	}
+
 	public void addRequestForSystemError(String requestName, long duration, long cpuTime, String stackTrace) {
 		// comme la méthode addRequest, cette méthode n'est pas synchronisée
 		// pour ne pas avoir
 		// de synchronisation globale à l'application sur cette instance d'objet
 		// ce qui pourrait faire une contention et des ralentissements,
-		// par contre on synchronise request et errors
+		// par contre on synchronise errors
 		assert requestName != null;
 		assert duration >= -1; // -1 pour le counter de log
 		assert cpuTime >= -1;
@@ -580,9 +622,7 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		assert contextThreadLocal.get() == null;
 		final String aggregateRequestName = getAggregateRequestName(requestName);
 		final CounterRequest request = getCounterRequestInternal(aggregateRequestName);
-		synchronized (request) {
-			request.addHit(duration, cpuTime, true, stackTrace, -1);
-		}
+		request.addHit(duration, cpuTime, true, stackTrace, -1);
 		synchronized (errors) {
 			errors.addLast(new CounterError(requestName, stackTrace));
 			if (errors.size() > MAX_ERRORS_COUNT) {
@@ -639,20 +679,22 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 	}
 
 	private String getAggregateRequestName(String requestName) {
+		final SqlNormalizer normalizer = sqlNormalizer;
+		final String normalizedRequestName = normalizer == null ? requestName : normalizer.get(requestName);
 		final String aggregateRequestName;
 		if (requestTransformPattern == null) {
-			aggregateRequestName = requestName;
+			aggregateRequestName = normalizedRequestName;
 		} else {
 			// ce pattern optionnel permet de transformer la description de la
 			// requête
 			// pour supprimer des parties variables (identifiant d'objet par
 			// exemple)
 			// et pour permettre l'agrégation sur cette requête
-			final Matcher matcher = requestTransformPattern.matcher(requestName);
+			final Matcher matcher = requestTransformPattern.matcher(normalizedRequestName);
 			try {
 				aggregateRequestName = matcher.replaceAll(TRANSFORM_REPLACEMENT);
 			} catch (final StackOverflowError e) {
-				return requestName;
+				return normalizedRequestName;
 			}
 		}
 		return aggregateRequestName;
@@ -678,31 +720,8 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 			}
 		}
 
-		int size = requests.size();
-		final int maxRequests = getMaxRequestsCount();
-		if (size > maxRequests) {
-			// Si le nombre de requêtes est supérieur à 10000 (sql non bindé par
-			// ex.),
-			// on essaye ici d'éviter de saturer la mémoire (et le disque dur)
-			// avec toutes ces requêtes différentes en éliminant celles ayant
-			// moins de 10 hits.
-			// (utile pour une agrégation par année dans PeriodCounterFactory
-			// par ex.)
-			// Mais inutile de le faire dans d'autres méthodes de Counter
-			// car ce serait mauvais pour les perfs, cela ne laisserait aucune
-			// chance
-			// à une nouvelle requête et car cela sera fait par la classe
-			// collector
-			for (final CounterRequest request : requests.values()) {
-				if (request.getHits() < 10) {
-					removeRequest(request.getName());
-					size--;
-					if (size <= maxRequests) {
-						break;
-					}
-				}
-			}
-		}
+		// 请求数由 getCounterRequestInternal 的准入限制在 maxRequestsCount 左右，
+		// 不再需要在这里删除 hits 少于 10 的请求
 
 		if (isErrorCounter()) {
 			addErrors(newCounter.getErrors());
@@ -786,6 +805,10 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 	private CounterRequest getCounterRequestInternal(String requestName) {
 		CounterRequest request = requests.get(requestName);
 		if (request == null) {
+			if (requests.size() >= getMaxRequestsCount() && !OTHER_REQUEST_NAME.equals(requestName)) {
+				// 请求表已满（如未绑定参数的 SQL、扫描随机 URL）
+				return admitRequest(requestName);
+			}
 			request = new CounterRequest(requestName, getName());
 			// putIfAbsent a l'avantage d'être garanti atomique, même si ce
 			// n'est pas indispensable
@@ -797,6 +820,13 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		return request;
 	}
 
+	/**
+	 * 直接放入请求，不经过准入，用于 CounterCheckpoint 恢复
+	 */
+	void putRequest(CounterRequest request) {
+		requests.put(request.getName(), request);
+	}
+
 	/**
 	 * Retourne le nombre de requêtes dans ce counter.
 	 * 
@@ -820,12 +850,15 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		// Rq : l'Iterator sur ConcurrentHashMap.values() est garanti ne pas
 		// lancer ConcurrentModificationException
 		// même s'il y a des ajouts concurrents
+		mergeLateHits();
 		final List<CounterRequest> result = new ArrayList<CounterRequest>(requests.size());
 		for (final CounterRequest request : requests.values()) {
 			// on synchronize sur request en cas d'ajout en parallèle d'un hit
 			// sur cette request
 			synchronized (request) {
 				result.add(request.clone());
+				// 竞争膨胀出来的累加器行在每次取快照后并回，热点请求在下一次竞争时重新膨胀
+				request.deflateCells();
 			}
 		}
 		return result;
@@ -844,6 +877,70 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		return requestList;
 	}
 
+	/**
+	 * 按总耗时取前 count 个请求，从大到小排列：在请求表上用大小为 count 的最小堆选取，只克隆选出的请求，
+	 * 不像 getOrderedRequests 那样克隆并排序所有请求。选取时读取的总耗时不是同一时刻的快照，并发写入时排名可能略有出入。
+	 * 
+	 * @param count
+	 *            请求数
+	 * @return 克隆的请求，可以不加锁使用
+	 */
+	public List<CounterRequest> getTopRequests(int count) {
+		if (count <= 0) {
+			return new ArrayList<CounterRequest>(0);
+		}
+		final CounterRequest[] top = new CounterRequest[count];
+		final long[] sums = new long[count];
+		int size = 0;
+		for (final CounterRequest request : requests.values()) {
+			final long sum = request.getDurationsSum();
+			int i;
+			if (size < count) {
+				// 上浮
+				i = size++;
+				while (i > 0) {
+					final int parent = (i - 1) >>> 1;
+					if (sums[parent] <= sum) {
+						break;
+					}
+					sums[i] = sums[parent];
+					top[i] = top[parent];
+					i = parent;
+				}
+			} else if (sum > sums[0]) {
+				// 替换堆顶（当前最小）后下沉
+				i = 0;
+				while (true) {
+					int child = 2 * i + 1;
+					if (child >= size) {
+						break;
+					}
+					if (child + 1 < size && sums[child + 1] < sums[child]) {
+						child++;
+					}
+					if (sums[child] >= sum) {
+						break;
+					}
+					sums[i] = sums[child];
+					top[i] = top[child];
+					i = child;
+				}
+			} else {
+				continue;
+			}
+			sums[i] = sum;
+			top[i] = request;
+		}
+		final List<CounterRequest> result = new ArrayList<CounterRequest>(size);
+		for (int i = 0; i < size; i++) {
+			synchronized (top[i]) {
+				result.add(top[i].clone());
+			}
+		}
+		Collections.sort(result, Collections.reverseOrder(new CounterRequestComparator()));
+		return result;
+	}
+
 	/**
 	 * @return Liste des requêtes triées par hits décroissants, la liste et ses
 	 *         objets peuvent être utilisés sans synchronized et sans crainte
@@ -902,12 +999,99 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		}
 	}
 
+	/**
+	 * 请求表满时的准入：新请求名的估计出现次数超过 hits 最少的请求时替换它，被替换的请求合并进 OTHER_REQUEST_NAME，
+	 * 否则返回 OTHER_REQUEST_NAME 的请求。请求表满之后才进入这里，已在表中的请求不受影响。
+	 * 计入 OTHER_REQUEST_NAME 的情况不加锁；只有替换及重新选取候选时 tryLock，其他线程正在替换时本次也计入 OTHER_REQUEST_NAME。
+	 * 并发时请求数可能超过 maxRequestsCount 几个（与线程数有关）。
+	 */
+	private CounterRequest admitRequest(String requestName) {
+		final RequestAdmission admission = getRequestAdmission();
+		final CounterRequest otherRequest = getCounterRequestInternal(OTHER_REQUEST_NAME);
+		final int frequency = admission.increment(requestName);
+		final CounterRequest candidate = admission.victim(requests);
+		if (candidate != null && frequency <= candidate.getHits() || !admission.lock.tryLock()) {
+			return otherRequest;
+		}
+		try {
+			final CounterRequest existing = requests.get(requestName);
+			if (existing != null) {
+				return existing;
+			}
+			CounterRequest victim = candidate;
+			if (victim == null) {
+				// 候选用完或已过时
+				admission.selectVictims(requests, OTHER_REQUEST_NAME);
+				victim = admission.victim(requests);
+			}
+			if (victim == null || frequency <= victim.getHits() || !requests.remove(victim.getName(), victim)) {
+				return otherRequest;
+			}
+			final CounterRequest merged;
+			synchronized (victim) {
+				merged = victim.clone();
+			}
+			synchronized (otherRequest) {
+				otherRequest.addHits(merged);
+			}
+			// 之前取得 victim 的请求线程可能在合并之后才写入 hit，之后再补充合并
+			admission.evicted(victim, merged, otherRequest, System.currentTimeMillis());
+			final CounterRequest request = new CounterRequest(requestName, getName());
+			// 之前 frequency - 1 次计入了 other（sketch 只会高估）
+			request.setHitsError(frequency - 1);
+			final CounterRequest precedentRequest = requests.putIfAbsent(requestName, request);
+			return precedentRequest != null ? precedentRequest : request;
+		} finally {
+			admission.lock.unlock();
+		}
+	}
+
+	private RequestAdmission getRequestAdmission() {
+		RequestAdmission admission = requestAdmission;
+		if (admission == null) {
+			synchronized (this) {
+				admission = requestAdmission;
+				if (admission == null) {
+					admission = new RequestAdmission(getMaxRequestsCount());
+					requestAdmission = admission;
+				}
+			}
+		}
+		return admission;
+	}
+
+	/**
+	 * 把被替换的请求在合并之后写入的 hit 补充合并进 OTHER_REQUEST_NAME
+	 */
+	private void mergeLateHits() {
+		final RequestAdmission admission = requestAdmission;
+		// 替换过请求时 OTHER_REQUEST_NAME 一定已存在
+		final CounterRequest otherRequest = requests.get(OTHER_REQUEST_NAME);
+		if (admission != null && otherRequest != null) {
+			admission.lock.lock();
+			try {
+				admission.mergeLateHits(otherRequest, System.currentTimeMillis());
+			} finally {
+				admission.lock.unlock();
+			}
+		}
+	}
+
 	/**
 	 * Purge les requêtes, requêtes en cours et erreurs puis positionne la date
 	 * et heure de début à l'heure courante.
 	 */
 	public void clear() {
 		requests.clear();
+		final RequestAdmission admission = requestAdmission;
+		if (admission != null) {
+			admission.lock.lock();
+			try {
+				admission.clear();
+			} finally {
+				admission.lock.unlock();
+			}
+		}
 		rootCurrentContextsByThreadId.clear();
 		if (errors != null) {
 			synchronized (errors) {
@@ -928,6 +1112,7 @@ public class Counter implements Cloneable, Serializable { // NOPMD
 		clone.maxRequestsCount = getMaxRequestsCount();
 		clone.displayed = isDisplayed();
 		clone.requestTransformPattern = getRequestTransformPattern();
+		clone.sqlNormalizer = getSqlNormalizer();
 		// on ne copie pas rootCurrentContextsByThreadId car on ne fournit pas
 		// les requêtes en cours
 		// qui sont très rapidement obsolètes au serveur de collecte (et sinon
@@ -0,0 +1,451 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoCounterCheckpoint.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:52:17
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counter 检查点的二进制格式，代替 ObjectOutputStream + GZIP 的序列化
+ *
+ * 文件头不压缩：[int 魔数 OCKP][short 版本][byte 压缩方式]，其后的内容按压缩方式（none、deflate、lz4）压缩：
+ * 计数器名、开始时间、字符串表（请求名、异常堆栈、子请求 id 等只保存一次，其他位置写下标），
+ * 然后按列保存所有请求：请求名下标列、14 个 long 统计列、最后异常堆栈下标列、直方图非零桶、子请求执行数，最后是错误列表及结束标记。
+ * 按列排列的数值相近，压缩效果好；读取时不经过反射及类描述，类的字段变化不影响已写入的文件。
+ *
+ * 版本只在格式变化时增加，读取时接受不高于当前版本的文件，更高版本或魔数不符时抛出 IOException。
+ * LZ4 使用 Kafka 客户端带的 net.jpountz.lz4，类路径中没有时使用 deflate。
+ *
+ * @Class Name CounterCheckpoint
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public final class CounterCheckpoint {
+
+	/**
+	 * 不压缩
+	 */
+	public static final String COMPRESSION_NONE = "none";
+
+	/**
+	 * java.util.zip 的 deflate（BEST_SPEED）
+	 */
+	public static final String COMPRESSION_DEFLATE = "deflate";
+
+	/**
+	 * LZ4 块压缩
+	 */
+	public static final String COMPRESSION_LZ4 = "lz4";
+
+	private static Logger log = LoggerFactory.getLogger(CounterCheckpoint.class);
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int MAGIC = 0x4F434B50;
+
+	private static final int END = 0x454E4443;
+
+	private static final short VERSION = 1;
+
+	private static final byte NONE = 0;
+
+	private static final byte DEFLATE = 1;
+
+	private static final byte LZ4 = 2;
+
+	private static final int BUFFER_SIZE = 65536;
+
+	private static final boolean LZ4_AVAILABLE = isLz4Present();
+
+	private static volatile byte compression = DEFLATE;
+
+	private CounterCheckpoint() {
+		super();
+	}
+
+	/**
+	 * 设置写入时的压缩方式，lz4 不可用时使用 deflate
+	 * @Methods Name setCompression
+	 * @Create In 2026年10月18日 By Jack
+	 * @param name none、deflate 或 lz4
+	 */
+	public static void setCompression(String name) {
+		if (COMPRESSION_NONE.equalsIgnoreCase(name)) {
+			compression = NONE;
+		} else if (COMPRESSION_LZ4.equalsIgnoreCase(name)) {
+			if (LZ4_AVAILABLE) {
+				compression = LZ4;
+			} else {
+				log.warn("LZ4 is not available for counter checkpoints, using deflate");
+				compression = DEFLATE;
+			}
+		} else {
+			compression = DEFLATE;
+		}
+	}
+
+	/**
+	 * 写入检查点
+	 * @Methods Name write
+	 * @Create In 2026年10月18日 By Jack
+	 * @param counter 计数器，一般为 clone 的结果
+	 * @param out 输出流，写完后不关闭
+	 * @return 压缩前的大小（字节）
+	 * @throws IOException e
+	 */
+	public static int write(Counter counter, OutputStream out) throws IOException {
+		final List<CounterRequest> requests = counter.getRequests();
+		final List<CounterError> errors = counter.isErrorCounter() ? counter.getErrors() : Collections.<CounterError> emptyList();
+		final int size = requests.size();
+
+		// 字符串表
+		final StringTable strings = new StringTable();
+		final int[] names = new int[size];
+		final int[] stackTraces = new int[size];
+		final List<Map<String, Long>> childRequests = new ArrayList<Map<String, Long>>(size);
+		for (int i = 0; i < size; i++) {
+			final CounterRequest request = requests.get(i);
+			names[i] = strings.indexOf(request.getName());
+			stackTraces[i] = strings.indexOf(request.getStackTrace());
+			final Map<String, Long> children = request.getChildRequestsExecutionsByRequestId();
+			for (final String requestId : children.keySet()) {
+				strings.indexOf(requestId);
+			}
+			childRequests.add(children);
+		}
+		for (final CounterError error : errors) {
+			strings.indexOf(error.getRemoteUser());
+			strings.indexOf(error.getHttpRequest());
+			strings.indexOf(error.getMessage());
+			strings.indexOf(error.getStackTrace());
+		}
+
+		final DataOutputStream header = new DataOutputStream(out);
+		final byte method = compression;
+		header.writeInt(MAGIC);
+		header.writeShort(VERSION);
+		header.writeByte(method);
+		header.flush();
+
+		final Deflater deflater = method == DEFLATE ? new Deflater(Deflater.BEST_SPEED) : null;
+		try {
+			final OutputStream compressed;
+			if (method == DEFLATE) {
+				compressed = new DeflaterOutputStream(new NonClosingOutputStream(out), deflater, BUFFER_SIZE);
+			} else if (method == LZ4) {
+				compressed = Lz4.compress(new NonClosingOutputStream(out));
+			} else {
+				compressed = new NonClosingOutputStream(out);
+			}
+			final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(compressed, BUFFER_SIZE));
+			output.writeUTF(counter.getName());
+			output.writeLong(counter.getStartDate().getTime());
+			output.writeInt(strings.values.size());
+			for (final String value : strings.values) {
+				final byte[] bytes = value.getBytes(UTF_8);
+				output.writeInt(bytes.length);
+				output.write(bytes);
+			}
+
+			output.writeInt(size);
+			for (int i = 0; i < size; i++) {
+				output.writeInt(names[i]);
+			}
+			for (int column = 0; column < CounterRequest.CHECKPOINT_COLUMNS; column++) {
+				for (int i = 0; i < size; i++) {
+					output.writeLong(requests.get(i).getCheckpointColumn(column));
+				}
+			}
+			for (int i = 0; i < size; i++) {
+				output.writeInt(stackTraces[i]);
+			}
+			writeHistograms(output, requests);
+			for (int i = 0; i < size; i++) {
+				final Map<String, Long> children = childRequests.get(i);
+				output.writeInt(children.size());
+				for (final Map.Entry<String, Long> entry : children.entrySet()) {
+					output.writeInt(strings.indexOf(entry.getKey()));
+					output.writeLong(entry.getValue());
+				}
+			}
+
+			output.writeInt(errors.size());
+			for (final CounterError error : errors) {
+				output.writeLong(error.getTime());
+				output.writeInt(strings.indexOf(error.getRemoteUser()));
+				output.writeInt(strings.indexOf(error.getHttpRequest()));
+				output.writeInt(strings.indexOf(error.getMessage()));
+				output.writeInt(strings.indexOf(error.getStackTrace()));
+			}
+			output.writeInt(END);
+			// 结束压缩流，底层流不关闭
+			output.close();
+			return output.size();
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+
+	private static void writeHistograms(DataOutputStream output, List<CounterRequest> requests) throws IOException {
+		// 先写每个请求的非零桶数，再写所有非零桶的 [byte 桶下标][int 计数]
+		for (final CounterRequest request : requests) {
+			final LatencyHistogram histogram = request.getLatencyHistogram();
+			int buckets = 0;
+			if (histogram != null) {
+				for (int b = 0; b < LatencyHistogram.BUCKET_COUNT; b++) {
+					if (histogram.getCount(b) != 0) {
+						buckets++;
+					}
+				}
+			}
+			output.writeShort(buckets);
+		}
+		for (final CounterRequest request : requests) {
+			final LatencyHistogram histogram = request.getLatencyHistogram();
+			if (histogram != null) {
+				for (int b = 0; b < LatencyHistogram.BUCKET_COUNT; b++) {
+					final int count = histogram.getCount(b);
+					if (count != 0) {
+						output.writeByte(b);
+						output.writeInt(count);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * 读取检查点
+	 * @Methods Name read
+	 * @Create In 2026年10月18日 By Jack
+	 * @param template 被恢复的计数器，用于名称、图标、子计数器及应用名
+	 * @param in 输入流，读完后不关闭
+	 * @return 新的 Counter
+	 * @throws IOException 格式错误、版本不支持或文件不完整
+	 */
+	public static Counter read(Counter template, InputStream in) throws IOException {
+		final DataInputStream header = new DataInputStream(in);
+		if (header.readInt() != MAGIC) {
+			throw new IOException("Not a counter checkpoint");
+		}
+		final short version = header.readShort();
+		if (version < 1 || version > VERSION) {
+			throw new IOException("Unsupported counter checkpoint version " + version);
+		}
+		final byte method = header.readByte();
+		final Inflater inflater = method == DEFLATE ? new Inflater() : null;
+		try {
+			final InputStream uncompressed;
+			if (method == DEFLATE) {
+				uncompressed = new InflaterInputStream(in, inflater, BUFFER_SIZE);
+			} else if (method == LZ4) {
+				if (!LZ4_AVAILABLE) {
+					throw new IOException("LZ4 is not available to read the counter checkpoint");
+				}
+				uncompressed = Lz4.decompress(in);
+			} else if (method == NONE) {
+				uncompressed = in;
+			} else {
+				throw new IOException("Unsupported counter checkpoint compression " + method);
+			}
+			final DataInputStream input = new DataInputStream(new BufferedInputStream(uncompressed, BUFFER_SIZE));
+			final String name = input.readUTF();
+			if (!name.equals(template.getName())) {
+				throw new IOException("Counter checkpoint of " + name + " can not be read into " + template.getName());
+			}
+			final Counter counter = new Counter(template.getName(), template.getStorageName(), template.getIconName(), template.getChildCounterName());
+			counter.setApplication(template.getApplication());
+			counter.setStartDate(new Date(input.readLong()));
+			final String[] strings = new String[input.readInt()];
+			byte[] bytes = new byte[256];
+			for (int i = 0; i < strings.length; i++) {
+				final int length = input.readInt();
+				if (bytes.length < length) {
+					bytes = new byte[Math.max(length, bytes.length * 2)];
+				}
+				input.readFully(bytes, 0, length);
+				strings[i] = new String(bytes, 0, length, UTF_8);
+			}
+
+			final int size = input.readInt();
+			final CounterRequest[] requests = new CounterRequest[size];
+			for (int i = 0; i < size; i++) {
+				requests[i] = new CounterRequest(strings[input.readInt()], counter.getName());
+			}
+			for (int column = 0; column < CounterRequest.CHECKPOINT_COLUMNS; column++) {
+				for (int i = 0; i < size; i++) {
+					requests[i].setCheckpointColumn(column, input.readLong());
+				}
+			}
+			final String[] stackTraces = new String[size];
+			for (int i = 0; i < size; i++) {
+				stackTraces[i] = string(strings, input.readInt());
+			}
+			final int[] buckets = new int[size];
+			for (int i = 0; i < size; i++) {
+				buckets[i] = input.readUnsignedShort();
+			}
+			for (int i = 0; i < size; i++) {
+				final LatencyHistogram histogram = requests[i].getLatencyHistogram();
+				for (int b = 0; b < buckets[i]; b++) {
+					histogram.setCount(input.readUnsignedByte(), input.readInt());
+				}
+			}
+			for (int i = 0; i < size; i++) {
+				final int children = input.readInt();
+				Map<String, Long> childRequests = null;
+				if (children > 0) {
+					childRequests = new LinkedHashMap<String, Long>(children * 2);
+					for (int c = 0; c < children; c++) {
+						childRequests.put(strings[input.readInt()], input.readLong());
+					}
+				}
+				requests[i].restoreCheckpoint(stackTraces[i], childRequests);
+				counter.putRequest(requests[i]);
+			}
+
+			final int errorCount = input.readInt();
+			if (errorCount > 0) {
+				final List<CounterError> errors = new ArrayList<CounterError>(errorCount);
+				for (int i = 0; i < errorCount; i++) {
+					final long time = input.readLong();
+					final String remoteUser = string(strings, input.readInt());
+					final String httpRequest = string(strings, input.readInt());
+					final String message = string(strings, input.readInt());
+					errors.add(new CounterError(time, remoteUser, httpRequest, message, string(strings, input.readInt())));
+				}
+				counter.addErrors(errors);
+			}
+			if (input.readInt() != END) {
+				throw new IOException("Counter checkpoint is corrupted");
+			}
+			return counter;
+		} catch (EOFException e) {
+			throw new IOException("Counter checkpoint is truncated", e);
+		} catch (RuntimeException e) {
+			// 下标越界等格式错误
+			throw new IOException("Counter checkpoint is corrupted", e);
+		} finally {
+			if (inflater != null) {
+				inflater.end();
+			}
+		}
+	}
+
+	private static boolean isLz4Present() {
+		try {
+			Class.forName("net.jpountz.lz4.LZ4BlockOutputStream", false, CounterCheckpoint.class.getClassLoader());
+			return true;
+		} catch (final ClassNotFoundException e) {
+			return false;
+		} catch (final LinkageError e) {
+			return false;
+		}
+	}
+
+	private static String string(String[] strings, int index) {
+		return index < 0 ? null : strings[index];
+	}
+
+	/**
+	 * 字符串表，null 的下标为 -1
+	 */
+	private static final class StringTable {
+
+		private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+
+		private final List<String> values = new ArrayList<String>();
+
+		int indexOf(String value) {
+			if (value == null) {
+				return -1;
+			}
+			Integer index = indexes.get(value);
+			if (index == null) {
+				index = values.size();
+				indexes.put(value, index);
+				values.add(value);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * 关闭压缩流时不关闭底层的文件流
+	 */
+	private static final class NonClosingOutputStream extends OutputStream {
+
+		private final OutputStream out;
+
+		NonClosingOutputStream(OutputStream out) {
+			super();
+			this.out = out;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.flush();
+		}
+	}
+
+	/**
+	 * LZ4 块压缩流，单独的类使类路径中没有 net.jpountz.lz4 时 CounterCheckpoint 仍可加载、校验；只在 LZ4_AVAILABLE 时使用
+	 */
+	private static final class Lz4 {
+
+		private Lz4() {
+			super();
+		}
+
+		static OutputStream compress(OutputStream out) {
+			return new net.jpountz.lz4.LZ4BlockOutputStream(out, BUFFER_SIZE);
+		}
+
+		static InputStream decompress(InputStream in) {
+			return new net.jpountz.lz4.LZ4BlockInputStream(in);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoCounterDeltaTracker.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午1:42:15
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 计数器增量上报
+ *
+ * 保存上一次上报时各请求的累计值，每次只返回 hits 有变化的请求，数值为两次上报之间的增量
+ * （hits、耗时、CPU、错误数、耗时分布等，均由 CounterRequest.subtractPrevious 计算；最长执行时间为这段时间内的最大值，
+ * 累计最大值没有增长时取增量直方图最高非空桶的上界，百分位不会被截断为平均值）。
+ * 每隔 keyframeInterval 次返回一次完整的累计值（关键帧），收集端据此校正或在重启后重新建立基线。
+ * 计数被清零（hits 小于上一次）的请求按累计值整体返回，即为清零以来的增量。
+ *
+ * 每个计数器一个实例，只由上报线程调用，不是线程安全的。
+ *
+ * @Class Name CounterDeltaTracker
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class CounterDeltaTracker {
+
+	/**
+	 * 未开启增量：每次均为完整累计值
+	 */
+	public static final String REPORT_FULL = "full";
+
+	/**
+	 * 增量模式下的关键帧：完整累计值
+	 */
+	public static final String REPORT_KEYFRAME = "keyframe";
+
+	/**
+	 * 增量：只包含有变化的请求，数值为上一次上报以来的增量
+	 */
+	public static final String REPORT_DELTA = "delta";
+
+	private final boolean deltaEnabled;
+
+	private final int keyframeInterval;
+
+	private Map<String, CounterRequest> previous = new HashMap<String, CounterRequest>();
+
+	private int reportsSinceKeyframe;
+
+	private String reportType = REPORT_FULL;
+
+	/**
+	 * @param deltaEnabled 是否开启增量上报
+	 * @param keyframeInterval 每隔多少次上报发送一次关键帧，小于等于1时每次都是关键帧
+	 */
+	public CounterDeltaTracker(boolean deltaEnabled, int keyframeInterval) {
+		super();
+		this.deltaEnabled = deltaEnabled;
+		this.keyframeInterval = Math.max(keyframeInterval, 1);
+		// 第一次上报总是关键帧
+		this.reportsSinceKeyframe = this.keyframeInterval;
+	}
+
+	/**
+	 * 计算本次需要上报的请求
+	 * @Methods Name next
+	 * @Create In 2026年10月18日 By Jack
+	 * @param requests Counter.getRequests() 的结果（克隆，可修改）
+	 * @return 完整列表（关键帧或未开启增量）或有变化请求的增量
+	 */
+	public List<CounterRequest> next(List<CounterRequest> requests) {
+		if (!deltaEnabled) {
+			reportType = REPORT_FULL;
+			return requests;
+		}
+		final Map<String, CounterRequest> current = new HashMap<String, CounterRequest>(requests.size() * 4 / 3 + 1);
+		for (final CounterRequest request : requests) {
+			current.put(request.getName(), request);
+		}
+		final Map<String, CounterRequest> last = previous;
+		previous = current;
+		if (reportsSinceKeyframe >= keyframeInterval) {
+			reportsSinceKeyframe = 1;
+			reportType = REPORT_KEYFRAME;
+			return requests;
+		}
+		reportsSinceKeyframe++;
+		reportType = REPORT_DELTA;
+		final List<CounterRequest> result = new ArrayList<CounterRequest>();
+		for (final CounterRequest request : requests) {
+			final CounterRequest before = last.get(request.getName());
+			if (before == null || request.getHits() < before.getHits()) {
+				// 新请求或计数已清零，累计值即为增量
+				result.add(request);
+			} else if (request.getHits() > before.getHits() || request.getRowsFetchedSum() > before.getRowsFetchedSum()) {
+				// 读取行数在 ResultSet 关闭时才记录，可能晚于执行次数
+				// request 保存为下一次的基线，增量在克隆上计算
+				final CounterRequest delta = request.clone();
+				delta.subtractPrevious(before);
+				result.add(delta);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @Return the String reportType, 最近一次 next 的结果类型
+	 */
+	public String getReportType() {
+		return reportType;
+	}
+}
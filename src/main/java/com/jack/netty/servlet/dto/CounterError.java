@@ -66,6 +66,19 @@ public class CounterError implements Serializable {
 		}
 	}
 
+	/**
+	 * 从 CounterCheckpoint 恢复
+	 */
+	CounterError(long time, String remoteUser, String httpRequest, String message, String stackTrace) {
+		super();
+		assert message != null;
+		this.time = time;
+		this.remoteUser = remoteUser;
+		this.httpRequest = httpRequest;
+		this.message = message;
+		this.stackTrace = stackTrace;
+	}
+
 	/**
 	 * Définit la requête http (peut être nulle) pour le thread courant.
 	 * 
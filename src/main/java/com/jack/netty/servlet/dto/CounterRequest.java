@@ -23,6 +23,13 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.jackson.annotate.JsonIgnore;
+
+import com.jack.netty.servlet.util.StripedLongCells;
 
 /**
  * Données statistiques d'une requête identifiée, hors paramètres dynamiques
@@ -34,6 +41,11 @@ import java.util.Map;
  * de Counter, qui gérera les accès concurrents sur les instances de cette
  * classe.
  * 
+ * 例外：addHit、addChildHits、addChildRequests 在请求热路径上调用，是无锁线程安全的，
+ * 写入按线程分段的累加器（StripedLongCells）而不是下面的 long 字段，不需要在外部同步；
+ * long 字段作为合并基数，addHits、removeHits 仍需由 Counter 对实例加锁。
+ * 读取方法返回基数与累加器之和，clone 会把累加器折叠进克隆对象的基数中。
+ * 
  * @author Emeric Vernat
  */
 public class CounterRequest implements Cloneable, Serializable {
@@ -53,9 +65,46 @@ public class CounterRequest implements Cloneable, Serializable {
 	private long responseSizesSum;
 	private long childHits;
 	private long childDurationsSum;
-	private String stackTrace;
+	// JDBC：批量执行次数、批量中的语句总数、影响行数、读取行数（SQL 计数器之外为0）
+	private long batchHits;
+	private long batchSizesSum;
+	private long rowsAffectedSum;
+	private long rowsFetchedSum;
+	// 请求表满后需经过准入（见 RequestAdmission），进入请求表之前计入 "other" 的 hits 的上限（估计值）
+	private long hitsError;
+	private volatile String stackTrace;
 	@SuppressWarnings("all")
 	private Map<String, Long> childRequestsExecutionsByRequestId;
+	// 耗时分布，用于计算 p95/p99/p999，旧版本序列化的数据中可能为 null
+	private volatile LatencyHistogram latencyHistogram = new LatencyHistogram();
+	// 热路径上的累加器，第一次 addHit 时创建，不序列化（clone 时已折叠进基数）
+	@JsonIgnore
+	private transient volatile StripedLongCells cells;
+	// 热路径上记录的子请求执行次数，clone 时合并进 childRequestsExecutionsByRequestId
+	@JsonIgnore
+	private transient volatile ConcurrentMap<String, AtomicLong> liveChildRequests;
+
+	// cells 的列
+	private static final int HITS = 0;
+	private static final int DURATIONS_SUM = 1;
+	private static final int DURATIONS_SQUARE_SUM = 2;
+	private static final int MAXIMUM = 3;
+	private static final int CPU_TIME_SUM = 4;
+	private static final int SYSTEM_ERRORS = 5;
+	private static final int RESPONSE_SIZES_SUM = 6;
+	private static final int CHILD_HITS = 7;
+	private static final int CHILD_DURATIONS_SUM = 8;
+	private static final int BATCH_HITS = 9;
+	private static final int BATCH_SIZES_SUM = 10;
+	private static final int ROWS_AFFECTED_SUM = 11;
+	private static final int ROWS_FETCHED_SUM = 12;
+	private static final int COLUMNS = 13;
+	// 每个请求的累加器最多膨胀为 8 行（约 1.5KB），请求很多时竞争过后的内存仍然有限，
+	// Counter.getRequests 取快照后再并回一行
+	private static final int MAX_CELL_STRIPES = 8;
+
+	// CounterCheckpoint 按列保存的统计数，列的顺序即文件格式，只能在末尾增加
+	static final int CHECKPOINT_COLUMNS = 14;
 
 	/**
 	 * Interface du contexte d'une requête en cours.
@@ -111,22 +160,34 @@ public class CounterRequest implements Cloneable, Serializable {
 	 * @return 运行此查询数
 	 */
 	public long getHits() {
-		return hits;
+		return sum(hits, HITS);
+	}
+
+	/**
+	 * @return 进入请求表之前计入 "other" 的 hits 的上限，实际 hits 在 getHits() 与 getHits() + getHitsError() 之间
+	 */
+	public long getHitsError() {
+		return hitsError;
+	}
+
+	void setHitsError(long hitsError) {
+		this.hitsError = hitsError;
 	}
 
 	/**
 	 * @return 该查询的执行时间总和
 	 */
 	public long getDurationsSum() {
-		return durationsSum;
+		return sum(durationsSum, DURATIONS_SUM);
 	}
 
 	/**
 	 * @return 平均执行时间
 	 */
 	public long getMean() {
-		if (hits > 0) {
-			return (int) (durationsSum / hits);
+		final long h = getHits();
+		if (h > 0) {
+			return (int) (getDurationsSum() / h);
 		}
 		return -1;
 	}
@@ -156,8 +217,12 @@ public class CounterRequest implements Cloneable, Serializable {
 		// http://web.archive.org/web/20070710000323/http://www.med.umkc.edu/tlwbiostats/variability.html
 		// http://web.archive.org/web/20050512031826/http://helios.bto.ed.ac.uk/bto/statistics/tress3.html
 		// http://www.bmj.com/collections/statsbk/2.html
-		if (hits > 0) {
-			return (int) Math.sqrt((durationsSquareSum - (double) durationsSum * durationsSum / hits) / (hits - 1));
+		final long h = getHits();
+		if (h > 0) {
+			final long sum = getDurationsSum();
+			final long squareSum = sum(durationsSquareSum, DURATIONS_SQUARE_SUM);
+			// 并发记录时各列不是同一时刻读取，方差可能略小于 0
+			return (int) Math.sqrt(Math.max((squareSum - (double) sum * sum / h) / (h - 1), 0d));
 		}
 		return -1;
 	}
@@ -166,22 +231,72 @@ public class CounterRequest implements Cloneable, Serializable {
 	 * @return 这一要求的最长执行时间
 	 */
 	public long getMaximum() {
-		return maximum;
+		final StripedLongCells cs = cells;
+		return cs == null ? maximum : Math.max(maximum, cs.maxOf(MAXIMUM));
+	}
+
+	/**
+	 * @param percentile
+	 *            百分位 (0~100)
+	 * @return 该百分位的执行时间（所在分桶的上界，不超过最长执行时间）
+	 */
+	public long getPercentile(double percentile) {
+		if (latencyHistogram == null) {
+			return -1;
+		}
+		final long value = latencyHistogram.getValueAtPercentile(percentile);
+		return value < 0 ? value : Math.min(value, getMaximum());
+	}
+
+	/**
+	 * @return 执行时间中位数
+	 */
+	public long getP50() {
+		return getPercentile(50);
+	}
+
+	/**
+	 * @return 95% 的执行时间不超过此值
+	 */
+	public long getP95() {
+		return getPercentile(95);
+	}
+
+	/**
+	 * @return 99% 的执行时间不超过此值
+	 */
+	public long getP99() {
+		return getPercentile(99);
+	}
+
+	/**
+	 * @return 99.9% 的执行时间不超过此值
+	 */
+	public long getP999() {
+		return getPercentile(99.9);
+	}
+
+	/**
+	 * @return 执行时间分布
+	 */
+	public LatencyHistogram getLatencyHistogram() {
+		return latencyHistogram;
 	}
 
 	/**
 	 * @return 总CPU时间来执行这个查询
 	 */
 	public long getCpuTimeSum() {
-		return cpuTimeSum;
+		return sum(cpuTimeSum, CPU_TIME_SUM);
 	}
 
 	/**
 	 * @return 平均CPU时间来执行这个查询
 	 */
 	public long getCpuTimeMean() {
-		if (hits > 0) {
-			return (int) (cpuTimeSum / hits);
+		final long h = getHits();
+		if (h > 0) {
+			return (int) (getCpuTimeSum() / h);
 		}
 		return -1;
 	}
@@ -193,8 +308,9 @@ public class CounterRequest implements Cloneable, Serializable {
 		// 0和100之间的系统误差的百分比，
 		//返回类型为浮动是可衡量
 		//因为它很可能是该百分比低于1％的
-		if (hits > 0) {
-			return Math.min(100f * systemErrors / hits, 100f);
+		final long h = getHits();
+		if (h > 0) {
+			return Math.min(100f * sum(systemErrors, SYSTEM_ERRORS) / h, 100f);
 		}
 		return 0;
 	}
@@ -203,8 +319,9 @@ public class CounterRequest implements Cloneable, Serializable {
 	 * @return 响应平均大小（HTTP特别）
 	 */
 	public long getResponseSizeMean() {
-		if (hits > 0) {
-			return (int) (responseSizesSum / hits);
+		final long h = getHits();
+		if (h > 0) {
+			return (int) (sum(responseSizesSum, RESPONSE_SIZES_SUM) / h);
 		}
 		return -1;
 	}
@@ -213,15 +330,16 @@ public class CounterRequest implements Cloneable, Serializable {
 	 * @return 是否有子请求
 	 */
 	public boolean hasChildHits() {
-		return childHits > 0;
+		return sum(childHits, CHILD_HITS) > 0;
 	}
 
 	/**
 	 * @return 正在运行的子求情查询的平均数量（尤其是SQL）
 	 */
 	public long getChildHitsMean() {
-		if (hits > 0) {
-			return (int) (childHits / hits);
+		final long h = getHits();
+		if (h > 0) {
+			return (int) (sum(childHits, CHILD_HITS) / h);
 		}
 		return -1;
 	}
@@ -230,8 +348,59 @@ public class CounterRequest implements Cloneable, Serializable {
 	 * @return 子请求平均执行时间（尤其是SQL *）
 	 */
 	public long getChildDurationsMean() {
-		if (hits > 0) {
-			return (int) (childDurationsSum / hits);
+		final long h = getHits();
+		if (h > 0) {
+			return (int) (sum(childDurationsSum, CHILD_DURATIONS_SUM) / h);
+		}
+		return -1;
+	}
+
+	/**
+	 * @return executeBatch 的执行次数（每次为一次往返）
+	 */
+	public long getBatchHits() {
+		return sum(batchHits, BATCH_HITS);
+	}
+
+	/**
+	 * @return 每次 executeBatch 的平均语句数
+	 */
+	public long getBatchSizeMean() {
+		final long batches = getBatchHits();
+		if (batches > 0) {
+			return sum(batchSizesSum, BATCH_SIZES_SUM) / batches;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return 批量执行的语句总数
+	 */
+	public long getBatchSizesSum() {
+		return sum(batchSizesSum, BATCH_SIZES_SUM);
+	}
+
+	/**
+	 * @return executeUpdate、executeBatch 返回的影响行数之和
+	 */
+	public long getRowsAffectedSum() {
+		return sum(rowsAffectedSum, ROWS_AFFECTED_SUM);
+	}
+
+	/**
+	 * @return 从 ResultSet 读取的行数之和
+	 */
+	public long getRowsFetchedSum() {
+		return sum(rowsFetchedSum, ROWS_FETCHED_SUM);
+	}
+
+	/**
+	 * @return 每次执行平均读取的行数
+	 */
+	public long getRowsFetchedMean() {
+		final long h = getHits();
+		if (h > 0) {
+			return getRowsFetchedSum() / h;
 		}
 		return -1;
 	}
@@ -240,15 +409,33 @@ public class CounterRequest implements Cloneable, Serializable {
 	 * @return Map des nombres d'exécutions par requêtes filles
 	 */
 	public Map<String, Long> getChildRequestsExecutionsByRequestId() {
-		if (childRequestsExecutionsByRequestId == null) {
+		final ConcurrentMap<String, AtomicLong> live = liveChildRequests;
+		if (childRequestsExecutionsByRequestId == null && live == null) {
 			return Collections.emptyMap();
 		}
+		final Map<String, Long> result;
 		synchronized (this) {
-			return new LinkedHashMap<String, Long>(childRequestsExecutionsByRequestId);
+			if (childRequestsExecutionsByRequestId == null) {
+				result = new LinkedHashMap<String, Long>();
+			} else {
+				result = new LinkedHashMap<String, Long>(childRequestsExecutionsByRequestId);
+			}
+		}
+		if (live != null) {
+			for (final Map.Entry<String, AtomicLong> entry : live.entrySet()) {
+				final Long nbExecutions = result.get(entry.getKey());
+				final long value = entry.getValue().get();
+				result.put(entry.getKey(), nbExecutions == null ? value : nbExecutions + value);
+			}
 		}
+		return result;
 	}
 
 	public boolean containsChildRequest(String requestId) {
+		final ConcurrentMap<String, AtomicLong> live = liveChildRequests;
+		if (live != null && live.containsKey(requestId)) {
+			return true;
+		}
 		if (childRequestsExecutionsByRequestId == null) {
 			return false;
 		}
@@ -265,28 +452,82 @@ public class CounterRequest implements Cloneable, Serializable {
 	}
 
 	public void addHit(long duration, long cpuTime, boolean systemError, String systemErrorStackTrace, int responseSize) {
-		hits++;
-		durationsSum += duration;
-		durationsSquareSum += duration * duration;
-		if (duration > maximum) {
-			maximum = duration;
-		}
-		cpuTimeSum += cpuTime;
+		// 无锁：各列分段累加，hits 最后写入
+		final StripedLongCells cs = liveCells();
+		cs.add(DURATIONS_SUM, duration);
+		cs.add(DURATIONS_SQUARE_SUM, duration * duration);
+		cs.max(MAXIMUM, duration);
+		liveHistogram().record(duration);
+		cs.add(CPU_TIME_SUM, cpuTime);
 		if (systemError) {
-			systemErrors++;
+			cs.add(SYSTEM_ERRORS, 1);
 		}
 		if (systemErrorStackTrace != null) {
 			stackTrace = systemErrorStackTrace;
 		}
-		responseSizesSum += responseSize;
+		cs.add(RESPONSE_SIZES_SUM, responseSize);
+		cs.add(HITS, 1);
+	}
+
+	/**
+	 * 记录 JDBC 的批量大小及行数，与 addHit 一样无锁；读取行数在 ResultSet 读完或关闭时才知道，晚于 addHit
+	 * 
+	 * @param batchSize
+	 *            executeBatch 中的语句数，不是批量执行时为0
+	 * @param rowsAffected
+	 *            影响行数，未知时为0
+	 * @param rowsFetched
+	 *            读取行数
+	 */
+	public void addRows(int batchSize, long rowsAffected, long rowsFetched) {
+		final StripedLongCells cs = liveCells();
+		if (batchSize > 0) {
+			cs.add(BATCH_SIZES_SUM, batchSize);
+			cs.add(BATCH_HITS, 1);
+		}
+		if (rowsAffected > 0) {
+			cs.add(ROWS_AFFECTED_SUM, rowsAffected);
+		}
+		if (rowsFetched > 0) {
+			cs.add(ROWS_FETCHED_SUM, rowsFetched);
+		}
 	}
 
 	public void addChildHits(ICounterRequestContext context) {
-		childHits += context.getChildHits();
-		childDurationsSum += context.getChildDurationsSum();
+		final StripedLongCells cs = liveCells();
+		cs.add(CHILD_HITS, context.getChildHits());
+		cs.add(CHILD_DURATIONS_SUM, context.getChildDurationsSum());
 	}
 
 	public void addChildRequests(Map<String, Long> childRequests) {
+		if (childRequests != null && !childRequests.isEmpty()) {
+			ConcurrentMap<String, AtomicLong> live = liveChildRequests;
+			if (live == null) {
+				synchronized (this) {
+					live = liveChildRequests;
+					if (live == null) {
+						live = new ConcurrentHashMap<String, AtomicLong>();
+						liveChildRequests = live;
+					}
+				}
+			}
+			for (final Map.Entry<String, Long> entry : childRequests.entrySet()) {
+				final String requestId = entry.getKey();
+				AtomicLong nbExecutions = live.get(requestId);
+				if (nbExecutions == null) {
+					if (live.size() >= Counter.MAX_REQUESTS_COUNT) {
+						// même limite que pour les requêtes fusionnées (issue #496)
+						continue;
+					}
+					final AtomicLong previous = live.putIfAbsent(requestId, new AtomicLong());
+					nbExecutions = previous == null ? live.get(requestId) : previous;
+				}
+				nbExecutions.addAndGet(entry.getValue());
+			}
+		}
+	}
+
+	private void mergeChildRequests(Map<String, Long> childRequests) {
 		if (childRequests != null && !childRequests.isEmpty()) {
 			if (childRequestsExecutionsByRequestId == null) {
 				childRequestsExecutionsByRequestId = new LinkedHashMap<String, Long>(childRequests);
@@ -318,6 +559,7 @@ public class CounterRequest implements Cloneable, Serializable {
 
 	public void addHits(CounterRequest request) {
 		assert request != null;
+		// request 为 clone 的结果，累加器已折叠进基数
 		if (request.hits != 0) {
 			hits += request.hits;
 			durationsSum += request.durationsSum;
@@ -330,10 +572,18 @@ public class CounterRequest implements Cloneable, Serializable {
 			responseSizesSum += request.responseSizesSum;
 			childHits += request.childHits;
 			childDurationsSum += request.childDurationsSum;
+			batchHits += request.batchHits;
+			batchSizesSum += request.batchSizesSum;
+			rowsAffectedSum += request.rowsAffectedSum;
+			rowsFetchedSum += request.rowsFetchedSum;
+			hitsError += request.hitsError;
 			if (request.stackTrace != null) {
 				stackTrace = request.stackTrace;
 			}
-			addChildRequests(request.childRequestsExecutionsByRequestId);
+			if (request.latencyHistogram != null) {
+				liveHistogram().add(request.latencyHistogram);
+			}
+			mergeChildRequests(request.childRequestsExecutionsByRequestId);
 		}
 	}
 
@@ -359,11 +609,37 @@ public class CounterRequest implements Cloneable, Serializable {
 			responseSizesSum -= request.responseSizesSum;
 			childHits -= request.childHits;
 			childDurationsSum -= request.childDurationsSum;
+			batchHits -= request.batchHits;
+			batchSizesSum -= request.batchSizesSum;
+			rowsAffectedSum -= request.rowsAffectedSum;
+			rowsFetchedSum -= request.rowsFetchedSum;
+			hitsError -= request.hitsError;
+			if (request.latencyHistogram != null && latencyHistogram != null) {
+				latencyHistogram.subtract(request.latencyHistogram);
+			}
 
 			removeChildHits(request);
 		}
 	}
 
+	/**
+	 * 扣除上一次上报时的累计值，得到两次上报之间的增量，用于 CounterDeltaTracker，两者均为 clone 的结果
+	 *
+	 * 与 removeHits 不同，不把最长执行时间改为平均值：累计最大值在这段时间内增长时，新的最大值就发生在这段时间内；
+	 * 否则取增量直方图中最高非空桶的上界，不超过累计最大值。
+	 */
+	void subtractPrevious(CounterRequest previous) {
+		assert previous != null;
+		final long cumulativeMaximum = maximum;
+		removeHits(previous);
+		if (cumulativeMaximum > previous.maximum || latencyHistogram == null) {
+			maximum = cumulativeMaximum;
+		} else {
+			final long highest = latencyHistogram.highestRecordedValue();
+			maximum = highest < 0 ? -1 : Math.min(highest, cumulativeMaximum);
+		}
+	}
+
 	private void removeChildHits(CounterRequest request) {
 		if (request.childRequestsExecutionsByRequestId != null && childRequestsExecutionsByRequestId != null) {
 			for (final Map.Entry<String, Long> entry : request.childRequestsExecutionsByRequestId.entrySet()) {
@@ -390,11 +666,37 @@ public class CounterRequest implements Cloneable, Serializable {
 	public CounterRequest clone() { // NOPMD
 		try {
 			final CounterRequest clone = (CounterRequest) super.clone();
-			if (childRequestsExecutionsByRequestId != null) {
+			final StripedLongCells cs = cells;
+			if (cs != null) {
+				// 折叠累加器：addHit 最后写入 hits，这里最后读取 hits，
+				// 保证克隆中的 hits 不少于各合计中已计入的次数
+				clone.durationsSum = durationsSum + cs.sum(DURATIONS_SUM);
+				clone.durationsSquareSum = durationsSquareSum + cs.sum(DURATIONS_SQUARE_SUM);
+				clone.maximum = Math.max(maximum, cs.maxOf(MAXIMUM));
+				clone.cpuTimeSum = cpuTimeSum + cs.sum(CPU_TIME_SUM);
+				clone.systemErrors = systemErrors + cs.sum(SYSTEM_ERRORS);
+				clone.responseSizesSum = responseSizesSum + cs.sum(RESPONSE_SIZES_SUM);
+				clone.childHits = childHits + cs.sum(CHILD_HITS);
+				clone.childDurationsSum = childDurationsSum + cs.sum(CHILD_DURATIONS_SUM);
+				clone.batchHits = batchHits + cs.sum(BATCH_HITS);
+				clone.batchSizesSum = batchSizesSum + cs.sum(BATCH_SIZES_SUM);
+				clone.rowsAffectedSum = rowsAffectedSum + cs.sum(ROWS_AFFECTED_SUM);
+				clone.rowsFetchedSum = rowsFetchedSum + cs.sum(ROWS_FETCHED_SUM);
+			}
+			if (latencyHistogram != null) {
+				clone.latencyHistogram = latencyHistogram.clone();
+			}
+			if (cs != null) {
+				clone.hits = hits + cs.sum(HITS);
+			}
+			clone.cells = null;
+			if (childRequestsExecutionsByRequestId != null || liveChildRequests != null) {
 				// getChildRequestsExecutionsByRequestId fait déjà un clone de
 				// la map
-				clone.childRequestsExecutionsByRequestId = getChildRequestsExecutionsByRequestId();
+				final Map<String, Long> childRequests = getChildRequestsExecutionsByRequestId();
+				clone.childRequestsExecutionsByRequestId = childRequests.isEmpty() ? null : childRequests;
 			}
+			clone.liveChildRequests = null;
 			return clone;
 		} catch (final CloneNotSupportedException e) {
 			// ne peut arriver puisque CounterRequest implémente Cloneable
@@ -402,6 +704,148 @@ public class CounterRequest implements Cloneable, Serializable {
 		}
 	}
 
+	/**
+	 * 检查点的第 column 列，只用于 clone 的结果（累加器已折叠）
+	 */
+	long getCheckpointColumn(int column) {
+		assert cells == null;
+		switch (column) {
+		case 0:
+			return hits;
+		case 1:
+			return durationsSum;
+		case 2:
+			return durationsSquareSum;
+		case 3:
+			return maximum;
+		case 4:
+			return cpuTimeSum;
+		case 5:
+			return systemErrors;
+		case 6:
+			return responseSizesSum;
+		case 7:
+			return childHits;
+		case 8:
+			return childDurationsSum;
+		case 9:
+			return batchHits;
+		case 10:
+			return batchSizesSum;
+		case 11:
+			return rowsAffectedSum;
+		case 12:
+			return rowsFetchedSum;
+		case 13:
+			return hitsError;
+		default:
+			throw new IllegalArgumentException(String.valueOf(column));
+		}
+	}
+
+	/**
+	 * 从检查点恢复第 column 列，只用于还没有计数的新请求
+	 */
+	void setCheckpointColumn(int column, long value) {
+		switch (column) {
+		case 0:
+			hits = value;
+			break;
+		case 1:
+			durationsSum = value;
+			break;
+		case 2:
+			durationsSquareSum = value;
+			break;
+		case 3:
+			maximum = value;
+			break;
+		case 4:
+			cpuTimeSum = value;
+			break;
+		case 5:
+			systemErrors = value;
+			break;
+		case 6:
+			responseSizesSum = value;
+			break;
+		case 7:
+			childHits = value;
+			break;
+		case 8:
+			childDurationsSum = value;
+			break;
+		case 9:
+			batchHits = value;
+			break;
+		case 10:
+			batchSizesSum = value;
+			break;
+		case 11:
+			rowsAffectedSum = value;
+			break;
+		case 12:
+			rowsFetchedSum = value;
+			break;
+		case 13:
+			hitsError = value;
+			break;
+		default:
+			throw new IllegalArgumentException(String.valueOf(column));
+		}
+	}
+
+	/**
+	 * 从检查点恢复最后的异常堆栈及子请求执行数
+	 */
+	void restoreCheckpoint(String lastStackTrace, Map<String, Long> childRequests) {
+		this.stackTrace = lastStackTrace;
+		this.childRequestsExecutionsByRequestId = childRequests;
+	}
+
+	/**
+	 * 把累加器的多行并回其基数行，释放竞争时膨胀出来的内存；可与 addHit 并发调用，不丢失计数
+	 */
+	void deflateCells() {
+		final StripedLongCells cs = cells;
+		if (cs != null) {
+			cs.deflate(MAXIMUM);
+		}
+	}
+
+	private long sum(long base, int column) {
+		final StripedLongCells cs = cells;
+		return cs == null ? base : base + cs.sum(column);
+	}
+
+	private StripedLongCells liveCells() {
+		StripedLongCells cs = cells;
+		if (cs == null) {
+			synchronized (this) {
+				cs = cells;
+				if (cs == null) {
+					cs = new StripedLongCells(COLUMNS, MAX_CELL_STRIPES);
+					cells = cs;
+				}
+			}
+		}
+		return cs;
+	}
+
+	private LatencyHistogram liveHistogram() {
+		LatencyHistogram histogram = latencyHistogram;
+		if (histogram == null) {
+			synchronized (this) {
+				histogram = latencyHistogram;
+				if (histogram == null) {
+					histogram = new LatencyHistogram();
+					latencyHistogram = histogram;
+				}
+			}
+		}
+		return histogram;
+	}
+
 	// retourne l'id supposé unique de la requête pour le stockage
 	private static String buildId(String name, String counterName) {
 		final MessageDigest messageDigest = getMessageDigestInstance();
@@ -18,33 +18,37 @@
 package com.jack.netty.servlet.dto;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import com.jack.netty.servlet.conf.Parameter;
-import com.jack.netty.servlet.handler.wrapper.CounterResponseStream;
 import com.jack.netty.servlet.conf.Parameters;
 import com.jack.netty.servlet.util.TransportFormat;
 
 /**
  * Classe chargée de l'enregistrement et de la lecture d'un counter.
  * 
+ * 以 CounterCheckpoint 的格式写入 .ckpt 文件：先写临时文件并同步到磁盘，再改名替换，
+ * 写入中途崩溃时保留上一次的检查点；读取时没有 .ckpt 文件则读取旧的 .ser.gz 序列化文件。
+ * 
  * @author Emeric Vernat
  */
 public class CounterStorage {
 	private static final int DEFAULT_OBSOLETE_STATS_DAYS = 365;
+	private static final String CHECKPOINT_EXTENSION = ".ckpt";
+	private static final String LEGACY_EXTENSION = ".ser.gz";
 	private static boolean storageDisabled;
 	private final Counter counter;
 
@@ -83,23 +87,28 @@ public class CounterStorage {
 		if (!directory.mkdirs() && !directory.exists()) {
 			throw new IOException("WFJ-Netty-Monitor directory can't be created: " + directory.getPath());
 		}
-		final FileOutputStream out = new FileOutputStream(file);
+		final File tmpFile = new File(directory, file.getName() + ".tmp");
+		final int dataLength;
+		final FileOutputStream out = new FileOutputStream(tmpFile);
 		try {
-			final CounterResponseStream counterOutput = new CounterResponseStream(new GZIPOutputStream(new BufferedOutputStream(out)));
-			final ObjectOutputStream output = new ObjectOutputStream(counterOutput);
-			try {
-				output.writeObject(counter);
-			} finally {
-				// ce close libère les ressources du ObjectOutputStream et du
-				// GZIPOutputStream
-				output.close();
-			}
-			// retourne la taille sérialisée non compressée,
+			// retourne la taille non compressée,
 			// qui est une estimation pessimiste de l'occupation mémoire
-			return counterOutput.getDataLength();
+			dataLength = CounterCheckpoint.write(counter, out);
+			out.getFD().sync();
 		} finally {
 			out.close();
 		}
+		try {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		// 旧格式的文件不再需要，避免之后读取到过时的数据
+		final File legacyFile = getLegacyFile();
+		if (legacyFile.exists() && !legacyFile.delete()) {
+			legacyFile.deleteOnExit();
+		}
+		return dataLength;
 	}
 
 	/**
@@ -116,6 +125,15 @@ public class CounterStorage {
 		final File file = getFile();
 		if (file.exists()) {
 			final FileInputStream in = new FileInputStream(file);
+			try {
+				return CounterCheckpoint.read(counter, new BufferedInputStream(in));
+			} finally {
+				in.close();
+			}
+		}
+		final File legacyFile = getLegacyFile();
+		if (legacyFile.exists()) {
+			final FileInputStream in = new FileInputStream(legacyFile);
 			try {
 				final ObjectInputStream input = TransportFormat.createObjectInputStream(new GZIPInputStream(new BufferedInputStream(in)));
 				try {
@@ -138,7 +156,12 @@ public class CounterStorage {
 
 	private File getFile() {
 		final File storageDirectory = Parameters.getStorageDirectory(counter.getApplication());
-		return new File(storageDirectory, counter.getStorageName() + ".ser.gz");
+		return new File(storageDirectory, counter.getStorageName() + CHECKPOINT_EXTENSION);
+	}
+
+	private File getLegacyFile() {
+		final File storageDirectory = Parameters.getStorageDirectory(counter.getApplication());
+		return new File(storageDirectory, counter.getStorageName() + LEGACY_EXTENSION);
 	}
 
 	static long deleteObsoleteCounterFiles(String application) {
@@ -189,7 +212,7 @@ public class CounterStorage {
 			/** {@inheritDoc} */
 			@Override
 			public boolean accept(File dir, String fileName) {
-				return fileName.endsWith(".ser.gz");
+				return fileName.endsWith(LEGACY_EXTENSION) || fileName.endsWith(CHECKPOINT_EXTENSION);
 			}
 		};
 		final File[] files = storageDir.listFiles(filenameFilter);
@@ -0,0 +1,317 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoCpuSampler.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午4:12:45
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * 进程内的 CPU 使用率采样，不再启动 ps、top 等外部进程
+ *
+ * 每次 sample 与上一次采样比较得到区间内的使用率：
+ * 进程 CPU 时间取自 OperatingSystemMXBean.getProcessCpuTime，不可用时读取 /proc/self/stat；
+ * 系统及每个核的使用率取自 /proc/stat，不可用时（非 Linux）使用 OperatingSystemMXBean.getSystemCpuLoad；
+ * 容器的 CPU 配额及限流取自 cgroup 的 cpu.max / cpu.cfs_quota_us 及 cpu.stat。
+ * 第一次采样没有上一次的数据，进程使用率为启动以来的平均值，系统使用率为开机以来的平均值。
+ *
+ * @Class Name CpuSampler
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public final class CpuSampler {
+
+	// /proc/self/stat 中 utime、stime 的单位，Linux 上 USER_HZ 固定为100
+	private static final long NANOS_PER_TICK = 1000000000L / 100;
+
+	// /proc/stat 中 cpu 行参与计算的列：user nice system idle iowait irq softirq steal（guest 已包含在 user 中）
+	private static final int CPU_COLUMNS = 8;
+
+	private final ProcFile procStat;
+
+	private final ProcFile procSelfStat;
+
+	private final Cgroup cgroup;
+
+	private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+
+	private long previousProcessCpuNanos = -1;
+
+	private long previousWallNanos;
+
+	// 每行 [busy, total]，第0行为汇总的 cpu 行
+	private long[][] previousTicks = new long[0][];
+
+	private long[] previousCgroupStat;
+
+	/**
+	 * 使用本机的 /proc 及 cgroup
+	 */
+	public CpuSampler() {
+		this(new File("/proc/stat"), new File("/proc/self/stat"), Cgroup.detect());
+	}
+
+	/**
+	 * @param procStat /proc/stat
+	 * @param procSelfStat /proc/self/stat
+	 * @param cgroup 进程所在的 cgroup
+	 */
+	public CpuSampler(File procStat, File procSelfStat, Cgroup cgroup) {
+		super();
+		this.procStat = new ProcFile(procStat);
+		this.procSelfStat = new ProcFile(procSelfStat);
+		this.cgroup = cgroup;
+	}
+
+	/**
+	 * 采样
+	 * @Methods Name sample
+	 * @Create In 2026年10月18日 By Jack
+	 * @return 与上一次采样之间的使用率
+	 */
+	public synchronized Sample sample() {
+		final long now = System.nanoTime();
+		final double processCpuLoad = sampleProcess(now);
+		final long[][] ticks = readProcStat();
+		double systemCpuLoad;
+		double[] coreLoads;
+		if (ticks == null) {
+			systemCpuLoad = mxBeanSystemCpuLoad();
+			coreLoads = new double[0];
+		} else {
+			if (ticks.length != previousTicks.length) {
+				// 第一次采样或核数变化，与开机时比较
+				previousTicks = new long[ticks.length][2];
+			}
+			systemCpuLoad = load(ticks[0], previousTicks[0]);
+			coreLoads = new double[ticks.length - 1];
+			for (int i = 1; i < ticks.length; i++) {
+				coreLoads[i - 1] = load(ticks[i], previousTicks[i]);
+			}
+			previousTicks = ticks;
+		}
+
+		final double cpuLimit = cgroup == null ? -1 : cgroup.getCpuLimit();
+		double throttledRatio = -1;
+		long throttledTimeMillis = -1;
+		final long[] stat = new long[3];
+		if (cgroup != null && cgroup.readCpuStat(stat)) {
+			final long[] before = previousCgroupStat == null ? new long[3] : previousCgroupStat;
+			final long periods = stat[0] - before[0];
+			throttledRatio = periods > 0 ? 100d * (stat[1] - before[1]) / periods : 0;
+			throttledTimeMillis = (stat[2] - before[2]) / 1000000;
+			previousCgroupStat = stat;
+		}
+		return new Sample(processCpuLoad, systemCpuLoad, coreLoads, cpuLimit, throttledRatio, throttledTimeMillis);
+	}
+
+	private double sampleProcess(long now) {
+		final long cpuNanos = processCpuNanos();
+		if (cpuNanos < 0) {
+			return -1;
+		}
+		final double result;
+		if (previousProcessCpuNanos < 0) {
+			final long uptimeNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1000000;
+			result = uptimeNanos > 0 ? 100d * cpuNanos / uptimeNanos : 0;
+		} else {
+			final long elapsed = now - previousWallNanos;
+			result = elapsed > 0 ? 100d * Math.max(cpuNanos - previousProcessCpuNanos, 0) / elapsed : 0;
+		}
+		previousProcessCpuNanos = cpuNanos;
+		previousWallNanos = now;
+		return result;
+	}
+
+	private long processCpuNanos() {
+		if (JavaInformations.isSunOsMBean(operatingSystem)) {
+			final long nanos = MemoryInformations.getLongFromOperatingSystem(operatingSystem, "getProcessCpuTime");
+			if (nanos >= 0) {
+				return nanos;
+			}
+		}
+		if (!procSelfStat.refresh()) {
+			return -1;
+		}
+		final ProcFile stat = procSelfStat;
+		// pid (comm) state ppid ...，comm 中可能有空格，从最后一个 ')' 之后开始数：utime、stime 为其后第12、13列
+		int position = stat.length();
+		while (position > 0 && stat.charAt(position - 1) != ')') {
+			position--;
+		}
+		if (position == 0) {
+			return -1;
+		}
+		position++;
+		for (int field = 0; field < 11 && position > 0; field++) {
+			position = ProcFile.indexOf(stat, ' ', position) + 1;
+		}
+		if (position <= 0) {
+			return -1;
+		}
+		final int utimeEnd = ProcFile.indexOf(stat, ' ', position);
+		final int stimeEnd = utimeEnd < 0 ? -1 : ProcFile.indexOf(stat, ' ', utimeEnd + 1);
+		if (stimeEnd < 0) {
+			return -1;
+		}
+		final long utime = ProcFile.parseLong(stat, position, utimeEnd);
+		final long stime = ProcFile.parseLong(stat, utimeEnd + 1, stimeEnd);
+		if (utime < 0 || stime < 0) {
+			return -1;
+		}
+		return (utime + stime) * NANOS_PER_TICK;
+	}
+
+	/**
+	 * @return 每个 cpu 行的 [busy, total]，第0行为汇总，无法读取时为 null
+	 */
+	private long[][] readProcStat() {
+		if (!procStat.refresh() || !ProcFile.startsWith(procStat, "cpu", 0)) {
+			return null;
+		}
+		final ProcFile content = procStat;
+		int lines = 0;
+		int from = 0;
+		while (ProcFile.startsWith(content, "cpu", from)) {
+			lines++;
+			from = ProcFile.indexOf(content, '\n', from) + 1;
+			if (from == 0) {
+				break;
+			}
+		}
+		final long[][] result = new long[lines][2];
+		from = 0;
+		for (int line = 0; line < lines; line++) {
+			int end = ProcFile.indexOf(content, '\n', from);
+			if (end < 0) {
+				end = content.length();
+			}
+			// 跳过 "cpu" 或 "cpuN"
+			int position = ProcFile.indexOf(content, ' ', from);
+			long total = 0;
+			long idle = 0;
+			for (int column = 0; column < CPU_COLUMNS && position >= 0 && position < end; column++) {
+				while (position < end && content.charAt(position) == ' ') {
+					position++;
+				}
+				int next = ProcFile.indexOf(content, ' ', position);
+				if (next < 0 || next > end) {
+					next = end;
+				}
+				final long value = ProcFile.parseLong(content, position, next);
+				if (value > 0) {
+					total += value;
+					// idle、iowait
+					if (column == 3 || column == 4) {
+						idle += value;
+					}
+				}
+				position = next;
+			}
+			result[line][0] = total - idle;
+			result[line][1] = total;
+			from = end + 1;
+		}
+		return result;
+	}
+
+	private static double load(long[] current, long[] previous) {
+		final long total = current[1] - previous[1];
+		if (total <= 0) {
+			return 0;
+		}
+		return 100d * Math.max(current[0] - previous[0], 0) / total;
+	}
+
+	private double mxBeanSystemCpuLoad() {
+		if (JavaInformations.isSunOsMBean(operatingSystem)) {
+			try {
+				final double load = MemoryInformations.getDoubleFromOperatingSystem(operatingSystem, "getSystemCpuLoad");
+				return load < 0 ? -1 : load * 100;
+			} catch (IllegalArgumentException e) {
+				// getSystemCpuLoad n'existe qu'à partir du jdk 1.7
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 一次采样的结果，使用率均为百分比，-1 表示无法获取
+	 *
+	 * @Class Name Sample
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Sample {
+
+		private final double processCpuLoad;
+
+		private final double systemCpuLoad;
+
+		private final double[] coreLoads;
+
+		private final double cpuLimit;
+
+		private final double throttledRatio;
+
+		private final long throttledTimeMillis;
+
+		Sample(double processCpuLoad, double systemCpuLoad, double[] coreLoads, double cpuLimit, double throttledRatio, long throttledTimeMillis) {
+			super();
+			this.processCpuLoad = processCpuLoad;
+			this.systemCpuLoad = systemCpuLoad;
+			this.coreLoads = coreLoads;
+			this.cpuLimit = cpuLimit;
+			this.throttledRatio = throttledRatio;
+			this.throttledTimeMillis = throttledTimeMillis;
+		}
+
+		/**
+		 * @Return the double processCpuLoad, 进程使用率，按单核计算，多核时可超过100
+		 */
+		public double getProcessCpuLoad() {
+			return processCpuLoad;
+		}
+
+		/**
+		 * @Return the double systemCpuLoad, 整机使用率
+		 */
+		public double getSystemCpuLoad() {
+			return systemCpuLoad;
+		}
+
+		/**
+		 * @Return the double[] coreLoads, 每个核的使用率，无法读取 /proc/stat 时为空
+		 */
+		public double[] getCoreLoads() {
+			return coreLoads.clone();
+		}
+
+		/**
+		 * @Return the double cpuLimit, cgroup CPU 配额（核数），未限制时为 -1
+		 */
+		public double getCpuLimit() {
+			return cpuLimit;
+		}
+
+		/**
+		 * @Return the double throttledRatio, 区间内被限流的调度周期占比
+		 */
+		public double getThrottledRatio() {
+			return throttledRatio;
+		}
+
+		/**
+		 * @Return the long throttledTimeMillis, 区间内被限流的时间
+		 */
+		public long getThrottledTimeMillis() {
+			return throttledTimeMillis;
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoHealthDigest.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:20:31
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 精简模式（system.setting.zk.node.mode=lean）下 ZK 实例临时节点的内容
+ *
+ * 只有实例标识、状态及健康摘要，不含每次都会变化的数值（时间、内存、计数等），
+ * 内容没有变化时不写 ZK；完整的 ApplicationInfo 通过 Kafka 上报。
+ *
+ * @Class Name HealthDigest
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class HealthDigest {
+
+	/**
+	 * 健康
+	 */
+	public static final String HEALTH_OK = "OK";
+
+	/**
+	 * 需要关注，如堆内存、文件句柄接近上限
+	 */
+	public static final String HEALTH_WARN = "WARN";
+
+	/**
+	 * 严重，如死锁、堆内存耗尽
+	 */
+	public static final String HEALTH_CRITICAL = "CRITICAL";
+
+	private String name;
+
+	private String version;
+
+	private String desc;
+
+	private String status;
+
+	private String ips;
+
+	private String pid;
+
+	private String startupDate;
+
+	private String health;
+
+	// 导致 WARN、CRITICAL 的检查项，如 heap、deadlock、fd
+	private List<String> alerts;
+
+	public HealthDigest() {
+		this.health = HEALTH_OK;
+		this.alerts = new ArrayList<String>();
+	}
+
+	/**
+	 * 记录一个检查项，健康状态取最严重的
+	 * @Methods Name alert
+	 * @Create In 2026年10月18日 By Jack
+	 * @param level HEALTH_WARN 或 HEALTH_CRITICAL
+	 * @param item 检查项
+	 */
+	public void alert(String level, String item) {
+		alerts.add(item);
+		if (HEALTH_CRITICAL.equals(level) || HEALTH_OK.equals(health)) {
+			health = level;
+		}
+	}
+
+	/**
+	 * @Return the String name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @Param String name to set
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @Return the String version
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	/**
+	 * @Param String version to set
+	 */
+	public void setVersion(String version) {
+		this.version = version;
+	}
+
+	/**
+	 * @Return the String desc, 实例标识
+	 */
+	public String getDesc() {
+		return desc;
+	}
+
+	/**
+	 * @Param String desc to set
+	 */
+	public void setDesc(String desc) {
+		this.desc = desc;
+	}
+
+	/**
+	 * @Return the String status
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	/**
+	 * @Param String status to set
+	 */
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @Return the String ips
+	 */
+	public String getIps() {
+		return ips;
+	}
+
+	/**
+	 * @Param String ips to set
+	 */
+	public void setIps(String ips) {
+		this.ips = ips;
+	}
+
+	/**
+	 * @Return the String pid
+	 */
+	public String getPid() {
+		return pid;
+	}
+
+	/**
+	 * @Param String pid to set
+	 */
+	public void setPid(String pid) {
+		this.pid = pid;
+	}
+
+	/**
+	 * @Return the String startupDate
+	 */
+	public String getStartupDate() {
+		return startupDate;
+	}
+
+	/**
+	 * @Param String startupDate to set
+	 */
+	public void setStartupDate(String startupDate) {
+		this.startupDate = startupDate;
+	}
+
+	/**
+	 * @Return the String health, OK、WARN 或 CRITICAL
+	 */
+	public String getHealth() {
+		return health;
+	}
+
+	/**
+	 * @Param String health to set
+	 */
+	public void setHealth(String health) {
+		this.health = health;
+	}
+
+	/**
+	 * @Return the List<String> alerts
+	 */
+	public List<String> getAlerts() {
+		return alerts;
+	}
+
+	/**
+	 * @Param List<String> alerts to set
+	 */
+	public void setAlerts(List<String> alerts) {
+		this.alerts = alerts;
+	}
+}
@@ -34,17 +34,17 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.StringTokenizer;
 
-import javax.management.MBeanServerConnection;
 import javax.servlet.ServletContext;
 import javax.sql.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jack.netty.servlet.conf.Constant;
 import com.jack.netty.servlet.conf.EnvPropertyConfig;
 import com.jack.netty.servlet.conf.Parameters;
+import com.jack.netty.servlet.conf.SystemPropertyConfig;
 import com.jack.netty.servlet.handler.wrapper.JdbcWrapper;
 
 /**
@@ -60,21 +60,18 @@ public class JavaInformations implements Serializable {
 
 	private static Logger log = LoggerFactory.getLogger(JavaInformations.class);
 
-	/**
-	 * 一下计算 CUP 占用率使用
-	 */
-	private static final int CPUTIME = 30;
-	private static final int PERCENT = 100;
-	private static final int FAULTLENGTH = 10;
-
 	public static final double HIGH_USAGE_THRESHOLD_IN_PERCENTS = 95d;
 	private static final long serialVersionUID = 3281861236369720876L;
 	private static final Date START_DATE = new Date();
 	private static final boolean SYSTEM_CPU_LOAD_ENABLED = "1.7".compareTo(Parameters.JAVA_VERSION) < 0;
+	// 进程、系统 CPU 使用率需要与上一次采样比较，采样状态在各次 rebuildJavaInfo 之间保留
+	private static final Cgroup CGROUP = Cgroup.detect();
+	private static final CpuSampler CPU_SAMPLER = new CpuSampler(new File("/proc/stat"), new File("/proc/self/stat"), CGROUP);
 	private static boolean localWebXmlExists = true; // true par défaut
 	private static boolean localPomXmlExists = true; // true par défaut
 
 	private MemoryInformations memoryInformations;
+	private ContainerInformations containerInformations;
 	@SuppressWarnings("all")
 	private List<TomcatInformations> tomcatInformationsList;
 	private int sessionCount;
@@ -89,9 +86,11 @@ public class JavaInformations implements Serializable {
 	private double systemLoadAverage;
 	private double systemCpuLoad;
 	
-	private double beforeCpuTime = 0;
-	private double beforeCpuUpTime = 0;
 	private double processCpuLoad;
+	private double[] cpuCoreLoads;
+	private double cpuLimit;
+	private double cpuThrottledRatio;
+	private long cpuThrottledTimeMillis;
 	
 	private long unixOpenFileDescriptorCount;
 	private long unixMaxFileDescriptorCount;
@@ -134,6 +133,9 @@ public class JavaInformations implements Serializable {
 	@SuppressWarnings("all")
 	private List<ThreadInformations> threadInformationsList;
 	@SuppressWarnings("all")
+	private List<ThreadCpuInfo> topCpuThreads;
+	private int deadlockedThreadCount;
+	@SuppressWarnings("all")
 	private List<JobInformations> jobInformationsList;
 
 	@SuppressWarnings("all")
@@ -143,6 +145,15 @@ public class JavaInformations implements Serializable {
 
 	private static JavaInformations JavaInfo = null;;
 
+	// 慢速信息的刷新间隔及状态
+	private final long slowTierTtlMillis;
+	private transient long slowTierRefreshedAt;
+	private transient String slowTierSignature;
+	// 计算静态信息时的 ServletContext
+	private transient ServletContext profileContext;
+	// 线程 CPU 时间需要与上一次采集比较
+	private final transient ThreadCollector threadCollector;
+
 	public static final class ThreadInformationsComparator implements Comparator<ThreadInformations>, Serializable {
 		private static final long serialVersionUID = 1L;
 
@@ -174,12 +185,22 @@ public class JavaInformations implements Serializable {
 
 	private JavaInformations(ServletContext servletContext, boolean includeDetails) {
 		super();
+		slowTierTtlMillis = Long.parseLong(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COLLECT_SLOW_TTL, "600000"));
+		threadCollector = new ThreadCollector(Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COLLECT_THREAD_STACK_DEPTH, "20")),
+			Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COLLECT_THREAD_TOP, "5")),
+			Long.parseLong(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COLLECT_THREAD_DEADLOCK_INTERVAL, "300000")));
+		buildStaticProfile();
+		buildServletProfile(servletContext);
 		buildJavaInfo(servletContext, includeDetails);
 	}
 
 	/**
 	 * 重建监控信息
 	 * 
+	 * 静态信息（JVM、操作系统、类路径、依赖包等）只在创建时计算，ServletContext 变化时重新计算与之相关的部分；
+	 * 慢速信息（数据库版本、数据源配置、文件描述符上限）超过 system.setting.collect.slow.ttl 或数据源变化时刷新，
+	 * 数据库版本需要从连接池借用连接读取元数据，不再每次采集都执行；其余为计数器及 MXBean，每次采集。
+	 * 
 	 * @Methods Name rebuildJavaInfo
 	 * @Create In 2016年3月26日 By Jack
 	 * @param servletContext
@@ -187,12 +208,14 @@ public class JavaInformations implements Serializable {
 	 *            void
 	 */
 	public void rebuildJavaInfo(ServletContext servletContext, boolean includeDetails) {
-		clearJavaInfo();
+		if (servletContext != profileContext) {
+			buildServletProfile(servletContext);
+		}
 		buildJavaInfo(servletContext, includeDetails);
 	}
 
 	/**
-	 * 清理基本信息
+	 * 清理基本信息，静态信息保留，慢速信息在下一次 rebuildJavaInfo 时重新获取
 	 * 
 	 * @Methods Name clearJavaInfo
 	 * @Create In 2016年3月26日 By Jack void
@@ -211,24 +234,15 @@ public class JavaInformations implements Serializable {
 
 		// 系统信息
 		memoryInformations = null;
+		containerInformations = null;
 		tomcatInformationsList = null;
 		systemLoadAverage = 0;
 		systemCpuLoad = 0;
 		processCpuTimeMillis = 0;
 		unixOpenFileDescriptorCount = 0;
 		unixMaxFileDescriptorCount = 0;
-		host = "";
-		os = "";
 		availableProcessors = 0;
-		javaVersion = "";
-		jvmVersion = "";
-
-		serverInfo = null;
-		contextPath = null;
-		contextDisplayName = null;
-		dependenciesList = null;
 
-		jvmArguments = "";
 		threadCount = 0;
 		peakThreadCount = 0;
 		totalStartedThreadCount = 0;
@@ -237,27 +251,101 @@ public class JavaInformations implements Serializable {
 		dataBaseVersion = null;
 		dataSourceDetails = null;
 		threadInformationsList = null;
+		topCpuThreads = null;
+		deadlockedThreadCount = 0;
 		jobInformationsList = null;
-		pid = null;
+		slowTierSignature = null;
 
-		arc = "";
-		sysVersion = "";
 		processCpuLoad = 0;
+		cpuCoreLoads = null;
+		cpuLimit = 0;
+		cpuThrottledRatio = 0;
+		cpuThrottledTimeMillis = 0;
 		daemonThreadCount = 0;
 		currentThreadCpuTime = 0;
 		currentThreadUserTime = 0;
-		
-		vmName = "";
-		vmVendor = "";
-		vmVersion = "";
-			
-		classPath = "";
-		libraryPath = "";
-		compliationName = "";
 		totalCompliationTime = 0;
 	}
 
 	/**
+	 * 静态信息：JVM 运行期间不会变化，只计算一次
+	 * @Methods Name buildStaticProfile
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	private void buildStaticProfile() {
+		host = Parameters.getHostName() + '@' + Parameters.getHostAddress();
+		os = buildOS();
+		arc = System.getProperty("os.arch");
+		sysVersion = System.getProperty("os.version");
+
+		javaVersion = System.getProperty("java.runtime.name") + ", " + System.getProperty("java.runtime.version");
+		jvmVersion = System.getProperty("java.vm.name") + ", " + System.getProperty("java.vm.version") + ", " + System.getProperty("java.vm.info");
+		vmName = System.getProperty("java.vm.name");
+		vmVendor = System.getProperty("java.vm.vendor");
+		vmVersion = System.getProperty("java.vm.version");
+
+		classPath = ManagementFactory.getRuntimeMXBean().getClassPath();
+		libraryPath = ManagementFactory.getRuntimeMXBean().getLibraryPath();
+		compliationName = ManagementFactory.getCompilationMXBean().getName();
+		startDate = START_DATE;
+		jvmArguments = buildJvmArguments();
+		pid = PID.getPID();
+	}
+
+	/**
+	 * 与 ServletContext 相关的静态信息，依赖包列表需要遍历 WEB-INF/lib
+	 * @Methods Name buildServletProfile
+	 * @Create In 2026年10月18日 By Jack
+	 * @param servletContext
+	 */
+	private void buildServletProfile(ServletContext servletContext) {
+		profileContext = servletContext;
+		if (servletContext == null) {
+			serverInfo = null;
+			contextPath = null;
+			contextDisplayName = null;
+			dependenciesList = null;
+		} else {
+			serverInfo = servletContext.getServerInfo();
+			contextPath = Parameters.getContextPath(servletContext);
+			contextDisplayName = servletContext.getServletContextName();
+			dependenciesList = buildDependenciesList(servletContext);
+		}
+	}
+
+	/**
+	 * 慢速信息：超过 TTL、数据源变化或是否包含详细信息变化时刷新
+	 * @Methods Name buildSlowTier
+	 * @Create In 2026年10月18日 By Jack
+	 * @param includeDetails
+	 */
+	private void buildSlowTier(boolean includeDetails) {
+		final long now = System.currentTimeMillis();
+		final String signature = buildDataSourceSignature(includeDetails);
+		if (signature.equals(slowTierSignature) && now - slowTierRefreshedAt < slowTierTtlMillis) {
+			return;
+		}
+		unixMaxFileDescriptorCount = buildMaxFileDescriptorCount();
+		if (includeDetails) {
+			dataBaseVersion = buildDataBaseVersion();
+			dataSourceDetails = buildDataSourceDetails();
+		} else {
+			dataBaseVersion = null;
+			dataSourceDetails = null;
+		}
+		slowTierSignature = signature;
+		slowTierRefreshedAt = now;
+	}
+
+	/**
+	 * 数据源变化的标识：最近的 JDBC 连接地址及已知的数据源名称，只读取内存中的信息
+	 */
+	private static String buildDataSourceSignature(boolean includeDetails) {
+		return includeDetails + "|" + Parameters.getLastConnectUrl() + '|' + JdbcWrapper.getBasicDataSourceProperties().keySet();
+	}
+
+	/**
+	 * 动态信息：计数器及 MXBean，每次采集
 	 * @Methods Name buildJavaInfo
 	 * @Create In 2016年3月26日 By Jack
 	 * @param servletContext
@@ -278,46 +366,22 @@ public class JavaInformations implements Serializable {
 
 		// 系统信息
 		memoryInformations = new MemoryInformations();
+		containerInformations = new ContainerInformations(CGROUP);
 		tomcatInformationsList = TomcatInformations.buildTomcatInformationsList();
 		systemLoadAverage = buildSystemLoadAverage();
-		systemCpuLoad = buildSystemCpuLoad();
+		final CpuSampler.Sample cpu = CPU_SAMPLER.sample();
+		systemCpuLoad = cpu.getSystemCpuLoad();
+		cpuCoreLoads = cpu.getCoreLoads();
+		cpuLimit = cpu.getCpuLimit();
+		cpuThrottledRatio = cpu.getThrottledRatio();
+		cpuThrottledTimeMillis = cpu.getThrottledTimeMillis();
+		processCpuLoad = cpu.getProcessCpuLoad();
 		processCpuTimeMillis = buildProcessCpuTimeMillis();
 		unixOpenFileDescriptorCount = buildOpenFileDescriptorCount();
-		unixMaxFileDescriptorCount = buildMaxFileDescriptorCount();
-		host = Parameters.getHostName() + '@' + Parameters.getHostAddress();
-		os = buildOS();
-		
-		arc = System.getProperty("os.arch");
-		sysVersion = System.getProperty("os.version");
-		processCpuLoad = buildProcessCpuLoad();
-		
+		// 容器中可用的处理器数可能变化
 		availableProcessors = Runtime.getRuntime().availableProcessors();
-		javaVersion = System.getProperty("java.runtime.name") + ", " + System.getProperty("java.runtime.version");
-		jvmVersion = System.getProperty("java.vm.name") + ", " + System.getProperty("java.vm.version") + ", " + System.getProperty("java.vm.info");
-		
-		vmName = System.getProperty("java.vm.name");
-		vmVendor = System.getProperty("java.vm.vendor");
-		vmVersion = System.getProperty("java.vm.version");
-			
-		classPath = ManagementFactory.getRuntimeMXBean().getClassPath();
-		libraryPath = ManagementFactory.getRuntimeMXBean().getLibraryPath();
-		compliationName = ManagementFactory.getCompilationMXBean().getName();
 		totalCompliationTime = ManagementFactory.getCompilationMXBean().getTotalCompilationTime();
-				
-		if (servletContext == null) {
-			serverInfo = null;
-			contextPath = null;
-			contextDisplayName = null;
-			dependenciesList = null;
-		} else {
-			serverInfo = servletContext.getServerInfo();
-			contextPath = Parameters.getContextPath(servletContext);
-			contextDisplayName = servletContext.getServletContextName();
-			dependenciesList = buildDependenciesList(servletContext);
-		}
-		startDate = START_DATE;
-		jvmArguments = buildJvmArguments();
-		
+
 		final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
 		threadCount = threadBean.getThreadCount();
 		peakThreadCount = threadBean.getPeakThreadCount();
@@ -328,18 +392,19 @@ public class JavaInformations implements Serializable {
 		
 		freeDiskSpaceInTemp = Parameters.TEMPORARY_DIRECTORY.getFreeSpace();
 
+		buildSlowTier(includeDetails);
 		if (includeDetails) {
-			dataBaseVersion = buildDataBaseVersion();
-			dataSourceDetails = buildDataSourceDetails();
-			threadInformationsList = buildThreadInformationsList();
+			// 不再完整转储全部线程的堆栈，只有 CPU 使用最多的线程及死锁线程有堆栈
+			final ThreadCollector.Sample threads = threadCollector.collect(Parameters.getHostAddress());
+			threadInformationsList = threads.getThreadInformationsList();
+			topCpuThreads = threads.getTopCpuThreads();
+			deadlockedThreadCount = threads.getDeadlockedThreadCount();
 			jobInformationsList = JobInformations.buildJobInformationsList();
-			pid = PID.getPID();
 		} else {
-			dataBaseVersion = null;
-			dataSourceDetails = null;
 			threadInformationsList = null;
+			topCpuThreads = null;
+			deadlockedThreadCount = 0;
 			jobInformationsList = null;
-			pid = null;
 		}
 	}
 
@@ -414,282 +479,6 @@ public class JavaInformations implements Serializable {
 		return -1;
 	}
 
-	private static double buildSystemCpuLoad() {
-		// System cpu load.
-		// The "recent cpu usage" for the whole system.
-		// This value is a double in the [0.0,1.0] interval.
-		// A value of 0.0 means that all CPUs were idle during the recent period
-		// of time observed,
-		// while a value of 1.0 means that all CPUs were actively running 100%
-		// of the time during the recent period being observed.
-		final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
-		if (SYSTEM_CPU_LOAD_ENABLED && isSunOsMBean(operatingSystem)) {
-			// systemCpuLoad n'existe qu'à partir du jdk 1.7
-			return MemoryInformations.getDoubleFromOperatingSystem(operatingSystem, "getSystemCpuLoad") * 100;
-		} else {
-			if ("windows".indexOf(buildOS()) >= 0) {
-				return getCpuRatioForWindows();
-			} else {
-				return getCpuRateForLinux();
-			}
-		}
-	}
-	
-	private double buildProcessCpuLoad(){
-		if ("windows".indexOf(buildOS()) >= 0) {
-			return getCpuRatioForWindowsByPID();
-		} else {
-			return getCupRateForLinuxByPID();
-		}
-	}
-	
-	private double getCpuRatioForWindowsByPID(){
-		MBeanServerConnection mbsc = ManagementFactory.getPlatformMBeanServer();
-		com.sun.management.OperatingSystemMXBean osm;
-		double cpuUsage = 0;
-		try {
-			osm = ManagementFactory.newPlatformMXBeanProxy(mbsc, ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME, com.sun.management.OperatingSystemMXBean.class);
-			if (this.beforeCpuTime == 0) {
-				this.beforeCpuTime = osm.getProcessCpuTime();
-				this.beforeCpuUpTime = System.nanoTime();
-			} else {
-				if (osm.getProcessCpuTime() > this.beforeCpuTime) {
-					cpuUsage = ((osm.getProcessCpuTime() - this.beforeCpuTime) * 100L) / (System.nanoTime() - this.beforeCpuUpTime);
-					cpuUsage = Math.abs(cpuUsage);
-					this.beforeCpuTime = osm.getProcessCpuTime();
-					this.beforeCpuUpTime = System.nanoTime();
-				} else {
-					this.beforeCpuTime = osm.getProcessCpuTime();
-					this.beforeCpuUpTime = System.nanoTime();
-				}
-			}
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
-			log.error("Details: " + e.getMessage());
-		}		
-		return cpuUsage;
-	}
-	
-	/**
-	 * 获取当前进程的CPU占有率 
-	 * cmd:top -b -n 1 -p $pid | sed '$d' | sed -n '$p' | awk '{print $9}' 
-	 * @Methods Name getCupRateForLinuxByPID
-	 * @Create In 2016年4月5日 By Jack
-	 * @return double
-	 */
-	private static double getCupRateForLinuxByPID(){
-		InputStream is = null;
-		InputStreamReader isr = null;
-		BufferedReader brStat = null;
-		Double usage = new Double(0);
-		Process process;
-		try {
-			// Process process = Runtime.getRuntime().exec("top -n 1 -p " +
-			// PID.getPID() + " | sed '$d' | sed -n '$p' | awk '{print $9}'");
-			if (buildOS().contains("Mac OS X")) {
-				String []cmd = { "/bin/sh", "-c", "top -n 1 -pid " + PID.getPID()};
-				process = Runtime.getRuntime().exec(cmd);
-			} else {
-				// cmds = "ps -aux | grep java | grep " + PID.getPID();
-				String []cmd = { "/bin/sh", "-c", "ps -aux | grep java | grep " + PID.getPID() };
-				process = Runtime.getRuntime().exec(cmd);
-			}
-			
-			is = process.getInputStream();
-			isr = new InputStreamReader(is);
-			brStat = new BufferedReader(isr);
-
-			// String line = null;
-			// while((line = brStat.readLine()) != null ){
-			// usage = Double.parseDouble(line);
-			// if(usage>100) usage = usage/10;//刚启动会出现CPU100多情况，则处理除于10
-			// return usage;
-			// }
-
-			String line = brStat.readLine();
-			while ( !line.contains(PID.getPID())) {
-				 line = brStat.readLine();
-			}
-			if(line != null && !line.equalsIgnoreCase("")){
-				StringTokenizer st = new StringTokenizer(line);
-				int count = 0;
-				String value  = "";
-				while (st.hasMoreElements() && count++ < 3) {
-					value = st.nextToken();
-				}
-				if(!value.equals("")){
-					usage = Double.valueOf(value);
-				}
-			}
-
-		} catch (IOException e) {
-			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
-			log.error("Details: " + e.getMessage());
-			freeResource(is, isr, brStat);
-		} finally {
-			freeResource(is, isr, brStat);
-		}
-		
-		return usage;
-	}
-
-	/**
-	 * 获取 Linux 系统CPU速率
-	 * 
-	 * @Methods Name getCpuRateForLinux
-	 * @Create In 2015年10月27日 By Jack
-	 * @return double
-	 */
-	private static double getCpuRateForLinux() {
-		InputStream is = null;
-		InputStreamReader isr = null;
-		BufferedReader brStat = null;
-		Double usage = new Double(0);
-		try {
-			Process process = Runtime.getRuntime().exec("top -n 1");
-			is = process.getInputStream();
-			isr = new InputStreamReader(is);
-			brStat = new BufferedReader(isr);
-
-			String line = brStat.readLine();
-			if (line != null) {
-				while (line.toLowerCase().indexOf("cpu") < 0) {
-					line = brStat.readLine();
-				}
-				line = line.substring(line.indexOf(":") + 1);
-				String useAvg[] = line.split(",");
-				for (String item : useAvg) {
-					if (item.toLowerCase().indexOf("id") >= 0) {
-						usage = new Double(item.substring(0, item.indexOf("%")));
-						usage = 100 - usage;
-						break;
-					}
-				}
-			}
-
-			return usage;
-
-		} catch (IOException e) {
-			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
-			log.error("Details: " + e.getMessage());
-			freeResource(is, isr, brStat);
-			return 1;
-		} finally {
-			freeResource(is, isr, brStat);
-		}
-	}
-
-	private static void freeResource(InputStream is, InputStreamReader isr, BufferedReader br) {
-		try {
-			if (is != null)
-				is.close();
-			if (isr != null)
-				isr.close();
-			if (br != null)
-				br.close();
-		} catch (IOException e) {
-			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
-			log.error("Details: " + e.getMessage());
-		}
-	}
-
-	/**
-	 * 获得CPU使用率.
-	 * 
-	 * @return 返回cpu使用率
-	 * @author GuoHuang
-	 */
-	private static double getCpuRatioForWindows() {
-		try {
-			String procCmd = System.getenv("windir") + "\\system32\\wbem\\wmic.exe process get Caption,CommandLine,KernelModeTime,ReadOperationCount,ThreadCount,UserModeTime,WriteOperationCount";
-
-			// 取进程信息
-			double[] c0 = readCpu(Runtime.getRuntime().exec(procCmd));
-			Thread.sleep(CPUTIME);
-			double[] c1 = readCpu(Runtime.getRuntime().exec(procCmd));
-			if (c0 != null && c1 != null) {
-				double idletime = c1[0] - c0[0];
-				double busytime = c1[1] - c0[1];
-				return Double.valueOf(PERCENT * (busytime) / (busytime + idletime)).doubleValue();
-			} else {
-				return 0;
-			}
-		} catch (Exception e) {
-			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
-			log.error("Details: " + e.getMessage());
-			return 0;
-		}
-	}
-
-	/**
-	 * 读取CPU信息.
-	 * 
-	 * @param proc
-	 * @return
-	 * @author GuoHuang
-	 */
-	private static double[] readCpu(final Process proc) {
-		double[] retn = new double[2];
-		try {
-			proc.getOutputStream().close();
-			InputStreamReader ir = new InputStreamReader(proc.getInputStream());
-			LineNumberReader input = new LineNumberReader(ir);
-			String line = input.readLine();
-			if (line == null || line.length() < FAULTLENGTH) {
-				return null;
-			}
-			int capidx = line.indexOf("Caption");
-			int cmdidx = line.indexOf("CommandLine");
-			int rocidx = line.indexOf("ReadOperationCount");
-			int umtidx = line.indexOf("UserModeTime");
-			int kmtidx = line.indexOf("KernelModeTime");
-			int wocidx = line.indexOf("WriteOperationCount");
-			double idletime = 0;
-			double kneltime = 0;
-			double usertime = 0;
-			while ((line = input.readLine()) != null) {
-				if (line.length() < wocidx) {
-					continue;
-				}
-				// 字段出现顺序：Caption,CommandLine,KernelModeTime,ReadOperationCount,
-				// ThreadCount,UserModeTime,WriteOperation
-				String caption = line.substring(capidx, cmdidx - 1).trim();
-				String cmd = line.substring(cmdidx, kmtidx - 1).trim();
-				if (cmd.indexOf("wmic.exe") >= 0) {
-					continue;
-				}
-				String s1 = line.substring(kmtidx, rocidx - 1).trim();
-				String s2 = line.substring(umtidx, wocidx - 1).trim();
-				if (caption.equals("System Idle Process") || caption.equals("System")) {
-					if (s1.length() > 0)
-						idletime += Long.valueOf(s1).longValue();
-					if (s2.length() > 0)
-						idletime += Long.valueOf(s2).longValue();
-					continue;
-				}
-				if (s1.length() > 0)
-					kneltime += Long.valueOf(s1).longValue();
-				if (s2.length() > 0)
-					usertime += Long.valueOf(s2).longValue();
-			}
-			retn[0] = idletime;
-			retn[1] = kneltime + usertime;
-			return retn;
-		} catch (Exception e) {
-			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
-			log.error("Details: " + e.getMessage());
-		} finally {
-			try {
-				proc.getInputStream().close();
-			} catch (Exception e) {
-				log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
-				log.error("Details: " + e.getMessage());
-			}
-		}
-		return null;
-	}
-
 	private static double buildSystemLoadAverage() {
 		// 系统平均负载在最后一分钟。
 		//该系统平均负载的总和
@@ -716,72 +505,6 @@ public class JavaInformations implements Serializable {
 		return jvmArgs.toString();
 	}
 
-	private static List<ThreadInformations> buildThreadInformationsList() {
-		final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
-		final Map<Thread, StackTraceElement[]> stackTraces = Thread.getAllStackTraces();
-		final List<Thread> threads = new ArrayList<Thread>(stackTraces.keySet());
-
-		// 如果 "1.6.0_01".compareTo(Parameters.JAVA_VERSION) > 0;
-		// 我们恢复线程的堆栈跟踪没有绕过漏洞6434648
-		//1.6.0_01之前
-		// http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6434648
-		//除了当前线程不同而得到它的堆栈跟踪
-		//如果没有错误
-		// threads = getThreadsFromThreadGroups();
-		// final Thread currentThread = Thread.currentThread();
-		// stackTraces = Collections.singletonMap(currentThread,
-		// currentThread.getStackTrace());
-
-		final boolean cpuTimeEnabled = threadBean.isThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
-		final long[] deadlockedThreads = getDeadlockedThreads(threadBean);
-		final List<ThreadInformations> threadInfosList = new ArrayList<ThreadInformations>(threads.size());
-		// 检索这里，因为可能有超过20,000的线程
-		final String hostAddress = Parameters.getHostAddress();
-		for (final Thread thread : threads) {
-			final StackTraceElement[] stackTraceElements = stackTraces.get(thread);
-			final List<StackTraceElement> stackTraceElementList = stackTraceElements == null ? null : new ArrayList<StackTraceElement>(Arrays.asList(stackTraceElements));
-			final long cpuTimeMillis;
-			final long userTimeMillis;
-			if (cpuTimeEnabled) {
-				cpuTimeMillis = threadBean.getThreadCpuTime(thread.getId()) / 1000000;
-				userTimeMillis = threadBean.getThreadUserTime(thread.getId()) / 1000000;
-			} else {
-				cpuTimeMillis = -1;
-				userTimeMillis = -1;
-			}
-			final boolean deadlocked = deadlockedThreads != null && Arrays.binarySearch(deadlockedThreads, thread.getId()) >= 0;
-			// stackTraceElementList ArrayList是不能修改的列表
-			//对于可读性XML
-			threadInfosList.add(new ThreadInformations(thread, stackTraceElementList, cpuTimeMillis, userTimeMillis, deadlocked, hostAddress));
-		}
-		// 我们回到ArrayList和不修改的列表为XML可读性
-		//通过XStream的
-		return threadInfosList;
-	}
-
-	private static List<Thread> getThreadsFromThreadGroups() {
-		ThreadGroup group = Thread.currentThread().getThreadGroup(); // NOPMD
-		while (group.getParent() != null) {
-			group = group.getParent();
-		}
-		final Thread[] threadsArray = new Thread[group.activeCount()];
-		group.enumerate(threadsArray, true);
-		return Arrays.asList(threadsArray);
-	}
-
-	private static long[] getDeadlockedThreads(ThreadMXBean threadBean) {
-		final long[] deadlockedThreads;
-		if (threadBean.isSynchronizerUsageSupported()) {
-			deadlockedThreads = threadBean.findDeadlockedThreads();
-		} else {
-			deadlockedThreads = threadBean.findMonitorDeadlockedThreads();
-		}
-		if (deadlockedThreads != null) {
-			Arrays.sort(deadlockedThreads);
-		}
-		return deadlockedThreads;
-	}
-
 	private static String buildDataBaseVersion() {
 		if (Parameters.isNoDatabase()) {
 			return null;
@@ -907,7 +630,7 @@ public class JavaInformations implements Serializable {
 		return result;
 	}
 
-	private static boolean isSunOsMBean(OperatingSystemMXBean operatingSystem) {
+	static boolean isSunOsMBean(OperatingSystemMXBean operatingSystem) {
 		// on ne teste pas operatingSystem instanceof
 		// com.sun.management.OperatingSystemMXBean
 		// car le package com.sun n'existe à priori pas sur une jvm tierce
@@ -930,6 +653,10 @@ public class JavaInformations implements Serializable {
 		return memoryInformations;
 	}
 
+	public ContainerInformations getContainerInformations() {
+		return containerInformations;
+	}
+
 	public List<TomcatInformations> getTomcatInformationsList() {
 		return tomcatInformationsList;
 	}
@@ -1078,6 +805,23 @@ public class JavaInformations implements Serializable {
 		return Collections.unmodifiableList(result);
 	}
 
+	/**
+	 * @Return the List<ThreadCpuInfo> topCpuThreads, 上一次采集以来 CPU 使用最多的线程，按使用量从大到小
+	 */
+	public List<ThreadCpuInfo> getTopCpuThreads() {
+		if (topCpuThreads != null) {
+			return topCpuThreads;
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * @Return the int deadlockedThreadCount, 最近一次死锁检测发现的死锁线程数
+	 */
+	public int getDeadlockedThreadCount() {
+		return deadlockedThreadCount;
+	}
+
 	public List<JobInformations> getJobInformationsList() {
 		// on trie sur demande (si affichage)
 		final List<JobInformations> result = new ArrayList<JobInformations>(jobInformationsList);
@@ -1146,6 +890,34 @@ public class JavaInformations implements Serializable {
 		return processCpuLoad;
 	}
 
+	/**
+	 * @Return the double[] cpuCoreLoads, 每个核的使用率，非 Linux 时为空
+	 */
+	public double[] getCpuCoreLoads() {
+		return cpuCoreLoads;
+	}
+
+	/**
+	 * @Return the double cpuLimit, 容器 CPU 配额（核数），未限制时为 -1
+	 */
+	public double getCpuLimit() {
+		return cpuLimit;
+	}
+
+	/**
+	 * @Return the double cpuThrottledRatio, 上一次采集以来被限流的调度周期占比，没有 cgroup 时为 -1
+	 */
+	public double getCpuThrottledRatio() {
+		return cpuThrottledRatio;
+	}
+
+	/**
+	 * @Return the long cpuThrottledTimeMillis, 上一次采集以来被限流的时间，没有 cgroup 时为 -1
+	 */
+	public long getCpuThrottledTimeMillis() {
+		return cpuThrottledTimeMillis;
+	}
+
 	/**
 	 * @Return the String sysVersion
 	 */
@@ -1234,27 +1006,6 @@ public class JavaInformations implements Serializable {
 		return log;
 	}
 
-	/**
-	 * @Return the int CPUTIME
-	 */
-	public static int getCputime() {
-		return CPUTIME;
-	}
-
-	/**
-	 * @Return the int PERCENT
-	 */
-	public static int getPercent() {
-		return PERCENT;
-	}
-
-	/**
-	 * @Return the int FAULTLENGTH
-	 */
-	public static int getFaultlength() {
-		return FAULTLENGTH;
-	}
-
 	/**
 	 * @Return the double HIGH_USAGE_THRESHOLD_IN_PERCENTS
 	 */
@@ -1290,20 +1041,6 @@ public class JavaInformations implements Serializable {
 		return localPomXmlExists;
 	}
 
-	/**
-	 * @Return the double beforeCpuTime
-	 */
-	public double getBeforeCpuTime() {
-		return beforeCpuTime;
-	}
-
-	/**
-	 * @Return the double beforeCpuUpTime
-	 */
-	public double getBeforeCpuUpTime() {
-		return beforeCpuUpTime;
-	}
-
 	/**
 	 * @Return the String os
 	 */
@@ -0,0 +1,150 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoJobInfo.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午3:24:37
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Quartz 任务执行计数上报信息，与 RequestInfo 同一个 Kafka 主题，收集端按 jobDetails 字段区分
+ *
+ * @Class Name JobInfo
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class JobInfo {
+	
+	private String sysCode;
+	
+	private String sysName;
+	
+	private String sysIPS;
+	
+	private String updateDate;
+	
+	// full/keyframe 为累计值，delta 为上一次上报以来的增量，见 CounterDeltaTracker
+	private String reportType;
+	
+	private List<CounterRequest> jobDetails;
+	
+	private static JobInfo JOB_INFO;
+	
+	private JobInfo(){
+
+		DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		
+		this.sysCode = "";
+		this.sysName = "";
+		this.sysIPS = "";
+		this.updateDate = df.format(new Date());
+		this.reportType = CounterDeltaTracker.REPORT_FULL;
+		this.jobDetails = new ArrayList<CounterRequest>();
+	}
+	
+	/**
+	 * 获取实例
+	 * @Methods Name instance
+	 * @Create In 2026年10月18日 By Jack
+	 * @return JobInfo
+	 */
+	public static JobInfo instance(){
+		if(JOB_INFO != null){
+			return JOB_INFO;
+		}else{
+			JOB_INFO = new JobInfo();
+			return JOB_INFO;
+		}
+	}
+	
+	/**
+	 * @Return the String sysCode
+	 */
+	public String getSysCode() {
+		return sysCode;
+	}
+
+	/**
+	 * @Param String sysCode to set
+	 */
+	public void setSysCode(String sysCode) {
+		this.sysCode = sysCode;
+	}
+
+	/**
+	 * @Return the String sysName
+	 */
+	public String getSysName() {
+		return sysName;
+	}
+
+	/**
+	 * @Param String sysName to set
+	 */
+	public void setSysName(String sysName) {
+		this.sysName = sysName;
+	}
+
+	/**
+	 * @Return the String sysIPS
+	 */
+	public String getSysIPS() {
+		return sysIPS;
+	}
+
+	/**
+	 * @Param String sysIPS to set
+	 */
+	public void setSysIPS(String sysIPS) {
+		this.sysIPS = sysIPS;
+	}
+
+	/**
+	 * @Return the String updateDate
+	 */
+	public String getUpdateDate() {
+		return updateDate;
+	}
+
+	/**
+	 * @Param String updateDate to set
+	 */
+	public void setUpdateDate(String updateDate) {
+		this.updateDate = updateDate;
+	}
+
+	/**
+	 * @Return the String reportType
+	 */
+	public String getReportType() {
+		return reportType;
+	}
+
+	/**
+	 * @Param String reportType to set
+	 */
+	public void setReportType(String reportType) {
+		this.reportType = reportType;
+	}
+
+	/**
+	 * @Return the List<CounterRequest> jobDetails
+	 */
+	public List<CounterRequest> getJobDetails() {
+		return jobDetails;
+	}
+
+	/**
+	 * @Param List<CounterRequest> jobDetails to set
+	 */
+	public void setJobDetails(List<CounterRequest> jobDetails) {
+		this.jobDetails = jobDetails;
+	}
+}
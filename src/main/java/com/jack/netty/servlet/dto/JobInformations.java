@@ -102,6 +102,13 @@ public class JobInformations implements Serializable {
 		this.globalJobId = buildGlobalJobId(jobDetail);
 	}
 
+	/**
+	 * @return quartz 是否在 classpath 中
+	 */
+	public static boolean isQuartzEnabled() {
+		return QUARTZ_AVAILABLE;
+	}
+
 	private static boolean isQuartzAvailable() {
 		try {
 			Class.forName("org.quartz.Job");
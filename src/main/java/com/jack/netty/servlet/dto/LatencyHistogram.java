@@ -0,0 +1,269 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoLatencyHistogram.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 上午10:05:17
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.codehaus.jackson.annotate.JsonIgnore;
+
+/**
+ * 固定内存的对数分桶耗时直方图（HDR 风格），单位毫秒
+ *
+ * 0~15ms 每毫秒一个桶，之后每个 2 的幂区间再均分为 8 个子桶，相对误差不超过 12.5%，
+ * 2^20ms（约 17 分钟）以上的耗时全部计入溢出桶。共 145 个 int 计数，单个实例约 600 字节，
+ * 记录为 O(1) 且不分配对象。多个实例可以相加合并，用于跨实例汇总百分位。
+ *
+ * record 为无锁线程安全（每个桶原子自增）；合并、扣除等方法逐桶原子，但不是整体原子操作。
+ *
+ * @Class Name LatencyHistogram
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class LatencyHistogram implements Cloneable, Serializable {
+
+	private static final long serialVersionUID = 2683453419082731541L;
+
+	private static final int LINEAR_BUCKETS = 16;
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int MIN_EXPONENT = 4;
+
+	private static final int MAX_EXPONENT = 19;
+
+	private static final int OVERFLOW_BUCKET = LINEAR_BUCKETS + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+	/**
+	 * 桶数量
+	 */
+	public static final int BUCKET_COUNT = OVERFLOW_BUCKET + 1;
+
+	// 单桶计数达到此值时整体减半，避免 int 溢出
+	private static final int HALVE_THRESHOLD = 1 << 30;
+
+	@JsonIgnore
+	private AtomicIntegerArray counts = new AtomicIntegerArray(BUCKET_COUNT);
+
+	/**
+	 * 记录一次耗时
+	 * @Methods Name record
+	 * @Create In 2026年10月18日 By Jack
+	 * @param value 耗时，毫秒
+	 */
+	public void record(long value) {
+		if (counts.incrementAndGet(bucketIndex(value)) >= HALVE_THRESHOLD) {
+			// 计数即将溢出时整体减半，分布形状不变
+			halve();
+		}
+	}
+
+	/**
+	 * 合并另一个直方图
+	 * @Methods Name add
+	 * @Create In 2026年10月18日 By Jack
+	 * @param other LatencyHistogram
+	 */
+	public void add(LatencyHistogram other) {
+		assert other != null;
+		boolean overflow = false;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			final int delta = other.counts.get(i);
+			if (delta != 0 && counts.addAndGet(i, delta) >= HALVE_THRESHOLD) {
+				overflow = true;
+			}
+		}
+		if (overflow) {
+			halve();
+		}
+	}
+
+	/**
+	 * 扣除另一个直方图，计数不小于0
+	 * @Methods Name subtract
+	 * @Create In 2026年10月18日 By Jack
+	 * @param other LatencyHistogram
+	 */
+	public void subtract(LatencyHistogram other) {
+		assert other != null;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			final int delta = other.counts.get(i);
+			if (delta != 0 && counts.addAndGet(i, -delta) < 0) {
+				counts.set(i, 0);
+			}
+		}
+	}
+
+	/**
+	 * 桶 index 的计数，用于 CounterCheckpoint
+	 */
+	int getCount(int index) {
+		return counts.get(index);
+	}
+
+	/**
+	 * 设置桶 index 的计数，用于 CounterCheckpoint 恢复
+	 */
+	void setCount(int index, int count) {
+		counts.set(index, count);
+	}
+
+	/**
+	 * @return 最高非空桶的上界（毫秒），没有数据时返回 -1
+	 */
+	long highestRecordedValue() {
+		for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+			if (counts.get(i) > 0) {
+				return highestValueOf(i);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return 各桶计数合计
+	 */
+	public long getTotalCount() {
+		long result = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			result += counts.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * 百分位耗时，返回所在桶的上界
+	 * @Methods Name getValueAtPercentile
+	 * @Create In 2026年10月18日 By Jack
+	 * @param percentile 0~100
+	 * @return 毫秒，没有数据时返回 -1
+	 */
+	public long getValueAtPercentile(double percentile) {
+		// 先复制一份计数，保证排名与累计基于同一组数据
+		final int[] snapshot = new int[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total <= 0) {
+			return -1;
+		}
+		final double p = Math.min(Math.max(percentile, 0d), 100d);
+		final long rank = Math.max(1, (long) Math.ceil(p / 100d * total));
+		long cumulative = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulative += snapshot[i];
+			if (cumulative >= rank) {
+				return highestValueOf(i);
+			}
+		}
+		return highestValueOf(OVERFLOW_BUCKET);
+	}
+
+	/**
+	 * 非空桶，键为桶的下界（毫秒），值为计数，用于 JSON 输出及收集端合并
+	 * @Methods Name getBuckets
+	 * @Create In 2026年10月18日 By Jack
+	 * @return Map<Long, Integer>
+	 */
+	public Map<Long, Integer> getBuckets() {
+		final Map<Long, Integer> result = new LinkedHashMap<Long, Integer>();
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			final int count = counts.get(i);
+			if (count > 0) {
+				result.put(lowestValueOf(i), count);
+			}
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public LatencyHistogram clone() { // NOPMD
+		try {
+			final LatencyHistogram clone = (LatencyHistogram) super.clone();
+			final AtomicIntegerArray copy = new AtomicIntegerArray(BUCKET_COUNT);
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				copy.set(i, counts.get(i));
+			}
+			clone.counts = copy;
+			return clone;
+		} catch (final CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private synchronized void halve() {
+		// 其他线程可能同时在记录，只扣除读到值的一半，不会丢失并发写入
+		if (counts.get(bucketIndexOfMax()) < HALVE_THRESHOLD) {
+			return;
+		}
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			final int count = counts.get(i);
+			if (count > 1) {
+				counts.addAndGet(i, -(count >>> 1));
+			}
+		}
+	}
+
+	private int bucketIndexOfMax() {
+		int result = 0;
+		for (int i = 1; i < BUCKET_COUNT; i++) {
+			if (counts.get(i) > counts.get(result)) {
+				result = i;
+			}
+		}
+		return result;
+	}
+
+	static int bucketIndex(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return value < 0 ? 0 : (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent > MAX_EXPONENT) {
+			return OVERFLOW_BUCKET;
+		}
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_BUCKETS + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+	}
+
+	static long lowestValueOf(int index) {
+		if (index < LINEAR_BUCKETS) {
+			return index;
+		}
+		if (index >= OVERFLOW_BUCKET) {
+			return 1L << (MAX_EXPONENT + 1);
+		}
+		final int exponent = MIN_EXPONENT + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+		final int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	static long highestValueOf(int index) {
+		if (index < LINEAR_BUCKETS) {
+			return index;
+		}
+		if (index >= OVERFLOW_BUCKET) {
+			return Long.MAX_VALUE;
+		}
+		final int exponent = MIN_EXPONENT + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+		return lowestValueOf(index) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[totalCount=" + getTotalCount() + ", p50=" + getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) + ']';
+	}
+}
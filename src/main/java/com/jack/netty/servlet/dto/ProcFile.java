@@ -0,0 +1,206 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoProcFile.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午4:46:03
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * /proc、/sys/fs/cgroup 下的小文件，保持打开，每次 refresh 从头重新读取
+ *
+ * 这些文件的内容由内核在读取时生成，seek(0) 后再次读取即为最新值，不需要每次 open/close；
+ * 内容按 ASCII 保存在复用的缓冲区中，作为 CharSequence 直接解析，不产生中间字符串。
+ * 文件不存在时每次 refresh 都返回 false，读取出错时关闭句柄，下一次重新打开。
+ * 不是线程安全的，由调用方同步。
+ *
+ * @Class Name ProcFile
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+final class ProcFile implements CharSequence {
+
+	private final File file;
+
+	private RandomAccessFile handle;
+
+	private byte[] buffer = new byte[512];
+
+	private int length;
+
+	ProcFile(File file) {
+		super();
+		this.file = file;
+	}
+
+	ProcFile(File directory, String name) {
+		this(directory == null ? null : new File(directory, name));
+	}
+
+	/**
+	 * 重新读取文件内容
+	 * @return 是否读取成功
+	 */
+	boolean refresh() {
+		length = 0;
+		if (file == null) {
+			return false;
+		}
+		try {
+			if (handle == null) {
+				if (!file.canRead()) {
+					return false;
+				}
+				handle = new RandomAccessFile(file, "r");
+			} else {
+				handle.seek(0);
+			}
+			int read;
+			while ((read = handle.read(buffer, length, buffer.length - length)) > 0) {
+				length += read;
+				if (length == buffer.length) {
+					final byte[] larger = new byte[buffer.length * 2];
+					System.arraycopy(buffer, 0, larger, 0, length);
+					buffer = larger;
+				}
+			}
+			return true;
+		} catch (IOException e) {
+			length = 0;
+			close();
+			return false;
+		}
+	}
+
+	/**
+	 * 重新读取并解析为整数（单行的数值文件）
+	 * @return 数值，文件不存在或不是数值（如 "max"）时为 -1
+	 */
+	long readLong() {
+		return refresh() ? parseLong(this, 0, length) : -1;
+	}
+
+	void close() {
+		if (handle != null) {
+			try {
+				handle.close();
+			} catch (IOException e) {
+				// rien à faire
+			}
+			handle = null;
+		}
+	}
+
+	/**
+	 * 一次性读取整个文件
+	 * @return 内容，文件不存在或无法读取时为 null
+	 */
+	static String readOnce(File file) {
+		final ProcFile procFile = new ProcFile(file);
+		try {
+			return procFile.refresh() ? procFile.toString() : null;
+		} finally {
+			procFile.close();
+		}
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		return (char) (buffer[index] & 0xff);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return toString().substring(start, end);
+	}
+
+	@Override
+	public String toString() {
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) (buffer[i] & 0xff);
+		}
+		return new String(chars);
+	}
+
+	static int indexOf(CharSequence text, char c, int from) {
+		for (int i = Math.max(from, 0); i < text.length(); i++) {
+			if (text.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	static boolean startsWith(CharSequence text, String prefix, int at) {
+		if (at < 0 || at + prefix.length() > text.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (text.charAt(at + i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 在 "key value" 格式的多行内容中查找 key 对应的数值
+	 * @return 数值，不存在时为 -1
+	 */
+	static long keyedValue(CharSequence content, String key) {
+		int from = 0;
+		final int length = content.length();
+		while (from < length) {
+			int end = indexOf(content, '\n', from);
+			if (end < 0) {
+				end = length;
+			}
+			if (startsWith(content, key, from) && from + key.length() < end && content.charAt(from + key.length()) == ' ') {
+				return parseLong(content, from + key.length() + 1, end);
+			}
+			from = end + 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * 解析 [begin, end) 内的十进制整数，忽略前后空白，可带负号
+	 * @return 数值，格式错误时为 -1
+	 */
+	static long parseLong(CharSequence text, int begin, int end) {
+		while (begin < end && text.charAt(begin) <= ' ') {
+			begin++;
+		}
+		while (end > begin && text.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (begin >= end) {
+			return -1;
+		}
+		boolean negative = false;
+		if (text.charAt(begin) == '-') {
+			negative = true;
+			begin++;
+		}
+		long result = 0;
+		for (int i = begin; i < end; i++) {
+			final char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			result = result * 10 + (c - '0');
+		}
+		return negative ? -result : result;
+	}
+}
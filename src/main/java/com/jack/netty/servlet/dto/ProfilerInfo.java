@@ -0,0 +1,168 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoProfilerInfo.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午7:04:52
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * CPU 热点采样上报信息，与 RequestInfo 同一个 Kafka 主题，收集端按 hotspots 字段区分
+ * 计数为采样开始以来的累计值
+ *
+ * @Class Name ProfilerInfo
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class ProfilerInfo {
+
+	private String sysCode;
+
+	private String sysName;
+
+	private String sysIPS;
+
+	private String updateDate;
+
+	// 累计采样到的运行中线程数
+	private long sampleCount;
+
+	private List<SamplingProfiler.SampledMethod> hotspots;
+
+	// 火焰图使用的 folded stacks："外层方法;...;栈顶方法 次数"
+	private List<String> foldedStacks;
+
+	private static ProfilerInfo PROFILER_INFO;
+
+	private ProfilerInfo(){
+
+		DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+		this.sysCode = "";
+		this.sysName = "";
+		this.sysIPS = "";
+		this.updateDate = df.format(new Date());
+		this.hotspots = new ArrayList<SamplingProfiler.SampledMethod>();
+		this.foldedStacks = new ArrayList<String>();
+	}
+
+	/**
+	 * 获取实例
+	 * @Methods Name instance
+	 * @Create In 2026年10月18日 By Jack
+	 * @return ProfilerInfo
+	 */
+	public static ProfilerInfo instance(){
+		if(PROFILER_INFO != null){
+			return PROFILER_INFO;
+		}else{
+			PROFILER_INFO = new ProfilerInfo();
+			return PROFILER_INFO;
+		}
+	}
+
+	/**
+	 * @Return the String sysCode
+	 */
+	public String getSysCode() {
+		return sysCode;
+	}
+
+	/**
+	 * @Param String sysCode to set
+	 */
+	public void setSysCode(String sysCode) {
+		this.sysCode = sysCode;
+	}
+
+	/**
+	 * @Return the String sysName
+	 */
+	public String getSysName() {
+		return sysName;
+	}
+
+	/**
+	 * @Param String sysName to set
+	 */
+	public void setSysName(String sysName) {
+		this.sysName = sysName;
+	}
+
+	/**
+	 * @Return the String sysIPS
+	 */
+	public String getSysIPS() {
+		return sysIPS;
+	}
+
+	/**
+	 * @Param String sysIPS to set
+	 */
+	public void setSysIPS(String sysIPS) {
+		this.sysIPS = sysIPS;
+	}
+
+	/**
+	 * @Return the String updateDate
+	 */
+	public String getUpdateDate() {
+		return updateDate;
+	}
+
+	/**
+	 * @Param String updateDate to set
+	 */
+	public void setUpdateDate(String updateDate) {
+		this.updateDate = updateDate;
+	}
+
+	/**
+	 * @Return the long sampleCount
+	 */
+	public long getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * @Param long sampleCount to set
+	 */
+	public void setSampleCount(long sampleCount) {
+		this.sampleCount = sampleCount;
+	}
+
+	/**
+	 * @Return the List<SampledMethod> hotspots
+	 */
+	public List<SamplingProfiler.SampledMethod> getHotspots() {
+		return hotspots;
+	}
+
+	/**
+	 * @Param List<SampledMethod> hotspots to set
+	 */
+	public void setHotspots(List<SamplingProfiler.SampledMethod> hotspots) {
+		this.hotspots = hotspots;
+	}
+
+	/**
+	 * @Return the List<String> foldedStacks
+	 */
+	public List<String> getFoldedStacks() {
+		return foldedStacks;
+	}
+
+	/**
+	 * @Param List<String> foldedStacks to set
+	 */
+	public void setFoldedStacks(List<String> foldedStacks) {
+		this.foldedStacks = foldedStacks;
+	}
+}
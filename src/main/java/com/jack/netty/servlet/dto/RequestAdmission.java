@@ -0,0 +1,268 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoRequestAdmission.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午10:41:36
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counter 请求表满后新请求名的准入
+ *
+ * 请求表满后，未在表中的请求名先记入 Count-Min Sketch（4 行，保守更新），估计出现次数超过表中 hits 最少的请求时才替换它，
+ * 被替换的请求合并进 "other" 请求，否则本次 hit 直接计入 "other"。扫描随机 URL 的请求各自只出现一两次，无法挤掉真实的请求；
+ * 新出现的真实请求在重复几次后进入请求表（Space-Saving 的思路，按 hits 淘汰最少的）。
+ * Sketch 在累计 10 倍容量次后所有计数减半，使估计反映最近的频率。
+ *
+ * 淘汰候选按 hits 从小到大取请求表中最少的 1/16（至少 16 个），用完或准入尝试较多时重新选取，每次准入均摊 O(1)。
+ * 内存只与容量有关：sketch 为 4 × 容量（向上取 2 的幂）个 int。
+ *
+ * increment 与 victim 无锁，可由请求线程并发调用（并发时的计数是近似的，对准入的判断没有影响），
+ * 请求名大多计入 "other" 时不需要任何锁；selectVictims、evicted、mergeLateHits 及 clear 须持有 lock，
+ * 请求线程只用 tryLock 取得它（取不到时本次计入 "other"），不会在准入上排队。
+ * 被替换的请求在取快照合并之后，仍可能有之前取得它的请求线程写入 hit，evicted 记下它及已合并的快照，
+ * 取快照（Counter.getRequests）及结束跟踪时把之后写入的部分补充合并进 "other"，保留 EVICTED_GRACE_MILLIS 后
+ * （最多跟踪容量个）不再跟踪。
+ *
+ * @Class Name RequestAdmission
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+final class RequestAdmission {
+
+	private static final int DEPTH = 4;
+
+	private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+	// 重新选取淘汰候选前最多的准入尝试次数，使候选的 hits 不至于过时太久
+	private static final int REFRESH_ATTEMPTS = 1000;
+
+	// 被替换的请求在此时间内仍补充合并之后写入的 hit（请求线程取得请求与写入 hit 之间只有很短的时间）
+	private static final long EVICTED_GRACE_MILLIS = 5000;
+
+	private static final Comparator<Candidate> HITS_COMPARATOR = new Comparator<Candidate>() {
+		@Override
+		public int compare(Candidate candidate1, Candidate candidate2) {
+			return candidate1.hits < candidate2.hits ? -1 : candidate1.hits == candidate2.hits ? 0 : 1;
+		}
+	};
+
+	// 替换、重新选取候选及清空时持有
+	final ReentrantLock lock = new ReentrantLock();
+
+	private final AtomicIntegerArray table;
+
+	private final int widthMask;
+
+	private final int sampleSize;
+
+	private final AtomicInteger additions = new AtomicInteger();
+
+	private volatile Victims victims = new Victims(Collections.<CounterRequest> emptyList());
+
+	private final int capacity;
+
+	// 被替换但仍可能写入 hit 的请求，按替换时间排列，持有 lock 时访问
+	private final Deque<Evicted> evictedRequests = new ArrayDeque<Evicted>();
+
+	/**
+	 * @param capacity 请求表的容量
+	 */
+	RequestAdmission(int capacity) {
+		super();
+		int width = 16;
+		while (width < capacity && width < 1 << 24) {
+			width <<= 1;
+		}
+		table = new AtomicIntegerArray(DEPTH * width);
+		this.capacity = Math.max(capacity, 16);
+		widthMask = width - 1;
+		sampleSize = Math.max(capacity, 16) * 10;
+	}
+
+	/**
+	 * 记录一次出现，返回估计的出现次数（不小于实际次数），无锁
+	 */
+	int increment(String requestName) {
+		final int hash = requestName.hashCode();
+		int min = Integer.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			min = Math.min(min, table.get(index(hash, row)));
+		}
+		if (min < Integer.MAX_VALUE) {
+			// 保守更新：只增加等于最小值的计数，减少哈希冲突带来的高估；CAS 失败说明已被并发增加，不再重试
+			for (int row = 0; row < DEPTH; row++) {
+				table.compareAndSet(index(hash, row), min, min + 1);
+			}
+			min++;
+		}
+		final int n = additions.incrementAndGet();
+		if (n >= sampleSize && additions.compareAndSet(n, n / 2)) {
+			// 只有一个线程减半，并发的增加可能丢失，只影响估计值
+			for (int i = 0; i < table.length(); i++) {
+				table.set(i, table.get(i) >>> 1);
+			}
+		}
+		return min;
+	}
+
+	private int index(int hash, int row) {
+		int h = hash * SEEDS[row];
+		h ^= h >>> 16;
+		return row * (widthMask + 1) + (h & widthMask);
+	}
+
+	/**
+	 * 返回当前候选中 hits 最少、仍在请求表中的请求，无锁；候选用完或准入尝试过多需要重新选取时返回 null
+	 */
+	CounterRequest victim(Map<String, CounterRequest> requests) {
+		final Victims v = victims;
+		if (v.attempts.incrementAndGet() > REFRESH_ATTEMPTS) {
+			return null;
+		}
+		int i = v.index.get();
+		while (i < v.requests.size()) {
+			final CounterRequest candidate = v.requests.get(i);
+			// 已被淘汰或删除的跳过
+			if (requests.get(candidate.getName()) == candidate) {
+				return candidate;
+			}
+			v.index.compareAndSet(i, i + 1);
+			i = v.index.get();
+		}
+		return null;
+	}
+
+	/**
+	 * 重新选取淘汰候选，持有 lock 时调用
+	 */
+	void selectVictims(Map<String, CounterRequest> requests, String otherRequestName) {
+		// hits 在排序期间仍在变化，先取快照再排序
+		final List<Candidate> candidates = new ArrayList<Candidate>(requests.size());
+		for (final CounterRequest request : requests.values()) {
+			if (!otherRequestName.equals(request.getName())) {
+				candidates.add(new Candidate(request));
+			}
+		}
+		Collections.sort(candidates, HITS_COMPARATOR);
+		final int count = Math.min(candidates.size(), Math.max(16, candidates.size() / 16));
+		final List<CounterRequest> selected = new ArrayList<CounterRequest>(count);
+		for (int i = 0; i < count; i++) {
+			selected.add(candidates.get(i).request);
+		}
+		victims = new Victims(selected);
+	}
+
+	/**
+	 * 记下已从请求表删除、快照 merged 已合并进 "other" 的请求，持有 lock 时调用；
+	 * 同时结束跟踪超过保留时间的请求，跟踪的请求数超过容量时提前结束最早的，每次替换均摊 O(1)
+	 */
+	void evicted(CounterRequest victim, CounterRequest merged, CounterRequest otherRequest, long now) {
+		evictedRequests.addLast(new Evicted(victim, merged, now));
+		Evicted oldest = evictedRequests.peekFirst();
+		while (oldest != null && (now - oldest.time >= EVICTED_GRACE_MILLIS || evictedRequests.size() > capacity)) {
+			evictedRequests.removeFirst();
+			oldest.mergeLateHits(otherRequest);
+			oldest = evictedRequests.peekFirst();
+		}
+	}
+
+	/**
+	 * 把被替换的请求在合并之后写入的 hit 补充合并进 otherRequest，超过保留时间的不再跟踪，持有 lock 时调用
+	 */
+	void mergeLateHits(CounterRequest otherRequest, long now) {
+		for (final Iterator<Evicted> iterator = evictedRequests.iterator(); iterator.hasNext();) {
+			final Evicted evicted = iterator.next();
+			evicted.mergeLateHits(otherRequest);
+			if (now - evicted.time >= EVICTED_GRACE_MILLIS) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * 清空请求表时重置，持有 lock 时调用
+	 */
+	void clear() {
+		for (int i = 0; i < table.length(); i++) {
+			table.set(i, 0);
+		}
+		additions.set(0);
+		victims = new Victims(Collections.<CounterRequest> emptyList());
+		evictedRequests.clear();
+	}
+
+	/**
+	 * 一次选取的淘汰候选，替换后整体更换
+	 */
+	private static final class Victims {
+
+		private final List<CounterRequest> requests;
+
+		private final AtomicInteger index = new AtomicInteger();
+
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		Victims(List<CounterRequest> requests) {
+			super();
+			this.requests = requests;
+		}
+	}
+
+	private static final class Evicted {
+
+		private final CounterRequest request;
+
+		private final long time;
+
+		private CounterRequest merged;
+
+		Evicted(CounterRequest request, CounterRequest merged, long time) {
+			super();
+			this.request = request;
+			this.merged = merged;
+			this.time = time;
+		}
+
+		void mergeLateHits(CounterRequest otherRequest) {
+			final CounterRequest current;
+			synchronized (request) {
+				current = request.clone();
+			}
+			if (current.getHits() > merged.getHits()) {
+				final CounterRequest late = current.clone();
+				late.removeHits(merged);
+				synchronized (otherRequest) {
+					otherRequest.addHits(late);
+				}
+				merged = current;
+			}
+		}
+	}
+
+	private static final class Candidate {
+
+		private final CounterRequest request;
+
+		private final long hits;
+
+		Candidate(CounterRequest request) {
+			super();
+			this.request = request;
+			this.hits = request.getHits();
+		}
+	}
+}
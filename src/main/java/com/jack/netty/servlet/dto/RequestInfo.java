@@ -28,6 +28,9 @@ public class RequestInfo {
 	
 	private String updateDate;
 	
+	// full/keyframe 为累计值，delta 为上一次上报以来的增量，见 CounterDeltaTracker
+	private String reportType;
+	
 	private List<CounterRequest> requestDetails;
 	
 	private List<CounterRequest> errorDetails;
@@ -42,6 +45,7 @@ public class RequestInfo {
 		this.sysName = "";
 		this.sysIPS = "";
 		this.updateDate = df.format(new Date());
+		this.reportType = CounterDeltaTracker.REPORT_FULL;
 		this.requestDetails = new ArrayList<CounterRequest>();
 		this.errorDetails = new ArrayList<CounterRequest>();
 	}
@@ -117,6 +121,20 @@ public class RequestInfo {
 		this.updateDate = updateDate;
 	}
 
+	/**
+	 * @Return the String reportType
+	 */
+	public String getReportType() {
+		return reportType;
+	}
+
+	/**
+	 * @Param String reportType to set
+	 */
+	public void setReportType(String reportType) {
+		this.reportType = reportType;
+	}
+
 	/**
 	 * @Return the List<CounterRequest> requestDetails
 	 */
@@ -0,0 +1,124 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoRouteTemplate.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:12:05
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+/**
+ * HTTP 请求路径模板化，用于 HTTP 计数器的请求聚合
+ *
+ * 按 / 分段扫描一次，不使用正则表达式，将路径中的变量段替换为占位符，使 /order/123456 与 /order/123457 聚合为 /order/{id}：
+ * 全数字为 {id}，8-4-4-4-12 的 UUID 为 {uuid}，8 位以上含数字的十六进制串为 {hex}，
+ * 16 位以上同时含数字、大写及小写字母的 Base64（含 URL 安全字符及 = 填充）串为 {token}，其他段保持原样。
+ *
+ * 结果由 RequestWrapper 按原路径连同请求名一起缓存，这里不缓存。
+ *
+ * @Class Name RouteTemplate
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public final class RouteTemplate {
+
+	private static final int MIN_HEX_LENGTH = 8;
+
+	private static final int MIN_TOKEN_LENGTH = 16;
+
+	private static final int UUID_LENGTH = 36;
+
+	private RouteTemplate() {
+		super();
+	}
+
+	/**
+	 * 模板化路径
+	 * @Methods Name templatize
+	 * @Create In 2026年10月18日 By Jack
+	 * @param path 请求路径
+	 * @return 模板化后的路径，没有变量段时为原字符串
+	 */
+	public static String templatize(String path) {
+		final int length = path.length();
+		// 第一个变量段出现时才创建
+		StringBuilder out = null;
+		int copied = 0;
+		int start = 0;
+		while (start <= length) {
+			int end = path.indexOf('/', start);
+			if (end < 0) {
+				end = length;
+			}
+			final String placeholder = placeholder(path, start, end);
+			if (placeholder != null) {
+				if (out == null) {
+					out = new StringBuilder(length);
+				}
+				out.append(path, copied, start).append(placeholder);
+				copied = end;
+			}
+			start = end + 1;
+		}
+		if (out == null) {
+			return path;
+		}
+		return out.append(path, copied, length).toString();
+	}
+
+	/**
+	 * 变量段 [start, end) 的占位符，不是变量段时为 null
+	 */
+	private static String placeholder(String path, int start, int end) {
+		final int length = end - start;
+		if (length == 0) {
+			return null;
+		}
+		int digits = 0;
+		int hexLetters = 0;
+		int upper = 0;
+		int lower = 0;
+		int dashes = 0;
+		int others = 0;
+		for (int i = start; i < end; i++) {
+			final char c = path.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits++;
+			} else if (c >= 'a' && c <= 'z') {
+				lower++;
+				if (c <= 'f') {
+					hexLetters++;
+				}
+			} else if (c >= 'A' && c <= 'Z') {
+				upper++;
+				if (c <= 'F') {
+					hexLetters++;
+				}
+			} else if (c == '-') {
+				dashes++;
+			} else if (c == '_' || c == '+' || c == '=' && i > start) {
+				others++;
+			} else {
+				// . 等其他字符（如文件扩展名）不作为变量段
+				return null;
+			}
+		}
+		if (digits == length) {
+			return "{id}";
+		}
+		if (length == UUID_LENGTH && dashes == 4 && digits + hexLetters == 32 && isUuid(path, start)) {
+			return "{uuid}";
+		}
+		if (length >= MIN_HEX_LENGTH && digits > 0 && digits + hexLetters == length) {
+			return "{hex}";
+		}
+		if (length >= MIN_TOKEN_LENGTH && digits > 0 && upper > 0 && lower > 0 && digits + upper + lower + dashes + others == length) {
+			return "{token}";
+		}
+		return null;
+	}
+
+	private static boolean isUuid(String path, int start) {
+		return path.charAt(start + 8) == '-' && path.charAt(start + 13) == '-' && path.charAt(start + 18) == '-' && path.charAt(start + 23) == '-';
+	}
+}
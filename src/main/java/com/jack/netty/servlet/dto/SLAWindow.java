@@ -0,0 +1,191 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoSLAWindow.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:58:27
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+/**
+ * 最近 1、5、15 分钟的 SLA 滑动窗口
+ *
+ * 窗口内的请求数、失败数、平均耗时按 5 秒一个桶精确统计，不含当前还没有结束的桶；
+ * ewma* 为指数加权移动平均（与 Unix load average 相同的衰减方式），每 5 秒更新一次。
+ * 启动后不足一个窗口时，速率按实际经过的时间计算。
+ *
+ * @Class Name SLAWindow
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class SLAWindow {
+
+	private int minutes;
+
+	private long requests;
+
+	private long errors;
+
+	private double requestsPerSecond;
+
+	private double errorPercentage;
+
+	private double meanTime;
+
+	private double ewmaRequestsPerSecond;
+
+	private double ewmaErrorsPerSecond;
+
+	private double ewmaMeanTime;
+
+	public SLAWindow() {
+		super();
+	}
+
+	public SLAWindow(int minutes, long requests, long errors, double requestsPerSecond, double meanTime, double ewmaRequestsPerSecond,
+		double ewmaErrorsPerSecond, double ewmaMeanTime) {
+		super();
+		this.minutes = minutes;
+		this.requests = requests;
+		this.errors = errors;
+		this.requestsPerSecond = requestsPerSecond;
+		this.errorPercentage = requests > 0 ? 100d * errors / requests : 0d;
+		this.meanTime = meanTime;
+		this.ewmaRequestsPerSecond = ewmaRequestsPerSecond;
+		this.ewmaErrorsPerSecond = ewmaErrorsPerSecond;
+		this.ewmaMeanTime = ewmaMeanTime;
+	}
+
+	/**
+	 * @Return the int minutes, 窗口长度（分钟）
+	 */
+	public int getMinutes() {
+		return minutes;
+	}
+
+	/**
+	 * @Param int minutes to set
+	 */
+	public void setMinutes(int minutes) {
+		this.minutes = minutes;
+	}
+
+	/**
+	 * @Return the long requests, 窗口内处理完成的请求数（成功及失败）
+	 */
+	public long getRequests() {
+		return requests;
+	}
+
+	/**
+	 * @Param long requests to set
+	 */
+	public void setRequests(long requests) {
+		this.requests = requests;
+	}
+
+	/**
+	 * @Return the long errors, 窗口内处理失败的请求数
+	 */
+	public long getErrors() {
+		return errors;
+	}
+
+	/**
+	 * @Param long errors to set
+	 */
+	public void setErrors(long errors) {
+		this.errors = errors;
+	}
+
+	/**
+	 * @Return the double requestsPerSecond, 窗口内每秒处理完成的请求数
+	 */
+	public double getRequestsPerSecond() {
+		return requestsPerSecond;
+	}
+
+	/**
+	 * @Param double requestsPerSecond to set
+	 */
+	public void setRequestsPerSecond(double requestsPerSecond) {
+		this.requestsPerSecond = requestsPerSecond;
+	}
+
+	/**
+	 * @Return the double errorPercentage, 窗口内失败请求的占比（0 到 100）
+	 */
+	public double getErrorPercentage() {
+		return errorPercentage;
+	}
+
+	/**
+	 * @Param double errorPercentage to set
+	 */
+	public void setErrorPercentage(double errorPercentage) {
+		this.errorPercentage = errorPercentage;
+	}
+
+	/**
+	 * @Return the double meanTime, 窗口内成功请求的平均耗时，毫秒
+	 */
+	public double getMeanTime() {
+		return meanTime;
+	}
+
+	/**
+	 * @Param double meanTime to set
+	 */
+	public void setMeanTime(double meanTime) {
+		this.meanTime = meanTime;
+	}
+
+	/**
+	 * @Return the double ewmaRequestsPerSecond, 每秒处理完成的请求数的 EWMA
+	 */
+	public double getEwmaRequestsPerSecond() {
+		return ewmaRequestsPerSecond;
+	}
+
+	/**
+	 * @Param double ewmaRequestsPerSecond to set
+	 */
+	public void setEwmaRequestsPerSecond(double ewmaRequestsPerSecond) {
+		this.ewmaRequestsPerSecond = ewmaRequestsPerSecond;
+	}
+
+	/**
+	 * @Return the double ewmaErrorsPerSecond, 每秒处理失败的请求数的 EWMA
+	 */
+	public double getEwmaErrorsPerSecond() {
+		return ewmaErrorsPerSecond;
+	}
+
+	/**
+	 * @Param double ewmaErrorsPerSecond to set
+	 */
+	public void setEwmaErrorsPerSecond(double ewmaErrorsPerSecond) {
+		this.ewmaErrorsPerSecond = ewmaErrorsPerSecond;
+	}
+
+	/**
+	 * @Return the double ewmaMeanTime, 成功请求平均耗时的 EWMA（耗时与请求数各自加权后相除），毫秒
+	 */
+	public double getEwmaMeanTime() {
+		return ewmaMeanTime;
+	}
+
+	/**
+	 * @Param double ewmaMeanTime to set
+	 */
+	public void setEwmaMeanTime(double ewmaMeanTime) {
+		this.ewmaMeanTime = ewmaMeanTime;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[minutes=" + minutes + ", requests=" + requests + ", errors=" + errors + ", requestsPerSecond="
+			+ requestsPerSecond + ", meanTime=" + meanTime + ", ewmaRequestsPerSecond=" + ewmaRequestsPerSecond + ", ewmaErrorsPerSecond="
+			+ ewmaErrorsPerSecond + ", ewmaMeanTime=" + ewmaMeanTime + ']';
+	}
+}
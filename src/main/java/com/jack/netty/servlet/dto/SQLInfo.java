@@ -29,6 +29,9 @@ public class SQLInfo {
 	
 	private String updateDate;
 	
+	// full/keyframe 为累计值，delta 为上一次上报以来的增量，见 CounterDeltaTracker
+	private String reportType;
+	
 	private Integer active_connection_count;
 	private Integer used_connection_count;
 	private Long transaction_count;
@@ -49,6 +52,7 @@ public class SQLInfo {
 		this.active_thread_count = 0;
 		this.running_build_count = 0;
 		this.build_queue_length = 0;
+		this.reportType = CounterDeltaTracker.REPORT_FULL;
 		this.sqlDetails = new ArrayList<CounterRequest>();
 	}
 	
@@ -179,6 +183,20 @@ public class SQLInfo {
 		this.build_queue_length = build_queue_length;
 	}
 
+	/**
+	 * @Return the String reportType
+	 */
+	public String getReportType() {
+		return reportType;
+	}
+
+	/**
+	 * @Param String reportType to set
+	 */
+	public void setReportType(String reportType) {
+		this.reportType = reportType;
+	}
+
 	/**
 	 * @Return the List<CounterRequest> sqlDetails
 	 */
@@ -18,19 +18,39 @@
 package com.jack.netty.servlet.dto;
 
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jack.netty.servlet.conf.EnvPropertyConfig;
 
 /**
  * Detect CPU hotspots CPU by periodic sampling of the stack-traces of the threads.
+ *
+ * 常驻的采样分析：start 后在自己的守护线程中按固定周期（sampling-seconds）执行 update。
+ * 每次只对 RUNNABLE 的线程调用 ThreadMXBean.getThreadInfo(ids, maxDepth) 获取有限深度的堆栈，
+ * 类名、方法名按开放寻址表映射为整数编号，调用栈以编号序列的64位哈希为键保存在另一个开放寻址表中，
+ * 采样过程中不为每一帧创建对象。热点为栈顶第一个不在排除包中的方法（与原来相同），
+ * 同时保留完整的调用栈计数，可以输出火焰图使用的 folded stacks 格式。
+ * 表满时一次移除计数最小的调用栈及不再被引用的方法，代替原来每次采样后的多次全表扫描。
+ *
  * @author Emeric Vernat with some ideas from C&eacute;drik Lime
  */
 public class SamplingProfiler {
+
+	private static Logger log = LoggerFactory.getLogger(SamplingProfiler.class);
+
 	/**
 	 * Excluded packages by default : those of the jvm, of tomcat...
 	 */
@@ -43,11 +63,62 @@ public class SamplingProfiler {
 	 */
 	private static final int MAX_DATA_SIZE = 10000;
 
+	/**
+	 * 保存的调用栈的最大数量
+	 */
+	private static final int MAX_STACKS = 10000;
+
+	/**
+	 * 默认的堆栈深度
+	 */
+	public static final int DEFAULT_MAX_DEPTH = 64;
+
+	// 堆栈深度上限，保证整理后方法表有足够的空间容纳一个调用栈
+	private static final int MAX_DEPTH_LIMIT = MAX_DATA_SIZE / 8;
+
+	// 开放寻址表的槽数，2的幂，负载因子不超过 1/3
+	private static final int TABLE_SIZE = 32768;
+
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
 	private final String[] excludedPackages;
 
 	private final String[] includedPackages;
 
-	private final Map<SampledMethod, SampledMethod> data = new HashMap<SampledMethod, SampledMethod>();
+	private final int maxDepth;
+
+	// 方法表：槽中保存方法编号 + 1，0 表示空槽
+	private final int[] methodSlots = new int[TABLE_SIZE];
+
+	private final int[] methodHashes = new int[MAX_DATA_SIZE];
+
+	private final String[] classNames = new String[MAX_DATA_SIZE];
+
+	private final String[] methodNames = new String[MAX_DATA_SIZE];
+
+	private final boolean[] methodExcluded = new boolean[MAX_DATA_SIZE];
+
+	// 作为热点被采样到的次数
+	private final long[] methodCounts = new long[MAX_DATA_SIZE];
+
+	private int methodCount;
+
+	// 调用栈表：槽中保存调用栈编号 + 1，帧为方法编号，栈顶在前
+	private final int[] stackSlots = new int[TABLE_SIZE];
+
+	private final long[] stackHashes = new long[MAX_STACKS];
+
+	private final int[][] stackFrames = new int[MAX_STACKS][];
+
+	private final long[] stackCounts = new long[MAX_STACKS];
+
+	private int stackCount;
+
+	private long sampleCount;
+
+	private int[] frameBuffer = new int[DEFAULT_MAX_DEPTH];
+
+	private ScheduledThreadPoolExecutor executor;
 
 	public static class SampledMethod implements Comparable<SampledMethod>, Serializable {
 		private static final long serialVersionUID = 1L;
@@ -131,9 +202,7 @@ public class SamplingProfiler {
 	 * Excluded packages by default "java,sun,com.sun,javax,org.apache,org.hibernate,oracle,org.postgresql,org.eclipse"
 	 */
 	public SamplingProfiler() {
-		super();
-		this.excludedPackages = DEFAULT_EXCLUDED_PACKAGES;
-		this.includedPackages = null;
+		this(DEFAULT_EXCLUDED_PACKAGES, null, DEFAULT_MAX_DEPTH);
 	}
 
 	/**
@@ -142,12 +211,10 @@ public class SamplingProfiler {
 	 * @param includedPackages List of included packages (can be null)
 	 */
 	public SamplingProfiler(List<String> excludedPackages, List<String> includedPackages) {
-		super();
+		this(verifyPackageNames(excludedPackages), verifyPackageNames(includedPackages), DEFAULT_MAX_DEPTH);
 		assert excludedPackages != null || includedPackages != null;
 		// In general, there are either excluded packages or included packages.
 		// (If both, excluded result has priority over included result: it excludes some included.)
-		this.excludedPackages = verifyPackageNames(excludedPackages);
-		this.includedPackages = verifyPackageNames(includedPackages);
 	}
 
 	/**
@@ -161,6 +228,24 @@ public class SamplingProfiler {
 		// (If both, excluded result has priority over included result: it excludes some included.)
 	}
 
+	/**
+	 * Constructor.
+	 * @param excludedPackages List of excluded packages separated by comma (can be null, default packages if both are null)
+	 * @param includedPackages List of included packages separated by comma (can be null)
+	 * @param maxDepth 每次采样获取的最大堆栈深度
+	 */
+	public SamplingProfiler(String excludedPackages, String includedPackages, int maxDepth) {
+		this(excludedPackages == null && includedPackages == null ? DEFAULT_EXCLUDED_PACKAGES : verifyPackageNames(splitPackageNames(excludedPackages)),
+			verifyPackageNames(splitPackageNames(includedPackages)), maxDepth);
+	}
+
+	private SamplingProfiler(String[] excludedPackages, String[] includedPackages, int maxDepth) {
+		super();
+		this.excludedPackages = excludedPackages;
+		this.includedPackages = includedPackages;
+		this.maxDepth = Math.max(1, Math.min(maxDepth, MAX_DEPTH_LIMIT));
+	}
+
 	private static List<String> splitPackageNames(String packageNames) {
 		if (packageNames == null) {
 			return null;
@@ -168,7 +253,7 @@ public class SamplingProfiler {
 		return Arrays.asList(packageNames.split(","));
 	}
 
-	private String[] verifyPackageNames(List<String> packageNames) {
+	private static String[] verifyPackageNames(List<String> packageNames) {
 		if (packageNames == null) {
 			return null;
 		}
@@ -186,67 +271,297 @@ public class SamplingProfiler {
 		return packages;
 	}
 
-	public synchronized void update() {
-		final Map<Thread, StackTraceElement[]> stackTraces = Thread.getAllStackTraces();
+	/**
+	 * 在守护线程中按固定周期采样，已启动时忽略
+	 * @Methods Name start
+	 * @Create In 2026年10月18日 By Jack
+	 * @param periodMillis 采样周期（毫秒）
+	 */
+	public synchronized void start(long periodMillis) {
+		if (executor != null) {
+			return;
+		}
+		if (periodMillis <= 0) {
+			throw new IllegalArgumentException("sampling period must be positive: " + periodMillis);
+		}
+		executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread thread = new Thread(r, "orion-monitor-profiler");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+		// 固定间隔而不是固定频率，采样变慢时不会连续补采
+		executor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					update();
+				} catch (Throwable t) {
+					// 不向外抛出，否则后续采样会被取消
+					log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001022"));
+					log.error("Details: " + t.getMessage(), t);
+				}
+			}
+		}, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 停止采样，已采集的数据保留
+	 * @Methods Name stop
+	 * @Create In 2026年10月18日 By Jack
+	 * @param timeoutMillis 等待正在执行的采样结束的最长时间（毫秒）
+	 */
+	public void stop(long timeoutMillis) {
+		final ScheduledThreadPoolExecutor current;
+		synchronized (this) {
+			current = executor;
+			executor = null;
+		}
+		if (current == null) {
+			return;
+		}
+		current.shutdown();
 		try {
-			final Thread currentThread = Thread.currentThread();
-			for (final Map.Entry<Thread, StackTraceElement[]> entry : stackTraces.entrySet()) {
-				final Thread thread = entry.getKey();
-				final StackTraceElement[] stackTrace = entry.getValue();
-				if (stackTrace.length > 0 && thread.getState() == Thread.State.RUNNABLE
-						&& thread != currentThread) {
-					for (final StackTraceElement element : stackTrace) {
-						if (!isPackageExcluded(element)) {
-							addSample(element);
-							break;
-						}
-					}
+			if (!current.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+				current.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			current.shutdownNow();
+		}
+	}
+
+	/**
+	 * @Return the boolean started
+	 */
+	public synchronized boolean isStarted() {
+		return executor != null;
+	}
+
+	public void update() {
+		// 先按 Thread.getState 过滤（不暂停 JVM），只对运行中的线程获取堆栈
+		final Thread currentThread = Thread.currentThread();
+		final Thread[] threads = ThreadCollector.liveThreads();
+		final long[] ids = new long[threads.length];
+		int count = 0;
+		for (final Thread thread : threads) {
+			if (thread != currentThread && thread.getState() == Thread.State.RUNNABLE) {
+				ids[count++] = thread.getId();
+			}
+		}
+		if (count == 0) {
+			return;
+		}
+		final ThreadInfo[] threadInfos = THREAD_BEAN.getThreadInfo(count == ids.length ? ids : Arrays.copyOf(ids, count), maxDepth);
+		synchronized (this) {
+			for (final ThreadInfo threadInfo : threadInfos) {
+				// 获取堆栈时线程可能已结束或已不再运行
+				if (threadInfo != null && threadInfo.getThreadState() == Thread.State.RUNNABLE) {
+					addSample(threadInfo.getStackTrace());
 				}
 			}
-		} finally {
-			limitDataSize();
 		}
 	}
 
-	private void addSample(StackTraceElement element) {
-		final SampledMethod key = new SampledMethod(element.getClassName(),
-				element.getMethodName());
-		// or final String key = element.getClassName() + '.' + element.getMethodName();
-		SampledMethod method = this.data.get(key);
-		if (method == null) {
-			method = key;
-			// or method = new SampledMethod(element.getClassName(), element.getMethodName());
-			this.data.put(key, method);
+	private void addSample(StackTraceElement[] stackTrace) {
+		final int depth = stackTrace.length;
+		if (depth == 0) {
+			return;
+		}
+		if (methodCount + depth > MAX_DATA_SIZE || stackCount >= MAX_STACKS) {
+			limitDataSize();
+		}
+		if (frameBuffer.length < depth) {
+			frameBuffer = new int[depth];
+		}
+		int hotspot = -1;
+		for (int i = 0; i < depth; i++) {
+			final StackTraceElement element = stackTrace[i];
+			final int method = internMethod(element.getClassName(), element.getMethodName());
+			frameBuffer[i] = method;
+			if (hotspot < 0 && !methodExcluded[method]) {
+				hotspot = method;
+			}
 		}
 		// on pourrait incrémenter la valeur selon l'augmentation de cpuTime pour ce thread,
 		// mais l'intervalle entre deux samples est probablement trop grand
 		// pour que le cpu du thread entre les deux intervalles ait un rapport avec cette méthode
-		method.incrementCount();
+		if (hotspot >= 0) {
+			methodCounts[hotspot]++;
+		}
+		stackCounts[internStack(frameBuffer, depth)]++;
+		sampleCount++;
+	}
+
+	private int internMethod(String className, String methodName) {
+		// 类名、方法名一般是 JVM 中驻留的字符串，hashCode 已缓存
+		final int hash = className.hashCode() * 31 + methodName.hashCode();
+		int slot = mix(hash) & (TABLE_SIZE - 1);
+		while (true) {
+			final int entry = methodSlots[slot];
+			if (entry == 0) {
+				final int method = methodCount++;
+				methodHashes[method] = hash;
+				classNames[method] = className;
+				methodNames[method] = methodName;
+				methodExcluded[method] = isPackageExcluded(className);
+				methodSlots[slot] = method + 1;
+				return method;
+			}
+			final int method = entry - 1;
+			if (methodHashes[method] == hash && sameString(classNames[method], className) && sameString(methodNames[method], methodName)) {
+				return method;
+			}
+			slot = (slot + 1) & (TABLE_SIZE - 1);
+		}
+	}
+
+	private int internStack(int[] frames, int depth) {
+		final long hash = stackHash(frames, depth);
+		int slot = (int) (hash ^ hash >>> 32) & (TABLE_SIZE - 1);
+		while (true) {
+			final int entry = stackSlots[slot];
+			if (entry == 0) {
+				final int stack = stackCount++;
+				stackHashes[stack] = hash;
+				stackFrames[stack] = Arrays.copyOf(frames, depth);
+				stackSlots[slot] = stack + 1;
+				return stack;
+			}
+			final int stack = entry - 1;
+			if (stackHashes[stack] == hash && sameFrames(stackFrames[stack], frames, depth)) {
+				return stack;
+			}
+			slot = (slot + 1) & (TABLE_SIZE - 1);
+		}
+	}
+
+	private static long stackHash(int[] frames, int depth) {
+		long hash = depth;
+		for (int i = 0; i < depth; i++) {
+			hash = (hash ^ frames[i]) * 0x9E3779B97F4A7C15L;
+		}
+		return hash ^ hash >>> 29;
+	}
+
+	private static int mix(int hash) {
+		final int h = hash * 0x85EBCA6B;
+		return h ^ h >>> 16;
+	}
+
+	private static boolean sameString(String a, String b) {
+		return a == b || a.equals(b);
+	}
+
+	private static boolean sameFrames(int[] stored, int[] frames, int depth) {
+		if (stored.length != depth) {
+			return false;
+		}
+		for (int i = 0; i < depth; i++) {
+			if (stored[i] != frames[i]) {
+				return false;
+			}
+		}
+		return true;
 	}
 
+	/**
+	 * 表满时移除计数不超过 minCount 的调用栈及不再被引用、作为热点的计数也不超过 minCount 的方法，
+	 * minCount 取使两个表都不超过容量的 3/4 的最小值（至少为1）：方法的保留依据为自身计数与引用它的调用栈计数中的最大值，
+	 * 对调用栈计数及该值各排序一次即可选出，之后只做一次压缩并重建哈希表
+	 */
 	private void limitDataSize() {
-		long minCount = 1;
-		int size = data.size();
-		while (size > MAX_DATA_SIZE) {
-			final Iterator<SampledMethod> iterator = data.keySet().iterator();
-			while (iterator.hasNext() && size > MAX_DATA_SIZE) {
-				final SampledMethod method = iterator.next();
-				if (method.getCount() <= minCount) {
-					iterator.remove();
-					size--;
+		// 方法 m 在 minCount 下保留，当且仅当 keepCounts[m] > minCount
+		final long[] keepCounts = Arrays.copyOf(methodCounts, methodCount);
+		for (int stack = 0; stack < stackCount; stack++) {
+			final long count = stackCounts[stack];
+			for (final int method : stackFrames[stack]) {
+				if (keepCounts[method] < count) {
+					keepCounts[method] = count;
 				}
 			}
-			minCount++;
 		}
+		final long minCount = Math.max(1, Math.max(cutOff(Arrays.copyOf(stackCounts, stackCount), MAX_STACKS * 3 / 4),
+			cutOff(keepCounts.clone(), MAX_DATA_SIZE * 3 / 4)));
+
+		int stacks = 0;
+		for (int stack = 0; stack < stackCount; stack++) {
+			if (stackCounts[stack] > minCount) {
+				stackFrames[stacks] = stackFrames[stack];
+				stackCounts[stacks] = stackCounts[stack];
+				stacks++;
+			}
+		}
+		Arrays.fill(stackFrames, stacks, stackCount, null);
+		// 之后写入空出位置的调用栈从0开始计数
+		Arrays.fill(stackCounts, stacks, stackCount, 0);
+		stackCount = stacks;
+
+		final int[] remap = new int[methodCount];
+		int methods = 0;
+		for (int method = 0; method < methodCount; method++) {
+			if (keepCounts[method] > minCount) {
+				remap[method] = methods;
+				methodHashes[methods] = methodHashes[method];
+				classNames[methods] = classNames[method];
+				methodNames[methods] = methodNames[method];
+				methodExcluded[methods] = methodExcluded[method];
+				methodCounts[methods] = methodCounts[method];
+				methods++;
+			}
+		}
+		Arrays.fill(classNames, methods, methodCount, null);
+		Arrays.fill(methodNames, methods, methodCount, null);
+		Arrays.fill(methodCounts, methods, methodCount, 0);
+		methodCount = methods;
+
+		// 方法编号变化后重建两个表
+		Arrays.fill(methodSlots, 0);
+		for (int method = 0; method < methodCount; method++) {
+			int slot = mix(methodHashes[method]) & (TABLE_SIZE - 1);
+			while (methodSlots[slot] != 0) {
+				slot = (slot + 1) & (TABLE_SIZE - 1);
+			}
+			methodSlots[slot] = method + 1;
+		}
+		Arrays.fill(stackSlots, 0);
+		for (int stack = 0; stack < stackCount; stack++) {
+			final int[] frames = stackFrames[stack];
+			for (int i = 0; i < frames.length; i++) {
+				frames[i] = remap[frames[i]];
+			}
+			final long hash = stackHash(frames, frames.length);
+			stackHashes[stack] = hash;
+			int slot = (int) (hash ^ hash >>> 32) & (TABLE_SIZE - 1);
+			while (stackSlots[slot] != 0) {
+				slot = (slot + 1) & (TABLE_SIZE - 1);
+			}
+			stackSlots[slot] = stack + 1;
+		}
+	}
+
+	/**
+	 * @return 使大于它的值不超过 limit 个的最小值，values 不超过 limit 个时为0；values 会被排序
+	 */
+	private static long cutOff(long[] values, int limit) {
+		if (values.length <= limit) {
+			return 0;
+		}
+		Arrays.sort(values);
+		// 第 limit + 1 大的值
+		return values[values.length - 1 - limit];
 	}
 
-	private boolean isPackageExcluded(StackTraceElement element) {
-		return excludedPackages != null && isPackageMatching(element, excludedPackages)
-				|| includedPackages != null && !isPackageMatching(element, includedPackages);
+	private boolean isPackageExcluded(String className) {
+		return excludedPackages != null && isPackageMatching(className, excludedPackages)
+				|| includedPackages != null && !isPackageMatching(className, includedPackages);
 	}
 
-	private boolean isPackageMatching(StackTraceElement element, String[] packageNames) {
-		final String className = element.getClassName();
+	private static boolean isPackageMatching(String className, String[] packageNames) {
 		for (final String packageName : packageNames) {
 			if (className.startsWith(packageName)) {
 				return true;
@@ -256,12 +571,74 @@ public class SamplingProfiler {
 	}
 
 	public synchronized List<SampledMethod> getHotspots(int rows) {
-		final List<SampledMethod> methods = new ArrayList<SampledMethod>(data.values());
+		final List<SampledMethod> methods = new ArrayList<SampledMethod>();
+		for (int method = 0; method < methodCount; method++) {
+			if (methodCounts[method] > 0) {
+				final SampledMethod sampledMethod = new SampledMethod(classNames[method], methodNames[method]);
+				sampledMethod.setCount(methodCounts[method]);
+				methods.add(sampledMethod);
+			}
+		}
 		Collections.sort(methods);
-		return methods.subList(0, Math.min(rows, methods.size()));
+		return new ArrayList<SampledMethod>(methods.subList(0, Math.min(rows, methods.size())));
+	}
+
+	/**
+	 * 火焰图使用的 folded stacks 格式："外层方法;...;栈顶方法 次数"，方法为 类名.方法名
+	 * @Methods Name getFoldedStacks
+	 * @Create In 2026年10月18日 By Jack
+	 * @param rows 按次数从大到小返回的调用栈数
+	 * @return List<String>
+	 */
+	public synchronized List<String> getFoldedStacks(int rows) {
+		final List<Integer> stacks = new ArrayList<Integer>(stackCount);
+		for (int stack = 0; stack < stackCount; stack++) {
+			stacks.add(stack);
+		}
+		Collections.sort(stacks, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer stack1, Integer stack2) {
+				final long count1 = stackCounts[stack1];
+				final long count2 = stackCounts[stack2];
+				return count1 < count2 ? 1 : count1 == count2 ? 0 : -1;
+			}
+		});
+		final int size = Math.min(rows, stacks.size());
+		final List<String> result = new ArrayList<String>(size);
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			final int stack = stacks.get(i);
+			final int[] frames = stackFrames[stack];
+			sb.setLength(0);
+			for (int frame = frames.length - 1; frame >= 0; frame--) {
+				sb.append(classNames[frames[frame]]).append('.').append(methodNames[frames[frame]]);
+				if (frame > 0) {
+					sb.append(';');
+				}
+			}
+			sb.append(' ').append(stackCounts[stack]);
+			result.add(sb.toString());
+		}
+		return result;
+	}
+
+	/**
+	 * @Return the long sampleCount, 累计采样到的运行中线程数
+	 */
+	public synchronized long getSampleCount() {
+		return sampleCount;
 	}
 
 	public synchronized void clear() {
-		data.clear();
+		Arrays.fill(methodSlots, 0);
+		Arrays.fill(classNames, null);
+		Arrays.fill(methodNames, null);
+		Arrays.fill(methodCounts, 0);
+		methodCount = 0;
+		Arrays.fill(stackSlots, 0);
+		Arrays.fill(stackFrames, null);
+		Arrays.fill(stackCounts, 0);
+		stackCount = 0;
+		sampleCount = 0;
 	}
 }
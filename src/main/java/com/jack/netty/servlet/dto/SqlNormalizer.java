@@ -0,0 +1,359 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoSqlNormalizer.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午10:02:17
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+/**
+ * SQL 归一化，用于 SQL 计数器的请求聚合
+ *
+ * 一次扫描完成：数字、字符串字面量替换为 ?，IN 列表（只含字面量或 ? 时）合并为 (?)，连续空白及注释合并为一个空格，
+ * 使拼接了参数的 SQL 与绑定参数的 SQL 聚合为同一个请求，不再依赖 sql-transform-pattern 的正则表达式。
+ * 双引号、反引号中的标识符及 Oracle 提示（以 /*+ 开头的注释）保持原样，大小写不变。
+ *
+ * 归一化结果按原 SQL 的 hashCode 缓存在固定大小的组相联缓存中（每组两项，组内按最近使用淘汰），
+ * 读写不加锁：缓存项不可变，并发时最多重复计算一次。PreparedStatement 每次执行使用同一个 SQL 字符串，命中时只比较引用。
+ *
+ * @Class Name SqlNormalizer
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public final class SqlNormalizer {
+
+	/**
+	 * 默认缓存的 SQL 数
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 4096;
+
+	// 超过此长度的 SQL（如拼接的大批量插入）不缓存，避免缓存占用过多内存
+	private static final int MAX_CACHED_LENGTH = 8192;
+
+	private static final char PLACEHOLDER = '?';
+
+	private final Entry[] entries;
+
+	private final int setMask;
+
+	/**
+	 * @param cacheSize 缓存的 SQL 数，向上取为 2 的幂，0 表示不缓存
+	 */
+	public SqlNormalizer(int cacheSize) {
+		super();
+		if (cacheSize <= 0) {
+			entries = null;
+			setMask = 0;
+		} else {
+			int size = 2;
+			while (size < cacheSize && size < 1 << 30) {
+				size <<= 1;
+			}
+			entries = new Entry[size];
+			setMask = size / 2 - 1;
+		}
+	}
+
+	/**
+	 * 返回归一化后的 SQL，优先从缓存读取
+	 * @Methods Name get
+	 * @Create In 2026年10月18日 By Jack
+	 * @param sql 原 SQL
+	 * @return 归一化后的 SQL，没有变化时为原字符串
+	 */
+	public String get(String sql) {
+		final Entry[] table = entries;
+		if (table == null || sql.length() > MAX_CACHED_LENGTH) {
+			return normalize(sql);
+		}
+		final int hash = sql.hashCode();
+		final int index = ((hash ^ hash >>> 16) & setMask) << 1;
+		final Entry first = table[index];
+		if (first != null && first.matches(sql, hash)) {
+			return first.normalized;
+		}
+		final Entry second = table[index + 1];
+		if (second != null && second.matches(sql, hash)) {
+			// 最近使用的放在组内第一项
+			table[index] = second;
+			table[index + 1] = first;
+			return second.normalized;
+		}
+		final String normalized = normalize(sql);
+		// 淘汰组内较久未使用的第二项
+		table[index + 1] = first;
+		table[index] = new Entry(sql, hash, normalized);
+		return normalized;
+	}
+
+	/**
+	 * 归一化 SQL，不使用缓存
+	 * @Methods Name normalize
+	 * @Create In 2026年10月18日 By Jack
+	 * @param sql 原 SQL
+	 * @return 归一化后的 SQL，没有变化时为原字符串
+	 */
+	public static String normalize(String sql) {
+		final int length = sql.length();
+		final StringBuilder out = new StringBuilder(length);
+		boolean changed = false;
+		// 待输出的空白（连续空白、注释只输出一个空格，开头和结尾的不输出）
+		boolean pendingSpace = false;
+		int i = 0;
+		while (i < length) {
+			final char c = sql.charAt(i);
+			if (Character.isWhitespace(c)) {
+				final int end = skipWhitespace(sql, i);
+				changed |= end - i > 1 || c != ' ' || out.length() == 0;
+				pendingSpace = true;
+				i = end;
+				continue;
+			}
+			if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+				i = skipLineComment(sql, i);
+				changed = true;
+				pendingSpace = true;
+				continue;
+			}
+			if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*' && (i + 2 >= length || sql.charAt(i + 2) != '+')) {
+				i = skipBlockComment(sql, i);
+				changed = true;
+				pendingSpace = true;
+				continue;
+			}
+			if (pendingSpace) {
+				if (out.length() > 0) {
+					out.append(' ');
+				}
+				pendingSpace = false;
+			}
+			if (c == '\'') {
+				i = skipString(sql, i);
+				out.append(PLACEHOLDER);
+				changed = true;
+			} else if (isNumberStart(sql, i)) {
+				i = skipNumber(sql, i);
+				out.append(PLACEHOLDER);
+				changed = true;
+			} else if (isIdentifierStart(c)) {
+				final int end = skipIdentifier(sql, i);
+				if (end - i == 1 && end < length && sql.charAt(end) == '\'' && "NnXxBbEeUu".indexOf(c) >= 0) {
+					// N'...'、X'...' 等带前缀的字符串
+					i = skipString(sql, end);
+					out.append(PLACEHOLDER);
+					changed = true;
+				} else {
+					out.append(sql, i, end);
+					i = end;
+				}
+			} else if (c == '"' || c == '`') {
+				final int end = skipQuoted(sql, i, c);
+				out.append(sql, i, end);
+				i = end;
+			} else if (c == '(' && endsWithIn(out)) {
+				final int end = skipValueList(sql, i);
+				if (end < 0) {
+					out.append(c);
+					i++;
+				} else {
+					out.append('(').append(PLACEHOLDER).append(')');
+					changed |= end - i != 3 || sql.charAt(i + 1) != PLACEHOLDER;
+					i = end;
+				}
+			} else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+				// 提示原样保留
+				final int end = skipBlockComment(sql, i);
+				out.append(sql, i, end);
+				i = end;
+			} else {
+				out.append(c);
+				i++;
+			}
+		}
+		// 结尾的空白不输出
+		return changed || pendingSpace ? out.toString() : sql;
+	}
+
+	private static boolean isIdentifierStart(char c) {
+		return Character.isLetter(c) || c == '_' || c == '$' || c == '@' || c == '#' || c == ':';
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '@' || c == '#';
+	}
+
+	private static boolean isNumberStart(String sql, int i) {
+		final char c = sql.charAt(i);
+		return c >= '0' && c <= '9' || c == '.' && i + 1 < sql.length() && isDigit(sql.charAt(i + 1));
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static int skipWhitespace(String sql, int start) {
+		int i = start;
+		while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipLineComment(String sql, int start) {
+		int i = start + 2;
+		while (i < sql.length() && sql.charAt(i) != '\n' && sql.charAt(i) != '\r') {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipBlockComment(String sql, int start) {
+		final int end = sql.indexOf("*/", start + 2);
+		return end < 0 ? sql.length() : end + 2;
+	}
+
+	private static int skipIdentifier(String sql, int start) {
+		int i = start + 1;
+		while (i < sql.length() && isIdentifierPart(sql.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * 字符串字面量，'' 及 MySQL 的 \' 为转义，未结束时到 SQL 末尾
+	 */
+	private static int skipString(String sql, int start) {
+		final int length = sql.length();
+		int i = start + 1;
+		while (i < length) {
+			final char c = sql.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (c == '\'') {
+				if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+					i += 2;
+				} else {
+					return i + 1;
+				}
+			} else {
+				i++;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * 带引号的标识符，重复引号为转义
+	 */
+	private static int skipQuoted(String sql, int start, char quote) {
+		final int length = sql.length();
+		int i = start + 1;
+		while (i < length) {
+			if (sql.charAt(i) == quote) {
+				if (i + 1 < length && sql.charAt(i + 1) == quote) {
+					i += 2;
+				} else {
+					return i + 1;
+				}
+			} else {
+				i++;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * 数字：整数、小数、科学计数法、0x 十六进制，以及紧跟的类型后缀（如 1L、2.5f）
+	 */
+	private static int skipNumber(String sql, int start) {
+		final int length = sql.length();
+		int i = start;
+		if (sql.charAt(i) == '0' && i + 1 < length && (sql.charAt(i + 1) == 'x' || sql.charAt(i + 1) == 'X')) {
+			i += 2;
+		}
+		while (i < length) {
+			final char c = sql.charAt(i);
+			if ((c == '+' || c == '-') && (sql.charAt(i - 1) == 'e' || sql.charAt(i - 1) == 'E')) {
+				i++;
+			} else if (isDigit(c) || c == '.' || isIdentifierPart(c)) {
+				i++;
+			} else {
+				break;
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * 已输出的内容是否以关键字 IN 结尾（其后可以有一个空格）
+	 */
+	private static boolean endsWithIn(StringBuilder out) {
+		int end = out.length();
+		if (end > 0 && out.charAt(end - 1) == ' ') {
+			end--;
+		}
+		return end >= 2 && (out.charAt(end - 1) == 'n' || out.charAt(end - 1) == 'N') && (out.charAt(end - 2) == 'i' || out.charAt(end - 2) == 'I')
+			&& (end == 2 || !isIdentifierPart(out.charAt(end - 3)));
+	}
+
+	/**
+	 * IN 列表 (1, 'a', ?, -2) 的结束位置，列表中有字面量和 ? 以外的内容（如子查询、列名）时为 -1
+	 */
+	private static int skipValueList(String sql, int start) {
+		final int length = sql.length();
+		int i = start + 1;
+		while (true) {
+			i = skipWhitespace(sql, i);
+			if (i >= length) {
+				return -1;
+			}
+			final char c = sql.charAt(i);
+			if (c == PLACEHOLDER) {
+				i++;
+			} else if (c == '\'') {
+				i = skipString(sql, i);
+			} else if ((c == '-' || c == '+') && i + 1 < length && isNumberStart(sql, i + 1)) {
+				i = skipNumber(sql, i + 1);
+			} else if (isNumberStart(sql, i)) {
+				i = skipNumber(sql, i);
+			} else {
+				return -1;
+			}
+			i = skipWhitespace(sql, i);
+			if (i >= length) {
+				return -1;
+			}
+			if (sql.charAt(i) == ')') {
+				return i + 1;
+			} else if (sql.charAt(i) != ',') {
+				return -1;
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * 缓存项，不可变
+	 */
+	private static final class Entry {
+
+		private final String sql;
+
+		private final int hash;
+
+		private final String normalized;
+
+		Entry(String sql, int hash, String normalized) {
+			super();
+			this.sql = sql;
+			this.hash = hash;
+			this.normalized = normalized;
+		}
+
+		boolean matches(String other, int otherHash) {
+			return sql == other || hash == otherHash && sql.equals(other);
+		}
+	}
+}
@@ -38,6 +38,38 @@ public class SystemInfo {
 
 	private double systemCpuRatio;
 
+	// 每个核的使用率
+	private double[] cpuCoreRatios;
+
+	// 容器 CPU 配额（核数），未限制时为 -1
+	private double cpuLimit;
+
+	// 上一次采集以来被限流的调度周期占比及时间（毫秒）
+	private double cpuThrottledRatio;
+
+	private long cpuThrottledTime;
+
+	// 容器（cgroup）资源，内存单位为 MB，未限制或无法读取时为 -1；totalPhysicalMemorySize 等为宿主机的数值
+	private int cgroupVersion;
+
+	private long containerMemLimit;
+
+	private long containerMemUsage;
+
+	private long containerMemWorkingSet;
+
+	private long containerMemCache;
+
+	private long containerMemRss;
+
+	private long containerCpuPeriods;
+
+	private long containerCpuThrottledPeriods;
+
+	private long containerPidsCurrent;
+
+	private long containerPidsLimit;
+
 	private long freeSwapSpaceSize;
 
 	private long freePhysicalMemorySize;
@@ -58,6 +90,11 @@ public class SystemInfo {
 
 	private int daemonThreadCount;
 
+	// 上一次采集以来 CPU 使用最多的线程，及最近一次死锁检测发现的死锁线程数
+	private List<ThreadCpuInfo> topCpuThreads;
+
+	private int deadlockedThreadCount;
+
 	private long currentThreadCpuTime;
 
 	private long currentThreadUserTime;
@@ -96,6 +133,202 @@ public class SystemInfo {
 		this.systemCpuRatio = systemCpuRatio;
 	}
 
+	/**
+	 * @Return the double[] cpuCoreRatios
+	 */
+	public double[] getCpuCoreRatios() {
+		return cpuCoreRatios;
+	}
+
+	/**
+	 * @Param double[] cpuCoreRatios to set
+	 */
+	public void setCpuCoreRatios(double[] cpuCoreRatios) {
+		this.cpuCoreRatios = cpuCoreRatios;
+	}
+
+	/**
+	 * @Return the double cpuLimit
+	 */
+	public double getCpuLimit() {
+		return cpuLimit;
+	}
+
+	/**
+	 * @Param double cpuLimit to set
+	 */
+	public void setCpuLimit(double cpuLimit) {
+		this.cpuLimit = cpuLimit;
+	}
+
+	/**
+	 * @Return the double cpuThrottledRatio
+	 */
+	public double getCpuThrottledRatio() {
+		return cpuThrottledRatio;
+	}
+
+	/**
+	 * @Param double cpuThrottledRatio to set
+	 */
+	public void setCpuThrottledRatio(double cpuThrottledRatio) {
+		this.cpuThrottledRatio = cpuThrottledRatio;
+	}
+
+	/**
+	 * @Return the long cpuThrottledTime
+	 */
+	public long getCpuThrottledTime() {
+		return cpuThrottledTime;
+	}
+
+	/**
+	 * @Param long cpuThrottledTime to set
+	 */
+	public void setCpuThrottledTime(long cpuThrottledTime) {
+		this.cpuThrottledTime = cpuThrottledTime;
+	}
+
+	/**
+	 * @Return the int cgroupVersion
+	 */
+	public int getCgroupVersion() {
+		return cgroupVersion;
+	}
+
+	/**
+	 * @Param int cgroupVersion to set
+	 */
+	public void setCgroupVersion(int cgroupVersion) {
+		this.cgroupVersion = cgroupVersion;
+	}
+
+	/**
+	 * @Return the long containerMemLimit
+	 */
+	public long getContainerMemLimit() {
+		return containerMemLimit;
+	}
+
+	/**
+	 * @Param long containerMemLimit to set
+	 */
+	public void setContainerMemLimit(long containerMemLimit) {
+		this.containerMemLimit = containerMemLimit;
+	}
+
+	/**
+	 * @Return the long containerMemUsage
+	 */
+	public long getContainerMemUsage() {
+		return containerMemUsage;
+	}
+
+	/**
+	 * @Param long containerMemUsage to set
+	 */
+	public void setContainerMemUsage(long containerMemUsage) {
+		this.containerMemUsage = containerMemUsage;
+	}
+
+	/**
+	 * @Return the long containerMemWorkingSet
+	 */
+	public long getContainerMemWorkingSet() {
+		return containerMemWorkingSet;
+	}
+
+	/**
+	 * @Param long containerMemWorkingSet to set
+	 */
+	public void setContainerMemWorkingSet(long containerMemWorkingSet) {
+		this.containerMemWorkingSet = containerMemWorkingSet;
+	}
+
+	/**
+	 * @Return the long containerMemCache
+	 */
+	public long getContainerMemCache() {
+		return containerMemCache;
+	}
+
+	/**
+	 * @Param long containerMemCache to set
+	 */
+	public void setContainerMemCache(long containerMemCache) {
+		this.containerMemCache = containerMemCache;
+	}
+
+	/**
+	 * @Return the long containerMemRss
+	 */
+	public long getContainerMemRss() {
+		return containerMemRss;
+	}
+
+	/**
+	 * @Param long containerMemRss to set
+	 */
+	public void setContainerMemRss(long containerMemRss) {
+		this.containerMemRss = containerMemRss;
+	}
+
+	/**
+	 * @Return the long containerCpuPeriods
+	 */
+	public long getContainerCpuPeriods() {
+		return containerCpuPeriods;
+	}
+
+	/**
+	 * @Param long containerCpuPeriods to set
+	 */
+	public void setContainerCpuPeriods(long containerCpuPeriods) {
+		this.containerCpuPeriods = containerCpuPeriods;
+	}
+
+	/**
+	 * @Return the long containerCpuThrottledPeriods
+	 */
+	public long getContainerCpuThrottledPeriods() {
+		return containerCpuThrottledPeriods;
+	}
+
+	/**
+	 * @Param long containerCpuThrottledPeriods to set
+	 */
+	public void setContainerCpuThrottledPeriods(long containerCpuThrottledPeriods) {
+		this.containerCpuThrottledPeriods = containerCpuThrottledPeriods;
+	}
+
+	/**
+	 * @Return the long containerPidsCurrent
+	 */
+	public long getContainerPidsCurrent() {
+		return containerPidsCurrent;
+	}
+
+	/**
+	 * @Param long containerPidsCurrent to set
+	 */
+	public void setContainerPidsCurrent(long containerPidsCurrent) {
+		this.containerPidsCurrent = containerPidsCurrent;
+	}
+
+	/**
+	 * @Return the long containerPidsLimit
+	 */
+	public long getContainerPidsLimit() {
+		return containerPidsLimit;
+	}
+
+	/**
+	 * @Param long containerPidsLimit to set
+	 */
+	public void setContainerPidsLimit(long containerPidsLimit) {
+		this.containerPidsLimit = containerPidsLimit;
+	}
+
 	/**
 	 * @Return the double cpuRatio
 	 */
@@ -376,6 +609,34 @@ public class SystemInfo {
 		this.daemonThreadCount = daemonThreadCount;
 	}
 
+	/**
+	 * @Return the List<ThreadCpuInfo> topCpuThreads
+	 */
+	public List<ThreadCpuInfo> getTopCpuThreads() {
+		return topCpuThreads;
+	}
+
+	/**
+	 * @Param List<ThreadCpuInfo> topCpuThreads to set
+	 */
+	public void setTopCpuThreads(List<ThreadCpuInfo> topCpuThreads) {
+		this.topCpuThreads = topCpuThreads;
+	}
+
+	/**
+	 * @Return the int deadlockedThreadCount
+	 */
+	public int getDeadlockedThreadCount() {
+		return deadlockedThreadCount;
+	}
+
+	/**
+	 * @Param int deadlockedThreadCount to set
+	 */
+	public void setDeadlockedThreadCount(int deadlockedThreadCount) {
+		this.deadlockedThreadCount = deadlockedThreadCount;
+	}
+
 	/**
 	 * @Return the long currentThreadCpuTime
 	 */
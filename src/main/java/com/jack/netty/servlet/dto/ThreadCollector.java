@@ -0,0 +1,312 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoThreadCollector.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午6:08:37
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 线程信息采集，控制每次采集的开销
+ *
+ * 原来每次采集都调用 Thread.getAllStackTraces 及 findDeadlockedThreads，两者都需要暂停 JVM（safepoint）并遍历全部线程的完整堆栈，
+ * 并且逐个线程读取 CPU 时间。这里改为：
+ * 线程列表通过 ThreadGroup 枚举，不暂停 JVM；CPU 时间、用户态时间按线程 id 批量读取（com.sun.management.ThreadMXBean，不支持时逐个读取）；
+ * 保留每个线程上一次的 CPU 时间，得到区间内 CPU 使用最多的 N 个线程，只对这些线程及死锁线程调用 ThreadMXBean.getThreadInfo(ids, maxDepth)
+ * 获取有限深度的堆栈；死锁检测按自己的间隔执行，其间使用上一次的结果。
+ * 第一次采集没有上一次的数据，区间为 JVM 启动以来。
+ *
+ * @Class Name ThreadCollector
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public final class ThreadCollector {
+
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+	private final int stackDepth;
+
+	private final int topCount;
+
+	private final long deadlockIntervalMillis;
+
+	private boolean batchSupported = THREAD_BEAN instanceof com.sun.management.ThreadMXBean;
+
+	// 线程 id -> 上一次采集时的 CPU 时间（纳秒），已结束的线程在下一次采集时移除
+	private Map<Long, Long> previousCpuNanos = new HashMap<Long, Long>();
+
+	private long previousWallNanos;
+
+	// 已排序，未检测或没有死锁时为 null
+	private long[] deadlockedThreads;
+
+	private long deadlockCheckedAt;
+
+	private boolean deadlockChecked;
+
+	/**
+	 * @param stackDepth 采集堆栈的最大深度，0 表示不采集堆栈
+	 * @param topCount 每次采集的 CPU 使用最多的线程数
+	 * @param deadlockIntervalMillis 死锁检测的间隔（毫秒），0 或负数表示不检测
+	 */
+	public ThreadCollector(int stackDepth, int topCount, long deadlockIntervalMillis) {
+		super();
+		this.stackDepth = Math.max(stackDepth, 0);
+		this.topCount = Math.max(topCount, 0);
+		this.deadlockIntervalMillis = deadlockIntervalMillis;
+	}
+
+	/**
+	 * 采集
+	 * @Methods Name collect
+	 * @Create In 2026年10月18日 By Jack
+	 * @param hostAddress 用于生成 ThreadInformations 的全局线程 id
+	 * @return 全部线程及区间内 CPU 使用最多的线程
+	 */
+	public synchronized Sample collect(String hostAddress) {
+		final long now = System.nanoTime();
+		final Thread[] threads = liveThreads();
+		final int count = threads.length;
+		final long[] ids = new long[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = threads[i].getId();
+		}
+
+		final boolean cpuTimeEnabled = THREAD_BEAN.isThreadCpuTimeSupported() && THREAD_BEAN.isThreadCpuTimeEnabled();
+		final long[] cpuNanos = cpuTimeEnabled ? threadTimes(ids, false) : null;
+		final long[] userNanos = cpuTimeEnabled ? threadTimes(ids, true) : null;
+		final long[] deltas = new long[count];
+		final Map<Long, Long> currentCpuNanos = new HashMap<Long, Long>(count * 4 / 3 + 1);
+		for (int i = 0; i < count; i++) {
+			if (cpuNanos == null || cpuNanos[i] < 0) {
+				deltas[i] = -1;
+				continue;
+			}
+			final Long before = previousCpuNanos.get(ids[i]);
+			deltas[i] = before == null ? cpuNanos[i] : Math.max(cpuNanos[i] - before, 0);
+			currentCpuNanos.put(ids[i], cpuNanos[i]);
+		}
+		previousCpuNanos = currentCpuNanos;
+		final long elapsedNanos = previousWallNanos == 0 ? ManagementFactory.getRuntimeMXBean().getUptime() * 1000000 : now - previousWallNanos;
+		previousWallNanos = now;
+
+		final long[] deadlocked = refreshDeadlockedThreads();
+		final int[] top = topIndexes(deltas);
+
+		// 只对 CPU 使用最多的线程及死锁线程获取堆栈
+		final Map<Long, StackTraceElement[]> stackTraces = new HashMap<Long, StackTraceElement[]>();
+		int deadlockedCount = 0;
+		if (stackDepth > 0) {
+			final long[] captureIds = new long[top.length + count];
+			int captured = 0;
+			for (final int index : top) {
+				captureIds[captured++] = ids[index];
+			}
+			for (int i = 0; i < count; i++) {
+				if (isDeadlocked(deadlocked, ids[i]) && !contains(top, i)) {
+					captureIds[captured++] = ids[i];
+				}
+			}
+			if (captured > 0) {
+				for (final ThreadInfo info : THREAD_BEAN.getThreadInfo(Arrays.copyOf(captureIds, captured), stackDepth)) {
+					// 已结束的线程为 null
+					if (info != null) {
+						stackTraces.put(info.getThreadId(), info.getStackTrace());
+					}
+				}
+			}
+		}
+
+		final List<ThreadInformations> threadInformationsList = new ArrayList<ThreadInformations>(count);
+		for (int i = 0; i < count; i++) {
+			final boolean threadDeadlocked = isDeadlocked(deadlocked, ids[i]);
+			if (threadDeadlocked) {
+				deadlockedCount++;
+			}
+			final StackTraceElement[] stackTrace = stackTraces.get(ids[i]);
+			// ArrayList 可以序列化
+			final List<StackTraceElement> stackTraceList = stackTrace == null ? null : new ArrayList<StackTraceElement>(Arrays.asList(stackTrace));
+			threadInformationsList.add(new ThreadInformations(threads[i], stackTraceList, toMillis(cpuNanos, i), toMillis(userNanos, i),
+				deltas[i] < 0 ? -1 : deltas[i] / 1000000, threadDeadlocked, hostAddress));
+		}
+
+		final List<ThreadCpuInfo> topCpuThreads = new ArrayList<ThreadCpuInfo>(top.length);
+		for (final int index : top) {
+			final ThreadCpuInfo info = new ThreadCpuInfo();
+			info.setId(ids[index]);
+			info.setName(threads[index].getName());
+			info.setState(String.valueOf(threads[index].getState()));
+			info.setCpuTime(deltas[index] / 1000000);
+			info.setCpuRatio(elapsedNanos > 0 ? 100d * deltas[index] / elapsedNanos : 0);
+			info.setDeadlocked(isDeadlocked(deadlocked, ids[index]));
+			final StackTraceElement[] stackTrace = stackTraces.get(ids[index]);
+			if (stackTrace != null) {
+				final List<String> frames = new ArrayList<String>(stackTrace.length);
+				for (final StackTraceElement element : stackTrace) {
+					frames.add(element.toString());
+				}
+				info.setStackTrace(frames);
+			}
+			topCpuThreads.add(info);
+		}
+		return new Sample(threadInformationsList, topCpuThreads, deadlockedCount);
+	}
+
+	/**
+	 * 不暂停 JVM 枚举存活的线程
+	 */
+	static Thread[] liveThreads() {
+		ThreadGroup group = Thread.currentThread().getThreadGroup(); // NOPMD
+		while (group.getParent() != null) {
+			group = group.getParent();
+		}
+		// activeCount 只是估计值，数组填满时可能有遗漏，扩大后重新枚举
+		Thread[] threads = new Thread[group.activeCount() + 16];
+		int count = group.enumerate(threads, true);
+		while (count == threads.length) {
+			threads = new Thread[threads.length * 2];
+			count = group.enumerate(threads, true);
+		}
+		return Arrays.copyOf(threads, count);
+	}
+
+	/**
+	 * 批量读取 CPU 时间或用户态时间（纳秒），不可用的为 -1
+	 */
+	private long[] threadTimes(long[] ids, boolean user) {
+		if (batchSupported) {
+			try {
+				final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+				return user ? bean.getThreadUserTime(ids) : bean.getThreadCpuTime(ids);
+			} catch (LinkageError e) {
+				// 早期的 jdk 没有批量方法
+				batchSupported = false;
+			} catch (UnsupportedOperationException e) {
+				batchSupported = false;
+			}
+		}
+		final long[] result = new long[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			result[i] = user ? THREAD_BEAN.getThreadUserTime(ids[i]) : THREAD_BEAN.getThreadCpuTime(ids[i]);
+		}
+		return result;
+	}
+
+	private long[] refreshDeadlockedThreads() {
+		if (deadlockIntervalMillis <= 0) {
+			return null;
+		}
+		final long now = System.currentTimeMillis();
+		if (deadlockChecked && now - deadlockCheckedAt < deadlockIntervalMillis) {
+			return deadlockedThreads;
+		}
+		final long[] result;
+		if (THREAD_BEAN.isSynchronizerUsageSupported()) {
+			result = THREAD_BEAN.findDeadlockedThreads();
+		} else {
+			result = THREAD_BEAN.findMonitorDeadlockedThreads();
+		}
+		if (result != null) {
+			Arrays.sort(result);
+		}
+		deadlockedThreads = result;
+		deadlockCheckedAt = now;
+		deadlockChecked = true;
+		return result;
+	}
+
+	/**
+	 * CPU 使用最多的线程的下标，按使用量从大到小，不包括区间内没有使用 CPU 的线程
+	 */
+	private int[] topIndexes(long[] deltas) {
+		final int[] top = new int[Math.min(topCount, deltas.length)];
+		if (top.length == 0) {
+			return top;
+		}
+		int size = 0;
+		for (int i = 0; i < deltas.length; i++) {
+			if (deltas[i] <= 0 || size == top.length && deltas[i] <= deltas[top[size - 1]]) {
+				continue;
+			}
+			int position = size < top.length ? size++ : size - 1;
+			while (position > 0 && deltas[top[position - 1]] < deltas[i]) {
+				top[position] = top[position - 1];
+				position--;
+			}
+			top[position] = i;
+		}
+		return Arrays.copyOf(top, size);
+	}
+
+	private static boolean isDeadlocked(long[] deadlocked, long id) {
+		return deadlocked != null && Arrays.binarySearch(deadlocked, id) >= 0;
+	}
+
+	private static boolean contains(int[] values, int value) {
+		for (final int each : values) {
+			if (each == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long toMillis(long[] nanos, int index) {
+		return nanos == null || nanos[index] < 0 ? -1 : nanos[index] / 1000000;
+	}
+
+	/**
+	 * 一次采集的结果
+	 *
+	 * @Class Name Sample
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Sample {
+
+		private final List<ThreadInformations> threadInformationsList;
+
+		private final List<ThreadCpuInfo> topCpuThreads;
+
+		private final int deadlockedThreadCount;
+
+		Sample(List<ThreadInformations> threadInformationsList, List<ThreadCpuInfo> topCpuThreads, int deadlockedThreadCount) {
+			super();
+			this.threadInformationsList = threadInformationsList;
+			this.topCpuThreads = topCpuThreads;
+			this.deadlockedThreadCount = deadlockedThreadCount;
+		}
+
+		/**
+		 * @Return the List<ThreadInformations> threadInformationsList, 全部线程，只有 CPU 使用最多的线程及死锁线程有堆栈
+		 */
+		public List<ThreadInformations> getThreadInformationsList() {
+			return threadInformationsList;
+		}
+
+		/**
+		 * @Return the List<ThreadCpuInfo> topCpuThreads, 区间内 CPU 使用最多的线程，按使用量从大到小
+		 */
+		public List<ThreadCpuInfo> getTopCpuThreads() {
+			return Collections.unmodifiableList(topCpuThreads);
+		}
+
+		/**
+		 * @Return the int deadlockedThreadCount, 最近一次死锁检测发现的死锁线程数
+		 */
+		public int getDeadlockedThreadCount() {
+			return deadlockedThreadCount;
+		}
+	}
+}
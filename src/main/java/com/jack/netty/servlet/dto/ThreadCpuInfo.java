@@ -0,0 +1,135 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoThreadCpuInfo.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午6:20:14
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.util.List;
+
+/**
+ * 上一次采集以来 CPU 使用最多的线程
+ *
+ * @Class Name ThreadCpuInfo
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class ThreadCpuInfo {
+
+	private long id;
+
+	private String name;
+
+	private String state;
+
+	// 区间内使用的 CPU 时间（毫秒）
+	private long cpuTime;
+
+	// 区间内的 CPU 使用率，按单核计算
+	private double cpuRatio;
+
+	private boolean deadlocked;
+
+	// 栈顶的若干帧，深度由 system.setting.collect.thread.stack.depth 限制
+	private List<String> stackTrace;
+
+	/**
+	 * @Return the long id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * @Param long id to set
+	 */
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	/**
+	 * @Return the String name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @Param String name to set
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @Return the String state
+	 */
+	public String getState() {
+		return state;
+	}
+
+	/**
+	 * @Param String state to set
+	 */
+	public void setState(String state) {
+		this.state = state;
+	}
+
+	/**
+	 * @Return the long cpuTime
+	 */
+	public long getCpuTime() {
+		return cpuTime;
+	}
+
+	/**
+	 * @Param long cpuTime to set
+	 */
+	public void setCpuTime(long cpuTime) {
+		this.cpuTime = cpuTime;
+	}
+
+	/**
+	 * @Return the double cpuRatio
+	 */
+	public double getCpuRatio() {
+		return cpuRatio;
+	}
+
+	/**
+	 * @Param double cpuRatio to set
+	 */
+	public void setCpuRatio(double cpuRatio) {
+		this.cpuRatio = cpuRatio;
+	}
+
+	/**
+	 * @Return the boolean deadlocked
+	 */
+	public boolean isDeadlocked() {
+		return deadlocked;
+	}
+
+	/**
+	 * @Param boolean deadlocked to set
+	 */
+	public void setDeadlocked(boolean deadlocked) {
+		this.deadlocked = deadlocked;
+	}
+
+	/**
+	 * @Return the List<String> stackTrace
+	 */
+	public List<String> getStackTrace() {
+		return stackTrace;
+	}
+
+	/**
+	 * @Param List<String> stackTrace to set
+	 */
+	public void setStackTrace(List<String> stackTrace) {
+		this.stackTrace = stackTrace;
+	}
+}
@@ -44,6 +44,8 @@ public class ThreadInformations implements Serializable {
 	private final Thread.State state;
 	private final long cpuTimeMillis;
 	private final long userTimeMillis;
+	// 与上一次采集相比使用的 CPU 时间，-1 表示未计算
+	private final long cpuTimeDeltaMillis;
 	private final boolean deadlocked;
 	private final String globalThreadId;
 	@SuppressWarnings("all")
@@ -51,6 +53,11 @@ public class ThreadInformations implements Serializable {
 
 	@SuppressWarnings("all")
 	public  ThreadInformations(Thread thread, List<StackTraceElement> stackTrace, long cpuTimeMillis, long userTimeMillis, boolean deadlocked, String hostAddress) {
+		this(thread, stackTrace, cpuTimeMillis, userTimeMillis, -1, deadlocked, hostAddress);
+	}
+
+	@SuppressWarnings("all")
+	public  ThreadInformations(Thread thread, List<StackTraceElement> stackTrace, long cpuTimeMillis, long userTimeMillis, long cpuTimeDeltaMillis, boolean deadlocked, String hostAddress) {
 		super();
 		assert thread != null;
 		assert stackTrace == null || stackTrace instanceof Serializable;
@@ -63,6 +70,7 @@ public class ThreadInformations implements Serializable {
 		this.stackTrace = stackTrace;
 		this.cpuTimeMillis = cpuTimeMillis;
 		this.userTimeMillis = userTimeMillis;
+		this.cpuTimeDeltaMillis = cpuTimeDeltaMillis;
 		this.deadlocked = deadlocked;
 		this.globalThreadId = buildGlobalThreadId(thread, hostAddress);
 	}
@@ -122,6 +130,10 @@ public class ThreadInformations implements Serializable {
 		return userTimeMillis;
 	}
 
+	public long getCpuTimeDeltaMillis() {
+		return cpuTimeDeltaMillis;
+	}
+
 	public boolean isDeadlocked() {
 		return deadlocked;
 	}
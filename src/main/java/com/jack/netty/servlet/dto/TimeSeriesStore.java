@@ -0,0 +1,655 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.dtoTimeSeriesStore.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:48:15
+ * TODO
+ */
+package com.jack.netty.servlet.dto;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 内嵌的多分辨率时间序列存储（round-robin），保存 SLA 合计、JVM 指标及耗时最多的请求的历史
+ *
+ * 每个分辨率（如 1 分钟、15 分钟、1 小时、1 天）一个环形文件 archive-步长秒数.rrd，行数固定，
+ * 第 slot 个时间段写在第 slot % 行数 行，超过行数的历史被覆盖；序列名称、类型及上一次的原始值保存在 series.dir 中。
+ * 所有文件按序列上限、行数预先分配并映射到内存，大小在打开时即确定：每行 8 + 序列上限 * 12 字节。
+ *
+ * 写入一个点为 O(1)：每个分辨率只改写当前行的一个值和一个计数；进入新的时间段时清零该行的计数（每个时间段一次，按序列分摊为 O(1)）。
+ * 每行记录所属的时间段，读取时时间段不符（还没有写过或已被覆盖）的行、计数为 0 的值都返回 NaN。
+ * GAUGE 在时间段内取平均值，COUNTER 保存与上一次原始值的差（原始值变小时视为清零，差为原始值），在时间段内求和。
+ * 时间段按本地时区（含夏令时）对齐，日分辨率从本地零点开始；夏令时切换当天的本地日为 23 或 25 小时，回拨的一小时与前一小时写入同一本地时间段。
+ *
+ * 序列数达到上限时，新的序列替换最久没有写入的序列（最近一个时间段内写过的不替换，新序列被拒绝），替换前的历史不再返回。
+ * 写入只经过页缓存，进程崩溃不丢失，关闭时 force 到磁盘。
+ *
+ * 线程安全，所有方法同步调用。
+ *
+ * @Class Name TimeSeriesStore
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class TimeSeriesStore {
+
+	private static Logger log = LoggerFactory.getLogger(TimeSeriesStore.class);
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/**
+	 * 序列名称的最大字节数（UTF-8）
+	 */
+	public static final int MAX_NAME_LENGTH = 128;
+
+	private static final String DIRECTORY_FILE = "series.dir";
+
+	private static final String ARCHIVE_PREFIX = "archive-";
+
+	private static final String ARCHIVE_SUFFIX = ".rrd";
+
+	// "OTSD"、"OTSA"
+	private static final int DIRECTORY_MAGIC = 0x4F545344;
+
+	private static final int ARCHIVE_MAGIC = 0x4F545341;
+
+	private static final short VERSION = 1;
+
+	// 文件头：[int magic][short 版本][short 保留][int 步长（目录文件为 0）][int 行数（目录文件为序列数）][int 序列上限]
+	private static final int HEADER_SIZE = 32;
+
+	private static final int HEADER_STEP = 8;
+
+	private static final int HEADER_ROWS = 12;
+
+	private static final int HEADER_MAX_SERIES = 16;
+
+	// 目录项：[short 名称长度][名称][byte 类型][byte 是否有原始值][double 上一次的原始值][long 创建时间][long 最后写入时间]
+	private static final int ENTRY_SIZE = 160;
+
+	private static final int ENTRY_KIND = 2 + MAX_NAME_LENGTH;
+
+	private static final int ENTRY_HAS_LAST = ENTRY_KIND + 1;
+
+	private static final int ENTRY_LAST = 136;
+
+	private static final int ENTRY_CREATED = 144;
+
+	private static final int ENTRY_UPDATED = 152;
+
+	/**
+	 * 序列类型
+	 */
+	public enum Kind {
+		/**
+		 * 瞬时值，如堆内存、线程数，时间段内取平均值
+		 */
+		GAUGE,
+		/**
+		 * 累计值，如请求数、GC 时间，保存与上一次的差，时间段内求和
+		 */
+		COUNTER
+	}
+
+	private final File directory;
+
+	private final int maxSeries;
+
+	// 本地时区，时间段按本地时间（含夏令时）对齐
+	private final TimeZone zone;
+
+	private final MappedByteBuffer entries;
+
+	// 按步长从小到大
+	private final Archive[] archives;
+
+	private final Map<String, Integer> columns = new HashMap<String, Integer>();
+
+	private final long size;
+
+	private int seriesCount;
+
+	private long updates;
+
+	private long evicted;
+
+	private long rejected;
+
+	private boolean closed;
+
+	/**
+	 * 打开存储目录，文件不存在或与参数不符（序列上限、步长、行数改变或版本不支持）时重新创建，原有历史被清空
+	 * @param directory 存储目录，不存在时创建
+	 * @param maxSeries 序列上限
+	 * @param steps 各分辨率的步长（秒），从小到大
+	 * @param rows 各分辨率保存的行数
+	 * @throws IOException 目录无法创建或文件无法读写
+	 */
+	public TimeSeriesStore(File directory, int maxSeries, int[] steps, int[] rows) throws IOException {
+		super();
+		if (maxSeries <= 0 || steps.length == 0 || steps.length != rows.length) {
+			throw new IllegalArgumentException("maxSeries=" + maxSeries + ", steps=" + Arrays.toString(steps) + ", rows=" + Arrays.toString(rows));
+		}
+		if (!directory.mkdirs() && !directory.isDirectory()) {
+			throw new IOException("Can not create time series directory " + directory);
+		}
+		this.directory = directory;
+		this.maxSeries = maxSeries;
+		this.zone = TimeZone.getDefault();
+
+		final long entriesSize = HEADER_SIZE + (long) maxSeries * ENTRY_SIZE;
+		entries = map(new File(directory, DIRECTORY_FILE), entriesSize);
+		boolean valid = isHeaderValid(entries, DIRECTORY_MAGIC, 0, maxSeries);
+		long total = entriesSize;
+		archives = new Archive[steps.length];
+		for (int i = 0; i < steps.length; i++) {
+			if (steps[i] <= 0 || rows[i] <= 0 || i > 0 && steps[i] <= steps[i - 1]) {
+				throw new IllegalArgumentException("steps=" + Arrays.toString(steps) + ", rows=" + Arrays.toString(rows));
+			}
+			archives[i] = new Archive(new File(directory, ARCHIVE_PREFIX + steps[i] + ARCHIVE_SUFFIX), steps[i], rows[i], maxSeries);
+			valid = valid && isHeaderValid(archives[i].buffer, ARCHIVE_MAGIC, steps[i], maxSeries) && archives[i].buffer.getInt(HEADER_ROWS) == rows[i];
+			total += archives[i].buffer.capacity();
+		}
+		size = total;
+		if (valid) {
+			load();
+		} else {
+			// 序列的列号在所有文件中一致，任何一个文件不符时全部重新创建
+			clear(entries);
+			writeHeader(entries, DIRECTORY_MAGIC, 0, 0, maxSeries);
+			for (final Archive archive : archives) {
+				clear(archive.buffer);
+				writeHeader(archive.buffer, ARCHIVE_MAGIC, archive.step, archive.rows, maxSeries);
+			}
+			log.debug("Time series store created in " + directory + ", " + size + " bytes");
+		}
+	}
+
+	private void load() {
+		seriesCount = Math.min(entries.getInt(HEADER_ROWS), maxSeries);
+		final byte[] name = new byte[MAX_NAME_LENGTH];
+		for (int column = 0; column < seriesCount; column++) {
+			final int entry = entryOffset(column);
+			final int length = entries.getShort(entry);
+			entries.position(entry + 2);
+			entries.get(name, 0, length);
+			columns.put(new String(name, 0, length, UTF_8), Integer.valueOf(column));
+		}
+	}
+
+	private static boolean isHeaderValid(MappedByteBuffer buffer, int magic, int step, int maxSeries) {
+		return buffer.getInt(0) == magic && buffer.getShort(4) == VERSION && buffer.getInt(HEADER_STEP) == step && buffer.getInt(HEADER_MAX_SERIES) == maxSeries;
+	}
+
+	private static void writeHeader(MappedByteBuffer buffer, int magic, int step, int rows, int maxSeries) {
+		buffer.putInt(0, magic);
+		buffer.putShort(4, VERSION);
+		buffer.putInt(HEADER_STEP, step);
+		buffer.putInt(HEADER_ROWS, rows);
+		buffer.putInt(HEADER_MAX_SERIES, maxSeries);
+	}
+
+	private static void clear(MappedByteBuffer buffer) {
+		final int limit = buffer.capacity();
+		int i = 0;
+		for (; i + 8 <= limit; i += 8) {
+			buffer.putLong(i, 0L);
+		}
+		for (; i < limit; i++) {
+			buffer.put(i, (byte) 0);
+		}
+	}
+
+	private static MappedByteBuffer map(File file, long size) throws IOException {
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(file + " would be " + size + " bytes");
+		}
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			if (raf.length() != size) {
+				raf.setLength(size);
+			}
+			// 映射在关闭文件后仍然有效
+			return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} finally {
+			raf.close();
+		}
+	}
+
+	private static int entryOffset(int column) {
+		return HEADER_SIZE + column * ENTRY_SIZE;
+	}
+
+	/**
+	 * 写入一个点
+	 * @Methods Name update
+	 * @Create In 2026年10月18日 By Jack
+	 * @param timeMillis 采集时间
+	 * @param name 序列名称，第一次写入时创建序列
+	 * @param kind 序列类型，COUNTER 第一次写入时只记录原始值
+	 * @param value 瞬时值或累计值
+	 * @return 是否写入，已关闭、名称过长或序列数已满时返回 false
+	 */
+	public synchronized boolean update(long timeMillis, String name, Kind kind, double value) {
+		if (closed) {
+			return false;
+		}
+		final long localMillis = toLocal(timeMillis);
+		Integer column = columns.get(name);
+		if (column == null) {
+			column = register(name, kind, localMillis);
+			if (column == null) {
+				rejected++;
+				return false;
+			}
+		}
+		final int entry = entryOffset(column.intValue());
+		double sample = value;
+		if (kind == Kind.COUNTER) {
+			final boolean hasLast = entries.get(entry + ENTRY_HAS_LAST) != 0;
+			final double last = entries.getDouble(entry + ENTRY_LAST);
+			entries.putDouble(entry + ENTRY_LAST, value);
+			entries.put(entry + ENTRY_HAS_LAST, (byte) 1);
+			if (!hasLast) {
+				entries.putLong(entry + ENTRY_UPDATED, localMillis);
+				return true;
+			}
+			// 计数器跨天、重启时清零，清零后的原始值即这段时间的增量
+			sample = value >= last ? value - last : value;
+		}
+		for (final Archive archive : archives) {
+			archive.add(localMillis, column.intValue(), kind, sample);
+		}
+		entries.putLong(entry + ENTRY_UPDATED, localMillis);
+		updates++;
+		return true;
+	}
+
+	// 按该时刻的偏移（含夏令时）换算为本地时间
+	private long toLocal(long utcMillis) {
+		return utcMillis + zone.getOffset(utcMillis);
+	}
+
+	// 本地时间换算回 UTC，先按标准时间估计 UTC 时刻再取该时刻的偏移；夏令时切换时重复或不存在的本地时间取切换后的偏移
+	private long toUtc(long localMillis) {
+		return localMillis - zone.getOffset(localMillis - zone.getRawOffset());
+	}
+
+	private Integer register(String name, Kind kind, long localMillis) {
+		final byte[] bytes = name.getBytes(UTF_8);
+		if (bytes.length > MAX_NAME_LENGTH) {
+			return null;
+		}
+		final int column;
+		if (seriesCount < maxSeries) {
+			column = seriesCount++;
+			entries.putInt(HEADER_ROWS, seriesCount);
+		} else {
+			// 替换最久没有写入的序列，最近一个时间段内写过的序列仍在使用，不替换
+			int oldest = 0;
+			for (int i = 1; i < maxSeries; i++) {
+				if (entries.getLong(entryOffset(i) + ENTRY_UPDATED) < entries.getLong(entryOffset(oldest) + ENTRY_UPDATED)) {
+					oldest = i;
+				}
+			}
+			if (entries.getLong(entryOffset(oldest) + ENTRY_UPDATED) > localMillis - archives[0].step * 1000L) {
+				return null;
+			}
+			column = oldest;
+			columns.remove(readName(column));
+			// 之前的时间段由创建时间排除，只需清除当前时间段中原序列的值
+			for (final Archive archive : archives) {
+				archive.clear(localMillis, column);
+			}
+			evicted++;
+		}
+		final int entry = entryOffset(column);
+		entries.putShort(entry, (short) bytes.length);
+		entries.position(entry + 2);
+		entries.put(bytes);
+		entries.put(entry + ENTRY_KIND, (byte) kind.ordinal());
+		entries.put(entry + ENTRY_HAS_LAST, (byte) 0);
+		entries.putDouble(entry + ENTRY_LAST, 0d);
+		entries.putLong(entry + ENTRY_CREATED, localMillis);
+		entries.putLong(entry + ENTRY_UPDATED, localMillis);
+		final Integer result = Integer.valueOf(column);
+		columns.put(name, result);
+		return result;
+	}
+
+	private String readName(int column) {
+		final int entry = entryOffset(column);
+		final byte[] bytes = new byte[entries.getShort(entry)];
+		entries.position(entry + 2);
+		entries.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * 读取一个序列在某个分辨率下的历史
+	 * @Methods Name fetch
+	 * @Create In 2026年10月18日 By Jack
+	 * @param name 序列名称
+	 * @param step 分辨率的步长（秒），为 getSteps() 之一
+	 * @param fromMillis 开始时间（含）
+	 * @param toMillis 结束时间（含）
+	 * @return 从开始时间所在时间段到结束时间所在时间段的值，超出保存行数的部分从后往前截取，序列或分辨率不存在时返回 null
+	 */
+	public synchronized Series fetch(String name, int step, long fromMillis, long toMillis) {
+		final Integer column = columns.get(name);
+		Archive archive = null;
+		for (final Archive item : archives) {
+			if (item.step == step) {
+				archive = item;
+			}
+		}
+		if (column == null || archive == null || closed) {
+			return null;
+		}
+		final int entry = entryOffset(column.intValue());
+		final Kind kind = Kind.values()[entries.get(entry + ENTRY_KIND)];
+		final long stepMillis = step * 1000L;
+		final long lastSlot = toLocal(toMillis) / stepMillis;
+		long firstSlot = toLocal(fromMillis) / stepMillis;
+		firstSlot = Math.max(firstSlot, lastSlot - archive.rows + 1);
+		// 替换前的序列留下的值不属于本序列
+		final long createdSlot = entries.getLong(entry + ENTRY_CREATED) / stepMillis;
+		final double[] values = new double[(int) Math.max(0, lastSlot - firstSlot + 1)];
+		for (int i = 0; i < values.length; i++) {
+			final long slot = firstSlot + i;
+			values[i] = slot < createdSlot ? Double.NaN : archive.get(slot, column.intValue());
+		}
+		return new Series(name, kind, step, toUtc(firstSlot * stepMillis), values);
+	}
+
+	/**
+	 * @return 所有序列的名称
+	 */
+	public synchronized List<String> getSeriesNames() {
+		return new ArrayList<String>(columns.keySet());
+	}
+
+	/**
+	 * @return 各分辨率的步长（秒），从小到大
+	 */
+	public int[] getSteps() {
+		final int[] steps = new int[archives.length];
+		for (int i = 0; i < archives.length; i++) {
+			steps[i] = archives[i].step;
+		}
+		return steps;
+	}
+
+	/**
+	 * 写回磁盘并停止写入，之后的 update 返回 false
+	 * @Methods Name close
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		entries.force();
+		for (final Archive archive : archives) {
+			archive.buffer.force();
+		}
+	}
+
+	/**
+	 * @return 写入统计快照
+	 */
+	public synchronized Metrics getMetrics() {
+		return new Metrics(seriesCount, maxSeries, size, updates, evicted, rejected);
+	}
+
+	/**
+	 * @Return the File directory
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * 一个分辨率的环形文件
+	 *
+	 * 每行为 [long 时间段 + 1，0 表示没有写过][double 值 * 序列上限][int 计数 * 序列上限]
+	 */
+	private static final class Archive {
+
+		private static final int ROW_HEADER = 8;
+
+		private final int step;
+
+		private final long stepMillis;
+
+		private final int rows;
+
+		private final int rowSize;
+
+		private final int countsOffset;
+
+		private final MappedByteBuffer buffer;
+
+		Archive(File file, int step, int rows, int maxSeries) throws IOException {
+			super();
+			this.step = step;
+			this.stepMillis = step * 1000L;
+			this.rows = rows;
+			this.countsOffset = ROW_HEADER + maxSeries * 8;
+			this.rowSize = countsOffset + maxSeries * 4;
+			this.buffer = map(file, HEADER_SIZE + (long) rows * rowSize);
+		}
+
+		private int rowOffset(long slot) {
+			return HEADER_SIZE + (int) (slot % rows) * rowSize;
+		}
+
+		void add(long localMillis, int column, Kind kind, double sample) {
+			final long slot = localMillis / stepMillis;
+			final int row = rowOffset(slot);
+			final long current = buffer.getLong(row) - 1;
+			if (current > slot) {
+				// 时钟回拨，该行已是更新的时间段
+				return;
+			}
+			if (current != slot) {
+				// 进入新的时间段，清零上一轮的计数
+				for (int offset = row + countsOffset; offset < row + rowSize; offset += 4) {
+					buffer.putInt(offset, 0);
+				}
+				buffer.putLong(row, slot + 1);
+			}
+			final int valueOffset = row + ROW_HEADER + column * 8;
+			final int countOffset = row + countsOffset + column * 4;
+			final int count = buffer.getInt(countOffset);
+			final double value;
+			if (count == 0) {
+				value = sample;
+			} else if (kind == Kind.COUNTER) {
+				value = buffer.getDouble(valueOffset) + sample;
+			} else {
+				final double average = buffer.getDouble(valueOffset);
+				value = average + (sample - average) / (count + 1);
+			}
+			buffer.putDouble(valueOffset, value);
+			buffer.putInt(countOffset, count + 1);
+		}
+
+		void clear(long localMillis, int column) {
+			final long slot = localMillis / stepMillis;
+			final int row = rowOffset(slot);
+			if (buffer.getLong(row) - 1 == slot) {
+				buffer.putInt(row + countsOffset + column * 4, 0);
+			}
+		}
+
+		double get(long slot, int column) {
+			final int row = rowOffset(slot);
+			if (slot < 0 || buffer.getLong(row) - 1 != slot || buffer.getInt(row + countsOffset + column * 4) == 0) {
+				return Double.NaN;
+			}
+			return buffer.getDouble(row + ROW_HEADER + column * 8);
+		}
+	}
+
+	/**
+	 * 一个序列在某个分辨率下的历史，没有数据的时间段为 NaN
+	 * @Class Name Series
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Series {
+
+		private final String name;
+
+		private final Kind kind;
+
+		private final int step;
+
+		private final long start;
+
+		private final double[] values;
+
+		Series(String name, Kind kind, int step, long start, double[] values) {
+			super();
+			this.name = name;
+			this.kind = kind;
+			this.step = step;
+			this.start = start;
+			this.values = values;
+		}
+
+		/**
+		 * @Return the String name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @Return the Kind kind
+		 */
+		public Kind getKind() {
+			return kind;
+		}
+
+		/**
+		 * @Return the int step, 秒
+		 */
+		public int getStep() {
+			return step;
+		}
+
+		/**
+		 * @Return the long start, 第一个值所在时间段的开始时间
+		 */
+		public long getStart() {
+			return start;
+		}
+
+		/**
+		 * @Return the double[] values, 第 i 个值的时间段从 start + i * step 开始
+		 */
+		public double[] getValues() {
+			return values;
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[name=" + name + ", kind=" + kind + ", step=" + step + ", start=" + start + ", values=" + values.length + ']';
+		}
+	}
+
+	/**
+	 * 时间序列存储的统计快照
+	 * @Class Name Metrics
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Metrics {
+
+		private final int series;
+
+		private final int maxSeries;
+
+		private final long size;
+
+		private final long updates;
+
+		private final long evicted;
+
+		private final long rejected;
+
+		Metrics(int series, int maxSeries, long size, long updates, long evicted, long rejected) {
+			super();
+			this.series = series;
+			this.maxSeries = maxSeries;
+			this.size = size;
+			this.updates = updates;
+			this.evicted = evicted;
+			this.rejected = rejected;
+		}
+
+		/**
+		 * @Return the int series, 当前序列数
+		 */
+		public int getSeries() {
+			return series;
+		}
+
+		/**
+		 * @Return the int maxSeries, 序列上限
+		 */
+		public int getMaxSeries() {
+			return maxSeries;
+		}
+
+		/**
+		 * @Return the long size, 所有文件的大小（字节），打开后不变
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		/**
+		 * @Return the long updates, 写入的点数
+		 */
+		public long getUpdates() {
+			return updates;
+		}
+
+		/**
+		 * @Return the long evicted, 被替换的序列数
+		 */
+		public long getEvicted() {
+			return evicted;
+		}
+
+		/**
+		 * @Return the long rejected, 名称过长或序列已满而没有写入的点数
+		 */
+		public long getRejected() {
+			return rejected;
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[series=" + series + '/' + maxSeries + ", size=" + size + ", updates=" + updates + ", evicted=" + evicted
+				+ ", rejected=" + rejected + ']';
+		}
+	}
+}
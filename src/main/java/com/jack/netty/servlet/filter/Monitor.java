@@ -11,8 +11,10 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -23,17 +25,22 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import com.jack.netty.servlet.MonitorChecker;
+import com.jack.netty.servlet.handler.AppMonitor;
 import com.jack.netty.servlet.conf.EnvPropertyConfig;
 import com.jack.netty.servlet.conf.SystemPropertyConfig;
 import com.jack.netty.servlet.dto.JavaInformations;
+import com.jack.netty.servlet.dto.SamplingProfiler;
 import com.jack.netty.servlet.dto.ThreadInformations;
+import com.jack.netty.servlet.handler.factory.KafkaConnectManager;
 import com.jack.netty.servlet.handler.factory.SLACountManager;
+import com.jack.netty.servlet.handler.wrapper.CountingServletResponseWrapper;
 import com.jack.netty.servlet.handler.wrapper.RequestWrapper;
 import com.jack.netty.servlet.infc.Health;
 import com.jack.netty.servlet.conf.Constant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jack.netty.servlet.conf.Parameter;
 import com.jack.netty.servlet.conf.Parameters;
 import com.jack.netty.servlet.handler.wrapper.JdbcWrapper;
 
@@ -48,6 +55,8 @@ public class Monitor implements Filter {
 	
 	private FilterConfig config;
 	private Health hl;
+	private SamplingProfiler samplingProfiler;
+	private AppMonitor appMonitor;
 	
 	private boolean isDebug;
 	private boolean servletApi2;
@@ -59,7 +68,21 @@ public class Monitor implements Filter {
 	 */
 	public void destroy() {
 		// TODO Auto-generated method stub
+		// 停止采集任务（等待正在执行的采集结束）及 ZK 监控
 		hl.shutdownHealth("Disable");
+		// 停止采集后保存最后的计数器检查点，关闭时间序列历史
+		if (appMonitor != null) {
+			appMonitor.checkpointCounters();
+			appMonitor.closeHistory();
+			appMonitor = null;
+		}
+		// 停止 CPU 热点采样
+		if (samplingProfiler != null) {
+			samplingProfiler.stop(5000);
+			samplingProfiler = null;
+		}
+		// 停止 Kafka 发送线程，尽量发出队列中剩余的统计
+		KafkaConnectManager.shutdown(5000);
 		hl = null;
 		config = null;
 		isDebug = true;
@@ -80,60 +103,45 @@ public class Monitor implements Filter {
 					
 		// 1. 记录处理起始时间
 		long beginTime = System.currentTimeMillis();
+		long beginNanoTime = System.nanoTime();
 		long beginCupTime = ThreadInformations.getCurrentThreadCpuTime();
 		
+		// 活跃线程数+1，与 finally 中的 -1 对应
+		JdbcWrapper.ACTIVE_THREAD_COUNT.incrementAndGet();
 		try{
 			// 2. 判断是否调试模式，如果是则直接处理返回不做统计
 			if (!(req instanceof HttpServletRequest) || !(rep instanceof HttpServletResponse) || isDebug) {
 				//调试模式直接转发不记录
 				fc.doFilter(req, rep);
 				return;
+			} else if (!servletApi2 && rest.getDispatcherType() == DispatcherType.ASYNC) {
+				// 异步请求的再次分派，在第一次进入时注册的 AsyncListener 中记录
+				fc.doFilter(req, rep);
+				return;
 			} else {
 				//非调试模式进入记录入栈数量
-				SLACountManager.instance().getSumInboundRequestCounts().incrementAndGet();
-				JdbcWrapper.ACTIVE_THREAD_COUNT.incrementAndGet();
+				SLACountManager.instance().recordInbound();
 				// 3. 进入监控处理，包括含有 SQL 的请求
+				// 在过滤器链之前包装 response 统计响应大小，request 的包装使 startAsync() 也使用包装后的 response
+				final CountingServletResponseWrapper wrappedResponse = new CountingServletResponseWrapper(resp);
+				final HttpServletRequest wrappedRequest = RequestWrapper.SINGLETON.createHttpRequestWrapper(rest, wrappedResponse);
 				// 完成数据转发
-				fc.doFilter(rest, resp);
-	
-				// 如果使用的是Servlet2及以下版本，则刷新相应返回，以使得数据可以被写入
-				if (servletApi2 || !rest.isAsyncStarted()) {
-					resp.flushBuffer();
-				}
-	
-				// 4. 判断返回状态记录处理数量及时间
-				// 只有返回小于400或者等于401的返回码才被认为是访问成功的请求，否则计入失败
-				if (resp.getStatus() < HttpServletResponse.SC_BAD_REQUEST || resp.getStatus() == HttpServletResponse.SC_UNAUTHORIZED) {
-	
-					// 只有处理成功，才能处理请求总数计数器+1；如果出现异常则不计数处理
-					SLACountManager.instance().getSumDealRequestCounts().incrementAndGet();
-					// 记录结束时间
-					long endTime = System.currentTimeMillis();
-					// 记录每个请求的实时处理时间
-					long dealTime = endTime - beginTime;
-					SLACountManager.instance().setPeerDealRequestTime(new AtomicLong(dealTime));
-					// 记录总的请求处理时间
-					long sumDealTime = SLACountManager.instance().getSumDealRequestTime().get() + dealTime;
-					SLACountManager.instance().setSumDealRequestTime(new AtomicLong(sumDealTime));
-					//会重复
-					//RequestWrapper.SINGLETON.doError(resp.getStatus(), beginCupTime, beginTime);
-				} else {
-					// 记录结束时间
-					long endTime = System.currentTimeMillis();
-					// 记录每个异常请求的实时处理时间
-					long dealTime = endTime - beginTime;
-					long sumDealTime = SLACountManager.instance().getSumErrDealRequestTime().get() + dealTime;
-	
-					SLACountManager.instance().getSumErrDealRequestCounts().incrementAndGet();
-					SLACountManager.instance().setSumErrDealRequestTime(new AtomicLong(sumDealTime));
+				fc.doFilter(wrappedRequest, wrappedResponse);
+
+				if (!servletApi2 && wrappedRequest.isAsyncStarted()) {
+					// 异步请求（如长轮询）在完成时记录，CPU 时间只计执行过滤器链的线程
+					final long cpuUsedMillis = (ThreadInformations.getCurrentThreadCpuTime() - beginCupTime) / 1000000;
+					wrappedRequest.getAsyncContext().addListener(new CompletionListener(rest, wrappedResponse, beginTime, beginNanoTime, cpuUsedMillis));
+					return;
 				}
-				// 记录出栈数量
-				SLACountManager.instance().getSumOutboundRequestCounts().incrementAndGet();
-				
-				RequestWrapper.SINGLETON.doExecute((HttpServletRequest)req, (HttpServletResponse)rep, beginCupTime, beginTime);
+				// 刷新相应返回，以使得数据可以被写入
+				wrappedResponse.flushBuffer();
+
+				recordCompletion(rest, wrappedResponse, beginTime, beginNanoTime,
+					(ThreadInformations.getCurrentThreadCpuTime() - beginCupTime) / 1000000);
 			}
 		}catch(Exception e){
-			throwException(e, beginCupTime, beginTime);
+			throwException(e, beginCupTime, beginTime, beginNanoTime);
 		}finally{
 			//5. 活跃线程数-1
 			JdbcWrapper.ACTIVE_THREAD_COUNT.decrementAndGet();
@@ -205,21 +213,127 @@ public class Monitor implements Filter {
 		// . 初始化监控程序
 		hl = new MonitorChecker(port, conf.getServletContext());
 		SLACountManager.init();
+		// 从检查点恢复上次部署的计数器
+		appMonitor = AppMonitor.instance(port, conf.getServletContext());
+		appMonitor.restoreCounters();
+		startSamplingProfiler(port, conf);
 
 		// 4. 启动监控
 		hl.startHealth("Active");
 	}
 
-	private void throwException(Throwable t, long beginCupTime, long beginTime) throws IOException, ServletException {
+	/**
+	 * 配置了 sampling-seconds 时启动 CPU 热点采样，结果随其他监控信息一起上报
+	 * @Methods Name startSamplingProfiler
+	 * @Create In 2026年10月18日 By Jack
+	 * @param port 应用端口
+	 * @param conf FilterConfig
+	 */
+	private void startSamplingProfiler(int port, FilterConfig conf) {
+		final String samplingSeconds = Parameters.getParameter(Parameter.SAMPLING_SECONDS);
+		if (samplingSeconds == null) {
+			return;
+		}
+		final long periodMillis = (long) (Double.parseDouble(samplingSeconds) * 1000);
+		final int maxDepth = Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_PROFILER_STACK_DEPTH,
+			String.valueOf(SamplingProfiler.DEFAULT_MAX_DEPTH)));
+		samplingProfiler = new SamplingProfiler(Parameters.getParameter(Parameter.SAMPLING_EXCLUDED_PACKAGES),
+			Parameters.getParameter(Parameter.SAMPLING_INCLUDED_PACKAGES), maxDepth);
+		samplingProfiler.start(periodMillis);
+		AppMonitor.instance(port, conf.getServletContext()).setSamplingProfiler(samplingProfiler);
+	}
 
-		// 记录结束时间
-		long endTime = System.currentTimeMillis();
-		// 记录每个异常请求的实时处理时间
-		long dealTime = endTime - beginTime;
-		long sumDealTime = SLACountManager.instance().getSumErrDealRequestTime().get() + dealTime;
+	/**
+	 * 请求完成时的记录：SLA 计数及请求统计
+	 * @Methods Name recordCompletion
+	 * @Create In 2026年10月18日 By Jack
+	 * @param request HttpServletRequest
+	 * @param response 统计响应大小的 response
+	 * @param beginTime 开始时间（毫秒）
+	 * @param beginNanoTime 开始时间（纳秒）
+	 * @param cpuUsedMillis 使用的 CPU 时间（毫秒）
+	 */
+	private static void recordCompletion(HttpServletRequest request, CountingServletResponseWrapper response, long beginTime, long beginNanoTime,
+			long cpuUsedMillis) {
+		// 记录出栈数量，先于处理结果记录，SLACountManager 读取时出栈数不小于成功数
+		SLACountManager.instance().recordOutbound();
+		// 4. 判断返回状态记录处理数量及时间
+		// 只有返回小于400或者等于401的返回码才被认为是访问成功的请求，否则计入失败
+		final int status = response.getStatus();
+		if (status < HttpServletResponse.SC_BAD_REQUEST || status == HttpServletResponse.SC_UNAUTHORIZED) {
+			// 只有处理成功，才能处理请求总数计数器+1；如果出现异常则不计数处理
+			// 记录每个请求的实时处理时间及总的请求处理时间
+			SLACountManager.instance().recordSuccess(System.nanoTime() - beginNanoTime);
+		} else {
+			// 记录每个异常请求的实时处理时间
+			SLACountManager.instance().recordError(System.nanoTime() - beginNanoTime);
+		}
 
-		SLACountManager.instance().getSumErrDealRequestCounts().incrementAndGet();
-		SLACountManager.instance().setSumErrDealRequestTime(new AtomicLong(sumDealTime));
+		RequestWrapper.SINGLETON.doComplete(request, response, beginTime, cpuUsedMillis);
+	}
+
+	/**
+	 * 异步请求完成时记录
+	 *
+	 * 超时、出错后容器同样会调用 onComplete，只在 onComplete 中记录一次；
+	 * 异步处理中再次 startAsync 时重新注册到新的 AsyncContext。
+	 *
+	 * @Class Name CompletionListener
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	private static final class CompletionListener implements AsyncListener {
+
+		private final HttpServletRequest request;
+
+		private final CountingServletResponseWrapper response;
+
+		private final long beginTime;
+
+		private final long beginNanoTime;
+
+		private final long cpuUsedMillis;
+
+		private boolean recorded;
+
+		CompletionListener(HttpServletRequest request, CountingServletResponseWrapper response, long beginTime, long beginNanoTime,
+				long cpuUsedMillis) {
+			super();
+			this.request = request;
+			this.response = response;
+			this.beginTime = beginTime;
+			this.beginNanoTime = beginNanoTime;
+			this.cpuUsedMillis = cpuUsedMillis;
+		}
+
+		@Override
+		public synchronized void onComplete(AsyncEvent event) {
+			if (!recorded) {
+				recorded = true;
+				recordCompletion(request, response, beginTime, beginNanoTime, cpuUsedMillis);
+			}
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			// 之后的 onComplete 中记录
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			// 之后的 onComplete 中记录
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+	}
+
+	private void throwException(Throwable t, long beginCupTime, long beginTime, long beginNanoTime) throws IOException, ServletException {
+
+		// 记录每个异常请求的实时处理时间
+		SLACountManager.instance().recordError(System.nanoTime() - beginNanoTime);
 
 		RequestWrapper.SINGLETON.doError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, beginCupTime, beginTime);
 		if (t instanceof Error) {
@@ -7,30 +7,38 @@
  */
 package com.jack.netty.servlet.handler;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.text.DateFormat;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.List;
-import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.ServletContext;
 
+import com.jack.netty.servlet.dto.ContainerInformations;
+import com.jack.netty.servlet.dto.Counter;
+import com.jack.netty.servlet.dto.CounterCheckpoint;
 import com.jack.netty.servlet.dto.JavaInformations;
+import com.jack.netty.servlet.dto.JobInfo;
+import com.jack.netty.servlet.dto.JobInformations;
+import com.jack.netty.servlet.dto.ProfilerInfo;
 import com.jack.netty.servlet.dto.SQLInfo;
+import com.jack.netty.servlet.dto.SamplingProfiler;
 import com.jack.netty.servlet.dto.SystemInfo;
+import com.jack.netty.servlet.dto.TimeSeriesStore;
 import com.jack.netty.servlet.handler.wrapper.RequestWrapper;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.ZooDefs.Ids;
 import org.apache.zookeeper.ZooKeeper;
-import org.apache.zookeeper.data.Stat;
 import org.codehaus.jackson.JsonParseException;
 import org.codehaus.jackson.map.JsonMappingException;
 import org.slf4j.Logger;
@@ -38,14 +46,19 @@ import org.slf4j.LoggerFactory;
 
 import com.jack.netty.servlet.conf.Constant;
 import com.jack.netty.servlet.conf.EnvPropertyConfig;
+import com.jack.netty.servlet.conf.Parameters;
 import com.jack.netty.servlet.conf.SystemPropertyConfig;
 import com.jack.netty.servlet.dto.ApplicationInfo;
+import com.jack.netty.servlet.dto.CounterDeltaTracker;
+import com.jack.netty.servlet.dto.HealthDigest;
 import com.jack.netty.servlet.dto.CounterRequest;
 import com.jack.netty.servlet.dto.RequestInfo;
 import com.jack.netty.servlet.handler.factory.KafkaConnectManager;
 import com.jack.netty.servlet.handler.factory.SLACountManager;
+import com.jack.netty.servlet.handler.listener.JobGlobalListener;
 import com.jack.netty.servlet.handler.wrapper.JdbcWrapper;
 import com.jack.netty.servlet.util.JacksonMapperUtil;
+import com.jack.netty.servlet.util.PayloadFormat;
 
 /**
  * @Class Name AppMonitor
@@ -62,7 +75,78 @@ public class AppMonitor {
 	
 	private JavaInformations javaInfor;
 
-	private DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+	// 各采集任务在不同线程中执行，SimpleDateFormat 不是线程安全的，每个线程一个
+	private static final ThreadLocal<DateFormat> DATE_TIME_FORMAT = new ThreadLocal<DateFormat>() {
+		@Override
+		protected DateFormat initialValue() {
+			return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		}
+	};
+
+	// 请求、错误、SQL 计数器的增量上报状态
+	private final CounterDeltaTracker httpDelta;
+
+	private final CounterDeltaTracker errorDelta;
+
+	private final CounterDeltaTracker sqlDelta;
+
+	private final CounterDeltaTracker jobDelta;
+
+	// Quartz 任务监听是否已注册，只由任务计数采集线程访问
+	private boolean jobListenerRegistered;
+
+	// Kafka 上报内容的编码格式，默认 JSON；ZK 节点内容始终为 JSON
+	private final PayloadFormat payloadFormat;
+
+	// CPU 热点采样，未配置 sampling-seconds 时为 null
+	private volatile SamplingProfiler samplingProfiler;
+
+	// ZK 节点只写标识、状态及健康摘要（system.setting.zk.node.mode=lean），完整信息通过 Kafka 上报
+	private final boolean leanNode;
+
+	// 上一次写入 ZK 节点的路径及内容，只由 JVM 信息采集线程访问；重连后路径变化，会重新写入
+	private String lastNodePath;
+
+	private byte[] lastNodeData;
+
+	// ZK 节点写入统计
+	private static final long NODE_METRICS_START = System.currentTimeMillis();
+
+	private static final AtomicLong NODE_WRITES = new AtomicLong();
+
+	private static final AtomicLong NODE_SKIPPED = new AtomicLong();
+
+	private static final AtomicLong NODE_WRITTEN_BYTES = new AtomicLong();
+
+	private static final AtomicLong NODE_LAST_SIZE = new AtomicLong();
+
+	private static final AtomicLong NODE_REPORTS = new AtomicLong();
+
+	private static final AtomicLong NODE_REPORTED_BYTES = new AtomicLong();
+
+	// 健康摘要的阈值
+	private static final double HEAP_WARN_PERCENTAGE = 90;
+
+	private static final double HEAP_CRITICAL_PERCENTAGE = 98;
+
+	private static final double USAGE_WARN_RATIO = 0.9;
+
+	private static final double CPU_THROTTLED_WARN_RATIO = 0.25;
+
+	// 是否保存计数器检查点（system.setting.counter.checkpoint.interval 大于 0）
+	private final boolean checkpointEnabled;
+
+	// 时间序列历史的分辨率：resolution-seconds 及以下三种，只保留比 resolution-seconds 更粗的
+	private static final int[] HISTORY_COARSE_STEPS = { 15 * 60, 60 * 60, 24 * 60 * 60 };
+
+	private final int historyMaxSeries;
+
+	private final int historyTopRequests;
+
+	// 第一次写入时打开，未启用、打开失败或已关闭时为 null
+	private TimeSeriesStore history;
+
+	private boolean historyOpened;
 
 	/**
 	 * @Param Integer port to set
@@ -78,6 +162,24 @@ public class AppMonitor {
 		this.sc = sc;
 
 		javaInfor = JavaInformations.instance(sc, true);
+
+		final boolean deltaEnabled = Constant.SYSTEM_SEETING_REPORT_MODE_DELTA.equalsIgnoreCase(
+			SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_REPORT_MODE, "full"));
+		final int keyframeInterval = Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_REPORT_KEYFRAME_INTERVAL, "10"));
+		httpDelta = new CounterDeltaTracker(deltaEnabled, keyframeInterval);
+		errorDelta = new CounterDeltaTracker(deltaEnabled, keyframeInterval);
+		sqlDelta = new CounterDeltaTracker(deltaEnabled, keyframeInterval);
+		jobDelta = new CounterDeltaTracker(deltaEnabled, keyframeInterval);
+		payloadFormat = PayloadFormat.valueOfIgnoreCase(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_REPORT_FORMAT));
+		leanNode = Constant.SYSTEM_SEETING_ZK_NODE_MODE_LEAN.equalsIgnoreCase(
+			SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_ZK_NODE_MODE, "full"));
+		checkpointEnabled = Long.parseLong(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COUNTER_CHECKPOINT_INTERVAL,
+			Constant.SYSTEM_SEETING_COUNTER_CHECKPOINT_INTERVAL_VALUE)) > 0;
+		CounterCheckpoint.setCompression(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_COUNTER_CHECKPOINT_COMPRESSION,
+			CounterCheckpoint.COMPRESSION_LZ4));
+		historyMaxSeries = Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_TIMESERIES_MAX_SERIES,
+			Constant.SYSTEM_SEETING_TIMESERIES_MAX_SERIES_VALUE));
+		historyTopRequests = Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_TIMESERIES_TOP_REQUESTS, "20"));
 	}
 
 	/**
@@ -161,18 +263,14 @@ public class AppMonitor {
 	public void buildAppInfo(ZooKeeper zk, String appServerPath) {
 		ApplicationInfo ai;
 		
-		Stat stat = new Stat();
 		SystemInfo si = new SystemInfo();
 		String rootDesc;
 
 		try {
 
-			// 0.判断是否当天计数，如已不是当天，重置计数器，但每个实例目前存在一个5分钟的计数延迟待处理
-			compareDate();
 			javaInfor.rebuildJavaInfo(sc, true);
 			
-			// 1.获取目前节点基础信息
-			rootDesc = new String(zk.getData(appServerPath, true, stat));
+			// 1.节点基础信息（只有本实例写自己的临时节点，不需要先读取节点，也不再每次注册 watch）
 			Object[] tagArgs = { "Active" };
 			rootDesc = SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_CONTEXT_DESC);
 			rootDesc = SystemPropertyConfig.fromatter(rootDesc, tagArgs);
@@ -202,7 +300,24 @@ public class AppMonitor {
 			si.setIps(getAddress(this.port));
 			
 			si.setSystemCpuRatio(javaInfor.getSystemCpuLoad());
-			si.setCpuRatio(javaInfor.getProcessCpuLoad());;
+			si.setCpuRatio(javaInfor.getProcessCpuLoad());
+			si.setCpuCoreRatios(javaInfor.getCpuCoreLoads());
+			si.setCpuLimit(javaInfor.getCpuLimit());
+			si.setCpuThrottledRatio(javaInfor.getCpuThrottledRatio());
+			si.setCpuThrottledTime(javaInfor.getCpuThrottledTimeMillis());
+
+			// =======================cgroup============================
+			ContainerInformations ci = javaInfor.getContainerInformations();
+			si.setCgroupVersion(ci.getCgroupVersion());
+			si.setContainerMemLimit(toMegaBytes(ci.getMemoryLimit()));
+			si.setContainerMemUsage(toMegaBytes(ci.getMemoryUsage()));
+			si.setContainerMemWorkingSet(toMegaBytes(ci.getMemoryWorkingSet()));
+			si.setContainerMemCache(toMegaBytes(ci.getMemoryCache()));
+			si.setContainerMemRss(toMegaBytes(ci.getMemoryRss()));
+			si.setContainerCpuPeriods(ci.getCpuPeriods());
+			si.setContainerCpuThrottledPeriods(ci.getCpuThrottledPeriods());
+			si.setContainerPidsCurrent(ci.getPidsCurrent());
+			si.setContainerPidsLimit(ci.getPidsLimit());
 
 			// =======================MemoryMXBean============================
 			si.setHeapMemoryUsage(javaInfor.getMemoryInformations().getHeapMemoryUsage());
@@ -215,6 +330,8 @@ public class AppMonitor {
 			si.setCurrentThreadCpuTime(javaInfor.getCurrentThreadCpuTime());
 			si.setDaemonThreadCount(javaInfor.getDaemonThreadCount());
 			si.setCurrentThreadUserTime(javaInfor.getCurrentThreadUserTime());
+			si.setTopCpuThreads(javaInfor.getTopCpuThreads());
+			si.setDeadlockedThreadCount(javaInfor.getDeadlockedThreadCount());
 
 			// =======================CompilationMXBean============================
 			// "
@@ -234,15 +351,24 @@ public class AppMonitor {
 			
 			// 3.构造实例信息
 			ai.setSysInfo(si);
-			ai.setUpdateTime(df.format(new Date()));
+			ai.setUpdateTime(DATE_TIME_FORMAT.get().format(new Date()));
 			
-			ai.setPeerDealReqTime(SLACountManager.instance().getPeerDealRequestTime().longValue());
-			ai.setSumInboundReqCounts(SLACountManager.instance().getSumInboundRequestCounts().longValue());
-			ai.setSumOutboundReqCounts(SLACountManager.instance().getSumOutboundRequestCounts().longValue());
-			ai.setSumDealReqCounts(SLACountManager.instance().getSumDealRequestCounts().longValue());
-			ai.setSumDealReqTime(SLACountManager.instance().getSumDealRequestTime().longValue());
-			ai.setSumErrDealReqCounts(SLACountManager.instance().getSumErrDealRequestCounts().longValue());
-			ai.setSumErrDealReqTime(SLACountManager.instance().getSumErrDealRequestTime().longValue());
+			SLACountManager.Snapshot sla = SLACountManager.instance().snapshot();
+			ai.setPeerDealReqTime(sla.getPeerDealRequestTime());
+			ai.setSumInboundReqCounts(sla.getSumInboundRequestCounts());
+			ai.setSumOutboundReqCounts(sla.getSumOutboundRequestCounts());
+			ai.setSumDealReqCounts(sla.getSumDealRequestCounts());
+			ai.setSumDealReqTime(sla.getSumDealRequestTime());
+			ai.setSumErrDealReqCounts(sla.getSumErrDealRequestCounts());
+			ai.setSumErrDealReqTime(sla.getSumErrDealRequestTime());
+			ai.setTotalInboundReqCounts(sla.getTotalInboundRequestCounts());
+			ai.setTotalOutboundReqCounts(sla.getTotalOutboundRequestCounts());
+			ai.setTotalDealReqCounts(sla.getTotalDealRequestCounts());
+			ai.setTotalDealReqTime(sla.getTotalDealRequestTime());
+			ai.setTotalErrDealReqCounts(sla.getTotalErrDealRequestCounts());
+			ai.setTotalErrDealReqTime(sla.getTotalErrDealRequestTime());
+			ai.setSlaWindows(SLACountManager.instance().windows());
+			recordJvmHistory();
 
 			// 4.更新服务器名称及版本
 			String svrInfo[] = this.sc.getServerInfo().split(Constant.SYSTEM_SEETING_SERVER_DEFALUT_NAME_VERSION_SPLIT);
@@ -254,17 +380,39 @@ public class AppMonitor {
 			ai.setDataBaseVersion(javaInfor.getDataBaseVersion());
 			ai.setDataSourceDetails(javaInfor.getDataSourceDetails());
 			
-			ai.setStartupDate(df.format(javaInfor.getStartDate()));
+			ai.setStartupDate(DATE_TIME_FORMAT.get().format(javaInfor.getStartDate()));
 			ai.setUnixMaxFileDescriptorCount(javaInfor.getUnixMaxFileDescriptorCount());
 			ai.setUnixOpenFileDescriptorCount(javaInfor.getUnixOpenFileDescriptorCount());
 			
 			ai.setDesc(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_INSTANCE_KEY));
 						
-			// 5.转换系统信息到Json
-			rootDesc = JacksonMapperUtil.objectToJson(ai);
-
-			// 6.更新自身节点状态
-			zk.setData(appServerPath, rootDesc.getBytes(), stat.getVersion());
+			// 5.更新自身节点状态，节点内容始终为 Json（读取节点的一方不一定支持其他格式）
+			final byte[] payload;
+			if (leanNode) {
+				// 精简模式：完整信息按配置的格式通过 Kafka 上报，节点只写标识、状态及健康摘要，内容没有变化时不写
+				final byte[] report = payloadFormat.encode(ai);
+				KafkaConnectManager.sendMsgToTopic(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RECEIVER),
+					SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_CONTEXT_CODE)
+						+ SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_CONTEXT_NAME), report);
+				NODE_REPORTS.incrementAndGet();
+				NODE_REPORTED_BYTES.addAndGet(report.length);
+				payload = PayloadFormat.JSON.encode(buildHealthDigest(ai, si));
+			} else {
+				payload = PayloadFormat.JSON.encode(ai);
+			}
+			if (appServerPath.equals(lastNodePath) && Arrays.equals(payload, lastNodeData)) {
+				NODE_SKIPPED.incrementAndGet();
+			} else {
+				zk.setData(appServerPath, payload, -1);
+				lastNodePath = appServerPath;
+				lastNodeData = payload;
+				NODE_WRITES.incrementAndGet();
+				NODE_WRITTEN_BYTES.addAndGet(payload.length);
+				NODE_LAST_SIZE.set(payload.length);
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("ZK node: " + getNodeMetrics());
+			}
 
 		} catch (KeeperException e) {
 			// TODO Auto-generated catch block
@@ -289,6 +437,61 @@ public class AppMonitor {
 
 	}
 
+	/**
+	 * 构造 ZK 节点的健康摘要：标识、状态及按阈值判断的健康状态，不含每次都会变化的数值
+	 * @Methods Name buildHealthDigest
+	 * @Create In 2026年10月18日 By Jack
+	 * @param ai 本次采集的实例信息
+	 * @param si 本次采集的系统信息
+	 * @return HealthDigest
+	 */
+	private HealthDigest buildHealthDigest(ApplicationInfo ai, SystemInfo si) {
+		final HealthDigest digest = new HealthDigest();
+		digest.setName(ai.getName());
+		digest.setVersion(ai.getVersion());
+		digest.setDesc(ai.getDesc());
+		digest.setStatus(ai.getStatus());
+		digest.setIps(joinAddress(si.getIps()));
+		digest.setPid(ai.getPid());
+		digest.setStartupDate(ai.getStartupDate());
+
+		if (javaInfor.getDeadlockedThreadCount() > 0) {
+			digest.alert(HealthDigest.HEALTH_CRITICAL, "deadlock");
+		}
+		final double heapPercentage = javaInfor.getMemoryInformations().getUsedMemoryPercentage();
+		if (heapPercentage >= HEAP_CRITICAL_PERCENTAGE) {
+			digest.alert(HealthDigest.HEALTH_CRITICAL, "heap");
+		} else if (heapPercentage >= HEAP_WARN_PERCENTAGE) {
+			digest.alert(HealthDigest.HEALTH_WARN, "heap");
+		}
+		if (isAbove(javaInfor.getUnixOpenFileDescriptorCount(), javaInfor.getUnixMaxFileDescriptorCount())) {
+			digest.alert(HealthDigest.HEALTH_WARN, "fd");
+		}
+		final ContainerInformations ci = javaInfor.getContainerInformations();
+		if (isAbove(ci.getMemoryUsage(), ci.getMemoryLimit())) {
+			digest.alert(HealthDigest.HEALTH_WARN, "container-memory");
+		}
+		if (isAbove(ci.getPidsCurrent(), ci.getPidsLimit())) {
+			digest.alert(HealthDigest.HEALTH_WARN, "pids");
+		}
+		if (javaInfor.getCpuThrottledRatio() >= CPU_THROTTLED_WARN_RATIO) {
+			digest.alert(HealthDigest.HEALTH_WARN, "cpu-throttled");
+		}
+		return digest;
+	}
+
+	private static boolean isAbove(long used, long limit) {
+		return used >= 0 && limit > 0 && used >= limit * USAGE_WARN_RATIO;
+	}
+
+	/**
+	 * @return ZK 节点写入统计快照
+	 */
+	public static NodeMetrics getNodeMetrics() {
+		return new NodeMetrics(System.currentTimeMillis() - NODE_METRICS_START, NODE_WRITES.get(), NODE_SKIPPED.get(), NODE_WRITTEN_BYTES.get(),
+			NODE_LAST_SIZE.get(), NODE_REPORTS.get(), NODE_REPORTED_BYTES.get());
+	}
+
 	/**
 	 * 构造SQL计数信息到队列
 	 * @Methods Name buildSQLCountsInfo
@@ -297,7 +500,7 @@ public class AppMonitor {
 	public void buildSQLCountsInfo() {
 		//构造 SQL 信息并发送
 		try{
-			String rootDesc;
+			byte[] payload;
 			JdbcWrapper jw = JdbcWrapper.SINGLETON;
 			if(jw != null){
 				SQLInfo sqlInfo = SQLInfo.instance();
@@ -324,14 +527,15 @@ public class AppMonitor {
 				sqlInfo.setRunning_build_count(jw.getRunningBuildCount());
 				sqlInfo.setTransaction_count(jw.getTransactionCount());
 				sqlInfo.setUsed_connection_count(jw.getUsedConnectionCount());
-				sqlInfo.setUpdateDate(df.format(new Date()));
+				sqlInfo.setUpdateDate(DATE_TIME_FORMAT.get().format(new Date()));
 				
-				List<CounterRequest> sqlDetails = jw.getSqlCounter().getRequests();
+				List<CounterRequest> sqlDetails = sqlDelta.next(jw.getSqlCounter().getRequests());
 				sqlInfo.setSqlDetails(sqlDetails);
-				rootDesc = JacksonMapperUtil.objectToJson(sqlInfo);
+				sqlInfo.setReportType(sqlDelta.getReportType());
+				payload = payloadFormat.encode(sqlInfo);
 				//发送消息到回收队列
 				KafkaConnectManager.sendMsgToTopic(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RECEIVER), 
-					sqlInfo.getSysCode() + sqlInfo.getSysName(), rootDesc);
+					sqlInfo.getSysCode() + sqlInfo.getSysName(), payload);
 			}
 		}catch(IOException e){
 			// TODO Auto-generated catch block
@@ -343,7 +547,7 @@ public class AppMonitor {
 
 	public void buildRequestCountInfo(){
 		try{
-			String rootDesc;
+			byte[] payload;
 			RequestWrapper rw = RequestWrapper.SINGLETON;
 			
 			if (rw != null) {
@@ -363,15 +567,20 @@ public class AppMonitor {
 					reqInfo.setSysIPS(address.get(0).toString());
 				}
 				
-				reqInfo.setUpdateDate(df.format(new Date()));
+				reqInfo.setUpdateDate(DATE_TIME_FORMAT.get().format(new Date()));
 	
-				List<CounterRequest> reqDetails = rw.getHttpCounter().getRequests();
-				List<CounterRequest> errDetails = rw.getErrorCounter().getRequests();
+				// 两个跟踪器同时创建、每次同时调用，关键帧总是对齐的
+				List<CounterRequest> reqDetails = httpDelta.next(rw.getHttpCounter().getRequests());
+				List<CounterRequest> errDetails = errorDelta.next(rw.getErrorCounter().getRequests());
 				reqInfo.setRequestDetails(reqDetails);
 				reqInfo.setErrorDetails(errDetails);
-				rootDesc = JacksonMapperUtil.objectToJson(reqInfo);
+				reqInfo.setReportType(httpDelta.getReportType());
+				payload = payloadFormat.encode(reqInfo);
 				// 发送消息到回收队列
-				KafkaConnectManager.sendMsgToTopic(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RECEIVER), reqInfo.getSysCode() + reqInfo.getSysName(), rootDesc);
+				KafkaConnectManager.sendMsgToTopic(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RECEIVER), reqInfo.getSysCode() + reqInfo.getSysName(), payload);
+				if (log.isDebugEnabled()) {
+					log.debug("Kafka: " + KafkaConnectManager.getMetrics() + ", spool: " + KafkaConnectManager.getSpoolMetrics());
+				}
 	
 			}
 		}catch(IOException e){
@@ -382,28 +591,274 @@ public class AppMonitor {
 	}
 	
 	/**
-	 * @Methods Name compareDate
-	 * @Create In 2015年9月6日 By Jack void
+	 * 构造 Quartz 任务执行计数信息并发送，没有 Quartz 时忽略
+	 * 第一次执行时注册任务监听，此时应用的 Scheduler 一般已经创建
+	 * @Methods Name buildJobCountInfo
+	 * @Create In 2026年10月18日 By Jack
 	 */
-	private void compareDate() {
-		DateFormat df = new SimpleDateFormat("yyyy-MM-dd", Locale.CHINA);
+	public void buildJobCountInfo() {
+		if (!JobInformations.isQuartzEnabled()) {
+			return;
+		}
+		if (!jobListenerRegistered) {
+			JobGlobalListener.initJobGlobalListener();
+			jobListenerRegistered = true;
+		}
 		try {
-			Date cdS = new Date(System.currentTimeMillis());
-			Date pdD = SLACountManager.instance().getPeerDate();
+			final Counter jobCounter = JobGlobalListener.getJobCounter();
+			if (jobCounter.getRequestsCount() == 0) {
+				return;
+			}
+			JobInfo jobInfo = JobInfo.instance();
+			jobInfo.setSysCode(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_CONTEXT_CODE));
+			jobInfo.setSysName(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_CONTEXT_NAME));
+			jobInfo.setSysIPS(joinAddress(getAddress(this.port)));
+			jobInfo.setUpdateDate(DATE_TIME_FORMAT.get().format(new Date()));
 
-			Date currentDate = df.parse(df.format(cdS));
-			Date startupDate = df.parse(df.format(pdD));
+			List<CounterRequest> jobDetails = jobDelta.next(jobCounter.getRequests());
+			jobInfo.setJobDetails(jobDetails);
+			jobInfo.setReportType(jobDelta.getReportType());
+			byte[] payload = payloadFormat.encode(jobInfo);
+			// 发送消息到回收队列
+			KafkaConnectManager.sendMsgToTopic(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RECEIVER), jobInfo.getSysCode() + jobInfo.getSysName(), payload);
+		} catch (IOException e) {
+			// TODO Auto-generated catch block
+			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
+			log.error("Details: " + e.getMessage());
+		}
+	}
 
-			if (currentDate.compareTo(startupDate) > 0) {
-				SLACountManager.init();
-			}
-		} catch (ParseException e) {
+	/**
+	 * 构造 CPU 热点采样信息并发送，未启用采样或还没有采样数据时忽略
+	 * @Methods Name buildProfilerInfo
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public void buildProfilerInfo() {
+		final SamplingProfiler profiler = samplingProfiler;
+		if (profiler == null || profiler.getSampleCount() == 0) {
+			return;
+		}
+		try {
+			final int rows = Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_PROFILER_REPORT_ROWS, "100"));
+			ProfilerInfo profilerInfo = ProfilerInfo.instance();
+			profilerInfo.setSysCode(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_CONTEXT_CODE));
+			profilerInfo.setSysName(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SERVER_DEFAULT_CONTEXT_NAME));
+			profilerInfo.setSysIPS(joinAddress(getAddress(this.port)));
+			profilerInfo.setUpdateDate(DATE_TIME_FORMAT.get().format(new Date()));
+			profilerInfo.setSampleCount(profiler.getSampleCount());
+			profilerInfo.setHotspots(profiler.getHotspots(rows));
+			profilerInfo.setFoldedStacks(profiler.getFoldedStacks(rows));
+			byte[] payload = payloadFormat.encode(profilerInfo);
+			// 发送消息到回收队列
+			KafkaConnectManager.sendMsgToTopic(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RECEIVER), profilerInfo.getSysCode() + profilerInfo.getSysName(), payload);
+		} catch (IOException e) {
 			// TODO Auto-generated catch block
-			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001015"));
+			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001013"));
 			log.error("Details: " + e.getMessage());
 		}
 	}
 
+	/**
+	 * 从检查点恢复计数器，在过滤器初始化时、开始统计请求之前调用
+	 * @Methods Name restoreCounters
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public void restoreCounters() {
+		if (!checkpointEnabled) {
+			return;
+		}
+		for (final Counter counter : getCheckpointCounters()) {
+			counter.setApplication(Parameters.getCurrentApplication());
+			try {
+				counter.readFromFile();
+			} catch (IOException e) {
+				// 检查点损坏或版本不支持时从零开始统计，下一次检查点覆盖该文件
+				log.warn(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001026") + counter.getName());
+				log.warn("Details: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * 保存计数器检查点，由采集任务定期调用，过滤器销毁时再调用一次
+	 * @Methods Name checkpointCounters
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public void checkpointCounters() {
+		if (!checkpointEnabled) {
+			return;
+		}
+		final long start = System.currentTimeMillis();
+		for (final Counter counter : getCheckpointCounters()) {
+			try {
+				counter.writeToFile();
+			} catch (IOException e) {
+				log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001026") + counter.getName());
+				log.error("Details: " + e.getMessage());
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Counter checkpoint written in " + (System.currentTimeMillis() - start) + " ms");
+		}
+	}
+
+	/**
+	 * 把 SLA 合计及耗时最多的 HTTP、SQL 请求的累计值写入时间序列历史，由采集任务每 resolution-seconds 调用
+	 * @Methods Name recordHistory
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public void recordHistory() {
+		final TimeSeriesStore store = getHistory();
+		if (store == null) {
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		// 启动以来的累计值不翻转，重启后的清零由 COUNTER 的差值处理
+		final SLACountManager.Snapshot sla = SLACountManager.instance().snapshot();
+		store.update(now, "sla.inbound", TimeSeriesStore.Kind.COUNTER, sla.getTotalInboundRequestCounts());
+		store.update(now, "sla.outbound", TimeSeriesStore.Kind.COUNTER, sla.getTotalOutboundRequestCounts());
+		store.update(now, "sla.deal", TimeSeriesStore.Kind.COUNTER, sla.getTotalDealRequestCounts());
+		store.update(now, "sla.deal.time", TimeSeriesStore.Kind.COUNTER, sla.getTotalDealRequestTime());
+		store.update(now, "sla.error", TimeSeriesStore.Kind.COUNTER, sla.getTotalErrDealRequestCounts());
+		store.update(now, "sla.error.time", TimeSeriesStore.Kind.COUNTER, sla.getTotalErrDealRequestTime());
+		if (historyTopRequests > 0) {
+			recordTopRequests(store, now, RequestWrapper.SINGLETON.getHttpCounter());
+			recordTopRequests(store, now, JdbcWrapper.SINGLETON.getSqlCounter());
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Time series: " + store.getMetrics());
+		}
+	}
+
+	/**
+	 * 按总耗时取前 N 个请求，序列名称为请求 id 加 .hits、.duration
+	 */
+	private void recordTopRequests(TimeSeriesStore store, long now, Counter counter) {
+		for (final CounterRequest request : counter.getTopRequests(historyTopRequests)) {
+			store.update(now, request.getId() + ".hits", TimeSeriesStore.Kind.COUNTER, request.getHits());
+			store.update(now, request.getId() + ".duration", TimeSeriesStore.Kind.COUNTER, request.getDurationsSum());
+		}
+	}
+
+	/**
+	 * 把本次 app 采集的 JVM 指标写入时间序列历史
+	 */
+	private void recordJvmHistory() {
+		final TimeSeriesStore store = getHistory();
+		if (store == null) {
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		store.update(now, "jvm.heap.used", TimeSeriesStore.Kind.GAUGE, javaInfor.getMemoryInformations().getUsedMemory());
+		store.update(now, "jvm.nonheap.used", TimeSeriesStore.Kind.GAUGE, javaInfor.getMemoryInformations().getUsedNonHeapMemory());
+		store.update(now, "jvm.gc.time", TimeSeriesStore.Kind.COUNTER, javaInfor.getMemoryInformations().getGarbageCollectionTimeMillis());
+		store.update(now, "jvm.classes", TimeSeriesStore.Kind.GAUGE, javaInfor.getMemoryInformations().getLoadedClassesCount());
+		store.update(now, "jvm.threads", TimeSeriesStore.Kind.GAUGE, javaInfor.getThreadCount());
+		store.update(now, "jvm.cpu.process", TimeSeriesStore.Kind.GAUGE, javaInfor.getProcessCpuLoad());
+		store.update(now, "jvm.cpu.system", TimeSeriesStore.Kind.GAUGE, javaInfor.getSystemCpuLoad());
+		store.update(now, "jvm.fd.open", TimeSeriesStore.Kind.GAUGE, javaInfor.getUnixOpenFileDescriptorCount());
+	}
+
+	/**
+	 * @return 时间序列历史，未启用或打开失败时为 null
+	 */
+	public synchronized TimeSeriesStore getHistory() {
+		if (!historyOpened && historyMaxSeries > 0) {
+			// 只尝试打开一次，失败后不再记录历史
+			historyOpened = true;
+			final int resolution = Parameters.getResolutionSeconds();
+			final String[] rows = SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_TIMESERIES_ROWS,
+				Constant.SYSTEM_SEETING_TIMESERIES_ROWS_VALUE).split(",");
+			final List<Integer> steps = new ArrayList<Integer>(4);
+			final List<Integer> counts = new ArrayList<Integer>(4);
+			steps.add(Integer.valueOf(resolution));
+			counts.add(Integer.valueOf(rows[0].trim()));
+			for (int i = 0; i < HISTORY_COARSE_STEPS.length && i + 1 < rows.length; i++) {
+				if (HISTORY_COARSE_STEPS[i] > resolution) {
+					steps.add(Integer.valueOf(HISTORY_COARSE_STEPS[i]));
+					counts.add(Integer.valueOf(rows[i + 1].trim()));
+				}
+			}
+			final int[] stepArray = new int[steps.size()];
+			final int[] rowArray = new int[steps.size()];
+			for (int i = 0; i < stepArray.length; i++) {
+				stepArray[i] = steps.get(i).intValue();
+				rowArray[i] = counts.get(i).intValue();
+			}
+			try {
+				history = new TimeSeriesStore(new File(Parameters.getStorageDirectory(Parameters.getCurrentApplication()), "timeseries"),
+					historyMaxSeries, stepArray, rowArray);
+			} catch (IOException e) {
+				log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001027") + e.getMessage());
+			}
+		}
+		return history;
+	}
+
+	/**
+	 * 关闭时间序列历史并写回磁盘，过滤器销毁时调用
+	 * @Methods Name closeHistory
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public synchronized void closeHistory() {
+		if (history != null) {
+			history.close();
+			history = null;
+		}
+	}
+
+	/**
+	 * 保存检查点的计数器：HTTP、错误、SQL，启用 Quartz 时还有任务计数器
+	 */
+	private static List<Counter> getCheckpointCounters() {
+		final List<Counter> counters = new ArrayList<Counter>(4);
+		counters.add(RequestWrapper.SINGLETON.getHttpCounter());
+		counters.add(RequestWrapper.SINGLETON.getErrorCounter());
+		counters.add(JdbcWrapper.SINGLETON.getSqlCounter());
+		if (JobInformations.isQuartzEnabled()) {
+			counters.add(JobGlobalListener.getJobCounter());
+		}
+		return counters;
+	}
+
+	/**
+	 * @Param SamplingProfiler samplingProfiler to set
+	 */
+	public void setSamplingProfiler(SamplingProfiler samplingProfiler) {
+		this.samplingProfiler = samplingProfiler;
+	}
+
+	/**
+	 * 注销 Quartz 任务监听，停止采集时调用
+	 * @Methods Name releaseJobCountInfo
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public void releaseJobCountInfo() {
+		if (jobListenerRegistered) {
+			jobListenerRegistered = false;
+			try {
+				JobGlobalListener.destroyJobGlobalListener();
+			} catch (IllegalStateException e) {
+				log.debug("Job global listener not removed: " + e.getMessage());
+			}
+		}
+	}
+
+	private static long toMegaBytes(long bytes) {
+		return bytes < 0 ? -1 : bytes / 1024 / 1024;
+	}
+
+	private static String joinAddress(List<String> address) {
+		if (address.size() > 1) {
+			String ips = "";
+			for (String item : address) {
+				ips += item + "</br>";
+			}
+			return ips.substring(0, ips.lastIndexOf("</"));
+		}
+		return address.get(0).toString();
+	}
+
 	/**
 	 * 获取本机所有IP地址并附加本次实例启动的端口号
 	 * 
@@ -487,4 +942,110 @@ public class AppMonitor {
 		
 		return res;
 	}
+
+	/**
+	 * ZK 节点写入统计，用于比较 full 与 lean 模式下 ZK 的写入量
+	 *
+	 * @Class Name NodeMetrics
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class NodeMetrics {
+
+		private final long elapsedMillis;
+
+		private final long writes;
+
+		private final long skipped;
+
+		private final long writtenBytes;
+
+		private final long lastSize;
+
+		private final long reports;
+
+		private final long reportedBytes;
+
+		NodeMetrics(long elapsedMillis, long writes, long skipped, long writtenBytes, long lastSize, long reports, long reportedBytes) {
+			super();
+			this.elapsedMillis = elapsedMillis;
+			this.writes = writes;
+			this.skipped = skipped;
+			this.writtenBytes = writtenBytes;
+			this.lastSize = lastSize;
+			this.reports = reports;
+			this.reportedBytes = reportedBytes;
+		}
+
+		/**
+		 * @Return the long elapsedMillis, 统计开始以来的时间
+		 */
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		/**
+		 * @Return the long writes, 累计写入 ZK 节点的次数
+		 */
+		public long getWrites() {
+			return writes;
+		}
+
+		/**
+		 * @Return the long skipped, 累计因内容没有变化而未写入的次数
+		 */
+		public long getSkipped() {
+			return skipped;
+		}
+
+		/**
+		 * @Return the long writtenBytes, 累计写入 ZK 节点的字节数
+		 */
+		public long getWrittenBytes() {
+			return writtenBytes;
+		}
+
+		/**
+		 * @Return the long lastSize, 最近一次写入 ZK 节点的字节数
+		 */
+		public long getLastSize() {
+			return lastSize;
+		}
+
+		/**
+		 * @Return the long reports, 精简模式下累计通过 Kafka 上报完整实例信息的次数
+		 */
+		public long getReports() {
+			return reports;
+		}
+
+		/**
+		 * @Return the long reportedBytes, 精简模式下累计通过 Kafka 上报完整实例信息的字节数
+		 */
+		public long getReportedBytes() {
+			return reportedBytes;
+		}
+
+		/**
+		 * @Return the double writesPerHour, 平均每小时写入 ZK 节点的次数
+		 */
+		public double getWritesPerHour() {
+			return elapsedMillis <= 0 ? 0 : writes * 3600000d / elapsedMillis;
+		}
+
+		/**
+		 * @Return the double bytesPerHour, 平均每小时写入 ZK 节点的字节数
+		 */
+		public double getBytesPerHour() {
+			return elapsedMillis <= 0 ? 0 : writtenBytes * 3600000d / elapsedMillis;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[writes=" + writes + ", skipped=" + skipped + ", writtenBytes=" + writtenBytes + ", lastSize=" + lastSize
+				+ ", writesPerHour=" + Math.round(getWritesPerHour()) + ", bytesPerHour=" + Math.round(getBytesPerHour()) + ", reports=" + reports
+				+ ", reportedBytes=" + reportedBytes + ']';
+		}
+	}
 }
@@ -0,0 +1,335 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.handler.factoryCollectionScheduler.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午3:05:12
+ * TODO
+ */
+package com.jack.netty.servlet.handler.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jack.netty.servlet.conf.EnvPropertyConfig;
+
+/**
+ * 监控信息采集调度
+ *
+ * 每个采集任务（JVM 信息、SQL、HTTP、任务计数等）独立按固定频率执行，各自有采集间隔，
+ * 每个任务一个线程，一个任务变慢不会推迟其他任务；首次执行前加入随机延迟，避免多个实例同时上报。
+ * 执行时间超过采集间隔时记为超时（overrun），ScheduledThreadPoolExecutor 不会并发执行同一任务，
+ * 下一次执行顺延。任务抛出的异常只记录日志，不会中止后续调度。
+ *
+ * 停止后不能再次启动，重新启动时创建新实例。
+ *
+ * @Class Name CollectionScheduler
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class CollectionScheduler {
+
+	private static Logger log = LoggerFactory.getLogger(CollectionScheduler.class);
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private final List<Task> tasks = new ArrayList<Task>();
+
+	private final long jitterMillis;
+
+	private final Random random = new Random();
+
+	private ScheduledThreadPoolExecutor executor;
+
+	private volatile boolean stopped;
+
+	/**
+	 * @param jitterMillis 首次执行前的最大随机延迟（毫秒），不超过各任务的采集间隔
+	 */
+	public CollectionScheduler(long jitterMillis) {
+		super();
+		this.jitterMillis = Math.max(jitterMillis, 0);
+	}
+
+	/**
+	 * 添加采集任务，需在 start 之前调用
+	 * @Methods Name schedule
+	 * @Create In 2026年10月18日 By Jack
+	 * @param name 任务名称，用于日志及统计
+	 * @param intervalMillis 采集间隔（毫秒）
+	 * @param collector 采集逻辑
+	 */
+	public synchronized void schedule(String name, long intervalMillis, Runnable collector) {
+		if (executor != null || stopped) {
+			throw new IllegalStateException("CollectionScheduler already started");
+		}
+		if (intervalMillis <= 0) {
+			throw new IllegalArgumentException("interval must be positive: " + name);
+		}
+		tasks.add(new Task(name, intervalMillis, collector));
+	}
+
+	/**
+	 * 启动全部采集任务，已启动或已停止时忽略
+	 * @Methods Name start
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public synchronized void start() {
+		if (executor != null || stopped || tasks.isEmpty()) {
+			return;
+		}
+		executor = new ScheduledThreadPoolExecutor(tasks.size(), new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread thread = new Thread(r, "orion-monitor-collector-" + THREAD_NUMBER.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+		for (final Task task : tasks) {
+			final long bound = Math.min(jitterMillis, task.intervalMillis);
+			final long initialDelay = bound > 0 ? (long) (random.nextDouble() * bound) : 0;
+			executor.scheduleAtFixedRate(task, initialDelay, task.intervalMillis, TimeUnit.MILLISECONDS);
+			log.debug("Collector " + task.name + " scheduled every " + task.intervalMillis + " ms, first run in " + initialDelay + " ms");
+		}
+	}
+
+	/**
+	 * 停止调度：不再开始新的采集，等待正在执行的采集结束，超时后中断
+	 * @Methods Name shutdown
+	 * @Create In 2026年10月18日 By Jack
+	 * @param timeoutMillis 等待正在执行的采集结束的最长时间（毫秒）
+	 * @return 是否在超时前全部结束
+	 */
+	public boolean shutdown(long timeoutMillis) {
+		final ScheduledThreadPoolExecutor current;
+		synchronized (this) {
+			stopped = true;
+			current = executor;
+		}
+		if (current == null) {
+			return true;
+		}
+		current.shutdown();
+		try {
+			if (current.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		current.shutdownNow();
+		return false;
+	}
+
+	/**
+	 * @Return the boolean stopped
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * 各采集任务的执行统计
+	 * @Methods Name getMetrics
+	 * @Create In 2026年10月18日 By Jack
+	 * @return List<Metrics>
+	 */
+	public synchronized List<Metrics> getMetrics() {
+		final List<Metrics> result = new ArrayList<Metrics>(tasks.size());
+		for (final Task task : tasks) {
+			result.add(task.metrics());
+		}
+		return result;
+	}
+
+	private static final class Task implements Runnable {
+
+		final String name;
+
+		final long intervalMillis;
+
+		private final long intervalNanos;
+
+		private final Runnable collector;
+
+		private final AtomicLong runs = new AtomicLong();
+
+		private final AtomicLong failures = new AtomicLong();
+
+		private final AtomicLong overruns = new AtomicLong();
+
+		private final AtomicLong totalNanos = new AtomicLong();
+
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private volatile long lastNanos;
+
+		private volatile long lastStartMillis;
+
+		Task(String name, long intervalMillis, Runnable collector) {
+			super();
+			this.name = name;
+			this.intervalMillis = intervalMillis;
+			this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+			this.collector = collector;
+		}
+
+		@Override
+		public void run() {
+			lastStartMillis = System.currentTimeMillis();
+			final long start = System.nanoTime();
+			try {
+				collector.run();
+			} catch (Throwable t) {
+				// 不向外抛出，否则 ScheduledThreadPoolExecutor 会取消后续执行
+				failures.incrementAndGet();
+				log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001020") + name);
+				log.error("Details: " + t.getMessage(), t);
+			} finally {
+				final long duration = System.nanoTime() - start;
+				runs.incrementAndGet();
+				totalNanos.addAndGet(duration);
+				lastNanos = duration;
+				long max = maxNanos.get();
+				while (duration > max && !maxNanos.compareAndSet(max, duration)) {
+					max = maxNanos.get();
+				}
+				if (duration > intervalNanos) {
+					overruns.incrementAndGet();
+					log.warn(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001021") + name + " ("
+						+ TimeUnit.NANOSECONDS.toMillis(duration) + " ms > " + intervalMillis + " ms)");
+				}
+			}
+		}
+
+		Metrics metrics() {
+			return new Metrics(name, intervalMillis, runs.get(), failures.get(), overruns.get(), lastStartMillis,
+				TimeUnit.NANOSECONDS.toMillis(lastNanos), TimeUnit.NANOSECONDS.toMillis(maxNanos.get()),
+				TimeUnit.NANOSECONDS.toMillis(totalNanos.get()));
+		}
+	}
+
+	/**
+	 * 单个采集任务的执行统计
+	 *
+	 * @Class Name Metrics
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Metrics {
+
+		private final String name;
+
+		private final long intervalMillis;
+
+		private final long runs;
+
+		private final long failures;
+
+		private final long overruns;
+
+		private final long lastStartMillis;
+
+		private final long lastDurationMillis;
+
+		private final long maxDurationMillis;
+
+		private final long totalDurationMillis;
+
+		Metrics(String name, long intervalMillis, long runs, long failures, long overruns, long lastStartMillis, long lastDurationMillis,
+			long maxDurationMillis, long totalDurationMillis) {
+			super();
+			this.name = name;
+			this.intervalMillis = intervalMillis;
+			this.runs = runs;
+			this.failures = failures;
+			this.overruns = overruns;
+			this.lastStartMillis = lastStartMillis;
+			this.lastDurationMillis = lastDurationMillis;
+			this.maxDurationMillis = maxDurationMillis;
+			this.totalDurationMillis = totalDurationMillis;
+		}
+
+		/**
+		 * @Return the String name, 任务名称
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @Return the long intervalMillis, 采集间隔
+		 */
+		public long getIntervalMillis() {
+			return intervalMillis;
+		}
+
+		/**
+		 * @Return the long runs, 累计执行次数
+		 */
+		public long getRuns() {
+			return runs;
+		}
+
+		/**
+		 * @Return the long failures, 累计抛出异常的次数
+		 */
+		public long getFailures() {
+			return failures;
+		}
+
+		/**
+		 * @Return the long overruns, 累计执行时间超过采集间隔的次数
+		 */
+		public long getOverruns() {
+			return overruns;
+		}
+
+		/**
+		 * @Return the long lastStartMillis, 最近一次开始执行的时间，未执行过时为0
+		 */
+		public long getLastStartMillis() {
+			return lastStartMillis;
+		}
+
+		/**
+		 * @Return the long lastDurationMillis, 最近一次执行耗时
+		 */
+		public long getLastDurationMillis() {
+			return lastDurationMillis;
+		}
+
+		/**
+		 * @Return the long maxDurationMillis, 最长执行耗时
+		 */
+		public long getMaxDurationMillis() {
+			return maxDurationMillis;
+		}
+
+		/**
+		 * @Return the long totalDurationMillis, 累计执行耗时
+		 */
+		public long getTotalDurationMillis() {
+			return totalDurationMillis;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[name=" + name + ", interval=" + intervalMillis + ", runs=" + runs + ", failures=" + failures
+				+ ", overruns=" + overruns + ", last=" + lastDurationMillis + ", max=" + maxDurationMillis + ", total=" + totalDurationMillis + ']';
+		}
+	}
+}
@@ -7,11 +7,23 @@
  */
 package com.jack.netty.servlet.handler.factory;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.Future;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.jack.netty.servlet.conf.EnvPropertyConfig;
+import com.jack.netty.servlet.conf.Parameters;
 import com.jack.netty.servlet.conf.SystemPropertyConfig;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -23,53 +35,497 @@ import com.jack.netty.servlet.conf.Constant;
 
 /**
  * kafka 工具类
+ *
+ * 发送为异步：sendMsgToTopic 只把消息放入有界队列即返回，由后台发送线程交给 Producer，
+ * 发送结果通过回调计数，采集线程（同时负责 ZK 心跳）不会因为 Kafka 变慢而阻塞。
+ * 队列满时按 system.setting.kafka.queue.overflow 丢弃最新（drop-newest，默认）或最旧（drop-oldest）的消息。
+ * 配置了本地缓存（system.setting.kafka.spool.max.size 大于 0）时，队列满时被挤出的消息、发送失败的消息及停止时未发出的消息
+ * 写入 KafkaSpool 而不是丢弃，由后台重发线程在队列空闲时按写入顺序逐条重发，失败后按指数退避等待 Kafka 恢复。
+ * shutdown 之后不再启动（Monitor.destroy 之后到达的上报不会重新创建 Producer 和后台线程），这些消息写入还没有关闭的缓存或计入丢弃。
+ *
+ * 可以通过 start(Producer) 传入进程内的替身 Producer 验证发送流程，不需要连接 Kafka。
+ *
  * @Class Name KafkaConnectManager
  * @Author Jack
  * @Create In 2016年4月6日
  */
 public class KafkaConnectManager {
-	
+
 	private static Logger log = LoggerFactory.getLogger(KafkaConnectManager.class);
-	private static KafkaProducer<String, String> kp;
-	
-	private static KafkaProducer<String, String> getProducer() {
-		if (kp == null) {
-			SystemPropertyConfig.init();
-			Properties props = new Properties();
-			props.put("bootstrap.servers", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_BOOTSTRAP_SERVER));
-			props.put("acks", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_ACKS, "1"));
-			props.put("retries", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RETRIES, "0"));
-			props.put("batch.size", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_BATCH_SIZE, "16384"));
-			props.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-			props.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-			kp = new KafkaProducer<String, String>(props);
-		}
-		return kp;
+
+	// 后台线程每轮最多从队列取出的消息数
+	private static final int DRAIN_MAX = 64;
+
+	// 重发等待 Kafka 确认的最长时间
+	private static final long REPLAY_TIMEOUT_MILLIS = 30000;
+
+	// 重发失败后的退避时间范围，缓存为空时按最小间隔检查
+	private static final long REPLAY_MIN_BACKOFF_MILLIS = 1000;
+
+	private static final long REPLAY_MAX_BACKOFF_MILLIS = 60000;
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final AtomicLong QUEUED = new AtomicLong();
+
+	private static final AtomicLong SENT = new AtomicLong();
+
+	private static final AtomicLong FAILED = new AtomicLong();
+
+	private static final AtomicLong DROPPED = new AtomicLong();
+
+	private static final Callback COMPLETION = new Callback() {
+		@Override
+		public void onCompletion(RecordMetadata metadata, Exception exception) {
+			if (exception == null) {
+				SENT.incrementAndGet();
+				if (log.isDebugEnabled()) {
+					log.debug("message send to partition " + metadata.partition() + ", offset: " + metadata.offset());
+				}
+			} else {
+				FAILED.incrementAndGet();
+				log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001018"));
+				log.error("Details: " + exception.getMessage());
+			}
+		}
+	};
+
+	private static volatile KafkaSpool spool;
+
+	private static volatile Producer<String, byte[]> kp;
+
+	private static volatile BlockingQueue<ProducerRecord<String, byte[]>> queue;
+
+	private static volatile boolean dropOldest;
+
+	private static volatile boolean running;
+
+	// shutdown 之后为 true，不再启动
+	private static volatile boolean closed;
+
+	private static Thread sender;
+
+	private static Thread replayer;
+
+	private static KafkaProducer<String, byte[]> createProducer() {
+		SystemPropertyConfig.init();
+		Properties props = new Properties();
+		props.put("bootstrap.servers", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_BOOTSTRAP_SERVER));
+		props.put("acks", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_ACKS, "1"));
+		props.put("retries", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_RETRIES, "0"));
+		props.put("batch.size", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_BATCH_SIZE, "16384"));
+		props.put("linger.ms", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_LINGER_MS, "50"));
+		props.put("compression.type", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_COMPRESSION_TYPE, "gzip"));
+		props.put("buffer.memory", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_BUFFER_MEMORY, "8388608"));
+		props.put("metadata.fetch.timeout.ms", SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_METADATA_FETCH_TIMEOUT, "5000"));
+		// 缓冲区满时立即失败计数，不阻塞发送线程
+		props.put("block.on.buffer.full", "false");
+		props.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+		// 消息内容由 PayloadFormat 编码为字节，JSON 时与原先 StringSerializer 的内容相同
+		props.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
+		return new KafkaProducer<String, byte[]>(props);
+	}
+
+	/**
+	 * 启动发送线程，使用按配置创建的 KafkaProducer
+	 * @Methods Name start
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public static void start() {
+		start(null);
+	}
+
+	/**
+	 * 启动发送线程，已启动或已经 shutdown 时忽略
+	 * @Methods Name start
+	 * @Create In 2026年10月18日 By Jack
+	 * @param producer 使用的 Producer，为 null 时按配置创建 KafkaProducer
+	 */
+	public static synchronized void start(Producer<String, byte[]> producer) {
+		if (running || closed) {
+			return;
+		}
+		SystemPropertyConfig.init();
+		final int capacity = Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_QUEUE_CAPACITY, "100"));
+		dropOldest = Constant.SYSTEM_SEETING_KAFKA_QUEUE_OVERFLOW_DROP_OLDEST.equalsIgnoreCase(
+			SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_QUEUE_OVERFLOW, Constant.SYSTEM_SEETING_KAFKA_QUEUE_OVERFLOW_DROP_NEWEST));
+		if (spool == null) {
+			// 先打开缓存，创建 Producer 失败时消息也能写入缓存
+			spool = openSpool();
+		}
+		kp = producer == null ? createProducer() : producer;
+		queue = new ArrayBlockingQueue<ProducerRecord<String, byte[]>>(capacity);
+		running = true;
+		sender = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				drainLoop();
+			}
+		}, "orion-monitor-kafka-sender");
+		sender.setDaemon(true);
+		sender.start();
+		if (spool != null) {
+			replayer = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					replayLoop();
+				}
+			}, "orion-monitor-kafka-replayer");
+			replayer.setDaemon(true);
+			replayer.start();
+		}
+	}
+
+	private static KafkaSpool openSpool() {
+		final long maxSize = Long.parseLong(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_SPOOL_MAX_SIZE, "67108864"));
+		if (maxSize <= 0) {
+			return null;
+		}
+		final int segmentSize = Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_KAFKA_SPOOL_SEGMENT_SIZE, "4194304"));
+		final File directory = new File(Parameters.getStorageDirectory(Parameters.getCurrentApplication()), "kafka-spool");
+		try {
+			return new KafkaSpool(directory, maxSize, segmentSize);
+		} catch (IOException e) {
+			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001025") + e.getMessage());
+			return null;
+		}
 	}
 
 	/**
-	 * 发送信息到 Kafka
+	 * 停止发送线程：发送线程把队列中的消息交给 Producer 后关闭 Producer（关闭时会发送已缓冲的消息），
+	 * 之后不再启动
+	 * @Methods Name shutdown
+	 * @Create In 2026年10月18日 By Jack
+	 * @param timeoutMillis 等待发送线程结束（包括关闭 Producer）的最长时间
+	 */
+	public static void shutdown(long timeoutMillis) {
+		final Thread thread;
+		final Thread replayThread;
+		final BlockingQueue<ProducerRecord<String, byte[]>> q;
+		synchronized (KafkaConnectManager.class) {
+			closed = true;
+			if (!running) {
+				return;
+			}
+			running = false;
+			thread = sender;
+			replayThread = replayer;
+			q = queue;
+			sender = null;
+			replayer = null;
+		}
+		if (replayThread != null) {
+			// 正在等待的重发在下次启动时再发送
+			replayThread.interrupt();
+		}
+		try {
+			// Kafka 0.8.2 的 Producer.close 没有超时，在发送线程上关闭，这里只等待有限的时间
+			thread.join(timeoutMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (thread.isAlive()) {
+			thread.interrupt();
+		}
+		// 未能发出的消息写入缓存，没有缓存时计入丢弃
+		drainToSpool(q);
+		// Producer 关闭时发送失败的消息也已写入缓存；超时后发送线程再写入的消息因缓存已关闭而不再保存
+		synchronized (KafkaConnectManager.class) {
+			if (spool != null) {
+				spool.close();
+				spool = null;
+			}
+		}
+	}
+
+	private static void drainToSpool(BlockingQueue<ProducerRecord<String, byte[]>> q) {
+		final List<ProducerRecord<String, byte[]>> remaining = new ArrayList<ProducerRecord<String, byte[]>>();
+		q.drainTo(remaining);
+		for (final ProducerRecord<String, byte[]> record : remaining) {
+			if (!spool(record)) {
+				DROPPED.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * 发送信息到 Kafka，消息放入发送队列后立即返回
 	 * @Methods Name sendMsgToTopic
 	 * @Create In 2016年4月6日 By Jack
 	 * @param topic 指定的Topic
 	 * @param key   消息的 Key
 	 * @param msg   消息内容
-	 * @return
+	 * @return 是否放入发送队列，队列已满且丢弃的是本条消息时返回 false
 	 */
 	public static boolean sendMsgToTopic(String topic, final String key, final String msg) {
-		Producer<String, String> producer = getProducer();
-		boolean result = false;
-		
-		ProducerRecord<String, String> record = new ProducerRecord<String, String>(topic, key, msg);
-		try{
-			Future<RecordMetadata> future = producer.send(record);
-			log.debug("message send to partition " + future.get().partition() + ", offset: " + future.get().offset());
-			result = true;
-		}catch(Exception e){
+		return sendMsgToTopic(topic, key, msg.getBytes(UTF_8));
+	}
+
+	/**
+	 * 发送已编码的信息到 Kafka，消息放入发送队列后立即返回
+	 * @Methods Name sendMsgToTopic
+	 * @Create In 2026年10月18日 By Jack
+	 * @param topic 指定的Topic
+	 * @param key   消息的 Key
+	 * @param payload 消息内容，见 PayloadFormat
+	 * @return 是否放入发送队列，队列已满且丢弃的是本条消息时返回 false
+	 */
+	public static boolean sendMsgToTopic(String topic, final String key, final byte[] payload) {
+		final ProducerRecord<String, byte[]> record = new ProducerRecord<String, byte[]>(topic, key, payload);
+		if (closed) {
+			// 已经 shutdown，不再启动；shutdown 完成之前缓存仍然打开
+			if (spool(record)) {
+				return true;
+			}
+			DROPPED.incrementAndGet();
+			return false;
+		}
+		if (!running) {
+			try {
+				start();
+			} catch (Exception e) {
+				log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001018"));
+				log.error("Details: " + e.getMessage());
+				if (spool(record)) {
+					return true;
+				}
+				DROPPED.incrementAndGet();
+				return false;
+			}
+		}
+		final BlockingQueue<ProducerRecord<String, byte[]>> q = queue;
+		if (q == null) {
+			// start 与 shutdown 并发，shutdown 在启动之前完成
+			DROPPED.incrementAndGet();
+			return false;
+		}
+		if (q.offer(record)) {
+			QUEUED.incrementAndGet();
+			if (closed) {
+				// 与 shutdown 并发，队列可能已经被 shutdown 取空，剩下的消息由这里处理
+				drainToSpool(q);
+			}
+			return true;
+		}
+		if (dropOldest) {
+			// 腾出位置给最新的统计，旧的统计写入缓存，没有缓存时丢弃（会被下一次上报覆盖）
+			while (!q.offer(record)) {
+				final ProducerRecord<String, byte[]> oldest = q.poll();
+				if (oldest != null && !spool(oldest)) {
+					DROPPED.incrementAndGet();
+				}
+			}
+			QUEUED.incrementAndGet();
+			log.warn(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001019"));
+			return true;
+		}
+		if (spool(record)) {
+			return true;
+		}
+		DROPPED.incrementAndGet();
+		log.warn(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001019"));
+		log.debug("Kafka Msg: " + key);
+		return false;
+	}
+
+	/**
+	 * 写入本地缓存，等待重发
+	 * @return 是否写入，没有配置缓存时返回 false
+	 */
+	private static boolean spool(ProducerRecord<String, byte[]> record) {
+		final KafkaSpool s = spool;
+		if (s == null || !s.append(record.topic(), record.key(), record.value())) {
+			return false;
+		}
+		log.warn(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001023"));
+		return true;
+	}
+
+	/**
+	 * @return 发送计数快照
+	 */
+	public static Metrics getMetrics() {
+		final BlockingQueue<ProducerRecord<String, byte[]>> q = queue;
+		return new Metrics(q == null ? 0 : q.size(), QUEUED.get(), SENT.get(), FAILED.get(), DROPPED.get());
+	}
+
+	/**
+	 * @return 本地缓存计数快照，没有配置缓存或已停止时为 null
+	 */
+	public static KafkaSpool.Metrics getSpoolMetrics() {
+		final KafkaSpool s = spool;
+		return s == null ? null : s.getMetrics();
+	}
+
+	private static void drainLoop() {
+		final List<ProducerRecord<String, byte[]>> batch = new ArrayList<ProducerRecord<String, byte[]>>(DRAIN_MAX);
+		final BlockingQueue<ProducerRecord<String, byte[]>> q = queue;
+		final Producer<String, byte[]> producer = kp;
+		try {
+			while (running || !q.isEmpty()) {
+				final ProducerRecord<String, byte[]> first = q.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				q.drainTo(batch, DRAIN_MAX - 1);
+				for (final ProducerRecord<String, byte[]> record : batch) {
+					send(producer, record);
+				}
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			// 停止后关闭 Producer（会发送已缓冲的消息），shutdown 只等待有限的时间
+			try {
+				producer.close();
+			} catch (Exception e) {
+				log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001018"));
+				log.error("Details: " + e.getMessage());
+			}
+		}
+	}
+
+	private static void send(Producer<String, byte[]> producer, ProducerRecord<String, byte[]> record) {
+		try {
+			// 只在发送线程上可能因获取元数据而等待，结果由回调计数；有缓存时失败的消息在回调中写入缓存
+			producer.send(record, spool == null ? COMPLETION : new SpoolingCallback(record));
+		} catch (Exception e) {
+			FAILED.incrementAndGet();
 			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001018"));
 			log.error("Details: " + e.getMessage());
-			log.error("Kafka Msg: " + key + ":" + msg);
+			spool(record);
+		}
+	}
+
+	/**
+	 * 重发线程：发送队列为空时逐条重发缓存中最早的消息，等待确认后再发下一条以保持顺序；
+	 * 失败时保留在缓存中，退避时间从 1 秒起加倍，最长 60 秒，成功后恢复
+	 */
+	private static void replayLoop() {
+		final BlockingQueue<ProducerRecord<String, byte[]>> q = queue;
+		final Producer<String, byte[]> producer = kp;
+		final KafkaSpool s = spool;
+		long backoff = REPLAY_MIN_BACKOFF_MILLIS;
+		try {
+			while (running) {
+				final KafkaSpool.Record record = q.isEmpty() ? s.peek() : null;
+				if (record == null) {
+					Thread.sleep(REPLAY_MIN_BACKOFF_MILLIS);
+					continue;
+				}
+				try {
+					producer.send(new ProducerRecord<String, byte[]>(record.getTopic(), record.getKey(), record.getPayload()))
+						.get(REPLAY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+					s.commit(record);
+					backoff = REPLAY_MIN_BACKOFF_MILLIS;
+				} catch (ExecutionException e) {
+					log.debug("Kafka replay failed: " + e.getCause());
+					Thread.sleep(backoff);
+					backoff = Math.min(backoff * 2, REPLAY_MAX_BACKOFF_MILLIS);
+				} catch (TimeoutException e) {
+					log.debug("Kafka replay timeout");
+					Thread.sleep(backoff);
+					backoff = Math.min(backoff * 2, REPLAY_MAX_BACKOFF_MILLIS);
+				} catch (RuntimeException e) {
+					log.debug("Kafka replay failed: " + e);
+					Thread.sleep(backoff);
+					backoff = Math.min(backoff * 2, REPLAY_MAX_BACKOFF_MILLIS);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 发送失败时把消息写入缓存的回调
+	 */
+	private static final class SpoolingCallback implements Callback {
+
+		private final ProducerRecord<String, byte[]> record;
+
+		SpoolingCallback(ProducerRecord<String, byte[]> record) {
+			super();
+			this.record = record;
+		}
+
+		@Override
+		public void onCompletion(RecordMetadata metadata, Exception exception) {
+			COMPLETION.onCompletion(metadata, exception);
+			if (exception != null) {
+				spool(record);
+			}
+		}
+	}
+
+	/**
+	 * Kafka 发送计数
+	 * @Class Name Metrics
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Metrics {
+
+		private final int pending;
+
+		private final long queued;
+
+		private final long sent;
+
+		private final long failed;
+
+		private final long dropped;
+
+		Metrics(int pending, long queued, long sent, long failed, long dropped) {
+			super();
+			this.pending = pending;
+			this.queued = queued;
+			this.sent = sent;
+			this.failed = failed;
+			this.dropped = dropped;
+		}
+
+		/**
+		 * @Return the int pending, 当前队列中等待发送的消息数
+		 */
+		public int getPending() {
+			return pending;
+		}
+
+		/**
+		 * @Return the long queued, 累计放入队列的消息数
+		 */
+		public long getQueued() {
+			return queued;
+		}
+
+		/**
+		 * @Return the long sent, 累计发送成功的消息数
+		 */
+		public long getSent() {
+			return sent;
+		}
+
+		/**
+		 * @Return the long failed, 累计发送失败的消息数
+		 */
+		public long getFailed() {
+			return failed;
+		}
+
+		/**
+		 * @Return the long dropped, 累计因队列已满或停止时未发出而丢弃的消息数
+		 */
+		public long getDropped() {
+			return dropped;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[pending=" + pending + ", queued=" + queued + ", sent=" + sent + ", failed=" + failed + ", dropped=" + dropped + ']';
 		}
-		return result;
 	}
 }
@@ -0,0 +1,585 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.handler.factoryKafkaSpool.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:36:52
+ * TODO
+ */
+package com.jack.netty.servlet.handler.factory;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jack.netty.servlet.conf.EnvPropertyConfig;
+
+/**
+ * Kafka 不可用时的本地缓存（spool），恢复后由 KafkaConnectManager 按写入顺序重新发送
+ *
+ * 只追加的分段日志，每段为一个内存映射文件 spool-序号.seg，写满后新建下一段；所有段的总大小超过上限时删除最旧的段（其中未发送的消息计入 evicted）。
+ * 每条消息为 [int 长度][int CRC32][int topic 长度][topic][int key 长度，null 为 -1][key][消息内容]，
+ * 先写内容和 CRC，最后写长度；长度为 0 表示段内没有更多消息。发送成功后把长度改为负数，段内的消息都已发送后删除该段。
+ *
+ * 启动时按序号扫描已有的段，遇到长度越界或 CRC 不符（进程崩溃时写了一半的消息）即截断，其后的内容清零，之前的消息保留并继续重发。
+ * 写入只经过页缓存：进程崩溃不会丢失已写入的消息，操作系统崩溃时可能丢失最近的消息；换段及关闭时 force 到磁盘。
+ * 重发为至少一次：已发送但未来得及标记的消息在重启后会再次发送。
+ *
+ * 线程安全，所有方法同步调用。
+ *
+ * @Class Name KafkaSpool
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class KafkaSpool {
+
+	private static Logger log = LoggerFactory.getLogger(KafkaSpool.class);
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final String SEGMENT_PREFIX = "spool-";
+
+	private static final String SEGMENT_SUFFIX = ".seg";
+
+	// 长度及 CRC
+	private static final int HEADER_SIZE = 8;
+
+	private static final FilenameFilter SEGMENT_FILTER = new FilenameFilter() {
+		@Override
+		public boolean accept(File dir, String name) {
+			return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+		}
+	};
+
+	private final File directory;
+
+	private final long maxSize;
+
+	private final int segmentSize;
+
+	// 按序号从旧到新，最后一段为写入段
+	private final List<Segment> segments = new ArrayList<Segment>();
+
+	private final CRC32 crc = new CRC32();
+
+	private long nextSequence;
+
+	private long totalSize;
+
+	private long pending;
+
+	private long spooled;
+
+	private long replayed;
+
+	private long evicted;
+
+	private long truncated;
+
+	// 本轮重发（缓存从非空到清空）的开始时间及已重发数，用于计算重发速率
+	private long replayStartMillis;
+
+	private long replayedInRun;
+
+	private long replayRateMillis;
+
+	private long replayRateCount;
+
+	private boolean closed;
+
+	/**
+	 * 打开缓存目录，恢复已有的段
+	 * @param directory 缓存目录，不存在时创建
+	 * @param maxSize 所有段的总大小上限（字节）
+	 * @param segmentSize 每段的大小（字节），大于此大小的消息单独一段
+	 * @throws IOException 目录无法创建或段文件无法读写
+	 */
+	public KafkaSpool(File directory, long maxSize, int segmentSize) throws IOException {
+		super();
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.segmentSize = (int) Math.min(segmentSize, maxSize);
+		if (!directory.mkdirs() && !directory.isDirectory()) {
+			throw new IOException("Can not create spool directory " + directory);
+		}
+		recover();
+	}
+
+	private void recover() throws IOException {
+		final File[] files = directory.listFiles(SEGMENT_FILTER);
+		if (files == null) {
+			return;
+		}
+		// 序号为定长数字，按文件名排序即按写入顺序
+		Arrays.sort(files);
+		for (final File file : files) {
+			final long sequence;
+			try {
+				sequence = Long.parseLong(file.getName().substring(SEGMENT_PREFIX.length(), file.getName().length() - SEGMENT_SUFFIX.length()));
+			} catch (NumberFormatException e) {
+				continue;
+			}
+			final Segment segment = new Segment(file, map(file, file.length()));
+			scan(segment);
+			nextSequence = Math.max(nextSequence, sequence + 1);
+			if (segment.pending == 0) {
+				segment.delete();
+			} else {
+				segments.add(segment);
+				totalSize += segment.capacity();
+				pending += segment.pending;
+			}
+		}
+		if (pending > 0) {
+			log.warn("Kafka spool recovered " + pending + " messages in " + directory);
+		}
+	}
+
+	/**
+	 * 扫描段内的消息，确定写入位置、读取位置及未发送数，截断写了一半的消息
+	 */
+	private void scan(Segment segment) {
+		final MappedByteBuffer buffer = segment.buffer;
+		final int limit = buffer.capacity();
+		byte[] body = new byte[0];
+		int position = 0;
+		int readPosition = -1;
+		boolean corrupt = false;
+		while (position + HEADER_SIZE <= limit) {
+			final int length = buffer.getInt(position);
+			if (length == 0) {
+				break;
+			}
+			final int size = Math.abs(length);
+			if (length == Integer.MIN_VALUE || size > limit - position - HEADER_SIZE) {
+				corrupt = true;
+				break;
+			}
+			if (body.length < size) {
+				body = new byte[size];
+			}
+			buffer.position(position + HEADER_SIZE);
+			buffer.get(body, 0, size);
+			crc.reset();
+			crc.update(body, 0, size);
+			if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+				corrupt = true;
+				break;
+			}
+			if (length > 0) {
+				segment.pending++;
+				if (readPosition < 0) {
+					readPosition = position;
+				}
+			}
+			position += HEADER_SIZE + size;
+		}
+		if (corrupt) {
+			truncated++;
+			log.warn("Kafka spool truncated " + segment.file + " at " + position);
+			// 清零其后的内容，避免之后追加的消息后面紧跟着旧内容
+			for (int i = position; i < limit; i++) {
+				buffer.put(i, (byte) 0);
+			}
+		}
+		segment.writePosition = position;
+		segment.readPosition = readPosition < 0 ? position : readPosition;
+	}
+
+	private static MappedByteBuffer map(File file, long size) throws IOException {
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			// 映射在关闭文件后仍然有效
+			return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * 追加一条消息
+	 * @Methods Name append
+	 * @Create In 2026年10月18日 By Jack
+	 * @param topic 消息的 Topic
+	 * @param key 消息的 Key，可以为 null
+	 * @param payload 消息内容
+	 * @return 是否写入，已关闭、消息超过总大小上限或写入失败时返回 false
+	 */
+	public synchronized boolean append(String topic, String key, byte[] payload) {
+		if (closed) {
+			return false;
+		}
+		final byte[] topicBytes = topic.getBytes(UTF_8);
+		final byte[] keyBytes = key == null ? null : key.getBytes(UTF_8);
+		final long bodySize = 8L + topicBytes.length + (keyBytes == null ? 0 : keyBytes.length) + payload.length;
+		if (HEADER_SIZE + bodySize > Math.min(maxSize, Integer.MAX_VALUE)) {
+			evicted++;
+			return false;
+		}
+		final int size = (int) bodySize;
+		try {
+			final Segment segment = writableSegment(size);
+			final MappedByteBuffer buffer = segment.buffer;
+			final int position = segment.writePosition;
+			buffer.position(position + HEADER_SIZE);
+			buffer.putInt(topicBytes.length);
+			buffer.put(topicBytes);
+			buffer.putInt(keyBytes == null ? -1 : keyBytes.length);
+			if (keyBytes != null) {
+				buffer.put(keyBytes);
+			}
+			buffer.put(payload);
+			crc.reset();
+			updateInt(topicBytes.length);
+			crc.update(topicBytes);
+			updateInt(keyBytes == null ? -1 : keyBytes.length);
+			if (keyBytes != null) {
+				crc.update(keyBytes);
+			}
+			crc.update(payload);
+			buffer.putInt(position + 4, (int) crc.getValue());
+			// 最后写长度，之前崩溃时这条消息不可见
+			buffer.putInt(position, size);
+			segment.writePosition = position + HEADER_SIZE + size;
+			segment.pending++;
+			pending++;
+			spooled++;
+			return true;
+		} catch (IOException e) {
+			log.error(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001025") + e.getMessage());
+			return false;
+		}
+	}
+
+	private void updateInt(int value) {
+		crc.update(value >>> 24);
+		crc.update(value >>> 16);
+		crc.update(value >>> 8);
+		crc.update(value);
+	}
+
+	/**
+	 * 返回能写入 size 字节消息的段，当前段不够时新建一段，必要时删除最旧的段
+	 */
+	private Segment writableSegment(int size) throws IOException {
+		final Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+		if (last != null && last.capacity() - last.writePosition >= HEADER_SIZE + size) {
+			return last;
+		}
+		if (last != null) {
+			last.buffer.force();
+		}
+		final long capacity = Math.max(segmentSize, HEADER_SIZE + size);
+		while (!segments.isEmpty() && totalSize + capacity > maxSize) {
+			final Segment oldest = segments.remove(0);
+			totalSize -= oldest.capacity();
+			pending -= oldest.pending;
+			evicted += oldest.pending;
+			oldest.delete();
+			log.warn(EnvPropertyConfig.getContextProperty("env.setting.server.error.00001024") + oldest.pending);
+		}
+		final File file = new File(directory, String.format("%s%019d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+		final Segment segment = new Segment(file, map(file, capacity));
+		segments.add(segment);
+		totalSize += capacity;
+		return segment;
+	}
+
+	/**
+	 * 返回最早的未发送消息，不从缓存中删除，发送成功后调用 commit
+	 * @Methods Name peek
+	 * @Create In 2026年10月18日 By Jack
+	 * @return Record，没有未发送的消息时为 null
+	 */
+	public synchronized Record peek() {
+		while (!closed && !segments.isEmpty()) {
+			final Segment segment = segments.get(0);
+			final MappedByteBuffer buffer = segment.buffer;
+			while (segment.readPosition < segment.writePosition) {
+				final int position = segment.readPosition;
+				final int length = buffer.getInt(position);
+				if (length > 0) {
+					return read(segment, position, length);
+				}
+				segment.readPosition = position + HEADER_SIZE - length;
+			}
+			if (segments.size() == 1) {
+				return null;
+			}
+			// 不是写入段且已读完，其中的消息都已发送
+			segments.remove(0);
+			totalSize -= segment.capacity();
+			pending -= segment.pending;
+			segment.delete();
+		}
+		return null;
+	}
+
+	private Record read(Segment segment, int position, int length) {
+		final MappedByteBuffer buffer = segment.buffer;
+		buffer.position(position + HEADER_SIZE);
+		final byte[] topic = new byte[buffer.getInt()];
+		buffer.get(topic);
+		final int keyLength = buffer.getInt();
+		final byte[] key = keyLength < 0 ? null : new byte[keyLength];
+		if (key != null) {
+			buffer.get(key);
+		}
+		final byte[] payload = new byte[length - 8 - topic.length - (key == null ? 0 : key.length)];
+		buffer.get(payload);
+		return new Record(segment, position, length, new String(topic, UTF_8), key == null ? null : new String(key, UTF_8), payload);
+	}
+
+	/**
+	 * 标记消息已发送
+	 * @Methods Name commit
+	 * @Create In 2026年10月18日 By Jack
+	 * @param record peek 返回的消息
+	 */
+	public synchronized void commit(Record record) {
+		final Segment segment = record.segment;
+		// 段在此期间可能已被删除（超过上限）
+		if (closed || segments.isEmpty() || segments.get(0) != segment || segment.buffer.getInt(record.position) != record.length) {
+			return;
+		}
+		segment.buffer.putInt(record.position, -record.length);
+		segment.readPosition = record.position + HEADER_SIZE + record.length;
+		segment.pending--;
+		pending--;
+		replayed++;
+		final long now = System.currentTimeMillis();
+		if (replayedInRun == 0) {
+			replayStartMillis = now;
+		}
+		replayedInRun++;
+		replayRateMillis = now - replayStartMillis;
+		replayRateCount = replayedInRun;
+		if (pending == 0) {
+			replayedInRun = 0;
+		}
+		if (segment.pending == 0 && segments.size() > 1) {
+			segments.remove(0);
+			totalSize -= segment.capacity();
+			segment.delete();
+		}
+	}
+
+	/**
+	 * 写入磁盘并关闭，之后的 append 返回 false，未发送的消息在下次打开时恢复
+	 * @Methods Name close
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (final Segment segment : segments) {
+			segment.buffer.force();
+		}
+		segments.clear();
+	}
+
+	/**
+	 * @return 缓存计数快照
+	 */
+	public synchronized Metrics getMetrics() {
+		final double replayRate = replayRateMillis <= 0 ? 0 : replayRateCount * 1000d / replayRateMillis;
+		return new Metrics(pending, totalSize, segments.size(), spooled, replayed, evicted, truncated, replayRate);
+	}
+
+	/**
+	 * 段文件及其内存映射
+	 */
+	private static final class Segment {
+
+		private final File file;
+
+		private final MappedByteBuffer buffer;
+
+		private int writePosition;
+
+		private int readPosition;
+
+		private long pending;
+
+		Segment(File file, MappedByteBuffer buffer) {
+			super();
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+		int capacity() {
+			return buffer.capacity();
+		}
+
+		void delete() {
+			// 映射在 GC 时释放；Linux 下删除已映射的文件不受影响
+			if (!file.delete() && file.exists()) {
+				log.warn("Can not delete Kafka spool segment " + file);
+			}
+		}
+	}
+
+	/**
+	 * 缓存中的一条消息
+	 * @Class Name Record
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Record {
+
+		private final Segment segment;
+
+		private final int position;
+
+		private final int length;
+
+		private final String topic;
+
+		private final String key;
+
+		private final byte[] payload;
+
+		Record(Segment segment, int position, int length, String topic, String key, byte[] payload) {
+			super();
+			this.segment = segment;
+			this.position = position;
+			this.length = length;
+			this.topic = topic;
+			this.key = key;
+			this.payload = payload;
+		}
+
+		/**
+		 * @Return the String topic
+		 */
+		public String getTopic() {
+			return topic;
+		}
+
+		/**
+		 * @Return the String key
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * @Return the byte[] payload
+		 */
+		public byte[] getPayload() {
+			return payload;
+		}
+	}
+
+	/**
+	 * Kafka 本地缓存计数
+	 * @Class Name Metrics
+	 * @Author Jack
+	 * @Create In 2026年10月18日
+	 */
+	public static final class Metrics {
+
+		private final long pending;
+
+		private final long size;
+
+		private final int segments;
+
+		private final long spooled;
+
+		private final long replayed;
+
+		private final long evicted;
+
+		private final long truncated;
+
+		private final double replayRate;
+
+		Metrics(long pending, long size, int segments, long spooled, long replayed, long evicted, long truncated, double replayRate) {
+			super();
+			this.pending = pending;
+			this.size = size;
+			this.segments = segments;
+			this.spooled = spooled;
+			this.replayed = replayed;
+			this.evicted = evicted;
+			this.truncated = truncated;
+			this.replayRate = replayRate;
+		}
+
+		/**
+		 * @Return the long pending, 缓存中等待重发的消息数（缓存深度）
+		 */
+		public long getPending() {
+			return pending;
+		}
+
+		/**
+		 * @Return the long size, 所有段文件的总大小（字节）
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		/**
+		 * @Return the int segments, 段文件数
+		 */
+		public int getSegments() {
+			return segments;
+		}
+
+		/**
+		 * @Return the long spooled, 累计写入缓存的消息数
+		 */
+		public long getSpooled() {
+			return spooled;
+		}
+
+		/**
+		 * @Return the long replayed, 累计重发成功的消息数
+		 */
+		public long getReplayed() {
+			return replayed;
+		}
+
+		/**
+		 * @Return the long evicted, 累计因超过总大小上限而丢弃的消息数
+		 */
+		public long getEvicted() {
+			return evicted;
+		}
+
+		/**
+		 * @Return the long truncated, 启动时截断的段数（写了一半的消息）
+		 */
+		public long getTruncated() {
+			return truncated;
+		}
+
+		/**
+		 * @Return the double replayRate, 最近一轮重发的速率（条/秒）
+		 */
+		public double getReplayRate() {
+			return replayRate;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[pending=" + pending + ", size=" + size + ", segments=" + segments + ", spooled=" + spooled + ", replayed="
+				+ replayed + ", evicted=" + evicted + ", truncated=" + truncated + ", replayRate=" + Math.round(replayRate) + ']';
+		}
+	}
+}
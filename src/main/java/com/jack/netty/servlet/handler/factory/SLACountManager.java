@@ -7,210 +7,469 @@
  */
 package com.jack.netty.servlet.handler.factory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Date;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.jack.netty.servlet.conf.Constant;
 import com.jack.netty.servlet.conf.SystemPropertyConfig;
+import com.jack.netty.servlet.dto.SLAWindow;
+import com.jack.netty.servlet.util.StripedLongCells;
 
 /**
+ * SLA 计数器
+ *
+ * 所有计数保存在分段累加器中，过滤器热路径上的 record* 方法不分配对象、不在同一个变量上竞争 CAS，
+ * 采集线程通过 snapshot() 读取合计值。耗时按纳秒累加，快照中换算为毫秒。
+ *
+ * 累加器只在启动时清零，快照中的 total* 为启动以来单调递增的累计值，消费方可按任意两次快照的差计算任意窗口。
+ * sum* 为本次翻转以来的累计值：system.setting.sla.rollover=day（默认）时在本地零点翻转，
+ * 翻转只记录当时的累计值作为基准，不清零累加器；none 时不翻转，sum* 与 total* 相同。
+ *
+ * 另外每 5 秒把累计值的增量写入环形的桶（保存最近 15 分钟），并更新 1、5、15 分钟的 EWMA，见 window(int)。
+ * 推进由请求结束时的 recordOutbound 及读取方法顺带完成：热路径上只比较一次 nanoTime，到期时只有 CAS 成功的一个线程推进，
+ * 空闲期间跳过的桶在下一次推进时一次补齐。
+ *
  * @Class Name SLACountManager
  * @Author Jack
  * @Create In 2015年9月6日
  */
 public class SLACountManager {
-	
-	private static SLACountManager slam = null;
-	
-	private AtomicLong sumInboundRequestCounts;
-
-	private AtomicLong sumOutboundRequestCounts;
-
-	private AtomicLong sumDealRequestCounts;
-	
-	private AtomicLong sumErrDealRequestCounts;
-	
-	private AtomicLong sumErrDealRequestTime;
-
-	private AtomicLong sumDealRequestTime;
-	
-	private AtomicBoolean isDebug;
-	
-	private AtomicLong peerDealRequestTime;
-	
-	private Date peerDate;
-	
-	
-	public static void init(){
-		if(slam == null){
-			slam = new SLACountManager();
-			slam.setIsDebug(new AtomicBoolean(Boolean.valueOf(SystemPropertyConfig.getContextProperty("system.seeting.monitor.isDebug", "true")))); 
-			slam.setSumDealRequestCounts(new AtomicLong());
-			slam.setSumDealRequestTime(new AtomicLong());
-			slam.setSumInboundRequestCounts(new AtomicLong());
-			slam.setSumOutboundRequestCounts(new AtomicLong());
-			slam.setPeerDealRequestTime(new AtomicLong());
-			slam.setSumErrDealRequestCounts(new AtomicLong());
-			slam.setSumErrDealRequestTime(new AtomicLong());
-			slam.setPeerDate(new Date());
-		}else{
-			slam.setIsDebug(new AtomicBoolean(Boolean.valueOf(SystemPropertyConfig.getContextProperty("system.seeting.monitor.isDebug", "true")))); 
-			slam.setSumDealRequestCounts(new AtomicLong());
-			slam.setSumDealRequestTime(new AtomicLong());
-			slam.setSumInboundRequestCounts(new AtomicLong());
-			slam.setSumOutboundRequestCounts(new AtomicLong());
-			slam.setPeerDealRequestTime(new AtomicLong());
-			slam.setSumErrDealRequestCounts(new AtomicLong());
-			slam.setSumErrDealRequestTime(new AtomicLong());
-			slam.setPeerDate(new Date());
-		}
-	}
-	
-	public static SLACountManager instance(){
-		if(slam == null){
-			slam = new SLACountManager();
-			slam.setIsDebug(new AtomicBoolean(Boolean.valueOf(SystemPropertyConfig.getContextProperty("system.seeting.monitor.isDebug", "true")))); 
-			slam.setSumDealRequestCounts(new AtomicLong());
-			slam.setSumDealRequestTime(new AtomicLong());
-			slam.setSumInboundRequestCounts(new AtomicLong());
-			slam.setSumOutboundRequestCounts(new AtomicLong());
-			slam.setPeerDealRequestTime(new AtomicLong());
-			slam.setSumErrDealRequestCounts(new AtomicLong());
-			slam.setSumErrDealRequestTime(new AtomicLong());
-			slam.setPeerDate(new Date());
-			return slam;
-		}else{
-			return slam;
-		}
-	}
-
-	
-	
-	/**
-	 * @Return the AtomicLong sumErrDealRequestCounts
-	 */
-	public AtomicLong getSumErrDealRequestCounts() {
-		return sumErrDealRequestCounts;
+
+	private static final int INBOUND_COUNTS = 0;
+
+	private static final int OUTBOUND_COUNTS = 1;
+
+	private static final int DEAL_COUNTS = 2;
+
+	private static final int DEAL_TIME = 3;
+
+	private static final int ERR_DEAL_COUNTS = 4;
+
+	private static final int ERR_DEAL_TIME = 5;
+
+	private static final int COLUMNS = 6;
+
+	private static final int TICK_SECONDS = 5;
+
+	private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(TICK_SECONDS);
+
+	private static final int[] WINDOW_MINUTES = { 1, 5, 15 };
+
+	// 最长的窗口需要的桶数
+	private static final int BUCKETS = 15 * 60 / TICK_SECONDS;
+
+	// 桶及 EWMA 中的指标：处理完成的请求数、失败数、成功数、成功耗时（纳秒）
+	private static final int REQUESTS = 0;
+
+	private static final int ERRORS = 1;
+
+	private static final int DEALS = 2;
+
+	private static final int DEAL_NANOS = 3;
+
+	private static final int METRICS = 4;
+
+	// 每次推进的衰减系数：1 - e^(-5 秒 / 窗口长度)
+	private static final double[] ALPHAS = new double[WINDOW_MINUTES.length];
+
+	static {
+		for (int i = 0; i < WINDOW_MINUTES.length; i++) {
+			ALPHAS[i] = 1 - Math.exp(-(double) TICK_SECONDS / TimeUnit.MINUTES.toSeconds(WINDOW_MINUTES[i]));
+		}
 	}
 
-	/**
-	 * @Param AtomicLong sumErrDealRequestCounts to set
-	 */
-	public void setSumErrDealRequestCounts(AtomicLong sumErrDealRequestCounts) {
-		this.sumErrDealRequestCounts = sumErrDealRequestCounts;
+	private static final SLACountManager slam = new SLACountManager();
+
+	private final StripedLongCells cells = new StripedLongCells(COLUMNS);
+
+	// 当前桶的开始时间（nanoTime）
+	private final AtomicLong lastTick = new AtomicLong(System.nanoTime());
+
+	// 以下由 tick 在同步块内更新
+	private final long[][] buckets = new long[BUCKETS][METRICS];
+
+	private int head;
+
+	// 启动以来推进的次数，不足一个窗口时按实际经过的桶数计算
+	private long ticks;
+
+	private final long[] lastTotals = new long[COLUMNS];
+
+	private final double[][] ewmas = new double[WINDOW_MINUTES.length][METRICS];
+
+	private boolean ewmaInitialized;
+
+	// 上一次翻转时的累计值
+	private final long[] rolloverBase = new long[COLUMNS];
+
+	private volatile long nextRolloverMillis = Long.MAX_VALUE;
+
+	private volatile boolean dailyRollover;
+
+	private volatile boolean isDebug;
+
+	private volatile long peerDealRequestTime;
+
+	private volatile Date peerDate;
+
+	private SLACountManager() {
+		super();
+		this.peerDate = new Date();
 	}
 
 	/**
-	 * @Return the AtomicLong sumErrDealRequestTime
+	 * 重置所有计数（启动时调用）
+	 * @Methods Name init
+	 * @Create In 2015年9月6日 By Jack
 	 */
-	public AtomicLong getSumErrDealRequestTime() {
-		return sumErrDealRequestTime;
+	public static void init() {
+		slam.isDebug = Boolean.valueOf(SystemPropertyConfig.getContextProperty("system.seeting.monitor.isDebug", "true"));
+		slam.dailyRollover = !Constant.SYSTEM_SEETING_SLA_ROLLOVER_NONE.equalsIgnoreCase(
+			SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SLA_ROLLOVER, "day"));
+		slam.reset();
 	}
 
-	/**
-	 * @Param AtomicLong sumErrDealRequestTime to set
-	 */
-	public void setSumErrDealRequestTime(AtomicLong sumErrDealRequestTime) {
-		this.sumErrDealRequestTime = sumErrDealRequestTime;
+	private synchronized void reset() {
+		cells.reset();
+		for (final long[] bucket : buckets) {
+			Arrays.fill(bucket, 0L);
+		}
+		for (final double[] ewma : ewmas) {
+			Arrays.fill(ewma, 0d);
+		}
+		Arrays.fill(lastTotals, 0L);
+		Arrays.fill(rolloverBase, 0L);
+		head = 0;
+		ticks = 0;
+		ewmaInitialized = false;
+		lastTick.set(System.nanoTime());
+		peerDealRequestTime = 0;
+		final long now = System.currentTimeMillis();
+		peerDate = new Date(now);
+		nextRolloverMillis = dailyRollover ? nextMidnight(now) : Long.MAX_VALUE;
 	}
 
-	/**
-	 * @Return the AtomicLong sumInboundRequestCounts
-	 */
-	public AtomicLong getSumInboundRequestCounts() {
-		return sumInboundRequestCounts;
+	private static long nextMidnight(long now) {
+		final Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(now);
+		calendar.set(Calendar.HOUR_OF_DAY, 0);
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		calendar.add(Calendar.DAY_OF_MONTH, 1);
+		return calendar.getTimeInMillis();
 	}
 
-	/**
-	 * @Param AtomicLong sumInboundRequestCounts to set
-	 */
-	public void setSumInboundRequestCounts(AtomicLong sumInboundRequestCounts) {
-		this.sumInboundRequestCounts = sumInboundRequestCounts;
+	public static SLACountManager instance() {
+		return slam;
 	}
 
 	/**
-	 * @Return the AtomicLong sumOutboundRequestCounts
+	 * 记录一次入栈请求
+	 * @Methods Name recordInbound
+	 * @Create In 2026年10月18日 By Jack
 	 */
-	public AtomicLong getSumOutboundRequestCounts() {
-		return sumOutboundRequestCounts;
+	public void recordInbound() {
+		cells.add(INBOUND_COUNTS, 1);
 	}
 
 	/**
-	 * @Param AtomicLong sumOutboundRequestCounts to set
+	 * 记录一次出栈请求
+	 * @Methods Name recordOutbound
+	 * @Create In 2026年10月18日 By Jack
 	 */
-	public void setSumOutboundRequestCounts(AtomicLong sumOutboundRequestCounts) {
-		this.sumOutboundRequestCounts = sumOutboundRequestCounts;
+	public void recordOutbound() {
+		cells.add(OUTBOUND_COUNTS, 1);
+		tickIfNecessary();
 	}
 
 	/**
-	 * @Return the AtomicLong sumDealRequestCounts
+	 * 记录一次处理成功的请求
+	 * @Methods Name recordSuccess
+	 * @Create In 2026年10月18日 By Jack
+	 * @param durationNanos 处理耗时，纳秒
 	 */
-	public AtomicLong getSumDealRequestCounts() {
-		return sumDealRequestCounts;
+	public void recordSuccess(long durationNanos) {
+		cells.add(DEAL_COUNTS, 1);
+		cells.add(DEAL_TIME, durationNanos);
+		peerDealRequestTime = durationNanos;
 	}
 
 	/**
-	 * @Param AtomicLong sumDealRequestCounts to set
+	 * 记录一次处理失败的请求
+	 * @Methods Name recordError
+	 * @Create In 2026年10月18日 By Jack
+	 * @param durationNanos 处理耗时，纳秒
 	 */
-	public void setSumDealRequestCounts(AtomicLong sumDealRequestCounts) {
-		this.sumDealRequestCounts = sumDealRequestCounts;
+	public void recordError(long durationNanos) {
+		cells.add(ERR_DEAL_COUNTS, 1);
+		cells.add(ERR_DEAL_TIME, durationNanos);
+	}
+
+	private void tickIfNecessary() {
+		final long oldTick = lastTick.get();
+		final long newTick = System.nanoTime();
+		final long age = newTick - oldTick;
+		if (age >= TICK_NANOS && lastTick.compareAndSet(oldTick, newTick - age % TICK_NANOS)) {
+			tick(age / TICK_NANOS);
+		}
 	}
 
 	/**
-	 * @Return the AtomicLong sumDealRequestTime
+	 * 把上一次推进以来的增量写入最新的桶并更新 EWMA，到达零点时翻转
+	 * @param elapsed 经过的桶数，空闲期间大于 1
 	 */
-	public AtomicLong getSumDealRequestTime() {
-		return sumDealRequestTime;
+	private synchronized void tick(long elapsed) {
+		final long[] totals = readTotals();
+		final long deals = Math.max(0, totals[DEAL_COUNTS] - lastTotals[DEAL_COUNTS]);
+		final long dealNanos = Math.max(0, totals[DEAL_TIME] - lastTotals[DEAL_TIME]);
+		final long errors = Math.max(0, totals[ERR_DEAL_COUNTS] - lastTotals[ERR_DEAL_COUNTS]);
+		System.arraycopy(totals, 0, lastTotals, 0, COLUMNS);
+
+		// 空闲期间跳过的桶清零，这段时间的增量都计入最新的桶
+		for (long i = Math.min(elapsed, BUCKETS); i > 0; i--) {
+			head = head + 1 == BUCKETS ? 0 : head + 1;
+			Arrays.fill(buckets[head], 0L);
+		}
+		final long[] bucket = buckets[head];
+		bucket[REQUESTS] = deals + errors;
+		bucket[ERRORS] = errors;
+		bucket[DEALS] = deals;
+		bucket[DEAL_NANOS] = dealNanos;
+		ticks += elapsed;
+
+		for (int w = 0; w < WINDOW_MINUTES.length; w++) {
+			final double[] ewma = ewmas[w];
+			// 跳过的桶增量为 0，只衰减
+			final double decay = Math.pow(1 - ALPHAS[w], elapsed - 1);
+			for (int m = 0; m < METRICS; m++) {
+				final double rate = (double) bucket[m] / TICK_SECONDS;
+				ewma[m] = ewmaInitialized ? ewma[m] * decay + ALPHAS[w] * (rate - ewma[m] * decay) : rate;
+			}
+		}
+		ewmaInitialized = true;
+
+		final long now = System.currentTimeMillis();
+		if (now >= nextRolloverMillis) {
+			System.arraycopy(totals, 0, rolloverBase, 0, COLUMNS);
+			peerDate = new Date(now);
+			nextRolloverMillis = nextMidnight(now);
+		}
 	}
 
 	/**
-	 * @Param AtomicLong sumDealRequestTime to set
+	 * 计数只增不减。Monitor 在同一线程中按入栈、出栈、处理结果的顺序记录，这里按相反的顺序读取：
+	 * 各列的分段合计不是原子快照，但读到的处理结果之前的出栈、入栈一定在之后读取的列中可见，
+	 * 因此入栈数不小于出栈数、出栈数不小于成功数（过滤器链抛出异常的请求只计入失败，不计出栈）。
+	 * 各列之间可能相差读取期间仍在处理或新完成的请求数。
 	 */
-	public void setSumDealRequestTime(AtomicLong sumDealRequestTime) {
-		this.sumDealRequestTime = sumDealRequestTime;
+	private long[] readTotals() {
+		final long[] totals = new long[COLUMNS];
+		totals[DEAL_TIME] = cells.sum(DEAL_TIME);
+		totals[DEAL_COUNTS] = cells.sum(DEAL_COUNTS);
+		totals[ERR_DEAL_TIME] = cells.sum(ERR_DEAL_TIME);
+		totals[ERR_DEAL_COUNTS] = cells.sum(ERR_DEAL_COUNTS);
+		totals[OUTBOUND_COUNTS] = cells.sum(OUTBOUND_COUNTS);
+		totals[INBOUND_COUNTS] = cells.sum(INBOUND_COUNTS);
+		return totals;
 	}
 
 	/**
-	 * @Return the AtomicBoolean isDebug
+	 * 读取当前计数快照
+	 * @Methods Name snapshot
+	 * @Create In 2026年10月18日 By Jack
+	 * @return Snapshot
 	 */
-	public AtomicBoolean getIsDebug() {
-		return isDebug;
+	public Snapshot snapshot() {
+		tickIfNecessary();
+		final long[] totals = readTotals();
+		final long[] base;
+		synchronized (this) {
+			base = rolloverBase.clone();
+		}
+		return new Snapshot(totals, base, TimeUnit.NANOSECONDS.toMillis(peerDealRequestTime));
 	}
 
 	/**
-	 * @Param AtomicBoolean isDebug to set
+	 * 读取最近 1、5 或 15 分钟的滑动窗口
+	 * @Methods Name window
+	 * @Create In 2026年10月18日 By Jack
+	 * @param minutes 1、5 或 15
+	 * @return SLAWindow
 	 */
-	public void setIsDebug(AtomicBoolean isDebug) {
-		this.isDebug = isDebug;
+	public SLAWindow window(int minutes) {
+		int w = -1;
+		for (int i = 0; i < WINDOW_MINUTES.length; i++) {
+			if (WINDOW_MINUTES[i] == minutes) {
+				w = i;
+			}
+		}
+		if (w < 0) {
+			throw new IllegalArgumentException("SLA window should be 1, 5 or 15 minutes: " + minutes);
+		}
+		tickIfNecessary();
+		synchronized (this) {
+			final int count = (int) Math.min(TimeUnit.MINUTES.toSeconds(minutes) / TICK_SECONDS, ticks);
+			final long[] sums = new long[METRICS];
+			for (int i = 0, index = head; i < count; i++, index = index == 0 ? BUCKETS - 1 : index - 1) {
+				for (int m = 0; m < METRICS; m++) {
+					sums[m] += buckets[index][m];
+				}
+			}
+			final double[] ewma = ewmas[w];
+			return new SLAWindow(minutes, sums[REQUESTS], sums[ERRORS], count > 0 ? (double) sums[REQUESTS] / (count * TICK_SECONDS) : 0d,
+				meanMillis(sums[DEAL_NANOS], sums[DEALS]), ewma[REQUESTS], ewma[ERRORS], meanMillis(ewma[DEAL_NANOS], ewma[DEALS]));
+		}
 	}
 
 	/**
-	 * @Return the AtomicLong peerDealRequestTime
+	 * @return 最近 1、5、15 分钟的滑动窗口
 	 */
-	public AtomicLong getPeerDealRequestTime() {
-		return peerDealRequestTime;
+	public List<SLAWindow> windows() {
+		final List<SLAWindow> result = new ArrayList<SLAWindow>(WINDOW_MINUTES.length);
+		for (final int minutes : WINDOW_MINUTES) {
+			result.add(window(minutes));
+		}
+		return result;
+	}
+
+	private static double meanMillis(double nanos, double counts) {
+		return counts > 0 ? nanos / counts / TimeUnit.MILLISECONDS.toNanos(1) : 0d;
 	}
 
 	/**
-	 * @Param AtomicLong peerDealRequestTime to set
+	 * @Return the boolean isDebug
 	 */
-	public void setPeerDealRequestTime(AtomicLong peerDealRequestTime) {
-		this.peerDealRequestTime = peerDealRequestTime;
+	public boolean isDebug() {
+		return isDebug;
 	}
 
 	/**
-	 * @Return the Date peerDate
+	 * @Return the Date peerDate, 启动或上一次翻转的时间
 	 */
 	public Date getPeerDate() {
 		return peerDate;
 	}
 
 	/**
-	 * @Param Date peerDate to set
+	 * SLA 计数快照，单位为次数及毫秒；sum* 为本次翻转以来，total* 为启动以来
+	 * @Class Name Snapshot
+	 * @Author Jack
+	 * @Create In 2026年10月18日
 	 */
-	public void setPeerDate(Date peerDate) {
-		this.peerDate = peerDate;
-	}
+	public static final class Snapshot {
+
+		private final long[] totals;
+
+		private final long[] base;
+
+		private final long peerDealRequestTime;
+
+		Snapshot(long[] totals, long[] base, long peerDealRequestTime) {
+			super();
+			this.totals = totals;
+			this.base = base;
+			this.peerDealRequestTime = peerDealRequestTime;
+		}
+
+		private long sum(int column) {
+			return totals[column] - base[column];
+		}
+
+		/**
+		 * @Return the long sumInboundRequestCounts
+		 */
+		public long getSumInboundRequestCounts() {
+			return sum(INBOUND_COUNTS);
+		}
 
-	
+		/**
+		 * @Return the long sumOutboundRequestCounts
+		 */
+		public long getSumOutboundRequestCounts() {
+			return sum(OUTBOUND_COUNTS);
+		}
+
+		/**
+		 * @Return the long sumDealRequestCounts
+		 */
+		public long getSumDealRequestCounts() {
+			return sum(DEAL_COUNTS);
+		}
+
+		/**
+		 * @Return the long sumDealRequestTime, 毫秒
+		 */
+		public long getSumDealRequestTime() {
+			return TimeUnit.NANOSECONDS.toMillis(sum(DEAL_TIME));
+		}
+
+		/**
+		 * @Return the long sumErrDealRequestCounts
+		 */
+		public long getSumErrDealRequestCounts() {
+			return sum(ERR_DEAL_COUNTS);
+		}
+
+		/**
+		 * @Return the long sumErrDealRequestTime, 毫秒
+		 */
+		public long getSumErrDealRequestTime() {
+			return TimeUnit.NANOSECONDS.toMillis(sum(ERR_DEAL_TIME));
+		}
+
+		/**
+		 * @Return the long totalInboundRequestCounts, 启动以来
+		 */
+		public long getTotalInboundRequestCounts() {
+			return totals[INBOUND_COUNTS];
+		}
+
+		/**
+		 * @Return the long totalOutboundRequestCounts, 启动以来
+		 */
+		public long getTotalOutboundRequestCounts() {
+			return totals[OUTBOUND_COUNTS];
+		}
+
+		/**
+		 * @Return the long totalDealRequestCounts, 启动以来
+		 */
+		public long getTotalDealRequestCounts() {
+			return totals[DEAL_COUNTS];
+		}
+
+		/**
+		 * @Return the long totalDealRequestTime, 启动以来，毫秒
+		 */
+		public long getTotalDealRequestTime() {
+			return TimeUnit.NANOSECONDS.toMillis(totals[DEAL_TIME]);
+		}
+
+		/**
+		 * @Return the long totalErrDealRequestCounts, 启动以来
+		 */
+		public long getTotalErrDealRequestCounts() {
+			return totals[ERR_DEAL_COUNTS];
+		}
+
+		/**
+		 * @Return the long totalErrDealRequestTime, 启动以来，毫秒
+		 */
+		public long getTotalErrDealRequestTime() {
+			return TimeUnit.NANOSECONDS.toMillis(totals[ERR_DEAL_TIME]);
+		}
+
+		/**
+		 * @Return the long peerDealRequestTime, 毫秒
+		 */
+		public long getPeerDealRequestTime() {
+			return peerDealRequestTime;
+		}
+	}
 }
@@ -364,16 +364,7 @@ public class ZKConnectManager {
 				log.info("Hearth Monitor ZK is Reconnected.......");
 				isReconnection = new Boolean(false);
 				isWholeDateCheck = new Boolean(false);
-				if (hl.getM() != null) {
-					if (!hl.getM().isAlive() && hl.getM().isInterrupted()) {
-						hl.setIsMonitorStopBoolean(false);
-						hl.getM().start();
-					} else {
-						hl.startHealth("Reconnected");
-					}
-				} else {
-					hl.startHealth("Reconnected");
-				}
+				hl.startHealth("Reconnected");
 				return true;
 			}
 
@@ -0,0 +1,178 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.handler.wrapperCountingServletResponseWrapper.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:58:10
+ * TODO
+ */
+package com.jack.netty.servlet.handler.wrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * 统计响应大小的 HttpServletResponseWrapper，在过滤器链之前安装
+ *
+ * getOutputStream、getWriter 返回的流只计数后直接调用容器的流（或 Writer），不缓冲、不复制，
+ * Writer 不再经过 OutputStreamWriter 重新编码；isReady、setWriteListener 直接交给容器，非阻塞输出不受影响。
+ * 通过 getOutputStream 写入的按字节计，通过 getWriter 写入的按字符计（单字节字符集时与字节数相同）。
+ * reset、resetBuffer 清空计数。
+ *
+ * @Class Name CountingServletResponseWrapper
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public class CountingServletResponseWrapper extends HttpServletResponseWrapper {
+
+	private ServletOutputStream stream;
+
+	private PrintWriter writer;
+
+	private int dataLength;
+
+	/**
+	 * @param response 容器的响应
+	 */
+	public CountingServletResponseWrapper(HttpServletResponse response) {
+		super(response);
+	}
+
+	/**
+	 * @Return the int dataLength, 已写入响应的字节数（Writer 为字符数）
+	 */
+	public int getDataLength() {
+		return dataLength;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (stream == null) {
+			stream = new CountingOutputStream(super.getOutputStream());
+		}
+		return stream;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (writer == null) {
+			writer = new PrintWriter(new CountingWriter(super.getWriter()));
+		}
+		return writer;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void reset() {
+		super.reset();
+		dataLength = 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void resetBuffer() {
+		super.resetBuffer();
+		dataLength = 0;
+	}
+
+	/**
+	 * 计数后直接写入容器的 ServletOutputStream
+	 */
+	private final class CountingOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream output;
+
+		CountingOutputStream(ServletOutputStream output) {
+			super();
+			this.output = output;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			output.write(b);
+			dataLength++;
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) throws IOException {
+			output.write(bytes, off, len);
+			dataLength += len;
+		}
+
+		@Override
+		public void print(String s) throws IOException {
+			// 容器的 print 一般比逐字符 write 快，ServletOutputStream 按 ISO-8859-1 每个字符一个字节
+			final String value = String.valueOf(s);
+			output.print(value);
+			dataLength += value.length();
+		}
+
+		@Override
+		public void flush() throws IOException {
+			output.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			output.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return output.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			output.setWriteListener(writeListener);
+		}
+	}
+
+	/**
+	 * 计数后直接写入容器的 Writer
+	 */
+	private final class CountingWriter extends Writer {
+
+		private final Writer output;
+
+		CountingWriter(Writer output) {
+			super();
+			this.output = output;
+		}
+
+		@Override
+		public void write(int c) throws IOException {
+			output.write(c);
+			dataLength++;
+		}
+
+		@Override
+		public void write(char[] chars, int off, int len) throws IOException {
+			output.write(chars, off, len);
+			dataLength += len;
+		}
+
+		@Override
+		public void write(String s, int off, int len) throws IOException {
+			output.write(s, off, len);
+			dataLength += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			output.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			output.close();
+		}
+	}
+}
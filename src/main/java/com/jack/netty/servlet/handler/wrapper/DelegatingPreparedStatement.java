@@ -0,0 +1,447 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.handler.wrapperDelegatingPreparedStatement.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午9:18:05
+ * TODO
+ */
+package com.jack.netty.servlet.handler.wrapper;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * 直接委托的 PreparedStatement 包装，请求名为 prepare 时的 SQL，addBatch() 计入批量大小
+ *
+ * @Class Name DelegatingPreparedStatement
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+class DelegatingPreparedStatement extends DelegatingStatement implements PreparedStatement {
+	private final PreparedStatement preparedStatement;
+
+	DelegatingPreparedStatement(JdbcWrapper jdbcWrapper, String sql, PreparedStatement preparedStatement) {
+		super(jdbcWrapper, sql, preparedStatement);
+		this.preparedStatement = preparedStatement;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean execute() throws SQLException {
+		final String name = prepareExecute(null);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		try {
+			final boolean result = preparedStatement.execute();
+			systemError = false;
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, 0);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		final String name = prepareExecute(null);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		try {
+			final ResultSet result = preparedStatement.executeQuery();
+			systemError = false;
+			return wrapResultSet(name, result);
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, 0);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int executeUpdate() throws SQLException {
+		final String name = prepareExecute(null);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final int result = preparedStatement.executeUpdate();
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long executeLargeUpdate() throws SQLException {
+		final String name = prepareExecute(null);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final long result = preparedStatement.executeLargeUpdate();
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void addBatch() throws SQLException {
+		preparedStatement.addBatch();
+		batchSize++;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void clearParameters() throws SQLException {
+		preparedStatement.clearParameters();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return preparedStatement.getMetaData();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ParameterMetaData getParameterMetaData() throws SQLException {
+		return preparedStatement.getParameterMetaData();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setArray(int parameterIndex, Array x) throws SQLException {
+		preparedStatement.setArray(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		preparedStatement.setAsciiStream(parameterIndex, x, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		preparedStatement.setAsciiStream(parameterIndex, x, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+		preparedStatement.setAsciiStream(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+		preparedStatement.setBigDecimal(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		preparedStatement.setBinaryStream(parameterIndex, x, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		preparedStatement.setBinaryStream(parameterIndex, x, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+		preparedStatement.setBinaryStream(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBlob(int parameterIndex, InputStream x, long length) throws SQLException {
+		preparedStatement.setBlob(parameterIndex, x, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBlob(int parameterIndex, InputStream x) throws SQLException {
+		preparedStatement.setBlob(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBlob(int parameterIndex, Blob x) throws SQLException {
+		preparedStatement.setBlob(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+		preparedStatement.setBoolean(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setByte(int parameterIndex, byte x) throws SQLException {
+		preparedStatement.setByte(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+		preparedStatement.setBytes(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+		preparedStatement.setCharacterStream(parameterIndex, reader, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+		preparedStatement.setCharacterStream(parameterIndex, reader, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+		preparedStatement.setCharacterStream(parameterIndex, reader);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		preparedStatement.setClob(parameterIndex, reader, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setClob(int parameterIndex, Reader reader) throws SQLException {
+		preparedStatement.setClob(parameterIndex, reader);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setClob(int parameterIndex, Clob x) throws SQLException {
+		preparedStatement.setClob(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+		preparedStatement.setDate(parameterIndex, x, cal);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setDate(int parameterIndex, Date x) throws SQLException {
+		preparedStatement.setDate(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setDouble(int parameterIndex, double x) throws SQLException {
+		preparedStatement.setDouble(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setFloat(int parameterIndex, float x) throws SQLException {
+		preparedStatement.setFloat(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setInt(int parameterIndex, int x) throws SQLException {
+		preparedStatement.setInt(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setLong(int parameterIndex, long x) throws SQLException {
+		preparedStatement.setLong(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+		preparedStatement.setNCharacterStream(parameterIndex, reader, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+		preparedStatement.setNCharacterStream(parameterIndex, reader);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		preparedStatement.setNClob(parameterIndex, reader, length);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+		preparedStatement.setNClob(parameterIndex, reader);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNClob(int parameterIndex, NClob x) throws SQLException {
+		preparedStatement.setNClob(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNString(int parameterIndex, String x) throws SQLException {
+		preparedStatement.setNString(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+		preparedStatement.setNull(parameterIndex, sqlType, typeName);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setNull(int parameterIndex, int sqlType) throws SQLException {
+		preparedStatement.setNull(parameterIndex, sqlType);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+		preparedStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+		preparedStatement.setObject(parameterIndex, x, targetSqlType);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+		preparedStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+		preparedStatement.setObject(parameterIndex, x, targetSqlType);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setObject(int parameterIndex, Object x) throws SQLException {
+		preparedStatement.setObject(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setRef(int parameterIndex, Ref x) throws SQLException {
+		preparedStatement.setRef(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setRowId(int parameterIndex, RowId x) throws SQLException {
+		preparedStatement.setRowId(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setSQLXML(int parameterIndex, SQLXML x) throws SQLException {
+		preparedStatement.setSQLXML(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setShort(int parameterIndex, short x) throws SQLException {
+		preparedStatement.setShort(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setString(int parameterIndex, String x) throws SQLException {
+		preparedStatement.setString(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+		preparedStatement.setTime(parameterIndex, x, cal);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setTime(int parameterIndex, Time x) throws SQLException {
+		preparedStatement.setTime(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+		preparedStatement.setTimestamp(parameterIndex, x, cal);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+		preparedStatement.setTimestamp(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setURL(int parameterIndex, URL x) throws SQLException {
+		preparedStatement.setURL(parameterIndex, x);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		preparedStatement.setUnicodeStream(parameterIndex, x, length);
+	}
+}
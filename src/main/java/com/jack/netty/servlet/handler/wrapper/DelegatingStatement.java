@@ -0,0 +1,630 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.handler.wrapperDelegatingStatement.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午9:12:40
+ * TODO
+ */
+package com.jack.netty.servlet.handler.wrapper;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * 直接委托的 Statement 包装，与 JdbcWrapper 中 StatementInvocationHandler 的 Proxy 代理记录相同的信息
+ *
+ * execute 系列方法调用 JdbcWrapper.beginExecute、endExecute 记录 SQL 请求，executeBatch 记为一次执行及批量中的语句数；
+ * 返回的 ResultSet 包装为 DelegatingResultSet 统计读取的行数。每次调用没有反射、参数数组及基本类型装箱。
+ * 与 JDBC 用法相同，不是线程安全的。
+ *
+ * @Class Name DelegatingStatement
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+class DelegatingStatement implements Statement {
+	final JdbcWrapper jdbcWrapper;
+
+	private final Statement statement;
+
+	// 请求名：Statement 为最近一次 execute、addBatch 的 SQL，PreparedStatement 为 prepare 时的 SQL
+	String requestName;
+
+	// addBatch 的次数，executeBatch、clearBatch 后清零
+	int batchSize;
+
+	// 最近一次返回的 ResultSet，再次执行或关闭时记录其读取行数
+	private DelegatingResultSet resultSet;
+
+	DelegatingStatement(JdbcWrapper jdbcWrapper, String requestName, Statement statement) {
+		super();
+		assert jdbcWrapper != null;
+		assert statement != null;
+		this.jdbcWrapper = jdbcWrapper;
+		this.requestName = requestName;
+		this.statement = statement;
+	}
+
+	/**
+	 * 执行前确定请求名（没有 SQL 时为 "null"，与 Proxy 方式相同），并结束上一个 ResultSet 的统计
+	 */
+	final String prepareExecute(String sql) {
+		if (sql != null) {
+			requestName = sql;
+		}
+		requestName = String.valueOf(requestName);
+		closeResultSet();
+		return requestName;
+	}
+
+	final ResultSet wrapResultSet(String name, ResultSet result) {
+		if (result != null && jdbcWrapper.isRowsFetchedRecorded(name)) {
+			resultSet = new DelegatingResultSet(jdbcWrapper, name, result);
+			return resultSet;
+		}
+		return result;
+	}
+
+	final void closeResultSet() {
+		if (resultSet != null) {
+			resultSet.recordRowsFetched();
+			resultSet = null;
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		try {
+			final boolean result = statement.execute(sql);
+			systemError = false;
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, 0);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		try {
+			final boolean result = statement.execute(sql, autoGeneratedKeys);
+			systemError = false;
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, 0);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		try {
+			final boolean result = statement.execute(sql, columnIndexes);
+			systemError = false;
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, 0);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean execute(String sql, String[] columnNames) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		try {
+			final boolean result = statement.execute(sql, columnNames);
+			systemError = false;
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, 0);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		try {
+			final ResultSet result = statement.executeQuery(sql);
+			systemError = false;
+			return wrapResultSet(name, result);
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, 0);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final int result = statement.executeUpdate(sql);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final int result = statement.executeUpdate(sql, autoGeneratedKeys);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final int result = statement.executeUpdate(sql, columnIndexes);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final int result = statement.executeUpdate(sql, columnNames);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long executeLargeUpdate(String sql) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final long result = statement.executeLargeUpdate(sql);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final long result = statement.executeLargeUpdate(sql, autoGeneratedKeys);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final long result = statement.executeLargeUpdate(sql, columnIndexes);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+		final String name = prepareExecute(sql);
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final long result = statement.executeLargeUpdate(sql, columnNames);
+			systemError = false;
+			rowsAffected = Math.max(result, 0);
+			return result;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, 0, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int[] executeBatch() throws SQLException {
+		final String name = prepareExecute(null);
+		final int executedBatchSize = batchSize;
+		batchSize = 0;
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final int[] result = statement.executeBatch();
+			systemError = false;
+			rowsAffected = JdbcWrapper.getRowsAffected(result);
+			return result;
+		} catch (final BatchUpdateException e) {
+			rowsAffected = JdbcWrapper.getRowsAffected(e.getUpdateCounts());
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, executedBatchSize, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long[] executeLargeBatch() throws SQLException {
+		final String name = prepareExecute(null);
+		final int executedBatchSize = batchSize;
+		batchSize = 0;
+		final long start = jdbcWrapper.beginExecute(name);
+		boolean systemError = true;
+		long rowsAffected = 0;
+		try {
+			final long[] result = statement.executeLargeBatch();
+			systemError = false;
+			rowsAffected = JdbcWrapper.getRowsAffected(result);
+			return result;
+		} catch (final BatchUpdateException e) {
+			rowsAffected = JdbcWrapper.getRowsAffected(e.getUpdateCounts());
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} catch (final SQLException e) {
+			systemError = JdbcWrapper.isSystemError(e);
+			throw e;
+		} finally {
+			jdbcWrapper.endExecute(name, start, systemError, executedBatchSize, rowsAffected);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void addBatch(String sql) throws SQLException {
+		statement.addBatch(sql);
+		if (sql != null) {
+			requestName = sql;
+		}
+		batchSize++;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void clearBatch() throws SQLException {
+		statement.clearBatch();
+		batchSize = 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		// execute(...) 之后读取结果
+		closeResultSet();
+		return wrapResultSet(requestName, statement.getResultSet());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		closeResultSet();
+		return statement.getMoreResults();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean getMoreResults(int current) throws SQLException {
+		closeResultSet();
+		return statement.getMoreResults(current);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() throws SQLException {
+		closeResultSet();
+		statement.close();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean equals(Object obj) {
+		return statement.equals(obj);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int hashCode() {
+		return statement.hashCode();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return statement.toString();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void cancel() throws SQLException {
+		statement.cancel();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void clearWarnings() throws SQLException {
+		statement.clearWarnings();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void closeOnCompletion() throws SQLException {
+		statement.closeOnCompletion();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return statement.getConnection();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return statement.getFetchDirection();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getFetchSize() throws SQLException {
+		return statement.getFetchSize();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		return statement.getGeneratedKeys();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLargeMaxRows() throws SQLException {
+		return statement.getLargeMaxRows();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLargeUpdateCount() throws SQLException {
+		return statement.getLargeUpdateCount();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getMaxFieldSize() throws SQLException {
+		return statement.getMaxFieldSize();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getMaxRows() throws SQLException {
+		return statement.getMaxRows();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getQueryTimeout() throws SQLException {
+		return statement.getQueryTimeout();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getResultSetConcurrency() throws SQLException {
+		return statement.getResultSetConcurrency();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getResultSetHoldability() throws SQLException {
+		return statement.getResultSetHoldability();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getResultSetType() throws SQLException {
+		return statement.getResultSetType();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getUpdateCount() throws SQLException {
+		return statement.getUpdateCount();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return statement.getWarnings();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isCloseOnCompletion() throws SQLException {
+		return statement.isCloseOnCompletion();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isClosed() throws SQLException {
+		return statement.isClosed();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isPoolable() throws SQLException {
+		return statement.isPoolable();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return statement.isWrapperFor(iface);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setCursorName(String name) throws SQLException {
+		statement.setCursorName(name);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setEscapeProcessing(boolean enable) throws SQLException {
+		statement.setEscapeProcessing(enable);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		statement.setFetchDirection(direction);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		statement.setFetchSize(rows);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setLargeMaxRows(long max) throws SQLException {
+		statement.setLargeMaxRows(max);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setMaxFieldSize(int max) throws SQLException {
+		statement.setMaxFieldSize(max);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setMaxRows(int max) throws SQLException {
+		statement.setMaxRows(max);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setPoolable(boolean poolable) throws SQLException {
+		statement.setPoolable(poolable);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setQueryTimeout(int seconds) throws SQLException {
+		statement.setQueryTimeout(seconds);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return statement.unwrap(iface);
+	}
+}
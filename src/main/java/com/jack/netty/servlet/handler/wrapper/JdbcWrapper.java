@@ -22,8 +22,10 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Driver;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -41,10 +43,13 @@ import javax.naming.NamingException;
 import javax.servlet.ServletContext;
 import javax.sql.DataSource;
 
+import com.jack.netty.servlet.conf.Constant;
 import com.jack.netty.servlet.conf.Parameter;
 import com.jack.netty.servlet.conf.Parameters;
+import com.jack.netty.servlet.conf.SystemPropertyConfig;
 import com.jack.netty.servlet.dto.ConnectionInformations;
 import com.jack.netty.servlet.dto.Counter;
+import com.jack.netty.servlet.dto.SqlNormalizer;
 
 /**
  * 这个类是构建代理数据源或*连接JDBC有用。*和结果，
@@ -79,6 +84,8 @@ public final class JdbcWrapper {
 	private boolean glassfish;
 	private boolean weblogic;
 	private boolean jonas;
+	// 使用委托包装类还是 Proxy 包装连接，在 initServletContext 中读取配置，之前（如 JdbcDriver）使用默认的委托包装类
+	private boolean delegatingWrapper = true;
 
 	public static final class ConnectionInformationsComparator implements Comparator<ConnectionInformations>, Serializable {
 		private static final long serialVersionUID = 1L;
@@ -96,6 +103,10 @@ public final class JdbcWrapper {
 	private class StatementInvocationHandler implements InvocationHandler {
 		private String requestName;
 		private final Statement statement;
+		// addBatch 的次数（PreparedStatement、CallableStatement 的 addBatch() 没有参数），executeBatch、clearBatch 后清零
+		private int batchSize;
+		// 最近一次返回的 ResultSet，再次执行或关闭 statement 时记录其读取行数
+		private ResultSetInvocationHandler resultSetHandler;
 
 		StatementInvocationHandler(String query, Statement statement) {
 			super();
@@ -122,20 +133,101 @@ public final class JdbcWrapper {
 				// si on n'a pas trouvé la requête, on prend "null"
 				requestName = String.valueOf(requestName);
 
-				return doExecute(requestName, statement, method, args);
-			} else if ("addBatch".equals(methodName) && isFirstArgAString(args)) {
-				requestName = (String) args[0];
+				closeResultSet();
+				// executeBatch、executeLargeBatch：一次往返执行 batchSize 条语句
+				int executedBatchSize = 0;
+				if (methodName.endsWith("Batch")) {
+					executedBatchSize = batchSize;
+					batchSize = 0;
+				}
+				return wrapResultSet(doExecute(requestName, statement, method, args, executedBatchSize));
+			} else if ("addBatch".equals(methodName)) {
+				if (isFirstArgAString(args)) {
+					requestName = (String) args[0];
+				}
+				batchSize++;
+			} else if ("clearBatch".equals(methodName)) {
+				batchSize = 0;
+			} else if ("getResultSet".equals(methodName)) {
+				// execute(...) 之后读取结果
+				closeResultSet();
+				return wrapResultSet(method.invoke(statement, args));
+			} else if ("getMoreResults".equals(methodName) || "close".equals(methodName)) {
+				closeResultSet();
 			}
 
 			// ce n'est pas une méthode executeXxx du Statement
 			return method.invoke(statement, args);
 		}
 
+		private Object wrapResultSet(Object result) {
+			if (result instanceof ResultSet && isRowsFetchedRecorded(requestName)) {
+				final ResultSetInvocationHandler handler = new ResultSetInvocationHandler(requestName, (ResultSet) result);
+				resultSetHandler = handler;
+				return createProxy((ResultSet) result, handler);
+			}
+			return result;
+		}
+
+		private void closeResultSet() {
+			if (resultSetHandler != null) {
+				resultSetHandler.recordRowsFetched();
+				resultSetHandler = null;
+			}
+		}
+
 		private boolean isFirstArgAString(Object[] args) {
 			return args != null && args.length > 0 && args[0] instanceof String;
 		}
 	}
 
+	/**
+	 * Handler 代理 ResultSet：统计 next() 读取的行数，读完、关闭或所属 statement 再次执行时记入 SQL 计数器
+	 */
+	private class ResultSetInvocationHandler implements InvocationHandler {
+		private final String requestName;
+		private final ResultSet resultSet;
+		private long rowsFetched;
+		private boolean recorded;
+
+		ResultSetInvocationHandler(String requestName, ResultSet resultSet) {
+			super();
+			assert requestName != null;
+			assert resultSet != null;
+			this.requestName = requestName;
+			this.resultSet = resultSet;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String methodName = method.getName();
+			if (isEqualsMethod(methodName, args)) {
+				return resultSet.equals(args[0]);
+			} else if (isHashCodeMethod(methodName, args)) {
+				return resultSet.hashCode();
+			} else if ("next".equals(methodName)) {
+				final Object result = method.invoke(resultSet, args);
+				if (Boolean.TRUE.equals(result)) {
+					rowsFetched++;
+				} else {
+					recordRowsFetched();
+				}
+				return result;
+			} else if ("close".equals(methodName)) {
+				recordRowsFetched();
+			}
+			return method.invoke(resultSet, args);
+		}
+
+		void recordRowsFetched() {
+			if (!recorded) {
+				recorded = true;
+				addRowsFetched(requestName, rowsFetched);
+			}
+		}
+	}
+
 	/**
 	 * Handler 代理 connexion jdbc.
 	 */
@@ -150,12 +242,7 @@ public final class JdbcWrapper {
 		}
 
 		void init() {
-			// on limite la taille pour éviter une éventuelle saturation mémoire
-			if (isConnectionInformationsEnabled() && USED_CONNECTION_INFORMATIONS.size() < MAX_USED_CONNECTION_INFORMATIONS) {
-				USED_CONNECTION_INFORMATIONS.put(ConnectionInformations.getUniqueIdOfConnection(connection), new ConnectionInformations());
-			}
-			USED_CONNECTION_COUNT.incrementAndGet();
-			TRANSACTION_COUNT.incrementAndGet();
+			connectionOpened(connection);
 		}
 
 		/** {@inheritDoc} */
@@ -182,8 +269,7 @@ public final class JdbcWrapper {
 				return result;
 			} finally {
 				if ("close".equals(methodName) && !alreadyClosed) {
-					USED_CONNECTION_COUNT.decrementAndGet();
-					USED_CONNECTION_INFORMATIONS.remove(ConnectionInformations.getUniqueIdOfConnection(connection));
+					connectionClosed(connection);
 					alreadyClosed = true;
 				}
 			}
@@ -194,6 +280,9 @@ public final class JdbcWrapper {
 			// (specifically a connection proxy)
 			// This way the equals call is truely transparent for our proxies
 			// (cf issue 78)
+			if (object instanceof DelegatingConnection) {
+				return connection.equals(((DelegatingConnection) object).getDelegate());
+			}
 			if (Proxy.isProxyClass(object.getClass())) {
 				final InvocationHandler invocationHandler = Proxy.getInvocationHandler(object);
 				if (invocationHandler instanceof DelegatingInvocationHandler) {
@@ -290,6 +379,13 @@ public final class JdbcWrapper {
 		glassfish = serverInfo.contains("GlassFish") || serverInfo.contains("Sun Java System Application Server");
 		weblogic = serverInfo.contains("WebLogic");
 		jonas = System.getProperty("jonas.name") != null;
+		delegatingWrapper = !"proxy".equalsIgnoreCase(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_JDBC_WRAPPER, "delegate"));
+		if (Boolean.parseBoolean(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SQL_NORMALIZE, "true"))) {
+			sqlCounter.setSqlNormalizer(new SqlNormalizer(Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_SQL_NORMALIZE_CACHE,
+				String.valueOf(SqlNormalizer.DEFAULT_CACHE_SIZE)))));
+		} else {
+			sqlCounter.setSqlNormalizer(null);
+		}
 		connectionInformationsEnabled = Parameters.isSystemActionsEnabled() && !Parameters.isNoDatabase();
 	}
 
@@ -356,44 +452,146 @@ public final class JdbcWrapper {
 	}
 
 	public Object doExecute(String requestName, Statement statement, Method method, Object[] args) throws IllegalAccessException, InvocationTargetException {
+		return doExecute(requestName, statement, method, args, 0);
+	}
+
+	/**
+	 * 执行并记录 SQL 请求
+	 * 
+	 * executeBatch 为一次往返，记为一次执行，同时记录批量中的语句数；
+	 * executeUpdate、executeBatch 返回的影响行数一并记录（批量部分失败时取 BatchUpdateException 中的结果）。
+	 * 
+	 * @param batchSize
+	 *            executeBatch 中的语句数，其他执行为0
+	 */
+	Object doExecute(String requestName, Statement statement, Method method, Object[] args, int batchSize) throws IllegalAccessException, InvocationTargetException {
 		assert requestName != null;
 		assert statement != null;
 		assert method != null;
 
-		// on ignore les requêtes explain exécutées par DatabaseInformations
-		if (!sqlCounter.isDisplayed() || requestName.startsWith("explain ")) {
-			ACTIVE_CONNECTION_COUNT.incrementAndGet();
-			try {
-				return method.invoke(statement, args);
-			} finally {
-				ACTIVE_CONNECTION_COUNT.decrementAndGet();
-			}
-		}
-
-		final long start = System.currentTimeMillis();
+		final long start = beginExecute(requestName);
 		boolean systemError = true;
+		long rowsAffected = 0;
 		try {
-			ACTIVE_CONNECTION_COUNT.incrementAndGet();
-			sqlCounter.bindContext(requestName, requestName, null, -1);
-
 			final Object result = method.invoke(statement, args);
 			systemError = false;
+			rowsAffected = getRowsAffected(result);
 			return result;
 		} catch (final InvocationTargetException e) {
+			if (e.getCause() instanceof BatchUpdateException) {
+				rowsAffected = getRowsAffected(((BatchUpdateException) e.getCause()).getUpdateCounts());
+			}
 			if (e.getCause() instanceof SQLException) {
-				final int errorCode = ((SQLException) e.getCause()).getErrorCode();
-				if (errorCode >= 20000 && errorCode < 30000) {
-					systemError = false;
-				}
+				systemError = isSystemError((SQLException) e.getCause());
 			}
 			throw e;
 		} finally {
-			ACTIVE_CONNECTION_COUNT.decrementAndGet();
-			final long duration = Math.max(System.currentTimeMillis() - start, 0);
-			sqlCounter.addRequest(requestName, duration, -1, systemError, -1);
+			endExecute(requestName, start, systemError, batchSize, rowsAffected);
 		}
 	}
 
+	/**
+	 * 开始执行 SQL：doExecute 与 DelegatingStatement 共用，不使用反射
+	 * 
+	 * @return 开始时间，不记录时（SQL 计数器未启用或 DatabaseInformations 执行的 explain）为 -1，需原样传给 endExecute
+	 */
+	long beginExecute(String requestName) {
+		ACTIVE_CONNECTION_COUNT.incrementAndGet();
+		// on ignore les requêtes explain exécutées par DatabaseInformations
+		if (!sqlCounter.isDisplayed() || requestName.startsWith("explain ")) {
+			return -1;
+		}
+		final long start = System.currentTimeMillis();
+		sqlCounter.bindContext(requestName, requestName, null, -1);
+		return start;
+	}
+
+	/**
+	 * 结束执行 SQL，记录耗时、批量大小及影响行数
+	 */
+	void endExecute(String requestName, long start, boolean systemError, int batchSize, long rowsAffected) {
+		ACTIVE_CONNECTION_COUNT.decrementAndGet();
+		if (start < 0) {
+			return;
+		}
+		final long duration = Math.max(System.currentTimeMillis() - start, 0);
+		sqlCounter.addRequest(requestName, duration, -1, systemError, -1);
+		if (batchSize > 0 || rowsAffected > 0) {
+			sqlCounter.addRows(requestName, batchSize, rowsAffected, 0);
+		}
+	}
+
+	/**
+	 * 是否记录 ResultSet 读取的行数
+	 */
+	boolean isRowsFetchedRecorded(String requestName) {
+		return requestName != null && sqlCounter.isDisplayed();
+	}
+
+	void addRowsFetched(String requestName, long rowsFetched) {
+		if (rowsFetched > 0) {
+			sqlCounter.addRows(requestName, 0, 0, rowsFetched);
+		}
+	}
+
+	// 错误码 20000 到 29999 为应用（存储过程）抛出的业务错误
+	static boolean isSystemError(SQLException e) {
+		final int errorCode = e.getErrorCode();
+		return errorCode < 20000 || errorCode >= 30000;
+	}
+
+	// executeUpdate 返回 int，executeLargeUpdate 返回 long，executeBatch 返回每条语句的结果（SUCCESS_NO_INFO 等负值不计）
+	private static long getRowsAffected(Object result) {
+		if (result instanceof Integer) {
+			return Math.max((Integer) result, 0);
+		} else if (result instanceof Long) {
+			return Math.max((Long) result, 0);
+		} else if (result instanceof int[]) {
+			return getRowsAffected((int[]) result);
+		} else if (result instanceof long[]) {
+			return getRowsAffected((long[]) result);
+		}
+		return 0;
+	}
+
+	static long getRowsAffected(int[] counts) {
+		long rows = 0;
+		if (counts != null) {
+			for (final int count : counts) {
+				if (count > 0) {
+					rows += count;
+				}
+			}
+		}
+		return rows;
+	}
+
+	static long getRowsAffected(long[] counts) {
+		long rows = 0;
+		if (counts != null) {
+			for (final long count : counts) {
+				if (count > 0) {
+					rows += count;
+				}
+			}
+		}
+		return rows;
+	}
+
+	void connectionOpened(Connection connection) {
+		// on limite la taille pour éviter une éventuelle saturation mémoire
+		if (isConnectionInformationsEnabled() && USED_CONNECTION_INFORMATIONS.size() < MAX_USED_CONNECTION_INFORMATIONS) {
+			USED_CONNECTION_INFORMATIONS.put(ConnectionInformations.getUniqueIdOfConnection(connection), new ConnectionInformations());
+		}
+		USED_CONNECTION_COUNT.incrementAndGet();
+		TRANSACTION_COUNT.incrementAndGet();
+	}
+
+	void connectionClosed(Connection connection) {
+		USED_CONNECTION_COUNT.decrementAndGet();
+		USED_CONNECTION_INFORMATIONS.remove(ConnectionInformations.getUniqueIdOfConnection(connection));
+	}
+
 	public boolean rebindDataSources() {
 		boolean ok;
 		try {
@@ -752,10 +950,31 @@ public final class JdbcWrapper {
 	 * @return Connection
 	 */
 	public Connection createConnectionProxy(Connection connection) {
+		return createConnectionProxy(connection, delegatingWrapper);
+	}
+
+	/**
+	 * 包装 jdbc 连接
+	 * 
+	 * delegating 为 true 时使用 DelegatingConnection 等直接委托的包装类，执行 SQL 时没有反射及参数数组；
+	 * 为 false 时使用 java.lang.reflect.Proxy，代理实现连接类的全部接口，应用直接强制转换为驱动自己的接口（而不是 unwrap）时使用。
+	 * 
+	 * @param connection
+	 *            Connection
+	 * @param delegating
+	 *            是否使用委托包装类
+	 * @return Connection
+	 */
+	public Connection createConnectionProxy(Connection connection, boolean delegating) {
 		assert connection != null;
-		if (isMonitoringDisabled()) {
+		if (isMonitoringDisabled() || connection instanceof DelegatingConnection) {
 			return connection;
 		}
+		if (delegating) {
+			final DelegatingConnection result = new DelegatingConnection(this, connection);
+			connectionOpened(connection);
+			return result;
+		}
 		final ConnectionInvocationHandler invocationHandler = new ConnectionInvocationHandler(connection);
 		final Connection result;
 		if (jonas) {
@@ -808,7 +1027,7 @@ public final class JdbcWrapper {
 	}
 
 	private static boolean isProxyAlready(Object object) {
-		return Proxy.isProxyClass(object.getClass()) && Proxy.getInvocationHandler(object).getClass().getName().equals(DelegatingInvocationHandler.class.getName());
+		return object instanceof DelegatingConnection || Proxy.isProxyClass(object.getClass()) && Proxy.getInvocationHandler(object).getClass().getName().equals(DelegatingInvocationHandler.class.getName());
 	}
 
 }
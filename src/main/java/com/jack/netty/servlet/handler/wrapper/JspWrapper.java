@@ -83,9 +83,9 @@ final class JspWrapper implements InvocationHandler {
 
 		@Override
 		public AsyncContext startAsync() {
-			// issue 217: after MonitoringFilter.doFilter, response is instance of CounterServletResponseWrapper,
+			// issue 217: after MonitoringFilter.doFilter, response is instance of CountingServletResponseWrapper,
 			// and if response.getWriter() has been called before calling request.startAsync(),
-			// then asyncContext.getResponse() should return the instance of CounterServletResponseWrapper
+			// then asyncContext.getResponse() should return the instance of CountingServletResponseWrapper
 			// and not the initial response without the wrapper,
 			// otherwise asyncContext.getResponse().getWriter() will throw something like
 			// "IllegalStateException: getOutputStream() has already been called for this response"
@@ -93,6 +93,30 @@ final class JspWrapper implements InvocationHandler {
 		}
 	}
 
+	/**
+	 * Utilisé quand le compteur jsp est désactivé ou masqué : seul startAsync est intercepté,
+	 * pour que asyncContext.getResponse() retourne encore la response qui compte la taille des réponses
+	 * (comme HttpRequestWrapper3, voir issue 217).
+	 */
+	private static class AsyncRequestWrapper extends HttpServletRequestWrapper {
+		private final HttpServletResponse response;
+
+		/**
+		 * Constructs a request object wrapping the given request.
+		 * @param request HttpServletRequest
+		 * @param response HttpServletResponse
+		 */
+		AsyncRequestWrapper(HttpServletRequest request, HttpServletResponse response) {
+			super(request);
+			this.response = response;
+		}
+
+		@Override
+		public AsyncContext startAsync() {
+			return super.startAsync(this, response);
+		}
+	}
+
 	/**
 	 * Constructeur.
 	 * @param path String
@@ -113,6 +137,9 @@ final class JspWrapper implements InvocationHandler {
 	static HttpServletRequest createHttpRequestWrapper(HttpServletRequest request,
 			HttpServletResponse response) {
 		if (DISABLED || COUNTER_HIDDEN) {
+			if (Parameters.getServletContext().getMajorVersion() >= 3 && request.isAsyncSupported()) {
+				return new AsyncRequestWrapper(request, response);
+			}
 			return request;
 		}
 		if (Parameters.getServletContext().getMajorVersion() >= 3) {
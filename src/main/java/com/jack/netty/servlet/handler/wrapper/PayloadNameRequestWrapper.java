@@ -78,6 +78,18 @@ public class PayloadNameRequestWrapper extends HttpServletRequestWrapper {
 		super(request);
 	}
 
+	/**
+	 * 请求是否可能按报文命名（POST 的 GWT-RPC 或 SOAP），与 initialize 的判断相同，不读取报文
+	 * @param request HttpServletRequest
+	 * @return boolean
+	 */
+	static boolean isPayloadNamed(HttpServletRequest request) {
+		final String contentType = request.getContentType();
+		return contentType != null && "POST".equalsIgnoreCase(request.getMethod())
+				&& (contentType.startsWith("text/x-gwt-rpc") || contentType.startsWith("application/soap+xml")
+						|| contentType.startsWith("text/xml") && request.getHeader("SOAPAction") != null);
+	}
+
 	protected void initialize() throws IOException {
 		//name on a best-effort basis
 		name = null;
@@ -0,0 +1,167 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.handler.wrapperRequestNameCache.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午11:46:20
+ * TODO
+ */
+package com.jack.netty.servlet.handler.wrapper;
+
+import com.jack.netty.servlet.dto.RouteTemplate;
+
+/**
+ * HTTP 聚合请求名的缓存
+ *
+ * 请求名为 前缀 + 路径（可模板化）+ ' ' + [ajax ]方法，按路径所在的字符串区间查找，命中时直接返回缓存的请求名，
+ * 不截取子串、不拼接、不模板化，也就不分配对象；未命中时才计算并放入缓存。
+ * 与 SqlNormalizer 相同为固定大小的组相联缓存（每组两项，组内按最近使用淘汰），读写不加锁：缓存项不可变，并发时最多重复计算一次。
+ * 带变量的原始路径数量没有上限，缓存只保留最近使用的。
+ *
+ * @Class Name RequestNameCache
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+final class RequestNameCache {
+
+	/**
+	 * 默认缓存的请求名数
+	 */
+	static final int DEFAULT_CACHE_SIZE = 4096;
+
+	// 超过此长度的路径不缓存
+	private static final int MAX_CACHED_LENGTH = 1024;
+
+	// 超过此容量的线程内 StringBuilder 用完后不保留
+	private static final int MAX_BUILDER_CAPACITY = 4096;
+
+	private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+		@Override
+		protected StringBuilder initialValue() {
+			return new StringBuilder(256);
+		}
+	};
+
+	private final Entry[] entries;
+
+	private final int setMask;
+
+	/**
+	 * @param cacheSize 缓存的请求名数，向上取为 2 的幂，0 表示不缓存
+	 */
+	RequestNameCache(int cacheSize) {
+		super();
+		if (cacheSize <= 0) {
+			entries = null;
+			setMask = 0;
+		} else {
+			int size = 2;
+			while (size < cacheSize && size < 1 << 30) {
+				size <<= 1;
+			}
+			entries = new Entry[size];
+			setMask = size / 2 - 1;
+		}
+	}
+
+	/**
+	 * 返回请求名，优先从缓存读取
+	 * @Methods Name get
+	 * @Create In 2026年10月18日 By Jack
+	 * @param source 含路径的字符串，如 getRequestURI()
+	 * @param start 路径在 source 中的开始位置
+	 * @param end 路径在 source 中的结束位置（不含）
+	 * @param prefix 路径前的前缀，没有时为 ""
+	 * @param templated 路径是否模板化
+	 * @param method HTTP 方法
+	 * @param ajax 是否 ajax 请求
+	 * @return String
+	 */
+	String get(String source, int start, int end, String prefix, boolean templated, String method, boolean ajax) {
+		final Entry[] table = entries;
+		if (table == null || end - start > MAX_CACHED_LENGTH) {
+			return buildName(source.substring(start, end), prefix, templated, method, ajax);
+		}
+		int hash = prefix.hashCode();
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + source.charAt(i);
+		}
+		hash = (31 * hash + method.hashCode()) * 4 + (templated ? 2 : 0) + (ajax ? 1 : 0);
+		final int index = ((hash ^ hash >>> 16) & setMask) << 1;
+		final Entry first = table[index];
+		if (first != null && first.matches(hash, source, start, end, prefix, method)) {
+			return first.name;
+		}
+		final Entry second = table[index + 1];
+		if (second != null && second.matches(hash, source, start, end, prefix, method)) {
+			// 最近使用的放在组内第一项
+			table[index] = second;
+			table[index + 1] = first;
+			return second.name;
+		}
+		final String path = source.substring(start, end);
+		final String name = buildName(path, prefix, templated, method, ajax);
+		// 淘汰组内较久未使用的第二项
+		table[index + 1] = first;
+		table[index] = new Entry(hash, path, prefix, method, name);
+		return name;
+	}
+
+	private static String buildName(String path, String prefix, boolean templated, String method, boolean ajax) {
+		final StringBuilder builder = builder();
+		builder.append(prefix).append(templated ? RouteTemplate.templatize(path) : path).append(' ');
+		if (ajax) {
+			builder.append("ajax ");
+		}
+		return release(builder.append(method));
+	}
+
+	/**
+	 * 当前线程的 StringBuilder（已清空），用完后调用 release 得到结果
+	 */
+	static StringBuilder builder() {
+		final StringBuilder builder = BUILDER.get();
+		builder.setLength(0);
+		return builder;
+	}
+
+	/**
+	 * 返回 builder 的内容，过大的 builder 不再保留
+	 */
+	static String release(StringBuilder builder) {
+		final String result = builder.toString();
+		if (builder.capacity() > MAX_BUILDER_CAPACITY) {
+			BUILDER.remove();
+		}
+		return result;
+	}
+
+	/**
+	 * 缓存项，不可变；hash 中已包含 templated 及 ajax
+	 */
+	private static final class Entry {
+
+		private final int hash;
+
+		private final String path;
+
+		private final String prefix;
+
+		private final String method;
+
+		private final String name;
+
+		Entry(int hash, String path, String prefix, String method, String name) {
+			super();
+			this.hash = hash;
+			this.path = path;
+			this.prefix = prefix;
+			this.method = method;
+			this.name = name;
+		}
+
+		boolean matches(int otherHash, String source, int start, int end, String otherPrefix, String otherMethod) {
+			return hash == otherHash && path.length() == end - start && source.regionMatches(start, path, 0, end - start)
+				&& method.equals(otherMethod) && prefix.equals(otherPrefix);
+		}
+	}
+}
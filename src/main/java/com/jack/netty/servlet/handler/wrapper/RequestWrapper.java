@@ -16,9 +16,12 @@ import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jack.netty.servlet.conf.Constant;
 import com.jack.netty.servlet.conf.Parameters;
+import com.jack.netty.servlet.conf.SystemPropertyConfig;
 import com.jack.netty.servlet.dto.Counter;
 import com.jack.netty.servlet.dto.CounterError;
+import com.jack.netty.servlet.dto.RouteTemplate;
 import com.jack.netty.servlet.dto.ThreadInformations;
 
 /**
@@ -39,6 +42,13 @@ public class RequestWrapper {
 	private boolean glassfish;
 	private boolean weblogic;
 	private boolean jonas;
+	// 请求名是否使用路径模板，在 initServletContext 中读取配置
+	private boolean routeTemplate = true;
+	private RequestNameCache requestNameCache = new RequestNameCache(RequestNameCache.DEFAULT_CACHE_SIZE);
+	// 框架保存映射模式的请求属性名，如 Spring MVC 的 HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE
+	private String[] routeAttributes = { SPRING_BEST_MATCHING_PATTERN_ATTRIBUTE };
+
+	private static final String SPRING_BEST_MATCHING_PATTERN_ATTRIBUTE = "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
 
 	private RequestWrapper() {
 		super();
@@ -67,10 +77,30 @@ public class RequestWrapper {
 				|| serverInfo.contains("Sun Java System Application Server");
 		weblogic = serverInfo.contains("WebLogic");
 		jonas = System.getProperty("jonas.name") != null;
+		routeTemplate = Boolean.parseBoolean(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_HTTP_ROUTE_TEMPLATE, "true"));
+		requestNameCache = new RequestNameCache(Integer.parseInt(SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_HTTP_ROUTE_TEMPLATE_CACHE,
+			String.valueOf(RequestNameCache.DEFAULT_CACHE_SIZE))));
+		final String attributes = SystemPropertyConfig.getContextProperty(Constant.SYSTEM_SEETING_HTTP_ROUTE_ATTRIBUTES,
+			SPRING_BEST_MATCHING_PATTERN_ATTRIBUTE).trim();
+		routeAttributes = attributes.isEmpty() ? new String[0] : attributes.split("\\s*,\\s*");
 	}
 
 	/**
-	 * 请求执行记录器
+	 * 组装在过滤器链之前安装的请求包装：统计 JSP 的 RequestDispatcher，并使 startAsync() 使用传入的 response
+	 * 
+	 * @Methods Name createHttpRequestWrapper
+	 * @Create In 2026年10月18日 By Jack
+	 * @param httpRequest
+	 * @param httpResponse
+	 *            一般为 CountingServletResponseWrapper
+	 * @return HttpServletRequest
+	 */
+	public HttpServletRequest createHttpRequestWrapper(HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+		return JspWrapper.createHttpRequestWrapper(httpRequest, httpResponse);
+	}
+
+	/**
+	 * 请求执行记录器，在当前线程执行完过滤器链后调用
 	 * 
 	 * @Methods Name doExecute
 	 * @Create In 2016年7月27日 By Jack
@@ -81,50 +111,57 @@ public class RequestWrapper {
 	 */
 	public void doExecute(HttpServletRequest httpRequest, HttpServletResponse httpResponse,
 			long startCpuTime, long start) {
+		final long cpuUsedMillis = (ThreadInformations.getCurrentThreadCpuTime() - startCpuTime) / 1000000;
+		doComplete(httpRequest, httpResponse, start, cpuUsedMillis);
+	}
 
-		final CounterServletResponseWrapper wrappedResponse = new CounterServletResponseWrapper(
-				httpResponse);
-		final HttpServletRequest wrappedRequest = createRequestWrapper(httpRequest,
-				wrappedResponse);
-
-		// final long startCpuTime =
-		// ThreadInformations.getCurrentThreadCpuTime();
-		boolean systemError = false;
-		String requestName = getRequestName(wrappedRequest);
-		final String completeRequestName = getCompleteRequestName(wrappedRequest, true);
-
+	/**
+	 * 请求完成时的记录，异步请求在 AsyncListener.onComplete 中调用（可能不是执行过滤器链的线程）
+	 * 
+	 * 聚合请求名从缓存读取，含查询串的完整请求名只在记录 HTTP 错误时才拼接；
+	 * 响应为 CountingServletResponseWrapper 时记录响应大小，否则记为 0。
+	 * 
+	 * @Methods Name doComplete
+	 * @Create In 2026年10月18日 By Jack
+	 * @param httpRequest
+	 * @param httpResponse
+	 * @param start
+	 *            开始时间（毫秒）
+	 * @param cpuUsedMillis
+	 *            使用的 CPU 时间（毫秒）
+	 */
+	public void doComplete(HttpServletRequest httpRequest, HttpServletResponse httpResponse, long start, long cpuUsedMillis) {
 		if (httpCounter == null) {
 			// 没有初始化对象的处理
 			return; // NOPMD
 		}
-		try {
 
-			httpCounter.bindContext(requestName, completeRequestName, httpRequest.getRemoteUser(),startCpuTime);
-			httpRequest.setAttribute(CounterError.REQUEST_KEY, completeRequestName);
-			CounterError.bindRequest(httpRequest);
+		final String requestName = getRequestName(createRequestWrapper(httpRequest));
+
+		// 计算执行时间
+		final long duration = Math.max(System.currentTimeMillis() - start, 0);
+		final int responseSize = httpResponse instanceof CountingServletResponseWrapper
+				? ((CountingServletResponseWrapper) httpResponse).getDataLength() : 0;
 
-			// 计算执行时间
-			final long duration = Math.max(System.currentTimeMillis() - start, 0);
-			final long cpuUsedMillis = (ThreadInformations.getCurrentThreadCpuTime() - startCpuTime) / 1000000;
-			// 计算响应处理时间
-			final int responseSize = wrappedResponse.getDataLength();
-
-			if (wrappedResponse.getStatus() >= HttpServletResponse.SC_BAD_REQUEST
-					&& wrappedResponse.getStatus() != HttpServletResponse.SC_UNAUTHORIZED) {
-				// SC_UNAUTHORIZED (401) is not an error, it is the first
-				// handshake of a Basic (or Digest) Auth (issue 455)
-				systemError = true;
-				errorCounter.addRequestForSystemError("HTTP_ERROR_" + wrappedResponse.getStatus(), duration, cpuUsedMillis, null);
+		boolean systemError = false;
+		final int status = httpResponse.getStatus();
+		if (status >= HttpServletResponse.SC_BAD_REQUEST
+				&& status != HttpServletResponse.SC_UNAUTHORIZED) {
+			// SC_UNAUTHORIZED (401) is not an error, it is the first
+			// handshake of a Basic (or Digest) Auth (issue 455)
+			systemError = true;
+			// CounterError 从绑定的请求中读取完整的请求名
+			httpRequest.setAttribute(CounterError.REQUEST_KEY, getCompleteRequestName(httpRequest));
+			CounterError.bindRequest(httpRequest);
+			try {
+				errorCounter.addRequestForSystemError("HTTP_ERROR_" + status, duration, cpuUsedMillis, null);
+			} finally {
+				CounterError.unbindRequest();
 			}
-			
-			// 记录处理具体信息
-			httpCounter.addRequest(requestName, duration, cpuUsedMillis, systemError, responseSize);
-			
-		} finally {
-			httpCounter.unbindContext();
-			CounterError.unbindRequest();
 		}
 
+		// 记录处理具体信息
+		httpCounter.addRequest(requestName, duration, cpuUsedMillis, systemError, responseSize);
 	}
 	
 	/**
@@ -145,26 +182,26 @@ public class RequestWrapper {
 	}
 
 	/**
-	 * 组装HttpServletRequestWrapper，增加监控内容
+	 * 组装按报文命名的 HttpServletRequestWrapper
+	 * 
+	 * 只有可能按报文命名的请求（GWT-RPC、SOAP）才创建 PayloadNameRequestWrapper，其他请求原样返回
 	 * 
 	 * @Methods Name createRequestWrapper
 	 * @Create In 2016年7月26日 By Jack
 	 * @param request
 	 *            ： HttpServletRequest
-	 * @param response
-	 *            ： HttpServletResponse
 	 * @return HttpServletRequest
-	 * @throws IOException
 	 */
-	protected HttpServletRequest createRequestWrapper(HttpServletRequest request,
-			HttpServletResponse response) {
-		HttpServletRequest wrappedRequest = JspWrapper.createHttpRequestWrapper(request, response);
+	protected HttpServletRequest createRequestWrapper(HttpServletRequest request) {
+		if (!PayloadNameRequestWrapper.isPayloadNamed(request)) {
+			return request;
+		}
 		try {
 			final PayloadNameRequestWrapper payloadNameRequestWrapper = new PayloadNameRequestWrapper(
-					wrappedRequest);
+					request);
 			payloadNameRequestWrapper.initialize();
 			if (payloadNameRequestWrapper.getPayloadRequestType() != null) {
-				wrappedRequest = payloadNameRequestWrapper;
+				return payloadNameRequestWrapper;
 			}
 
 		} catch (IOException e) {
@@ -172,11 +209,11 @@ public class RequestWrapper {
 			log.error("Inbound Request Wrapper Error: " + e.getMessage());
 		}
 
-		return wrappedRequest;
+		return request;
 	}
 
 	/**
-	 * 获取请求名称
+	 * 获取聚合的请求名称，路径使用模板，如 /order/{id} GET
 	 * 
 	 * @Methods Name getRequestName
 	 * @Create In 2016年7月26日 By Jack
@@ -184,47 +221,80 @@ public class RequestWrapper {
 	 * @return String
 	 */
 	protected String getRequestName(HttpServletRequest request) {
-		return getCompleteRequestName(request, false);
+		final String uri = request.getRequestURI();
+		final int start = request.getContextPath().length();
+		final int end = getPathEnd(uri, start);
+		final String method = request.getMethod();
+		final boolean ajax = "XMLHttpRequest".equals(request.getHeader("X-Requested-With"));
+		// Check payload request to support GWT, SOAP, and XML-RPC statistic
+		// gathering
+		if (request instanceof PayloadNameRequestWrapper) {
+			final PayloadNameRequestWrapper wrapper = (PayloadNameRequestWrapper) request;
+			final String path = uri.substring(start, end);
+			final StringBuilder builder = RequestNameCache.builder();
+			builder.append(routeTemplate ? RouteTemplate.templatize(path) : path).append(wrapper.getPayloadRequestName()).append(' ')
+					.append(wrapper.getPayloadRequestType());
+			return RequestNameCache.release(builder);
+		}
+		if (routeTemplate) {
+			// 优先使用框架在请求属性中保存的映射模式（如 Spring MVC 的 /order/{id}，请求执行完后才有），
+			// 含通配符 * 的模式（如静态资源的 /static/**）会把不同的请求合并，不使用
+			for (final String attribute : routeAttributes) {
+				final Object pattern = request.getAttribute(attribute);
+				if (pattern instanceof String && ((String) pattern).indexOf('*') < 0) {
+					final String mappingPattern = (String) pattern;
+					return requestNameCache.get(mappingPattern, 0, mappingPattern.length(), getServletPathPrefix(request, mappingPattern), false,
+						method, ajax);
+				}
+			}
+		}
+		// 没有映射模式时按路径段识别数字、UUID、十六进制及 Base64 的变量段
+		return requestNameCache.get(uri, start, end, "", routeTemplate, method, ajax);
 	}
 
 	/**
-	 * 组装请求成功的名称
+	 * 组装含查询串的完整请求名称，用于错误记录
 	 * 
 	 * @Methods Name getCompleteRequestName
 	 * @Create In 2016年7月26日 By Jack
 	 * @param httpRequest
-	 * @param includeQueryString
 	 * @return String
 	 */
-	private static String getCompleteRequestName(HttpServletRequest httpRequest,
-			boolean includeQueryString) {
-		String tmp = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
-		final int lastIndexOfSemiColon = tmp.lastIndexOf(';');
-		if (lastIndexOfSemiColon != -1) {
-			tmp = tmp.substring(0, lastIndexOfSemiColon);
+	private static String getCompleteRequestName(HttpServletRequest httpRequest) {
+		final String uri = httpRequest.getRequestURI();
+		final int start = httpRequest.getContextPath().length();
+		final StringBuilder builder = RequestNameCache.builder();
+		builder.append(uri, start, getPathEnd(uri, start));
+		final String queryString = httpRequest.getQueryString();
+		if (queryString != null) {
+			builder.append('?').append(queryString);
 		}
-		final String method;
+		builder.append(' ');
 		if ("XMLHttpRequest".equals(httpRequest.getHeader("X-Requested-With"))) {
-			method = "ajax " + httpRequest.getMethod();
-		} else {
-			method = httpRequest.getMethod();
+			builder.append("ajax ");
 		}
-		if (!includeQueryString) {
-			// Check payload request to support GWT, SOAP, and XML-RPC statistic
-			// gathering
-			if (httpRequest instanceof PayloadNameRequestWrapper) {
-				final PayloadNameRequestWrapper wrapper = (PayloadNameRequestWrapper) httpRequest;
-				return tmp + wrapper.getPayloadRequestName() + ' '
-						+ wrapper.getPayloadRequestType();
-			}
+		return RequestNameCache.release(builder.append(httpRequest.getMethod()));
+	}
 
-			return tmp + ' ' + method;
-		}
-		final String queryString = httpRequest.getQueryString();
-		if (queryString == null) {
-			return tmp + ' ' + method;
+	/**
+	 * 请求路径在 uri 中的结束位置，去掉最后一个 ; 之后的路径参数（如 jsessionid）
+	 */
+	private static int getPathEnd(String uri, int start) {
+		final int lastIndexOfSemiColon = uri.lastIndexOf(';');
+		return lastIndexOfSemiColon >= start ? lastIndexOfSemiColon : uri.length();
+	}
+
+	/**
+	 * Spring MVC 的模式相对于 DispatcherServlet 的映射（如 /api/*），没有包含 servletPath 时以 servletPath 为前缀
+	 */
+	private static String getServletPathPrefix(HttpServletRequest httpRequest, String mappingPattern) {
+		final String servletPath = httpRequest.getServletPath();
+		if (httpRequest.getPathInfo() != null && servletPath != null && !servletPath.isEmpty()
+				&& !(mappingPattern.startsWith(servletPath) && mappingPattern.length() > servletPath.length()
+						&& mappingPattern.charAt(servletPath.length()) == '/')) {
+			return servletPath;
 		}
-		return tmp + '?' + queryString + ' ' + method;
+		return "";
 	}
 
 	/**
@@ -58,7 +58,6 @@ public interface Health {
 	
 	public ZooKeeper getZk();
 	public void setZk(ZooKeeper zk);
-	public Thread getM();
 	public void setIsMonitorStopBoolean(Boolean isMonitorStopBoolean) ;
 	public Long getSessionId();
 	public void setSessionId(Long sessionId) ;
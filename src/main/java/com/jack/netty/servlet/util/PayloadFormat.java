@@ -0,0 +1,166 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.utilPayloadFormat.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 下午2:20:48
+ * TODO
+ */
+package com.jack.netty.servlet.util;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.annotate.JsonAutoDetect.Visibility;
+import org.codehaus.jackson.annotate.JsonMethod;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.smile.SmileFactory;
+import org.codehaus.jackson.smile.SmileGenerator;
+
+/**
+ * Kafka 上报内容（RequestInfo、SQLInfo、ApplicationInfo 等）的编码格式，ZK 节点内容不受影响，始终为 JSON
+ *
+ * JSON 为默认格式，与原先 StringSerializer 发送的内容完全一致；
+ * SMILE 为 Jackson 的二进制 JSON：字段名及较短的重复字符串（如请求名、SQL）按字典回引，
+ * 数值为变长整数，不需要额外的模式定义。消费端可用 detect 根据内容头判断格式，再用 decode 解码。
+ *
+ * @Class Name PayloadFormat
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public enum PayloadFormat {
+
+	/**
+	 * JSON，UTF-8 编码
+	 */
+	JSON {
+		@Override
+		public byte[] encode(Object source) throws IOException {
+			return JacksonMapperUtil.objectToJsonBytes(source);
+		}
+
+		@Override
+		ObjectMapper reader() {
+			return JsonIO.MAPPER;
+		}
+	},
+
+	/**
+	 * Smile 二进制 JSON，需要 jackson-smile
+	 */
+	SMILE {
+		@Override
+		public byte[] encode(Object source) throws IOException {
+			return SmileIO.MAPPER.writeValueAsBytes(source);
+		}
+
+		@Override
+		ObjectMapper reader() {
+			return SmileIO.MAPPER;
+		}
+	};
+
+	// Smile 数据以 ":)\n" 开头
+	private static final byte[] SMILE_HEADER = { ':', ')', '\n' };
+
+	// classe interne pour ne pas dépendre de jackson-smile si on ne se sert pas du format smile
+	private static final class SmileIO {
+		static final ObjectMapper MAPPER = createMapper();
+
+		private SmileIO() {
+			super();
+		}
+
+		private static ObjectMapper createMapper() {
+			final SmileFactory factory = new SmileFactory();
+			factory.configure(SmileGenerator.Feature.CHECK_SHARED_NAMES, true);
+			factory.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+			final ObjectMapper mapper = new ObjectMapper(factory);
+			mapper.setVisibility(JsonMethod.FIELD, Visibility.ANY);
+			return mapper;
+		}
+	}
+
+	private static final class JsonIO {
+		// 与编码（JacksonMapperUtil）及 SMILE 相同的字段可见性，decode(payload, type) 对两种格式的行为一致
+		static final ObjectMapper MAPPER = createMapper();
+
+		private JsonIO() {
+			super();
+		}
+
+		private static ObjectMapper createMapper() {
+			final ObjectMapper mapper = new ObjectMapper();
+			mapper.setVisibility(JsonMethod.FIELD, Visibility.ANY);
+			return mapper;
+		}
+	}
+
+	/**
+	 * 编码
+	 * @Methods Name encode
+	 * @Create In 2026年10月18日 By Jack
+	 * @param source 上报对象
+	 * @return byte[]
+	 * @throws IOException
+	 */
+	public abstract byte[] encode(Object source) throws IOException;
+
+	abstract ObjectMapper reader();
+
+	/**
+	 * 解码为树结构，供收集端使用（CounterRequest 等没有无参构造方法，不能直接反序列化）
+	 * @Methods Name decode
+	 * @Create In 2026年10月18日 By Jack
+	 * @param payload 内容
+	 * @return JsonNode
+	 * @throws IOException
+	 */
+	public JsonNode decode(byte[] payload) throws IOException {
+		return reader().readTree(payload);
+	}
+
+	/**
+	 * 解码为指定类型
+	 * @Methods Name decode
+	 * @Create In 2026年10月18日 By Jack
+	 * @param payload 内容
+	 * @param type 类型
+	 * @return T
+	 * @throws IOException
+	 */
+	public <T> T decode(byte[] payload, Class<T> type) throws IOException {
+		return reader().readValue(payload, type);
+	}
+
+	/**
+	 * 根据内容头判断格式
+	 * @Methods Name detect
+	 * @Create In 2026年10月18日 By Jack
+	 * @param payload 内容
+	 * @return SMILE 或 JSON
+	 */
+	public static PayloadFormat detect(byte[] payload) {
+		if (payload != null && payload.length >= SMILE_HEADER.length) {
+			boolean smile = true;
+			for (int i = 0; i < SMILE_HEADER.length; i++) {
+				smile &= payload[i] == SMILE_HEADER[i];
+			}
+			if (smile) {
+				return SMILE;
+			}
+		}
+		return JSON;
+	}
+
+	/**
+	 * @param format 格式名称，为空时返回 JSON
+	 * @return PayloadFormat
+	 */
+	public static PayloadFormat valueOfIgnoreCase(String format) {
+		if (format == null || format.trim().isEmpty()) {
+			return JSON;
+		}
+		return valueOf(format.toUpperCase(Locale.ENGLISH).trim());
+	}
+}
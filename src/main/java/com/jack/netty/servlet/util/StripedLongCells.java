@@ -0,0 +1,257 @@
+/**
+ * @Probject Name: orion-monitor
+ * @Path: com.jack.netty.servlet.utilStripedLongCells.java
+ * @Create By Jack
+ * @Create In 2026年10月18日 上午9:12:40
+ * TODO
+ */
+package com.jack.netty.servlet.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分段累加器（LongAdder 的 Java 7 兼容实现），一个实例包含多列计数。
+ *
+ * 无竞争时只对 base 行做 CAS；一旦 CAS 失败说明出现竞争，即膨胀为按线程散列的多行，
+ * 每行之间填充足够的 long 避免伪共享。累加过程不分配对象，读取时把 base 与各行合并。
+ * 读取结果不是所有列同一时刻的快照，调用方需按业务顺序读取各列。
+ * 行数不超过构造时指定的上限；竞争过去后可以调用 deflate 把各行并回 base 并释放多行占用的内存，
+ * 之后再次出现竞争时重新膨胀。
+ *
+ * @Class Name StripedLongCells
+ * @Author Jack
+ * @Create In 2026年10月18日
+ */
+public final class StripedLongCells {
+
+	// 每行至少相隔 64 字节（8 个 long），避免不同行落在同一缓存行
+	private static final int PADDING = 8;
+
+	private static final int MAX_STRIPES = 64;
+
+	private static final int STRIPES = stripesFor(Runtime.getRuntime().availableProcessors());
+
+	private final int columns;
+
+	private final int stripes;
+
+	private final int rowStride;
+
+	private final AtomicLongArray base;
+
+	private volatile AtomicLongArray cells;
+
+	/**
+	 * @param columns 列数
+	 */
+	public StripedLongCells(int columns) {
+		this(columns, MAX_STRIPES);
+	}
+
+	/**
+	 * @param columns 列数
+	 * @param maxStripes 膨胀后的最大行数，实际行数为不超过它的 2 的幂，且不超过 CPU 数的两倍
+	 */
+	public StripedLongCells(int columns, int maxStripes) {
+		super();
+		assert columns > 0 && maxStripes > 0;
+		this.columns = columns;
+		this.stripes = Math.min(STRIPES, Integer.highestOneBit(maxStripes));
+		this.rowStride = ((columns + PADDING - 1) / PADDING) * PADDING + PADDING;
+		this.base = new AtomicLongArray(columns);
+	}
+
+	/**
+	 * @Return the int columns
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * @return 是否已经因为竞争膨胀为多行
+	 */
+	public boolean isStriped() {
+		return cells != null;
+	}
+
+	/**
+	 * 累加指定列
+	 * @Methods Name add
+	 * @Create In 2026年10月18日 By Jack
+	 * @param column 列号
+	 * @param x 增量
+	 */
+	public void add(int column, long x) {
+		if (x == 0) {
+			return;
+		}
+		AtomicLongArray cs = cells;
+		if (cs == null) {
+			final long v = base.get(column);
+			if (base.compareAndSet(column, v, v + x)) {
+				return;
+			}
+			cs = inflate();
+		}
+		final int index = rowOffset() + column;
+		cs.getAndAdd(index, x);
+		if (cells != cs) {
+			// 累加的同时被 deflate 了，deflate 可能已经读过这一格，自己把它并回 base
+			final long v = cs.getAndSet(index, 0);
+			if (v != 0) {
+				base.getAndAdd(column, v);
+			}
+		}
+	}
+
+	/**
+	 * 指定列取最大值，仅当 x 大于当前值时才写入
+	 * @Methods Name max
+	 * @Create In 2026年10月18日 By Jack
+	 * @param column 列号
+	 * @param x 候选值
+	 */
+	public void max(int column, long x) {
+		final AtomicLongArray cs = cells;
+		final AtomicLongArray target;
+		final int index;
+		if (cs == null) {
+			target = base;
+			index = column;
+		} else {
+			target = cs;
+			index = rowOffset() + column;
+		}
+		long v = target.get(index);
+		while (x > v) {
+			if (target.compareAndSet(index, v, x)) {
+				if (cs != null && cells != cs) {
+					// 同 add：被 deflate 了，自己并回 base
+					maxBase(column, cs.getAndSet(index, 0));
+				}
+				return;
+			}
+			v = target.get(index);
+		}
+	}
+
+	/**
+	 * @param column 列号
+	 * @return 该列 base 与各行的合计
+	 */
+	public long sum(int column) {
+		long result = base.get(column);
+		final AtomicLongArray cs = cells;
+		if (cs != null) {
+			for (int i = column; i < cs.length(); i += rowStride) {
+				result += cs.get(i);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param column 列号
+	 * @return 该列 base 与各行中的最大值
+	 */
+	public long maxOf(int column) {
+		long result = base.get(column);
+		final AtomicLongArray cs = cells;
+		if (cs != null) {
+			for (int i = column; i < cs.length(); i += rowStride) {
+				result = Math.max(result, cs.get(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 所有列清零，并发累加中的增量可能落在清零之前或之后
+	 * @Methods Name reset
+	 * @Create In 2026年10月18日 By Jack
+	 */
+	public void reset() {
+		for (int i = 0; i < columns; i++) {
+			base.set(i, 0);
+		}
+		final AtomicLongArray cs = cells;
+		if (cs != null) {
+			for (int i = 0; i < cs.length(); i++) {
+				cs.set(i, 0);
+			}
+		}
+	}
+
+	/**
+	 * 把各行并回 base 并释放多行，可与 add、max 并发调用，不丢失增量
+	 * @Methods Name deflate
+	 * @Create In 2026年10月18日 By Jack
+	 * @param maxColumns 用 max 而不是 add 写入的列
+	 */
+	public void deflate(int... maxColumns) {
+		final AtomicLongArray cs;
+		synchronized (this) {
+			cs = cells;
+			if (cs == null) {
+				return;
+			}
+			// 先摘下多行，之后还拿着旧引用的写入方会发现 cells 已变化，自己把增量并回 base
+			cells = null;
+		}
+		for (int column = 0; column < columns; column++) {
+			final boolean maxColumn = contains(maxColumns, column);
+			for (int i = column; i < cs.length(); i += rowStride) {
+				final long v = cs.getAndSet(i, 0);
+				if (maxColumn) {
+					maxBase(column, v);
+				} else if (v != 0) {
+					base.getAndAdd(column, v);
+				}
+			}
+		}
+	}
+
+	private void maxBase(int column, long x) {
+		long v = base.get(column);
+		while (x > v && !base.compareAndSet(column, v, x)) {
+			v = base.get(column);
+		}
+	}
+
+	private static boolean contains(int[] values, int value) {
+		for (final int v : values) {
+			if (v == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private AtomicLongArray inflate() {
+		synchronized (this) {
+			AtomicLongArray cs = cells;
+			if (cs == null) {
+				cs = new AtomicLongArray(stripes * rowStride);
+				cells = cs;
+			}
+			return cs;
+		}
+	}
+
+	private int rowOffset() {
+		// 线程 id 在线程生命周期内不变，散列后取模得到行号，不产生分配
+		final long id = Thread.currentThread().getId();
+		int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		h ^= h >>> 16;
+		return (h & (stripes - 1)) * rowStride;
+	}
+
+	private static int stripesFor(int processors) {
+		int n = 1;
+		while (n < processors * 2 && n < MAX_STRIPES) {
+			n <<= 1;
+		}
+		return n;
+	}
+}